@@ -0,0 +1,179 @@
+package com.studyroom.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.studyroom.server.dto.ApiResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ApiResponse 序列化基准
+ * 负载结构与控制器返回的 Map 一致：单个预订、一页座位（20 条）和系统统计。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class ApiResponseSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"reservation", "seatPage", "statistics"})
+    public String payload;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<Map<String, Object>> response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 与服务端 Jackson 配置一致：日期输出为 ISO 字符串
+        objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        Map<String, Object> data = new HashMap<>();
+        switch (payload) {
+            case "reservation":
+                data.put("reservation", reservation(1L));
+                break;
+            case "seatPage":
+                List<Map<String, Object>> seats = new ArrayList<>(PAGE_SIZE);
+                for (int i = 0; i < PAGE_SIZE; i++) {
+                    seats.add(seat(i + 1L));
+                }
+                data.put("seats", seats);
+                data.put("totalElements", 95L);
+                data.put("totalPages", 5);
+                data.put("currentPage", 0);
+                data.put("pageSize", PAGE_SIZE);
+                data.put("hasNext", true);
+                data.put("hasPrevious", false);
+                break;
+            case "statistics":
+                data.put("statistics", statistics());
+                break;
+            default:
+                throw new IllegalArgumentException("未知负载: " + payload);
+        }
+        response = ApiResponse.success(data, "获取成功");
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    private static Map<String, Object> reservation(Long id) {
+        LocalDateTime start = LocalDateTime.of(2024, 6, 1, 9, 0);
+        Map<String, Object> reservation = new HashMap<>();
+        reservation.put("id", id);
+        reservation.put("reservationCode", "R" + (20240601000L + id));
+        reservation.put("startTime", start);
+        reservation.put("endTime", start.plusHours(2));
+        reservation.put("status", "ACTIVE");
+        reservation.put("paymentStatus", "PAID");
+        reservation.put("totalAmount", new BigDecimal("30.00"));
+        reservation.put("notes", null);
+        reservation.put("createdAt", start.minusDays(1));
+        reservation.put("updatedAt", start.minusDays(1));
+        reservation.put("checkInTime", null);
+        reservation.put("checkOutTime", null);
+        reservation.put("cancelReason", null);
+
+        Map<String, Object> user = new HashMap<>();
+        user.put("id", 2L);
+        user.put("username", "student01");
+        user.put("realName", "张三");
+        user.put("email", "student01@example.com");
+        reservation.put("user", user);
+
+        Map<String, Object> seat = new HashMap<>();
+        seat.put("id", 12L);
+        seat.put("seatNumber", "A12");
+        seat.put("type", "REGULAR");
+        seat.put("status", "AVAILABLE");
+        seat.put("studyRoom", studyRoom());
+        reservation.put("seat", seat);
+        return reservation;
+    }
+
+    private static Map<String, Object> seat(Long id) {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 8, 0);
+        Map<String, Object> seat = new HashMap<>();
+        seat.put("id", id);
+        seat.put("seatNumber", "A" + id);
+        seat.put("type", id % 5 == 0 ? "VIP" : "REGULAR");
+        seat.put("status", "AVAILABLE");
+        seat.put("description", "靠窗座位");
+        seat.put("equipment", "台灯,插座");
+        seat.put("hasWindow", id % 2 == 0);
+        seat.put("hasPowerOutlet", true);
+        seat.put("hasLamp", true);
+        seat.put("rowNum", (int) ((id - 1) / 10 + 1));
+        seat.put("colNum", (int) ((id - 1) % 10 + 1));
+        seat.put("createdAt", createdAt);
+        seat.put("updatedAt", createdAt);
+        seat.put("studyRoom", studyRoom());
+        return seat;
+    }
+
+    private static Map<String, Object> studyRoom() {
+        Map<String, Object> studyRoom = new HashMap<>();
+        studyRoom.put("id", 1L);
+        studyRoom.put("name", "图书馆一楼自习室");
+        studyRoom.put("location", "图书馆1楼");
+        return studyRoom;
+    }
+
+    private static Map<String, Object> statistics() {
+        Map<String, Object> statusStats = new LinkedHashMap<>();
+        statusStats.put("ACTIVE", 1250L);
+        statusStats.put("COMPLETED", 68400L);
+        statusStats.put("CANCELLED", 14650L);
+        statusStats.put("NO_SHOW", 15700L);
+
+        Map<String, Object> paymentStats = new LinkedHashMap<>();
+        paymentStats.put("PENDING", 250L);
+        paymentStats.put("PAID", 85100L);
+        paymentStats.put("REFUNDED", 14650L);
+
+        Map<String, Object> topCancelReasons = new LinkedHashMap<>();
+        topCancelReasons.put("临时有事", 6200L);
+        topCancelReasons.put("未填写", 5100L);
+        topCancelReasons.put("时间冲突", 3350L);
+
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("totalReservations", 100000L);
+        statistics.put("statusStats", statusStats);
+        statistics.put("paymentStats", paymentStats);
+        statistics.put("paidRevenue", new BigDecimal("3404000.00"));
+        statistics.put("bookedHours", new BigDecimal("170700.0"));
+        statistics.put("topCancelReasons", topCancelReasons);
+        return statistics;
+    }
+}
@@ -0,0 +1,55 @@
+package com.studyroom.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 基准测试入口
+ * 支持 JMH 的全部命令行参数（例如 {@code -p reservations=1000,100000} 调整数据规模、
+ * 传入类名正则只运行部分基准）；未指定结果文件时以 JSON 写入 target/jmh-results，
+ * 并复制一份为 latest.json（或其他格式的 latest.*） 便于与上一次结果对比。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+public final class BenchmarkRunner {
+
+    private static final Path RESULTS_DIR = Paths.get("target", "jmh-results");
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+
+        Path resultFile = null;
+        Path latestFile = null;
+        if (!commandLine.getResult().hasValue()) {
+            Files.createDirectories(RESULTS_DIR);
+            ResultFormatType format = commandLine.getResultFormat().orElse(ResultFormatType.JSON);
+            String extension = format.name().toLowerCase();
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            resultFile = RESULTS_DIR.resolve("jmh-" + timestamp + "." + extension);
+            latestFile = RESULTS_DIR.resolve("latest." + extension);
+            options.result(resultFile.toString()).resultFormat(format);
+        }
+
+        new Runner(options.build()).run();
+
+        if (resultFile != null && Files.exists(resultFile)) {
+            Files.copy(resultFile, latestFile, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("基准结果已写入 " + resultFile.toAbsolutePath());
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.studyroom.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.studyroom.client.model.ApiResponse;
+import com.studyroom.client.model.PageData;
+import com.studyroom.client.model.Reservation;
+import com.studyroom.client.service.ApiResponseReaders;
+import com.studyroom.client.service.HttpClientService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 客户端 JSON 解码基准
+ * 解码一页预订（默认 10000 条，结构与 ReservationController 的分页响应一致）为 PageData&lt;Reservation&gt;。
+ *
+ * <p>typeReference 为原来的方式：每次 new TypeReference 调用 objectMapper.readValue；
+ * mapThenConvert 为部分旧路径的做法：先解析为 Map，再逐条 convertValue 为模型（两次解析）；
+ * cachedReader 为当前的 ApiResponseReaders 预先构建的 ObjectReader。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class ClientJsonDecodeBenchmark {
+
+    @Param({"typeReference", "mapThenConvert", "cachedReader"})
+    public String decoder;
+
+    @Param({"10000"})
+    public int rows;
+
+    private ObjectMapper objectMapper;
+    private ObjectReader pageReader;
+    private String json;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        // 服务端 Jackson 配置：日期输出为 ISO 字符串
+        ObjectMapper serverMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        json = serverMapper.writeValueAsString(
+            com.studyroom.server.dto.ApiResponse.success(reservationPage(rows), "获取预订列表成功"));
+
+        objectMapper = HttpClientService.createObjectMapper();
+        pageReader = new ApiResponseReaders(objectMapper).forPage(Reservation.class);
+
+        int decoded = decode().getContent().size();
+        if (decoded != rows) {
+            throw new IllegalStateException(decoder + " 解码出 " + decoded + " 条，应为 " + rows);
+        }
+    }
+
+    @Benchmark
+    public PageData<Reservation> decode() throws Exception {
+        switch (decoder) {
+            case "typeReference": {
+                ApiResponse<PageData<Reservation>> response = objectMapper.readValue(json,
+                    new TypeReference<ApiResponse<PageData<Reservation>>>() {});
+                return response.getData();
+            }
+            case "mapThenConvert": {
+                ApiResponse<Map<String, Object>> response = objectMapper.readValue(json,
+                    new TypeReference<ApiResponse<Map<String, Object>>>() {});
+                Map<String, Object> data = response.getData();
+                List<?> items = (List<?>) data.get("reservations");
+                List<Reservation> reservations = new ArrayList<>(items.size());
+                for (Object item : items) {
+                    reservations.add(objectMapper.convertValue(item, Reservation.class));
+                }
+                return new PageData<>(reservations, 0, rows, ((Number) data.get("totalElements")).longValue());
+            }
+            case "cachedReader": {
+                ApiResponse<PageData<Reservation>> response = pageReader.readValue(json);
+                return response.getData();
+            }
+            default:
+                throw new IllegalArgumentException("未知解码方式: " + decoder);
+        }
+    }
+
+    private static Map<String, Object> reservationPage(int rows) {
+        List<Map<String, Object>> reservations = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            reservations.add(reservation(i + 1L));
+        }
+        Map<String, Object> data = new HashMap<>();
+        data.put("reservations", reservations);
+        data.put("totalElements", (long) rows);
+        data.put("totalPages", 1);
+        data.put("currentPage", 0);
+        data.put("pageSize", rows);
+        data.put("hasNext", false);
+        data.put("hasPrevious", false);
+        return data;
+    }
+
+    private static Map<String, Object> reservation(Long id) {
+        LocalDateTime start = LocalDateTime.of(2024, 6, 1, 9, 0).plusHours(id % 500);
+        Map<String, Object> reservation = new HashMap<>();
+        reservation.put("id", id);
+        reservation.put("reservationCode", "R" + (20240601000L + id));
+        reservation.put("startTime", start);
+        reservation.put("endTime", start.plusHours(2));
+        reservation.put("status", id % 7 == 0 ? "CANCELLED" : "COMPLETED");
+        reservation.put("paymentStatus", "PAID");
+        reservation.put("totalAmount", new BigDecimal("30.00"));
+        reservation.put("notes", null);
+        reservation.put("createdAt", start.minusDays(1));
+        reservation.put("updatedAt", start.minusDays(1));
+        reservation.put("checkInTime", null);
+        reservation.put("checkOutTime", null);
+        reservation.put("cancelReason", null);
+
+        Map<String, Object> user = new HashMap<>();
+        user.put("id", 2 + id % 300);
+        user.put("username", "student" + id % 300);
+        user.put("realName", "张三");
+        user.put("email", "student" + id % 300 + "@example.com");
+        reservation.put("user", user);
+
+        Map<String, Object> studyRoom = new HashMap<>();
+        studyRoom.put("id", 1 + id % 10);
+        studyRoom.put("name", "图书馆一楼自习室");
+        studyRoom.put("location", "图书馆1楼");
+
+        Map<String, Object> seat = new HashMap<>();
+        seat.put("id", 1 + id % 200);
+        seat.put("seatNumber", "A" + (1 + id % 200));
+        seat.put("type", "REGULAR");
+        seat.put("status", "AVAILABLE");
+        seat.put("studyRoom", studyRoom);
+        reservation.put("seat", seat);
+        return reservation;
+    }
+}
@@ -0,0 +1,122 @@
+package com.studyroom.benchmarks;
+
+import com.studyroom.server.service.ReservationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * H2 与 SQLite（prod profile）对比基准
+ * 两种数据库使用相同规模的种子数据，4 个线程并发执行：
+ * <ul>
+ *   <li>冲突检测：只读事务，SQLite 下走只读连接池</li>
+ *   <li>创建预订：读写事务，SQLite 下所有线程共用一个写连接；每个线程在自己的座位上
+ *       向种子数据之后的时间段依次预订，不会产生冲突</li>
+ * </ul>
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@Threads(4)
+public class DatabaseBenchmark {
+
+    private static final int PROBES = 4096;
+
+    @State(Scope.Benchmark)
+    public static class Seeded {
+
+        @Param({"H2", "SQLITE"})
+        public SeededApplication.Database database;
+
+        @Param({"100000"})
+        public int reservations;
+
+        SeededApplication application;
+        ReservationService reservationService;
+        long[] seatIds;
+        long[] userIds;
+        long[] probeSeatIds;
+        LocalDateTime[] probeStarts;
+        LocalDateTime firstFreeStart;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            application = SeededApplication.start(reservations, database);
+            reservationService = application.getBean(ReservationService.class);
+            seatIds = application.getSeatIds();
+            userIds = application.getUserIds();
+
+            Random random = new Random(42);
+            probeSeatIds = new long[PROBES];
+            probeStarts = new LocalDateTime[PROBES];
+            for (int i = 0; i < PROBES; i++) {
+                probeSeatIds[i] = seatIds[random.nextInt(seatIds.length)];
+                probeStarts[i] = application.randomStart(random);
+            }
+            firstFreeStart = application.getLatestStart().plusHours(SeededApplication.SLOT_HOURS);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            application.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Worker {
+        int next;
+        long seatId;
+        long userId;
+        LocalDateTime nextStart;
+
+        @Setup(Level.Trial)
+        public void setUp(Seeded seeded, ThreadParams threadParams) {
+            int index = threadParams.getThreadIndex();
+            seatId = seeded.seatIds[index % seeded.seatIds.length];
+            userId = seeded.userIds[index % seeded.userIds.length];
+            nextStart = seeded.firstFreeStart;
+        }
+
+        int advance() {
+            next = (next + 1) & (PROBES - 1);
+            return next;
+        }
+    }
+
+    @Benchmark
+    public boolean hasTimeConflict(Seeded seeded, Worker worker) {
+        int i = worker.advance();
+        LocalDateTime start = seeded.probeStarts[i];
+        return seeded.reservationService.hasTimeConflict(seeded.probeSeatIds[i], start,
+            start.plusHours(SeededApplication.RESERVATION_HOURS), null);
+    }
+
+    @Benchmark
+    public Long createReservation(Seeded seeded, Worker worker) {
+        LocalDateTime start = worker.nextStart;
+        worker.nextStart = start.plusHours(SeededApplication.SLOT_HOURS);
+        return seeded.reservationService.createReservation(worker.userId, worker.seatId, start,
+            start.plusHours(SeededApplication.RESERVATION_HOURS), null).getId();
+    }
+}
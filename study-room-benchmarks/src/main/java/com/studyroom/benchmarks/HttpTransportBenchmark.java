@@ -0,0 +1,210 @@
+package com.studyroom.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studyroom.client.service.HttpClientService;
+import com.studyroom.client.service.HttpTransportConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 客户端 HTTP 传输层基准
+ * 模拟 ApiServiceManager.getSystemStatistics / AsyncDataManager.loadMultipleData 的并行请求：
+ * 同时发出 fanOut 个 GET，等待全部完成。服务端为本机 HttpServer，每个请求固定延迟
+ * serverLatencyMs 后返回一页座位数据（约 6 KB JSON，请求 gzip 时返回压缩后的内容）。
+ *
+ * <p>legacy 为原来的传输方式：HttpClients.createDefault()（每个路由最多 2 个连接）
+ * 加 CompletableFuture.supplyAsync（公共 ForkJoinPool 上阻塞等待）；
+ * pooled 为当前的 HttpClientService（非阻塞、连接复用、gzip）。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HttpTransportBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final String ENDPOINT = "/api/seats/study-room/1";
+
+    @Param({"legacy", "pooled"})
+    public String transport;
+
+    @Param({"1", "4", "16"})
+    public int fanOut;
+
+    @Param({"20"})
+    public int serverLatencyMs;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private CloseableHttpClient legacyClient;
+    private HttpClientService pooledClient;
+    private Function<String, CompletableFuture<String>> get;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        byte[] plain = new ObjectMapper().writeValueAsBytes(seatPage());
+        byte[] gzipped = gzip(plain);
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newFixedThreadPool(64);
+        server.setExecutor(serverExecutor);
+        server.createContext("/api/", exchange -> respond(exchange, plain, gzipped));
+        server.start();
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        switch (transport) {
+            case "legacy":
+                legacyClient = HttpClients.createDefault();
+                get = endpoint -> CompletableFuture.supplyAsync(() -> {
+                    HttpGet request = new HttpGet(baseUrl + endpoint);
+                    request.setHeader("Accept", "application/json");
+                    try (CloseableHttpResponse response = legacyClient.execute(request)) {
+                        return EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+                break;
+            case "pooled":
+                HttpTransportConfig config = new HttpTransportConfig();
+                config.setBaseUrl(baseUrl);
+                pooledClient = HttpClientService.create(config);
+                get = pooledClient::get;
+                break;
+            default:
+                throw new IllegalArgumentException("未知传输方式: " + transport);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (legacyClient != null) {
+            legacyClient.close();
+        }
+        if (pooledClient != null) {
+            pooledClient.close();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public int parallelGets() {
+        CompletableFuture<String>[] futures = new CompletableFuture[fanOut];
+        for (int i = 0; i < fanOut; i++) {
+            futures[i] = get.apply(ENDPOINT);
+        }
+        CompletableFuture.allOf(futures).join();
+        int length = 0;
+        for (CompletableFuture<String> future : futures) {
+            length += future.join().length();
+        }
+        return length;
+    }
+
+    private void respond(HttpExchange exchange, byte[] plain, byte[] gzipped) throws IOException {
+        try {
+            Thread.sleep(serverLatencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        byte[] body = gzip ? gzipped : plain;
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        if (gzip) {
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream output = new GZIPOutputStream(buffer)) {
+            output.write(data);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static Map<String, Object> seatPage() {
+        List<Map<String, Object>> seats = new ArrayList<>(PAGE_SIZE);
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            Map<String, Object> seat = new HashMap<>();
+            seat.put("id", id);
+            seat.put("seatNumber", "A" + id);
+            seat.put("type", id % 5 == 0 ? "VIP" : "REGULAR");
+            seat.put("status", "AVAILABLE");
+            seat.put("description", "靠窗座位");
+            seat.put("equipment", "台灯,插座");
+            seat.put("hasWindow", id % 2 == 0);
+            seat.put("hasPowerOutlet", true);
+            seat.put("hasLamp", true);
+            seat.put("rowNum", (int) ((id - 1) / 10 + 1));
+            seat.put("colNum", (int) ((id - 1) % 10 + 1));
+            seat.put("createdAt", "2024-01-01T08:00:00");
+            seat.put("updatedAt", "2024-01-01T08:00:00");
+            Map<String, Object> studyRoom = new HashMap<>();
+            studyRoom.put("id", 1L);
+            studyRoom.put("name", "图书馆一楼自习室");
+            studyRoom.put("location", "图书馆1楼");
+            seat.put("studyRoom", studyRoom);
+            seats.add(seat);
+        }
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("seats", seats);
+        data.put("totalElements", 95L);
+        data.put("totalPages", 5);
+        data.put("currentPage", 0);
+        data.put("pageSize", PAGE_SIZE);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("success", true);
+        response.put("message", "获取成功");
+        response.put("data", data);
+        return response;
+    }
+}
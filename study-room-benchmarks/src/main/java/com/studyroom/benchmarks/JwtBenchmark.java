@@ -0,0 +1,87 @@
+package com.studyroom.benchmarks;
+
+import com.studyroom.server.entity.User;
+import com.studyroom.server.util.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 签发与校验基准
+ * 不启动 Spring 上下文，直接测量 JwtUtil 的签名、解析开销；
+ * verifyLikeFilter 对应 JwtRequestFilter 对每个受保护请求所做的解析 + 校验 + 取角色。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    static final String SECRET_KEY = "BenchmarkSecretKeyThatIsLongEnoughForHmacSha256Signing";
+
+    private JwtUtil jwtUtil;
+    private User user;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtUtil = newJwtUtil();
+        user = newUser(2L, "bench_user", User.UserRole.USER);
+        token = jwtUtil.generateToken(user);
+    }
+
+    static JwtUtil newJwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secretKey", SECRET_KEY);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    static User newUser(Long id, String username, User.UserRole role) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setRole(role);
+        return user;
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Long extractUserId() {
+        return jwtUtil.extractUserId(token);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public String verifyLikeFilter() {
+        Long userId = jwtUtil.extractUserId(token);
+        if (userId == null || !jwtUtil.validateToken(token)) {
+            return null;
+        }
+        return jwtUtil.extractRole(token);
+    }
+}
@@ -0,0 +1,100 @@
+package com.studyroom.benchmarks;
+
+import com.studyroom.server.entity.User;
+import com.studyroom.server.security.JwtRequestFilter;
+import com.studyroom.server.util.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 请求过滤器基准
+ * 使用应用上下文中的过滤器实例（含指标、追踪），按场景测量一次请求经过过滤器的开销；
+ * 每次调用新建模拟请求/响应，这部分开销在各场景中相同。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class JwtRequestFilterBenchmark {
+
+    /**
+     * public: 公开路径，不校验令牌；user: 普通用户访问受保护路径；admin: 管理员访问管理路径；
+     * forbidden: 普通用户访问管理路径（403）；unauthorized: 未携带令牌（401）
+     */
+    @Param({"public", "user", "admin", "forbidden", "unauthorized"})
+    public String scenario;
+
+    private SeededApplication application;
+    private JwtRequestFilter filter;
+    private String requestUri;
+    private String authorization;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = SeededApplication.start(1000);
+        filter = application.getBean(JwtRequestFilter.class);
+        JwtUtil jwtUtil = application.getBean(JwtUtil.class);
+        String userToken = jwtUtil.generateToken(JwtBenchmark.newUser(2L, "bench_user", User.UserRole.USER));
+        String adminToken = jwtUtil.generateToken(JwtBenchmark.newUser(1L, "bench_admin", User.UserRole.ADMIN));
+
+        switch (scenario) {
+            case "public":
+                requestUri = "/api/auth/check-username/bench_user";
+                break;
+            case "user":
+                requestUri = "/api/seats/1";
+                authorization = "Bearer " + userToken;
+                break;
+            case "admin":
+                requestUri = "/api/users";
+                authorization = "Bearer " + adminToken;
+                break;
+            case "forbidden":
+                requestUri = "/api/users";
+                authorization = "Bearer " + userToken;
+                break;
+            case "unauthorized":
+                requestUri = "/api/seats/1";
+                break;
+            default:
+                throw new IllegalArgumentException("未知场景: " + scenario);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public int doFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", requestUri);
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,87 @@
+package com.studyroom.benchmarks;
+
+import com.studyroom.server.service.ReservationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 预订冲突检测基准
+ * 探测点预先随机生成，约一半与已有预订重叠，测量的是真实的数据库冲突查询路径。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class ReservationConflictBenchmark {
+
+    private static final int PROBES = 4096;
+
+    @State(Scope.Benchmark)
+    public static class Seeded {
+
+        @Param({"1000", "100000", "1000000"})
+        public int reservations;
+
+        SeededApplication application;
+        ReservationService reservationService;
+        long[] probeSeatIds;
+        LocalDateTime[] probeStarts;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            application = SeededApplication.start(reservations);
+            reservationService = application.getBean(ReservationService.class);
+
+            long[] seatIds = application.getSeatIds();
+            Random random = new Random(42);
+            probeSeatIds = new long[PROBES];
+            probeStarts = new LocalDateTime[PROBES];
+            for (int i = 0; i < PROBES; i++) {
+                probeSeatIds[i] = seatIds[random.nextInt(seatIds.length)];
+                probeStarts[i] = application.randomStart(random);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            application.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        int advance() {
+            next = (next + 1) & (PROBES - 1);
+            return next;
+        }
+    }
+
+    @Benchmark
+    public boolean hasTimeConflict(Seeded seeded, Cursor cursor) {
+        int i = cursor.advance();
+        LocalDateTime start = seeded.probeStarts[i];
+        return seeded.reservationService.hasTimeConflict(seeded.probeSeatIds[i], start,
+            start.plusHours(SeededApplication.RESERVATION_HOURS), null);
+    }
+}
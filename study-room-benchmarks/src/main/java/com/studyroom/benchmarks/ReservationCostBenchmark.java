@@ -0,0 +1,105 @@
+package com.studyroom.benchmarks;
+
+import com.studyroom.server.entity.Seat;
+import com.studyroom.server.service.ReservationService;
+import com.studyroom.server.service.pricing.PricingEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 预订费用计算基准
+ * 分别测量服务层入口（含事务代理）和计价引擎本身；费用计算不依赖预订数量，只使用小数据集。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class ReservationCostBenchmark {
+
+    private static final int PROBES = 1024;
+    private static final Seat.SeatType[] SEAT_TYPES = Seat.SeatType.values();
+
+    private SeededApplication application;
+    private ReservationService reservationService;
+    private PricingEngine pricingEngine;
+    private long[] probeSeatIds;
+    private LocalDateTime[] probeStarts;
+    private int[] probeMinutes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = SeededApplication.start(1000);
+        reservationService = application.getBean(ReservationService.class);
+        pricingEngine = application.getBean(PricingEngine.class);
+
+        long[] seatIds = application.getSeatIds();
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.now().withHour(6).withMinute(0).withSecond(0).withNano(0);
+        probeSeatIds = new long[PROBES];
+        probeStarts = new LocalDateTime[PROBES];
+        probeMinutes = new int[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probeSeatIds[i] = seatIds[random.nextInt(seatIds.length)];
+            // 覆盖跨越高峰时段边界的各种起止时间
+            probeStarts[i] = base.plusMinutes(15L * random.nextInt(60));
+            probeMinutes[i] = 30 + 15 * random.nextInt(24);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        int advance() {
+            next = (next + 1) & (PROBES - 1);
+            return next;
+        }
+    }
+
+    @Benchmark
+    public BigDecimal calculateReservationCost(Cursor cursor) {
+        int i = cursor.advance();
+        LocalDateTime start = probeStarts[i];
+        return reservationService.calculateReservationCost(probeSeatIds[i], start, start.plusMinutes(probeMinutes[i]));
+    }
+
+    @Benchmark
+    public long quoteBySeat(Cursor cursor) {
+        int i = cursor.advance();
+        LocalDateTime start = probeStarts[i];
+        return pricingEngine.quoteCents(probeSeatIds[i], start, start.plusMinutes(probeMinutes[i]));
+    }
+
+    @Benchmark
+    public long quoteByRate(Cursor cursor) {
+        int i = cursor.advance();
+        LocalDateTime start = probeStarts[i];
+        return pricingEngine.quoteCents(1500L, SEAT_TYPES[i % SEAT_TYPES.length], start,
+            start.plusMinutes(probeMinutes[i]));
+    }
+}
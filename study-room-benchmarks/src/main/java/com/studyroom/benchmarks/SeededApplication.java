@@ -0,0 +1,269 @@
+package com.studyroom.benchmarks;
+
+import com.studyroom.server.StudyRoomServerApplication;
+import com.studyroom.server.service.eventlog.ReservationEventLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 带种子数据的服务端上下文
+ * 启动完整的 Spring 上下文（不启动 Web 容器），在基础数据之上用 JDBC 批量插入指定数量的预订：
+ * 每个座位的预订按 3 小时一档向过去排开、互不重叠，最近一周为未来的有效预订，
+ * 其余按固定比例分布为已完成、已取消和未到场。
+ * <ul>
+ *   <li>{@link Database#H2}：默认配置的 H2 内存库，基础数据来自 data.sql</li>
+ *   <li>{@link Database#SQLITE}：prod profile 的 SQLite 文件库（WAL、单写连接 + 只读连接池），
+ *       data.sql 使用了 H2 专有函数，基础数据改为按相同数量的自习室、座位和用户直接插入</li>
+ * </ul>
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+public final class SeededApplication implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeededApplication.class);
+
+    // 与 Hibernate 序列分配的ID错开，避免基准中新建预订时主键冲突
+    private static final long FIRST_SEEDED_ID = 10_000_000L;
+    private static final int INSERT_BATCH = 10_000;
+    static final int SLOT_HOURS = 3;
+    static final int RESERVATION_HOURS = 2;
+
+    // 与 data.sql 一致：开放自习室各自的座位数和普通用户数
+    private static final int[] ROOM_SEATS = {30, 20, 10, 15};
+    private static final int BASE_USERS = 6;
+
+    private static final String INSERT_SQL = "INSERT INTO reservations (id, reservation_code, start_time, end_time, "
+        + "status, payment_status, total_amount, notes, user_id, seat_id, created_at, updated_at) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?, NULL, ?, ?, ?, ?)";
+
+    private final ConfigurableApplicationContext context;
+    private final Path eventLogDir;
+    private final long[] seatIds;
+    private final long[] userIds;
+    private final LocalDateTime latestStart;
+    private final LocalDateTime earliestStart;
+
+    private SeededApplication(ConfigurableApplicationContext context, Path eventLogDir,
+                              long[] seatIds, long[] userIds, LocalDateTime earliestStart, LocalDateTime latestStart) {
+        this.context = context;
+        this.eventLogDir = eventLogDir;
+        this.seatIds = seatIds;
+        this.userIds = userIds;
+        this.earliestStart = earliestStart;
+        this.latestStart = latestStart;
+    }
+
+    /**
+     * 基准使用的数据库
+     */
+    public enum Database {
+        H2, SQLITE
+    }
+
+    /**
+     * 以 H2 内存库启动上下文并写入种子数据
+     * @param reservations 预订数量
+     */
+    public static SeededApplication start(int reservations) {
+        return start(reservations, Database.H2);
+    }
+
+    /**
+     * 启动上下文并写入种子数据
+     * @param reservations 预订数量
+     * @param database 数据库
+     */
+    public static SeededApplication start(int reservations, Database database) {
+        Path eventLogDir;
+        try {
+            eventLogDir = Files.createTempDirectory("bench-reservation-events");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Map<String, Object> properties = new HashMap<>();
+        if (database == Database.SQLITE) {
+            // 数据库文件与事件日志放在同一临时目录，关闭时一起删除
+            properties.put("spring.profiles.active", "prod");
+            properties.put("spring.datasource.url", "jdbc:sqlite:" + eventLogDir.resolve("bench.db"));
+            properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        } else {
+            properties.put("spring.datasource.url", "jdbc:h2:mem:bench_" + reservations + ";DB_CLOSE_DELAY=-1");
+        }
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.jpa.properties.hibernate.format_sql", "false");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+        // 认证失败的基准场景每次调用都会打印警告，业务日志只保留错误
+        properties.put("logging.level.com.studyroom", "ERROR");
+        properties.put("logging.level.com.studyroom.benchmarks", "INFO");
+        properties.put("logging.level.org.hibernate.SQL", "WARN");
+        properties.put("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "WARN");
+        properties.put("reservation.event-log.dir", eventLogDir.toString());
+        // 基准期间不输出慢请求/慢查询日志
+        properties.put("tracing.slow-request-ms", "600000");
+        properties.put("tracing.slow-query-ms", "600000");
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(StudyRoomServerApplication.class)
+            .web(WebApplicationType.NONE)
+            .logStartupInfo(false)
+            .run(toArguments(properties));
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        if (database == Database.SQLITE) {
+            transactionTemplate.executeWithoutResult(tx -> seedBaseData(jdbcTemplate));
+        }
+        long[] seatIds = jdbcTemplate.queryForList("SELECT id FROM seats ORDER BY id", Long.class)
+            .stream().mapToLong(Long::longValue).toArray();
+        long[] userIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE role = 'USER' ORDER BY id", Long.class)
+            .stream().mapToLong(Long::longValue).toArray();
+
+        LocalDateTime latestStart = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusDays(7);
+        long started = System.nanoTime();
+        seed(jdbcTemplate, transactionTemplate, reservations, seatIds, userIds, latestStart);
+        long slots = (reservations + seatIds.length - 1) / seatIds.length;
+        LocalDateTime earliestStart = latestStart.minusHours(SLOT_HOURS * Math.max(slots - 1, 0));
+        logger.info("已写入 {} 条种子预订（{}），用时 {} ms", reservations, database,
+            (System.nanoTime() - started) / 1_000_000);
+
+        // 种子数据绕过了服务层，重建预订事件投影使统计与数据库一致
+        context.getBean(ReservationEventLog.class).reconcile();
+        return new SeededApplication(context, eventLogDir, seatIds, userIds, earliestStart, latestStart);
+    }
+
+    /**
+     * 写入与 data.sql 数量相同的自习室、座位和用户
+     * prod profile 启动后按 MAX(id) 分配主键，不需要调整序列表
+     * 时间列以 JDBC 参数绑定，存储格式与 Hibernate 写入的一致
+     */
+    private static void seedBaseData(JdbcTemplate jdbcTemplate) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO users (id, username, password, email, role, status, created_at, updated_at) "
+            + "VALUES (1, 'admin', 'admin123', 'admin@studyroom.com', 'ADMIN', 'ACTIVE', ?, ?)", now, now);
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 1; i <= BASE_USERS; i++) {
+            users.add(new Object[] {i + 1L, "user" + i, "password123", "user" + i + "@example.com", now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, username, password, email, role, status, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, 'USER', 'ACTIVE', ?, ?)", users);
+
+        List<Object[]> rooms = new ArrayList<>();
+        List<Object[]> seats = new ArrayList<>();
+        long seatId = 1;
+        for (int room = 0; room < ROOM_SEATS.length; room++) {
+            long roomId = room + 1L;
+            rooms.add(new Object[] {roomId, "自习室" + (char) ('A' + room), ROOM_SEATS[room],
+                BigDecimal.valueOf(1500, 2), Time.valueOf("08:00:00"), Time.valueOf("22:00:00"), now, now});
+            for (int i = 1; i <= ROOM_SEATS[room]; i++) {
+                seats.add(new Object[] {seatId++, String.format("%c%03d", 'A' + room, i), roomId, now, now});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO study_rooms (id, name, capacity, hourly_rate, status, open_time, close_time, "
+            + "created_at, updated_at) VALUES (?, ?, ?, ?, 'AVAILABLE', ?, ?, ?, ?)", rooms);
+        jdbcTemplate.batchUpdate("INSERT INTO seats (id, seat_number, type, status, has_window, has_power_outlet, has_lamp, "
+            + "study_room_id, created_at, updated_at) VALUES (?, ?, 'REGULAR', 'AVAILABLE', 0, 1, 1, ?, ?, ?)", seats);
+    }
+
+    // 每批在一个事务中写入；SQLite 自动提交时每条语句都要单独提交
+    private static void seed(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, int reservations,
+                             long[] seatIds, long[] userIds, LocalDateTime latestStart) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < reservations; i++) {
+            long id = FIRST_SEEDED_ID + i;
+            int slot = i / seatIds.length;
+            LocalDateTime start = latestStart.minusHours((long) SLOT_HOURS * slot);
+            LocalDateTime end = start.plusHours(RESERVATION_HOURS);
+            String status;
+            String paymentStatus;
+            if (start.isAfter(now)) {
+                status = "ACTIVE";
+                paymentStatus = i % 5 == 0 ? "PENDING" : "PAID";
+            } else {
+                int bucket = i % 20;
+                status = bucket < 14 ? "COMPLETED" : bucket < 17 ? "CANCELLED" : "NO_SHOW";
+                paymentStatus = bucket < 14 ? "PAID" : bucket < 17 ? "REFUNDED" : "PAID";
+            }
+            Timestamp createdAt = Timestamp.valueOf(start.minusDays(1));
+            batch.add(new Object[] {
+                id, "BENCH" + id, Timestamp.valueOf(start), Timestamp.valueOf(end), status, paymentStatus,
+                BigDecimal.valueOf(3000 + (i % 7) * 500, 2), userIds[i % userIds.length], seatIds[i % seatIds.length],
+                createdAt, createdAt
+            });
+            if (batch.size() == INSERT_BATCH) {
+                transactionTemplate.executeWithoutResult(tx -> jdbcTemplate.batchUpdate(INSERT_SQL, batch));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            transactionTemplate.executeWithoutResult(tx -> jdbcTemplate.batchUpdate(INSERT_SQL, batch));
+        }
+    }
+
+    // 以命令行参数传入，优先级高于 application.properties
+    private static String[] toArguments(Map<String, Object> properties) {
+        return properties.entrySet().stream()
+            .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+            .toArray(String[]::new);
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public long[] getSeatIds() {
+        return seatIds.clone();
+    }
+
+    public long[] getUserIds() {
+        return userIds.clone();
+    }
+
+    /**
+     * 种子数据中最晚的预订开始时间，之后的时间段没有预订
+     */
+    public LocalDateTime getLatestStart() {
+        return latestStart;
+    }
+
+    /**
+     * 在种子数据覆盖的时间范围内随机取一个整点开始时间；
+     * 约一半落在已有预订上（冲突），一半落在空档中
+     */
+    public LocalDateTime randomStart(Random random) {
+        long slots = ChronoUnit.HOURS.between(earliestStart, latestStart) / SLOT_HOURS + 1;
+        long slot = (long) (random.nextDouble() * slots);
+        int offsetHours = random.nextBoolean() ? 0 : RESERVATION_HOURS;
+        return latestStart.minusHours(SLOT_HOURS * slot).plusHours(offsetHours);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        FileSystemUtils.deleteRecursively(eventLogDir.toFile());
+    }
+}
@@ -0,0 +1,81 @@
+package com.studyroom.benchmarks;
+
+import com.studyroom.server.service.ReservationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 预订统计基准
+ * 覆盖系统统计（事件投影）、收入统计和按座位/用户的统计查询。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class StatisticsBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int reservations;
+
+    private SeededApplication application;
+    private ReservationService reservationService;
+    private long seatId;
+    private long userId;
+    private LocalDateTime revenueStart;
+    private LocalDateTime revenueEnd;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = SeededApplication.start(reservations);
+        reservationService = application.getBean(ReservationService.class);
+        seatId = application.getSeatIds()[0];
+        userId = application.getUserIds()[0];
+        revenueEnd = LocalDateTime.now();
+        revenueStart = revenueEnd.minusDays(30);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public Map<String, Object> systemStatistics() {
+        return reservationService.getSystemReservationStatistics();
+    }
+
+    @Benchmark
+    public Map<String, Object> revenueStatistics() {
+        return reservationService.getRevenueStatistics(revenueStart, revenueEnd);
+    }
+
+    @Benchmark
+    public Map<String, Object> seatStatistics() {
+        return reservationService.getSeatReservationStatistics(seatId);
+    }
+
+    @Benchmark
+    public Map<String, Object> userStatistics() {
+        return reservationService.getUserReservationStatistics(userId);
+    }
+}
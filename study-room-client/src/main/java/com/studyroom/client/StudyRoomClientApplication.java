@@ -5,6 +5,9 @@ import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.image.Image;
 import javafx.stage.Stage;
+import com.studyroom.client.service.HttpClientService;
+import com.studyroom.client.service.RefreshScheduler;
+import com.studyroom.client.util.StartupTimer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,6 +41,12 @@ public class StudyRoomClientApplication extends Application {
         
         logger.info("🚀 启动共享自习室管理系统客户端...");
         
+        // 窗口不在前台时放慢自动刷新
+        stage.focusedProperty().addListener((obs, wasFocused, focused) ->
+            RefreshScheduler.getInstance().setWindowFocused(focused));
+        stage.iconifiedProperty().addListener((obs, wasIconified, iconified) ->
+            RefreshScheduler.getInstance().setWindowMinimized(iconified));
+        
         try {
             // 显示登录界面
             showLoginWindow();
@@ -77,6 +86,7 @@ public class StudyRoomClientApplication extends Application {
         
         // 显示窗口
         primaryStage.show();
+        StartupTimer.mark("登录界面显示");
     }
 
     /**
@@ -163,10 +173,14 @@ public class StudyRoomClientApplication extends Application {
         try {
             logger.info("🔄 正在清理资源...");
             
+            // 停止所有定时刷新
+            RefreshScheduler.getInstance().shutdown();
+            
+            // 保存磁盘缓存，下次启动时先用这些数据显示界面
+            HttpClientService.getInstance().close();
+            
             // TODO: 添加清理逻辑
             // - 保存用户配置
-            // - 清理缓存数据
-            // - 断开网络连接
             
             logger.info("✅ 应用程序正常退出");
             
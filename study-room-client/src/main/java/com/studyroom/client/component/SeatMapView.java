@@ -0,0 +1,656 @@
+package com.studyroom.client.component;
+
+import com.studyroom.client.model.Seat;
+import javafx.application.Platform;
+import javafx.geometry.VPos;
+import javafx.scene.Cursor;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.input.ZoomEvent;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 座位图控件
+ * 用一块与可见区域等大的 Canvas 绘制座位，不为每个座位创建节点，也不经过CSS和布局计算：
+ * 整体重绘时只绘制视口内的座位；座位状态或选中变化时只重绘对应的格子；
+ * 同一帧内的多次重绘请求合并到下一个 JavaFX 脉冲执行。
+ *
+ * <p>座位按 {@link Seat#getRowNum()} / {@link Seat#getColNum()}（从 1 开始）定位，
+ * 缺少行列号、行列号超过 1000 或位置重复的座位按顺序排在其他座位下方。
+ * 滚轮或触控板捏合缩放（以鼠标位置为中心），按住拖动平移，单击选择可用座位。
+ *
+ * @author Developer
+ * @version 1.0.0
+ * @since 2024
+ */
+public class SeatMapView extends Region {
+
+    // 座位格子尺寸（缩放为 1 时的像素）
+    private static final double CELL_SIZE = 40;
+    private static final double CELL_GAP = 8;
+    private static final double CELL_PITCH = CELL_SIZE + CELL_GAP;
+    private static final double CELL_ARC = 8;
+
+    // 行号或列号超过该值的座位按无位置处理，避免个别异常行列号让网格数组过大
+    private static final int MAX_GRID_SPAN = 1000;
+
+    // 视图参数
+    private static final double MIN_ZOOM = 0.1;
+    private static final double MAX_ZOOM = 4.0;
+    private static final double ZOOM_STEP = 1.25;
+    private static final double VIEW_MARGIN = 16;
+    private static final double DRAG_THRESHOLD = 4;
+
+    // 格子在屏幕上小于该尺寸时不绘制座位号和圆角
+    private static final double LABEL_MIN_SIZE = 18;
+    private static final double ARC_MIN_SIZE = 6;
+
+    // 与 seat-selection.css 中的座位配色一致
+    private static final Color AVAILABLE_COLOR = Color.rgb(52, 199, 89, 0.9);
+    private static final Color OCCUPIED_COLOR = Color.rgb(255, 59, 48, 0.56);
+    private static final Color RESERVED_COLOR = Color.rgb(255, 204, 0, 0.9);
+    private static final Color MAINTENANCE_COLOR = Color.rgb(142, 142, 147, 0.48);
+    private static final Color VIP_COLOR = Color.web("#ff9500");
+    private static final Color SELECTED_COLOR = Color.web("#007aff");
+    private static final Color SELECTED_BORDER_COLOR = Color.web("#0051d5");
+    private static final Color LABEL_COLOR = Color.WHITE;
+    private static final Color DARK_LABEL_COLOR = Color.web("#1d1d1f");
+
+    private final Canvas canvas = new Canvas();
+
+    // 座位布局：第 i 个座位位于 (seatRows[i], seatCols[i])，cellSeats[row * cols + col] 为座位下标，空位为 -1
+    private List<Seat> seats = new ArrayList<>();
+    private int[] seatRows = new int[0];
+    private int[] seatCols = new int[0];
+    private int[] cellSeats = new int[0];
+    private int rows;
+    private int cols;
+    private final Map<Long, Integer> seatIndexById = new HashMap<>();
+
+    // 已绘制的状态，用于 setSeats 时找出变化的座位
+    private Seat.Status[] paintedStatuses = new Seat.Status[0];
+    private Seat.Type[] paintedTypes = new Seat.Type[0];
+
+    // 视图变换：屏幕坐标 = 布局坐标 * zoom + offset
+    private double zoom = 1.0;
+    private double offsetX;
+    private double offsetY;
+    private boolean fitPending = true;
+
+    // 选择
+    private Long selectedSeatId;
+    private Consumer<Seat> onSeatSelected;
+
+    // 重绘请求
+    private final BitSet dirtySeats = new BitSet();
+    private boolean fullRepaintRequested;
+    private boolean repaintScheduled;
+
+    // 拖动
+    private double pressX;
+    private double pressY;
+    private double lastDragX;
+    private double lastDragY;
+    private boolean dragging;
+
+    public SeatMapView() {
+        getStyleClass().add("seat-map");
+        getChildren().add(canvas);
+        setPrefSize(600, 400);
+        setMinSize(100, 100);
+
+        addEventHandler(MouseEvent.MOUSE_PRESSED, this::handleMousePressed);
+        addEventHandler(MouseEvent.MOUSE_DRAGGED, this::handleMouseDragged);
+        addEventHandler(MouseEvent.MOUSE_RELEASED, this::handleMouseReleased);
+        addEventHandler(MouseEvent.MOUSE_MOVED, this::handleMouseMoved);
+        addEventHandler(ScrollEvent.SCROLL, this::handleScroll);
+        addEventHandler(ZoomEvent.ZOOM, this::handleZoom);
+    }
+
+    // ==== 数据 ====
+
+    /**
+     * 设置座位
+     * 座位的 ID 和位置都与当前相同时（例如定时刷新）只重绘状态有变化的座位，保持当前的缩放和位置；
+     * 否则重新布局并缩放到适应窗口。
+     */
+    public void setSeats(List<Seat> newSeats) {
+        List<Seat> seatList = newSeats != null ? new ArrayList<>(newSeats) : new ArrayList<>();
+        Layout layout = computeLayout(seatList);
+
+        if (isSameLayout(seatList, layout)) {
+            seats = seatList;
+            for (int i = 0; i < seatList.size(); i++) {
+                Seat seat = seatList.get(i);
+                if (seat.getStatus() != paintedStatuses[i] || seat.getType() != paintedTypes[i]) {
+                    if (seat.getId().equals(selectedSeatId) && !isSelectable(seat)) {
+                        selectedSeatId = null;
+                    }
+                    markSeatDirty(i);
+                }
+            }
+            return;
+        }
+
+        seats = seatList;
+        seatRows = layout.seatRows;
+        seatCols = layout.seatCols;
+        rows = layout.rows;
+        cols = layout.cols;
+        cellSeats = new int[rows * cols];
+        Arrays.fill(cellSeats, -1);
+        seatIndexById.clear();
+        for (int i = 0; i < seatList.size(); i++) {
+            cellSeats[seatRows[i] * cols + seatCols[i]] = i;
+            Long id = seatList.get(i).getId();
+            if (id != null) {
+                seatIndexById.put(id, i);
+            }
+        }
+        paintedStatuses = new Seat.Status[seatList.size()];
+        paintedTypes = new Seat.Type[seatList.size()];
+        if (selectedSeatId != null && !seatIndexById.containsKey(selectedSeatId)) {
+            selectedSeatId = null;
+        }
+
+        fitPending = true;
+        requestLayout();
+        requestFullRepaint();
+    }
+
+    /**
+     * 当前显示的座位
+     */
+    public List<Seat> getSeats() {
+        return Collections.unmodifiableList(seats);
+    }
+
+    /**
+     * 更新座位状态，只重绘该座位
+     */
+    public void updateSeatStatus(Long seatId, Seat.Status status) {
+        Integer index = seatIndexById.get(seatId);
+        if (index == null) {
+            return;
+        }
+        Seat seat = seats.get(index);
+        seat.setStatus(status);
+        if (!seat.isAvailable() && seatId.equals(selectedSeatId)) {
+            selectedSeatId = null;
+        }
+        markSeatDirty(index);
+    }
+
+    /**
+     * 座位对象已在外部修改（状态、类型），重绘该座位
+     */
+    public void repaintSeat(Long seatId) {
+        Integer index = seatIndexById.get(seatId);
+        if (index != null) {
+            markSeatDirty(index);
+        }
+    }
+
+    // ==== 选择 ====
+
+    /**
+     * 设置选中的座位，null 表示取消选择（不触发选择回调）
+     */
+    public void setSelectedSeat(Long seatId) {
+        if (seatId != null && !seatIndexById.containsKey(seatId)) {
+            seatId = null;
+        }
+        Long previous = selectedSeatId;
+        selectedSeatId = seatId;
+        if (previous != null) {
+            repaintSeat(previous);
+        }
+        if (seatId != null) {
+            repaintSeat(seatId);
+        }
+    }
+
+    /**
+     * 当前选中的座位，没有选中时为 null
+     */
+    public Seat getSelectedSeat() {
+        Integer index = selectedSeatId != null ? seatIndexById.get(selectedSeatId) : null;
+        return index != null ? seats.get(index) : null;
+    }
+
+    /**
+     * 用户单击选择座位时的回调
+     */
+    public void setOnSeatSelected(Consumer<Seat> onSeatSelected) {
+        this.onSeatSelected = onSeatSelected;
+    }
+
+    /**
+     * 查找控件坐标处的座位，没有时返回 null
+     */
+    public Seat getSeatAt(double x, double y) {
+        int index = seatIndexAt(x, y);
+        return index >= 0 ? seats.get(index) : null;
+    }
+
+    // ==== 缩放与平移 ====
+
+    public double getZoom() {
+        return zoom;
+    }
+
+    /**
+     * 以控件中心放大一级
+     */
+    public void zoomIn() {
+        zoomAt(ZOOM_STEP, getWidth() / 2, getHeight() / 2);
+    }
+
+    /**
+     * 以控件中心缩小一级
+     */
+    public void zoomOut() {
+        zoomAt(1 / ZOOM_STEP, getWidth() / 2, getHeight() / 2);
+    }
+
+    /**
+     * 缩放到整个座位图恰好显示在窗口内（不超过原始大小）
+     */
+    public void fitToView() {
+        double width = getWidth();
+        double height = getHeight();
+        if (width <= 0 || height <= 0) {
+            fitPending = true;
+            return;
+        }
+        fitPending = false;
+        if (seats.isEmpty()) {
+            zoom = 1.0;
+        } else {
+            double fit = Math.min((width - 2 * VIEW_MARGIN) / contentWidth(),
+                (height - 2 * VIEW_MARGIN) / contentHeight());
+            zoom = clamp(Math.min(fit, 1.0), MIN_ZOOM, MAX_ZOOM);
+        }
+        clampOffsets();
+        requestFullRepaint();
+    }
+
+    private void zoomAt(double factor, double x, double y) {
+        double newZoom = clamp(zoom * factor, MIN_ZOOM, MAX_ZOOM);
+        if (newZoom == zoom) {
+            return;
+        }
+        // 保持鼠标下的布局坐标不动
+        offsetX = x - (x - offsetX) * newZoom / zoom;
+        offsetY = y - (y - offsetY) * newZoom / zoom;
+        zoom = newZoom;
+        fitPending = false;
+        clampOffsets();
+        requestFullRepaint();
+    }
+
+    /**
+     * 座位图小于窗口时居中；大于窗口时不允许拖出窗口外
+     */
+    private void clampOffsets() {
+        double width = getWidth();
+        double height = getHeight();
+        double scaledWidth = contentWidth() * zoom;
+        double scaledHeight = contentHeight() * zoom;
+        offsetX = scaledWidth + 2 * VIEW_MARGIN <= width
+            ? (width - scaledWidth) / 2
+            : clamp(offsetX, width - scaledWidth - VIEW_MARGIN, VIEW_MARGIN);
+        offsetY = scaledHeight + 2 * VIEW_MARGIN <= height
+            ? (height - scaledHeight) / 2
+            : clamp(offsetY, height - scaledHeight - VIEW_MARGIN, VIEW_MARGIN);
+    }
+
+    private double contentWidth() {
+        return Math.max(0, cols * CELL_PITCH - CELL_GAP);
+    }
+
+    private double contentHeight() {
+        return Math.max(0, rows * CELL_PITCH - CELL_GAP);
+    }
+
+    // ==== 布局 ====
+
+    @Override
+    protected void layoutChildren() {
+        double width = snapSizeX(getWidth());
+        double height = snapSizeY(getHeight());
+        if (canvas.getWidth() != width || canvas.getHeight() != height) {
+            canvas.setWidth(width);
+            canvas.setHeight(height);
+            if (fitPending) {
+                fitToView();
+            } else {
+                clampOffsets();
+                requestFullRepaint();
+            }
+        } else if (fitPending) {
+            fitToView();
+        }
+    }
+
+    /**
+     * 计算每个座位的格子位置
+     */
+    private static Layout computeLayout(List<Seat> seatList) {
+        int count = seatList.size();
+        Layout layout = new Layout(count);
+        Set<Long> occupied = new HashSet<>();
+        List<Integer> unplaced = new ArrayList<>();
+        int maxRow = 0;
+        int maxCol = 0;
+
+        for (int i = 0; i < count; i++) {
+            Seat seat = seatList.get(i);
+            Integer row = seat.getRowNum();
+            Integer col = seat.getColNum();
+            if (row == null || col == null || row < 1 || col < 1
+                    || row > MAX_GRID_SPAN || col > MAX_GRID_SPAN
+                    || !occupied.add(((long) row << 32) | col)) {
+                unplaced.add(i);
+                continue;
+            }
+            layout.seatRows[i] = row - 1;
+            layout.seatCols[i] = col - 1;
+            maxRow = Math.max(maxRow, row);
+            maxCol = Math.max(maxCol, col);
+        }
+
+        int columns = maxCol;
+        if (!unplaced.isEmpty()) {
+            // 没有行列号的座位排成接近正方形（稍宽）的网格
+            columns = Math.max(columns, (int) Math.ceil(Math.sqrt(unplaced.size() * 1.2)));
+            for (int k = 0; k < unplaced.size(); k++) {
+                int i = unplaced.get(k);
+                layout.seatRows[i] = maxRow + k / columns;
+                layout.seatCols[i] = k % columns;
+            }
+        }
+        layout.cols = columns;
+        layout.rows = maxRow + (unplaced.isEmpty() ? 0 : (unplaced.size() + columns - 1) / columns);
+        return layout;
+    }
+
+    private boolean isSameLayout(List<Seat> seatList, Layout layout) {
+        if (seatList.size() != seats.size() || layout.rows != rows || layout.cols != cols) {
+            return false;
+        }
+        for (int i = 0; i < seatList.size(); i++) {
+            Long id = seatList.get(i).getId();
+            if (id == null || !id.equals(seats.get(i).getId())
+                    || layout.seatRows[i] != seatRows[i] || layout.seatCols[i] != seatCols[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ==== 绘制 ====
+
+    private void requestFullRepaint() {
+        fullRepaintRequested = true;
+        scheduleRepaint();
+    }
+
+    private void markSeatDirty(int index) {
+        dirtySeats.set(index);
+        scheduleRepaint();
+    }
+
+    private void scheduleRepaint() {
+        if (!repaintScheduled) {
+            repaintScheduled = true;
+            Platform.runLater(this::repaint);
+        }
+    }
+
+    private void repaint() {
+        repaintScheduled = false;
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        double width = canvas.getWidth();
+        double height = canvas.getHeight();
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        double cellSize = CELL_SIZE * zoom;
+        prepareText(gc, cellSize);
+
+        if (fullRepaintRequested) {
+            fullRepaintRequested = false;
+            dirtySeats.clear();
+            gc.clearRect(0, 0, width, height);
+            if (seats.isEmpty()) {
+                return;
+            }
+            double pitch = CELL_PITCH * zoom;
+            int firstRow = Math.max(0, (int) Math.floor(-offsetY / pitch));
+            int lastRow = Math.min(rows - 1, (int) Math.floor((height - offsetY) / pitch));
+            int firstCol = Math.max(0, (int) Math.floor(-offsetX / pitch));
+            int lastCol = Math.min(cols - 1, (int) Math.floor((width - offsetX) / pitch));
+            for (int row = firstRow; row <= lastRow; row++) {
+                for (int col = firstCol; col <= lastCol; col++) {
+                    int index = cellSeats[row * cols + col];
+                    if (index >= 0) {
+                        drawSeat(gc, index, cellSize);
+                    }
+                }
+            }
+        } else {
+            // 只重绘变化的格子；先擦除格子和选中边框（描边居中，外溢半个线宽，再加 1 像素抗锯齿），
+            // 不超过格子间距的一半，保证不会擦到相邻座位
+            double pad = Math.min(selectionLineWidth() / 2 + 1, CELL_GAP * zoom / 2);
+            for (int index = dirtySeats.nextSetBit(0); index >= 0; index = dirtySeats.nextSetBit(index + 1)) {
+                double x = cellX(index);
+                double y = cellY(index);
+                if (x + cellSize < 0 || y + cellSize < 0 || x > width || y > height) {
+                    // 不在视口内，只记下状态，移入视口时整体重绘会画出来
+                    paintedStatuses[index] = seats.get(index).getStatus();
+                    paintedTypes[index] = seats.get(index).getType();
+                    continue;
+                }
+                gc.clearRect(x - pad, y - pad, cellSize + 2 * pad, cellSize + 2 * pad);
+                drawSeat(gc, index, cellSize);
+            }
+            dirtySeats.clear();
+        }
+    }
+
+    private void prepareText(GraphicsContext gc, double cellSize) {
+        gc.setFont(Font.font(null, FontWeight.BOLD, Math.max(8, cellSize * 0.3)));
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+    }
+
+    private void drawSeat(GraphicsContext gc, int index, double cellSize) {
+        Seat seat = seats.get(index);
+        double x = cellX(index);
+        double y = cellY(index);
+        boolean selected = seat.getId() != null && seat.getId().equals(selectedSeatId);
+
+        gc.setFill(selected ? SELECTED_COLOR : seatColor(seat));
+        if (cellSize >= ARC_MIN_SIZE) {
+            double arc = CELL_ARC * zoom;
+            gc.fillRoundRect(x, y, cellSize, cellSize, arc, arc);
+            if (selected) {
+                gc.setStroke(SELECTED_BORDER_COLOR);
+                gc.setLineWidth(selectionLineWidth());
+                gc.strokeRoundRect(x, y, cellSize, cellSize, arc, arc);
+            }
+        } else {
+            gc.fillRect(x, y, cellSize, cellSize);
+        }
+
+        if (cellSize >= LABEL_MIN_SIZE && seat.getSeatNumber() != null) {
+            gc.setFill(seat.isReserved() && !selected ? DARK_LABEL_COLOR : LABEL_COLOR);
+            gc.fillText(seat.getSeatNumber(), x + cellSize / 2, y + cellSize / 2, cellSize - 4);
+        }
+
+        paintedStatuses[index] = seat.getStatus();
+        paintedTypes[index] = seat.getType();
+    }
+
+    private double selectionLineWidth() {
+        return Math.max(1, 2.5 * zoom);
+    }
+
+    private static Color seatColor(Seat seat) {
+        Seat.Status status = seat.getStatus() != null ? seat.getStatus() : Seat.Status.AVAILABLE;
+        switch (status) {
+            case OCCUPIED:
+                return OCCUPIED_COLOR;
+            case RESERVED:
+                return RESERVED_COLOR;
+            case MAINTENANCE:
+                return MAINTENANCE_COLOR;
+            default:
+                return seat.getType() == Seat.Type.VIP ? VIP_COLOR : AVAILABLE_COLOR;
+        }
+    }
+
+    private double cellX(int index) {
+        return offsetX + seatCols[index] * CELL_PITCH * zoom;
+    }
+
+    private double cellY(int index) {
+        return offsetY + seatRows[index] * CELL_PITCH * zoom;
+    }
+
+    private int seatIndexAt(double x, double y) {
+        if (seats.isEmpty()) {
+            return -1;
+        }
+        double layoutX = (x - offsetX) / zoom;
+        double layoutY = (y - offsetY) / zoom;
+        if (layoutX < 0 || layoutY < 0) {
+            return -1;
+        }
+        int col = (int) (layoutX / CELL_PITCH);
+        int row = (int) (layoutY / CELL_PITCH);
+        // 落在格子间距里不算
+        if (col >= cols || row >= rows
+                || layoutX - col * CELL_PITCH > CELL_SIZE || layoutY - row * CELL_PITCH > CELL_SIZE) {
+            return -1;
+        }
+        return cellSeats[row * cols + col];
+    }
+
+    // ==== 鼠标事件 ====
+
+    private void handleMousePressed(MouseEvent event) {
+        if (event.getButton() != MouseButton.PRIMARY) {
+            return;
+        }
+        pressX = lastDragX = event.getX();
+        pressY = lastDragY = event.getY();
+        dragging = false;
+    }
+
+    private void handleMouseDragged(MouseEvent event) {
+        if (!event.isPrimaryButtonDown()) {
+            return;
+        }
+        if (!dragging && Math.hypot(event.getX() - pressX, event.getY() - pressY) < DRAG_THRESHOLD) {
+            return;
+        }
+        dragging = true;
+        setCursor(Cursor.CLOSED_HAND);
+        offsetX += event.getX() - lastDragX;
+        offsetY += event.getY() - lastDragY;
+        lastDragX = event.getX();
+        lastDragY = event.getY();
+        fitPending = false;
+        clampOffsets();
+        requestFullRepaint();
+        event.consume();
+    }
+
+    private void handleMouseReleased(MouseEvent event) {
+        if (event.getButton() != MouseButton.PRIMARY) {
+            return;
+        }
+        if (dragging) {
+            dragging = false;
+            updateCursor(event.getX(), event.getY());
+            return;
+        }
+        int index = seatIndexAt(event.getX(), event.getY());
+        if (index < 0) {
+            return;
+        }
+        Seat seat = seats.get(index);
+        if (!isSelectable(seat)) {
+            return;
+        }
+        setSelectedSeat(seat.getId());
+        if (onSeatSelected != null) {
+            onSeatSelected.accept(seat);
+        }
+    }
+
+    private void handleMouseMoved(MouseEvent event) {
+        updateCursor(event.getX(), event.getY());
+    }
+
+    private void updateCursor(double x, double y) {
+        int index = seatIndexAt(x, y);
+        setCursor(index >= 0 && isSelectable(seats.get(index)) ? Cursor.HAND : Cursor.DEFAULT);
+    }
+
+    private void handleScroll(ScrollEvent event) {
+        if (event.getDeltaY() == 0 || event.getTouchCount() > 0) {
+            return;
+        }
+        zoomAt(Math.pow(1.002, event.getDeltaY()), event.getX(), event.getY());
+        event.consume();
+    }
+
+    private void handleZoom(ZoomEvent event) {
+        zoomAt(event.getZoomFactor(), event.getX(), event.getY());
+        event.consume();
+    }
+
+    private static boolean isSelectable(Seat seat) {
+        return seat.getId() != null && (seat.getStatus() == null || seat.isAvailable());
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    /**
+     * 布局计算结果
+     */
+    private static class Layout {
+        private final int[] seatRows;
+        private final int[] seatCols;
+        private int rows;
+        private int cols;
+
+        Layout(int count) {
+            this.seatRows = new int[count];
+            this.seatCols = new int[count];
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.studyroom.client.controller;
 
 import com.studyroom.client.model.User;
+import com.studyroom.client.service.ApiServiceManager;
+import com.studyroom.client.service.RefreshScheduler;
 import com.studyroom.client.util.AlertUtils;
 import javafx.application.Platform;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
@@ -13,11 +17,13 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.URL;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 管理员仪表板控制器
@@ -53,12 +59,12 @@ public class AdminDashboardController implements Initializable {
     @FXML private Label utilizationRateLabel;
     
     // 最近活动表格
-    @FXML private TableView<?> recentActivitiesTable;
-    @FXML private TableColumn<?, ?> activityTimeColumn;
-    @FXML private TableColumn<?, ?> activityUserColumn;
-    @FXML private TableColumn<?, ?> activityTypeColumn;
-    @FXML private TableColumn<?, ?> activityDescColumn;
-    @FXML private TableColumn<?, ?> activityStatusColumn;
+    @FXML private TableView<Map<String, Object>> recentActivitiesTable;
+    @FXML private TableColumn<Map<String, Object>, String> activityTimeColumn;
+    @FXML private TableColumn<Map<String, Object>, String> activityUserColumn;
+    @FXML private TableColumn<Map<String, Object>, String> activityTypeColumn;
+    @FXML private TableColumn<Map<String, Object>, String> activityDescColumn;
+    @FXML private TableColumn<Map<String, Object>, String> activityStatusColumn;
     
     // 管理功能标签页内容
     @FXML private StackPane userManagementPane;
@@ -76,11 +82,21 @@ public class AdminDashboardController implements Initializable {
     // 当前管理员用户
     private User currentAdmin;
     
-    // 时间更新定时器
-    private Timer timeUpdateTimer;
+    // 仪表板显示的最近活动条数
+    private static final int RECENT_ACTIVITY_LIMIT = 20;
     
-    // 系统监控定时器
-    private Timer systemMonitorTimer;
+    // 系统概览视图（只在“系统概览”标签页可见时按正常频率监控）
+    private static final String OVERVIEW_VIEW = "admin.overview";
+    private static final int OVERVIEW_TAB_INDEX = 0;
+
+    // 时间更新任务
+    private RefreshScheduler.Task timeUpdateTask;
+    
+    // 系统监控任务
+    private RefreshScheduler.Task systemMonitorTask;
+    
+    // 上一次加载的最近活动，用于判断是否有新活动
+    private volatile List<Map<String, Object>> lastActivities;
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
@@ -115,8 +131,15 @@ public class AdminDashboardController implements Initializable {
         // 初始化活动表格
         initializeActivitiesTable();
         
+        // 跟踪系统概览标签页是否可见
+        RefreshScheduler scheduler = RefreshScheduler.getInstance();
+        scheduler.setViewVisible(OVERVIEW_VIEW,
+            adminTabPane.getSelectionModel().getSelectedIndex() == OVERVIEW_TAB_INDEX);
+        adminTabPane.getSelectionModel().selectedIndexProperty().addListener((obs, oldIndex, newIndex) ->
+            scheduler.setViewVisible(OVERVIEW_VIEW, newIndex.intValue() == OVERVIEW_TAB_INDEX));
+        
         // 设置默认统计数据
-        updateSystemStatistics(0, 0, 0, 0.0);
+        updateSystemStatistics(new ApiServiceManager.ServerMetrics());
         
         // 加载标签页内容
         loadTabContents();
@@ -229,35 +252,73 @@ public class AdminDashboardController implements Initializable {
      * 初始化活动表格
      */
     private void initializeActivitiesTable() {
-        // TODO: 配置表格列和数据绑定
-        // 这里暂时设置为空表格
+        activityTimeColumn.setCellValueFactory(data -> new SimpleStringProperty(formatActivityTime(data.getValue().get("createdAt"))));
+        activityUserColumn.setCellValueFactory(data -> new SimpleStringProperty(activityText(
+            data.getValue().get("actorName") != null ? data.getValue().get("actorName") : data.getValue().get("actorId"))));
+        activityTypeColumn.setCellValueFactory(data -> new SimpleStringProperty(activityText(data.getValue().get("entityType"))));
+        activityDescColumn.setCellValueFactory(data -> new SimpleStringProperty(
+            activityText(data.getValue().get("action")) + " #" + activityText(data.getValue().get("entityId"))));
+        activityStatusColumn.setCellValueFactory(data -> new SimpleStringProperty(
+            activityText(data.getValue().get("beforeValue")) + " → " + activityText(data.getValue().get("afterValue"))));
         recentActivitiesTable.setPlaceholder(new Label("暂无系统活动记录"));
     }
 
     /**
-     * 启动时间更新定时器
+     * 加载最近的系统活动（审计日志第一页），返回是否有新活动
+     */
+    private CompletableFuture<RefreshScheduler.Result> loadRecentActivities() {
+        return ApiServiceManager.getInstance().getUserApiService().getAuditLogs(0, RECENT_ACTIVITY_LIMIT)
+            .thenApply(logs -> {
+                if (logs.equals(lastActivities)) {
+                    return RefreshScheduler.Result.UNCHANGED;
+                }
+                lastActivities = logs;
+                Platform.runLater(() -> recentActivitiesTable.setItems(FXCollections.observableArrayList(logs)));
+                return RefreshScheduler.Result.CHANGED;
+            })
+            .exceptionally(throwable -> {
+                logger.warn("⚠️ 加载系统活动失败: {}", throwable.getMessage());
+                return RefreshScheduler.Result.FAILED;
+            });
+    }
+
+    private static String formatActivityTime(Object createdAt) {
+        if (createdAt instanceof List && ((List<?>) createdAt).size() >= 5) {
+            // Jackson 未注册 JavaTimeModule 时 LocalDateTime 会被序列化为数组
+            List<?> parts = (List<?>) createdAt;
+            return String.format("%s-%02d-%02d %02d:%02d", parts.get(0), toInt(parts.get(1)), toInt(parts.get(2)),
+                toInt(parts.get(3)), toInt(parts.get(4)));
+        }
+        return createdAt == null ? "" : createdAt.toString().replace('T', ' ');
+    }
+
+    private static int toInt(Object value) {
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+    }
+
+    private static String activityText(Object value) {
+        return value == null ? "-" : value.toString();
+    }
+
+    /**
+     * 启动时间更新
      */
     private void startTimeUpdate() {
-        timeUpdateTimer = new Timer(true);
-        timeUpdateTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                Platform.runLater(() -> updateCurrentTime());
-            }
-        }, 0, 1000); // 每秒更新一次
+        timeUpdateTask = RefreshScheduler.getInstance().scheduleFixed("管理员仪表板时钟",
+            Duration.ofSeconds(1), () -> Platform.runLater(this::updateCurrentTime)); // 每秒更新一次
     }
 
     /**
      * 启动系统监控
+     * 基础间隔30秒；没有新活动、切到其他标签页或窗口不在前台时由调度器放慢
      */
     private void startSystemMonitoring() {
-        systemMonitorTimer = new Timer(true);
-        systemMonitorTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                Platform.runLater(() -> updateSystemMonitoring());
-            }
-        }, 0, 30000); // 每30秒更新一次
+        systemMonitorTask = RefreshScheduler.getInstance().schedule("系统监控", OVERVIEW_VIEW,
+            Duration.ofSeconds(30), () -> {
+                Platform.runLater(this::updateSystemMonitoring);
+                return loadRecentActivities();
+            });
+        systemMonitorTask.runNow();
     }
 
     /**
@@ -274,37 +335,47 @@ public class AdminDashboardController implements Initializable {
      */
     private void updateSystemMonitoring() {
         try {
-            // TODO: 从服务器获取实时系统状态
-            // 这里暂时使用模拟数据
-            
-            // 模拟系统负载
-            double load = Math.random() * 100;
-            String loadStatus;
-            if (load < 30) {
-                loadStatus = "负载: 轻度";
-                systemLoadLabel.setStyle("-fx-text-fill: #4CAF50;");
-            } else if (load < 70) {
-                loadStatus = "负载: 中等";
-                systemLoadLabel.setStyle("-fx-text-fill: #FF9800;");
-            } else {
-                loadStatus = "负载: 重度";
-                systemLoadLabel.setStyle("-fx-text-fill: #F44336;");
-            }
-            systemLoadLabel.setText(loadStatus);
-            
-            // 更新统计数据
-            int onlineUsers = (int) (Math.random() * 50) + 10;
-            int totalUsers = 1250 + (int) (Math.random() * 100);
-            int activeReservations = (int) (Math.random() * 200) + 50;
-            double utilizationRate = Math.random() * 100;
-            
-            updateSystemStatistics(onlineUsers, totalUsers, activeReservations, utilizationRate);
-            
+            ApiServiceManager.getInstance().getServerMetrics()
+                .thenAccept(metrics -> Platform.runLater(() -> updateServerMetrics(metrics)))
+                .exceptionally(throwable -> {
+                    logger.warn("⚠️ 获取服务器运行指标失败: {}", throwable.getMessage());
+                    Platform.runLater(() -> {
+                        systemLoadLabel.setText("负载: 未知");
+                        systemLoadLabel.setStyle("-fx-text-fill: #666;");
+                    });
+                    return null;
+                });
         } catch (Exception e) {
             logger.warn("⚠️ 系统监控更新失败", e);
         }
     }
 
+    /**
+     * 显示服务器负载和请求延迟（p50/p99）、吞吐以及总体统计数据
+     */
+    private void updateServerMetrics(ApiServiceManager.ServerMetrics metrics) {
+        updateSystemStatistics(metrics);
+        double cpu = metrics.getProcessCpuLoad() * 100;
+        String loadStatus;
+        if (cpu < 0) {
+            loadStatus = "负载: 采样中";
+            systemLoadLabel.setStyle("-fx-text-fill: #666;");
+        } else if (cpu < 30) {
+            loadStatus = String.format("负载: 轻度 (%.0f%%)", cpu);
+            systemLoadLabel.setStyle("-fx-text-fill: #4CAF50;");
+        } else if (cpu < 70) {
+            loadStatus = String.format("负载: 中等 (%.0f%%)", cpu);
+            systemLoadLabel.setStyle("-fx-text-fill: #FF9800;");
+        } else {
+            loadStatus = String.format("负载: 重度 (%.0f%%)", cpu);
+            systemLoadLabel.setStyle("-fx-text-fill: #F44336;");
+        }
+        systemLoadLabel.setText(loadStatus);
+        serverLabel.setText(String.format("服务器: %s · p50 %.1fms · p99 %.1fms · %.1f req/s",
+            ApiServiceManager.getInstance().getServerUrl().replaceFirst("^https?://", ""),
+            metrics.getP50Millis(), metrics.getP99Millis(), metrics.getRequestsPerSecond()));
+    }
+
     /**
      * 设置当前管理员用户
      */
@@ -348,9 +419,10 @@ public class AdminDashboardController implements Initializable {
         }
         
         try {
-            // TODO: 从服务器加载系统统计数据
-            // 这里暂时使用模拟数据
-            updateSystemStatistics(25, 1250, 150, 75.5);
+            // 统计数据随服务器指标一起刷新
+            if (systemMonitorTask != null) {
+                systemMonitorTask.runNow();
+            }
             
             updateStatus("系统数据加载完成");
             
@@ -361,14 +433,18 @@ public class AdminDashboardController implements Initializable {
     }
 
     /**
-     * 更新系统统计数据
+     * 更新系统统计数据，服务器未提供的项显示为 --
      */
-    private void updateSystemStatistics(int onlineUsers, int totalUsers, 
-                                       int activeReservations, double utilizationRate) {
-        onlineUsersLabel.setText(String.valueOf(onlineUsers));
-        totalUsersLabel.setText(String.valueOf(totalUsers));
-        activeReservationsLabel.setText(String.valueOf(activeReservations));
-        utilizationRateLabel.setText(String.format("%.1f%%", utilizationRate));
+    private void updateSystemStatistics(ApiServiceManager.ServerMetrics metrics) {
+        onlineUsersLabel.setText(formatCount(metrics.getOnlineUsers()));
+        totalUsersLabel.setText(formatCount(metrics.getTotalUsers()));
+        activeReservationsLabel.setText(formatCount(metrics.getActiveReservations()));
+        double utilizationRate = metrics.getSeatUtilizationRate();
+        utilizationRateLabel.setText(utilizationRate < 0 ? "--" : String.format("%.1f%%", utilizationRate));
+    }
+
+    private static String formatCount(int count) {
+        return count < 0 ? "--" : String.valueOf(count);
     }
 
     /**
@@ -449,13 +525,8 @@ public class AdminDashboardController implements Initializable {
         
         if (confirmed) {
             try {
-                // 停止定时器
-                if (timeUpdateTimer != null) {
-                    timeUpdateTimer.cancel();
-                }
-                if (systemMonitorTimer != null) {
-                    systemMonitorTimer.cancel();
-                }
+                // 停止定时任务
+                cleanup();
                 
                 // TODO: 清理管理员会话
                 // TODO: 返回登录界面
@@ -473,14 +544,15 @@ public class AdminDashboardController implements Initializable {
      * 清理资源
      */
     public void cleanup() {
-        if (timeUpdateTimer != null) {
-            timeUpdateTimer.cancel();
-            timeUpdateTimer = null;
+        if (timeUpdateTask != null) {
+            timeUpdateTask.cancel();
+            timeUpdateTask = null;
         }
-        if (systemMonitorTimer != null) {
-            systemMonitorTimer.cancel();
-            systemMonitorTimer = null;
+        if (systemMonitorTask != null) {
+            systemMonitorTask.cancel();
+            systemMonitorTask = null;
         }
+        RefreshScheduler.getInstance().setViewVisible(OVERVIEW_VIEW, false);
         logger.info("🧹 管理员仪表板资源清理完成");
     }
 } 
\ No newline at end of file
@@ -2,11 +2,12 @@ package com.studyroom.client.controller;
 
 import com.studyroom.client.model.StudyRoom;
 import com.studyroom.client.service.ApiServiceManager;
+import com.studyroom.client.service.DataBindingService;
+import com.studyroom.client.service.SeatApiService;
 import com.studyroom.client.service.StudyRoomApiService;
 import com.studyroom.client.util.AlertUtils;
+import com.studyroom.client.util.KeyedObservableList;
 import javafx.application.Platform;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
@@ -20,7 +21,10 @@ import java.net.URL;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.ResourceBundle;
 
 /**
@@ -77,7 +81,8 @@ public class AdminRoomManagementController implements Initializable {
 
     // 服务和数据
     private final StudyRoomApiService studyRoomApiService;
-    private final ObservableList<StudyRoom> roomList = FXCollections.observableArrayList();
+    private final SeatApiService seatApiService;
+    private final KeyedObservableList<Long, StudyRoom> roomList = DataBindingService.createStudyRoomList();
     
     // 分页数据
     private int currentPage = 1;
@@ -87,6 +92,7 @@ public class AdminRoomManagementController implements Initializable {
 
     public AdminRoomManagementController() {
         this.studyRoomApiService = ApiServiceManager.getInstance().getStudyRoomApiService();
+        this.seatApiService = ApiServiceManager.getInstance().getSeatApiService();
     }
 
     @Override
@@ -252,9 +258,8 @@ public class AdminRoomManagementController implements Initializable {
                     Platform.runLater(() -> {
                         try {
                             if (pageData != null && pageData.getContent() != null) {
-                                // 更新表格数据
-                                roomList.clear();
-                                roomList.addAll(pageData.getContent());
+                                // 更新表格数据（只更新变化的行，保留选中项和滚动位置）
+                                roomList.applyDiff(pageData.getContent());
                                 
                                 // 更新分页信息
                                 totalElements = pageData.getTotalElements();
@@ -415,7 +420,50 @@ public class AdminRoomManagementController implements Initializable {
 
     private void handleManageSeats(StudyRoom room) {
         logger.info("🪑 管理座位: {}", room.getName());
-        AlertUtils.showInfo("座位管理", "座位管理功能正在开发中\n自习室: " + room.getName());
+
+        // 默认按容量估算一个接近正方形的网格
+        int capacity = room.getCapacity() != null && room.getCapacity() > 0 ? room.getCapacity() : 50;
+        int defaultCols = (int) Math.ceil(Math.sqrt(capacity * 1.2));
+        int defaultRows = (int) Math.ceil((double) capacity / defaultCols);
+
+        Optional<String> input = AlertUtils.showTextInput("生成座位布局",
+                "自习室: " + room.getName() + "\n请输入 行数x列数（第一列靠窗，首尾列带电源插座）",
+                defaultRows + "x" + defaultCols);
+        if (input.isEmpty()) {
+            return;
+        }
+
+        String[] parts = input.get().toLowerCase().split("[x×*]");
+        int rows;
+        int cols;
+        try {
+            rows = Integer.parseInt(parts[0].trim());
+            cols = Integer.parseInt(parts[1].trim());
+        } catch (RuntimeException e) {
+            AlertUtils.showValidationError("布局", "格式应为 行数x列数，例如 10x12");
+            return;
+        }
+
+        Map<String, Object> layout = new HashMap<>();
+        layout.put("rows", rows);
+        layout.put("columns", cols);
+        layout.put("windowColumns", List.of(1));
+        layout.put("powerColumns", cols > 1 ? List.of(1, cols) : List.of(1));
+
+        updateStatus("正在生成座位布局...");
+        seatApiService.createSeatLayout(room.getId(), layout)
+            .thenAccept(result -> Platform.runLater(() -> {
+                updateStatus("座位布局生成完成");
+                AlertUtils.showInfo("座位管理", "已为 " + room.getName() + " 生成 " + result.get("count")
+                        + " 个座位，耗时 " + result.get("elapsedMillis") + " ms");
+            }))
+            .exceptionally(throwable -> {
+                Platform.runLater(() -> {
+                    updateStatus("座位布局生成失败");
+                    AlertUtils.showOperationError("生成座位布局", throwable.getMessage());
+                });
+                return null;
+            });
     }
 
     // 分页事件处理
@@ -5,15 +5,16 @@ import com.studyroom.client.model.PageData;
 import com.studyroom.client.service.ApiServiceManager;
 import com.studyroom.client.service.ReservationApiService;
 import com.studyroom.client.util.AlertUtils;
+import com.studyroom.client.util.PagedObservableList;
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.beans.property.SimpleStringProperty;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.HBox;
+import javafx.util.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,10 +23,15 @@ import java.net.URL;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Objects;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 /**
  * 预订管理控制器
+ * 预订表格按需分页加载：滚动到哪里加载哪一页，排序和过滤由服务端完成
  * 
  * @author Developer
  * @version 1.0.0
@@ -34,6 +40,13 @@ import java.util.ResourceBundle;
 public class ReservationManagementController implements Initializable {
 
     private static final Logger logger = LoggerFactory.getLogger(ReservationManagementController.class);
+
+    // 分页加载参数
+    private static final int PAGE_SIZE = 50;
+    private static final int MAX_CACHED_PAGES = 20;
+    // 停止输入后再按关键字重新查询，避免每次按键都请求服务端
+    private static final Duration SEARCH_DELAY = Duration.millis(300);
+
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private final DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
 
@@ -65,7 +78,13 @@ public class ReservationManagementController implements Initializable {
     @FXML private Label lastUpdateLabel;
 
     private ReservationApiService reservationApiService;
-    private final ObservableList<Reservation> reservationList = FXCollections.observableArrayList();
+    private final PagedObservableList<Reservation> reservationList = new PagedObservableList<>(PAGE_SIZE, MAX_CACHED_PAGES, this::loadPage);
+    private final PauseTransition searchDelay = new PauseTransition(SEARCH_DELAY);
+
+    // 当前生效的过滤条件（切换过滤器时更新，之后加载的每一页都使用同一组条件）
+    private Reservation.Status statusFilter;
+    private LocalDate dateFilter;
+    private String keywordFilter;
     
     @Override
     public void initialize(URL location, ResourceBundle resources) {
@@ -90,6 +109,11 @@ public class ReservationManagementController implements Initializable {
     private void initializeComponents() {
         statusFilterComboBox.getItems().addAll("全部状态", "已确认/进行中", "已完成", "已取消", "已过期", "未到场");
         statusFilterComboBox.setValue("全部状态");
+        searchDelay.setOnFinished(e -> {
+            if (!Objects.equals(currentKeyword(), keywordFilter)) {
+                loadReservations();
+            }
+        });
         updateStatus("就绪");
         updateLastUpdate();
     }
@@ -98,22 +122,33 @@ public class ReservationManagementController implements Initializable {
      * 初始化表格
      */
     private void initializeTable() {
+        // 未加载的行为 null，各列需要处理
         reservationTableView.setItems(reservationList);
+        reservationList.setOnPageLoaded(this::handlePageLoaded);
+        reservationList.setOnLoadFailed(this::handleLoadFailed);
+
+        // 列头排序交给服务端（日期和时间列都按开始时间排序）
+        reservationList.bindSort(reservationTableView, Map.of(
+            idColumn, "id",
+            dateColumn, "startTime",
+            timeColumn, "startTime",
+            costColumn, "totalAmount",
+            statusColumn, "status"
+        ));
 
         idColumn.setCellValueFactory(new PropertyValueFactory<>("id"));
-        userColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getUser() != null ? cellData.getValue().getUser().getUsername() : "N/A"));
-        roomColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getSeat() != null && cellData.getValue().getSeat().getStudyRoom() != null ? cellData.getValue().getSeat().getStudyRoom().getName() : "N/A"));
-        seatColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getSeat() != null ? cellData.getValue().getSeat().getSeatNumber() : "N/A"));
-        dateColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getStartTime() != null ? cellData.getValue().getStartTime().format(dateFormatter) : ""));
-        timeColumn.setCellValueFactory(cellData -> {
-            Reservation res = cellData.getValue();
+        userColumn.setCellValueFactory(cellData -> cellText(cellData, res -> res.getUser() != null ? res.getUser().getUsername() : "N/A"));
+        roomColumn.setCellValueFactory(cellData -> cellText(cellData, res -> res.getSeat() != null && res.getSeat().getStudyRoom() != null ? res.getSeat().getStudyRoom().getName() : "N/A"));
+        seatColumn.setCellValueFactory(cellData -> cellText(cellData, res -> res.getSeat() != null ? res.getSeat().getSeatNumber() : "N/A"));
+        dateColumn.setCellValueFactory(cellData -> cellText(cellData, res -> res.getStartTime() != null ? res.getStartTime().format(dateFormatter) : ""));
+        timeColumn.setCellValueFactory(cellData -> cellText(cellData, res -> {
             if (res.getStartTime() != null && res.getEndTime() != null) {
-                return new SimpleStringProperty(res.getStartTime().format(timeFormatter) + " - " + res.getEndTime().format(timeFormatter));
+                return res.getStartTime().format(timeFormatter) + " - " + res.getEndTime().format(timeFormatter);
             }
-            return new SimpleStringProperty("");
-        });
+            return "";
+        }));
         costColumn.setCellValueFactory(new PropertyValueFactory<>("totalAmount"));
-        statusColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getStatus() != null ? cellData.getValue().getStatus().getDisplayName() : ""));
+        statusColumn.setCellValueFactory(cellData -> cellText(cellData, res -> res.getStatus() != null ? res.getStatus().getDisplayName() : ""));
 
         actionColumn.setCellFactory(param -> new TableCell<>() {
             private final Button viewButton = new Button("查看");
@@ -124,21 +159,26 @@ public class ReservationManagementController implements Initializable {
                 pane.setSpacing(5);
                 viewButton.setOnAction(event -> {
                     Reservation reservation = getTableView().getItems().get(getIndex());
-                    handleViewReservation(reservation);
+                    if (reservation != null) {
+                        handleViewReservation(reservation);
+                    }
                 });
                 cancelButton.setOnAction(event -> {
                     Reservation reservation = getTableView().getItems().get(getIndex());
-                    handleCancelReservation(reservation);
+                    if (reservation != null) {
+                        handleCancelReservation(reservation);
+                    }
                 });
             }
 
             @Override
             protected void updateItem(Void item, boolean empty) {
                 super.updateItem(item, empty);
-                if (empty) {
+                Reservation reservation = empty || getTableRow() == null ? null : getTableRow().getItem();
+                if (reservation == null) {
+                    // 所在页尚未加载的行不显示按钮
                     setGraphic(null);
                 } else {
-                    Reservation reservation = getTableView().getItems().get(getIndex());
                     cancelButton.setDisable(!reservation.canCancel());
                     setGraphic(pane);
                 }
@@ -148,13 +188,11 @@ public class ReservationManagementController implements Initializable {
     }
 
     /**
-     * 加载预订数据
+     * 按当前过滤条件重新加载预订数据（从第一页开始）
      */
     private void loadReservations() {
         updateStatus("正在加载预订数据...");
         String statusFilterValue = statusFilterComboBox.getValue(); // 获取显示名
-        LocalDate date = dateFilterPicker.getValue();
-        String keyword = searchField.getText();
 
         Reservation.Status queryStatus = null;
         if (statusFilterValue != null && !"全部状态".equals(statusFilterValue)) {
@@ -170,30 +208,67 @@ public class ReservationManagementController implements Initializable {
             }
         }
         
-        //TODO: 添加日期和关键字过滤参数到API调用
-        reservationApiService.getReservations(0, 20, null, queryStatus, null) 
-            .thenAccept(pageData -> Platform.runLater(() -> {
-                if (pageData != null && pageData.getContent() != null) {
-                    reservationList.setAll(pageData.getContent());
-                    totalReservationsLabel.setText("总计: " + pageData.getTotalElements() + " 个预订");
-                    updateStatus("数据加载完成，共 " + pageData.getContent().size() + " 条");
-                } else {
-                    reservationList.clear();
-                    totalReservationsLabel.setText("总计: 0 个预订");
-                    updateStatus("未获取到预订数据");
-                }
-                updateLastUpdate();
-            }))
-            .exceptionally(throwable -> {
-                Platform.runLater(() -> {
-                    logger.error("❌ 加载预订数据失败", throwable);
-                    updateStatus("数据加载失败: " + throwable.getMessage());
-                    reservationList.clear();
-                    totalReservationsLabel.setText("加载失败");
-                    AlertUtils.showError("加载错误", "无法从服务器加载预订数据: " + throwable.getMessage());
-                });
-                return null;
-            });
+        searchDelay.stop();
+        statusFilter = queryStatus;
+        dateFilter = dateFilterPicker.getValue();
+        keywordFilter = currentKeyword();
+        reservationList.reset();
+    }
+
+    /**
+     * 搜索框中的关键字，为空时返回 null
+     */
+    private String currentKeyword() {
+        String text = searchField.getText();
+        return text == null || text.isBlank() ? null : text.trim();
+    }
+
+    /**
+     * 刷新当前显示的预订数据，保留滚动位置
+     */
+    private void refreshReservations() {
+        updateStatus("正在刷新预订数据...");
+        reservationList.refresh();
+    }
+
+    /**
+     * 加载一页预订数据（由分页列表在需要时调用）
+     * 日期过滤按开始时间落在所选日期内查询；关键字匹配预订码、用户名、真实姓名、座位号和自习室名称
+     */
+    private CompletableFuture<PageData<Reservation>> loadPage(int page, int size, String sort) {
+        LocalDateTime startDate = dateFilter != null ? dateFilter.atStartOfDay() : null;
+        LocalDateTime endDate = dateFilter != null ? dateFilter.plusDays(1).atStartOfDay() : null;
+        return reservationApiService.getReservations(page, size, null, statusFilter, null, startDate, endDate,
+            keywordFilter, sort);
+    }
+
+    /**
+     * 一页预订数据加载完成
+     */
+    private void handlePageLoaded(PageData<Reservation> pageData) {
+        totalReservationsLabel.setText("总计: " + pageData.getTotalElements() + " 个预订");
+        updateStatus("数据加载完成，已加载 " + reservationList.getLoadedPageCount() + " 页，每页 " + reservationList.getPageSize() + " 条");
+        updateLastUpdate();
+    }
+
+    /**
+     * 预订数据加载失败
+     */
+    private void handleLoadFailed(Throwable throwable) {
+        String message = throwable != null ? throwable.getMessage() : "未获取到预订数据";
+        logger.error("❌ 加载预订数据失败", throwable);
+        updateStatus("数据加载失败: " + message);
+        totalReservationsLabel.setText("加载失败");
+        AlertUtils.showError("加载错误", "无法从服务器加载预订数据: " + message);
+    }
+
+    /**
+     * 单元格文本（所在页尚未加载时为空）
+     */
+    private static SimpleStringProperty cellText(TableColumn.CellDataFeatures<Reservation, String> cellData,
+                                                 Function<Reservation, String> text) {
+        Reservation reservation = cellData.getValue();
+        return new SimpleStringProperty(reservation != null ? text.apply(reservation) : null);
     }
 
     // 事件处理方法
@@ -207,7 +282,7 @@ public class ReservationManagementController implements Initializable {
     @FXML
     private void handleRefresh() {
         logger.info("🔄 刷新预订列表");
-        loadReservations();
+        refreshReservations();
     }
 
     @FXML
@@ -218,7 +293,7 @@ public class ReservationManagementController implements Initializable {
 
     @FXML
     private void handleSearch() {
-        loadReservations(); // 简单实现，每次按键都重新加载
+        searchDelay.playFromStart();
     }
 
     @FXML
@@ -244,7 +319,7 @@ public class ReservationManagementController implements Initializable {
                 .thenAccept(updatedReservation -> Platform.runLater(() -> {
                     if (updatedReservation != null && updatedReservation.getStatus() == Reservation.Status.CANCELLED) {
                         AlertUtils.showInfo("取消成功", "预订已成功取消。");
-                        loadReservations(); // 重新加载列表
+                        refreshReservations(); // 重新加载当前显示的数据
                     } else {
                         AlertUtils.showError("取消失败", "未能取消预订，请重试或联系管理员。");
                     }
@@ -1,21 +1,31 @@
 package com.studyroom.client.controller;
 
+import com.studyroom.client.component.SeatMapView;
+import com.studyroom.client.model.Seat;
 import com.studyroom.client.model.StudyRoom;
+import com.studyroom.client.service.ApiServiceManager;
+import com.studyroom.client.service.AsyncDataManager;
+import com.studyroom.client.service.RetryPolicy;
 import com.studyroom.client.util.AlertUtils;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
-import javafx.scene.layout.VBox;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.net.URL;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * 座位选择控制器
@@ -28,14 +38,18 @@ public class SeatSelectionController implements Initializable {
 
     private static final Logger logger = LoggerFactory.getLogger(SeatSelectionController.class);
 
+    // 座位布局加载：最多重试 2 次，含重试等待不超过 10 秒
+    private static final RetryPolicy SEAT_LAYOUT_RETRY = RetryPolicy.exponential(2);
+    private static final Duration SEAT_LAYOUT_DEADLINE = Duration.ofSeconds(10);
+
     // 顶部自习室信息
     @FXML private Label roomNameLabel;
     @FXML private Label roomLocationLabel;
     @FXML private Label roomPriceLabel;
     @FXML private Button backButton;
 
-    // 座位布局容器
-    @FXML private VBox seatGridContainer;
+    // 座位图
+    @FXML private SeatMapView seatMapView;
 
     // 右侧信息面板
     @FXML private Label selectedSeatLabel;
@@ -65,6 +79,7 @@ public class SeatSelectionController implements Initializable {
     private StudyRoom currentRoom;
     private String selectedSeatId;
     private BigDecimal hourlyRate;
+    private AsyncDataManager.TaskHandle<List<Seat>> seatLayoutTask;
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
@@ -86,6 +101,9 @@ public class SeatSelectionController implements Initializable {
      * 初始化组件
      */
     private void initializeComponents() {
+        // 座位图点击选择
+        seatMapView.setOnSeatSelected(this::handleSeatSelection);
+        
         // 初始化时间选择器
         initializeTimeSelectors();
         
@@ -134,148 +152,111 @@ public class SeatSelectionController implements Initializable {
 
     /**
      * 加载座位布局
+     * 自习室列表在用户悬停或选中时已预取座位列表，这里通常直接命中缓存；
+     * 网络错误和 5xx 按退避策略重试，切换自习室时取消上一次未完成的加载
      */
     private void loadSeatLayout() {
-        seatGridContainer.getChildren().clear();
-        
-        try {
-            updateStatus("正在加载座位布局...");
-            
-            // 创建座位网格
-            createSeatGrid();
-            
-            updateStatus("座位布局加载完成");
-            
-        } catch (Exception e) {
-            logger.error("❌ 加载座位布局失败", e);
-            updateStatus("座位布局加载失败");
-            
-            // 显示错误占位符
-            Label errorLabel = new Label("座位布局加载失败: " + e.getMessage());
-            errorLabel.setStyle("-fx-font-size: 16px; -fx-text-fill: #ff0000; -fx-padding: 50px;");
-            seatGridContainer.getChildren().add(errorLabel);
+        if (seatLayoutTask != null) {
+            seatLayoutTask.cancel();
         }
+        updateStatus("正在加载座位布局...");
+        Long roomId = currentRoom.getId();
+        
+        // 没有ID的自习室（本地示例数据）不请求服务端，直接使用示例布局
+        Supplier<CompletableFuture<List<Seat>>> request = roomId != null
+            ? () -> ApiServiceManager.getInstance().getSeatApiService().getSeatsByStudyRoom(roomId)
+            : () -> CompletableFuture.completedFuture(null);
+        seatLayoutTask = ApiServiceManager.getInstance().getAsyncDataManager().loadDataWithRetry(
+            "加载座位布局", request, new AsyncDataManager.DataCallback<List<Seat>>() {
+                @Override
+                public void onSuccess(List<Seat> seats) {
+                    if (currentRoom == null || !Objects.equals(roomId, currentRoom.getId())) {
+                        return;
+                    }
+                    if (seats != null && !seats.isEmpty()) {
+                        // 由座位图按行列号绘制
+                        seatMapView.setSeats(seats);
+                        updateStatus("座位布局加载完成");
+                    } else {
+                        showMockLayout(roomId);
+                    }
+                    updateLastUpdate();
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    if (currentRoom == null || !Objects.equals(roomId, currentRoom.getId())) {
+                        return;
+                    }
+                    logger.warn("⚠️ 加载自习室 {} 的座位失败: {}", roomId, throwable.getMessage());
+                    showMockLayout(roomId);
+                    updateLastUpdate();
+                }
+            }, SEAT_LAYOUT_RETRY, SEAT_LAYOUT_DEADLINE);
+    }
+
+    /**
+     * 服务端没有该自习室的座位或无法连接时，按容量生成示例布局
+     */
+    private void showMockLayout(Long roomId) {
+        logger.warn("⚠️ 未获取到自习室 {} 的座位，使用示例布局", roomId);
+        int capacity = currentRoom.getCapacity() != null ? currentRoom.getCapacity() : 50;
+        seatMapView.setSeats(generateMockSeats(capacity));
+        updateStatus("未获取到座位数据，显示示例布局");
     }
     
     /**
-     * 创建座位网格
+     * 生成模拟座位（按容量排成接近正方形的网格）
      */
-    private void createSeatGrid() {
-        int capacity = (currentRoom != null) ? currentRoom.getCapacity() : 50;
-        
-        // 计算网格布局（尽量接近正方形）
+    private List<Seat> generateMockSeats(int capacity) {
         int cols = (int) Math.ceil(Math.sqrt(capacity * 1.2)); // 稍微宽一点的布局
         int rows = (int) Math.ceil((double) capacity / cols);
         
         logger.info("📊 创建座位网格: {}行 × {}列，总容量: {}", rows, cols, capacity);
         
-        int seatNumber = 1;
-        
-        for (int row = 0; row < rows && seatNumber <= capacity; row++) {
-            // 创建每一行
-            javafx.scene.layout.HBox rowBox = new javafx.scene.layout.HBox(8);
-            rowBox.setAlignment(javafx.geometry.Pos.CENTER);
+        List<Seat> seats = new ArrayList<>(capacity);
+        for (int seatNumber = 1; seatNumber <= capacity; seatNumber++) {
+            Seat seat = new Seat();
+            seat.setId((long) seatNumber);
+            seat.setSeatNumber("S" + String.format("%03d", seatNumber));
+            seat.setRowNum((seatNumber - 1) / cols + 1);
+            seat.setColNum((seatNumber - 1) % cols + 1);
+            seat.setType(seatNumber % 11 == 0 ? Seat.Type.VIP : Seat.Type.NORMAL);
             
-            for (int col = 0; col < cols && seatNumber <= capacity; col++) {
-                // 创建座位按钮
-                Button seatButton = createSeatButton(seatNumber, row, col);
-                rowBox.getChildren().add(seatButton);
-                seatNumber++;
+            // 模拟不同的座位状态
+            if (seatNumber % 13 == 0) {
+                seat.setStatus(Seat.Status.MAINTENANCE); // 维护中
+            } else if (seatNumber % 7 == 0) {
+                seat.setStatus(Seat.Status.OCCUPIED); // 已占用
+            } else {
+                seat.setStatus(Seat.Status.AVAILABLE); // 可用
             }
-            
-            seatGridContainer.getChildren().add(rowBox);
+            seats.add(seat);
         }
+        return seats;
     }
     
     /**
-     * 创建座位按钮
-     */
-    private Button createSeatButton(int seatNumber, int row, int col) {
-        Button seatButton = new Button(String.valueOf(seatNumber));
-        String seatId = "S" + String.format("%03d", seatNumber);
-        
-        // 设置按钮基本属性
-        seatButton.setPrefSize(45, 45);
-        seatButton.setMinSize(45, 45);
-        seatButton.setMaxSize(45, 45);
-        seatButton.setUserData(seatId);
-        
-        // 设置座位状态（模拟数据）
-        SeatStatus status = generateMockSeatStatus(seatNumber);
-        applySeatStyle(seatButton, status);
-        
-        // 添加点击事件
-        seatButton.setOnAction(e -> handleSeatSelection(seatButton, seatId, status));
-        
-        return seatButton;
-    }
-    
-    /**
-     * 生成模拟座位状态
+     * 座位状态变化（例如收到刷新结果），座位图只重绘该座位
      */
-    private SeatStatus generateMockSeatStatus(int seatNumber) {
-        // 模拟不同的座位状态
-        if (seatNumber % 13 == 0) {
-            return SeatStatus.MAINTENANCE; // 维护中
-        } else if (seatNumber % 7 == 0) {
-            return SeatStatus.OCCUPIED; // 已占用
-        } else if (seatNumber % 11 == 0) {
-            return SeatStatus.VIP; // VIP座位
-        } else {
-            return SeatStatus.AVAILABLE; // 可用
+    public void updateSeatStatus(Long seatId, Seat.Status status) {
+        Seat selected = seatMapView.getSelectedSeat();
+        seatMapView.updateSeatStatus(seatId, status);
+        if (selected != null && selected.getId().equals(seatId) && seatMapView.getSelectedSeat() == null) {
+            clearSelection();
+            updateStatus("所选座位已不可用，请重新选择");
         }
     }
     
     /**
-     * 应用座位样式
+     * 处理座位选择（座位图只对可用座位回调）
      */
-    private void applySeatStyle(Button seatButton, SeatStatus status) {
-        // 移除所有状态样式
-        seatButton.getStyleClass().removeAll("seat-available", "seat-occupied", 
-                                           "seat-selected", "seat-maintenance", "seat-vip");
-        
-        // 添加对应状态样式
-        switch (status) {
-            case AVAILABLE:
-                seatButton.getStyleClass().add("seat-available");
-                seatButton.setDisable(false);
-                break;
-            case OCCUPIED:
-                seatButton.getStyleClass().add("seat-occupied");
-                seatButton.setDisable(true);
-                break;
-            case MAINTENANCE:
-                seatButton.getStyleClass().add("seat-maintenance");
-                seatButton.setDisable(true);
-                break;
-            case VIP:
-                seatButton.getStyleClass().add("seat-vip");
-                seatButton.setDisable(false);
-                break;
-            case SELECTED:
-                seatButton.getStyleClass().add("seat-selected");
-                seatButton.setDisable(false);
-                break;
-        }
-    }
-    
-    /**
-     * 处理座位选择
-     */
-    private void handleSeatSelection(Button seatButton, String seatId, SeatStatus status) {
-        if (status == SeatStatus.OCCUPIED || status == SeatStatus.MAINTENANCE) {
-            return; // 不可选择的座位
-        }
-        
-        // 清除之前的选择
-        clearPreviousSelection();
-        
+    private void handleSeatSelection(Seat seat) {
         // 设置新选择
-        selectedSeatId = seatId;
-        applySeatStyle(seatButton, SeatStatus.SELECTED);
+        selectedSeatId = seat.getSeatNumber();
         
         // 更新右侧信息
-        updateSeatInfo(seatId, status);
+        updateSeatInfo(seat);
         
         // 启用确认按钮
         confirmButton.setDisable(false);
@@ -283,45 +264,17 @@ public class SeatSelectionController implements Initializable {
         // 重新计算费用
         calculateCost();
         
-        logger.info("🪑 选择座位: {}", seatId);
-        updateStatus("已选择座位 " + seatId);
-    }
-    
-    /**
-     * 清除之前的选择
-     */
-    private void clearPreviousSelection() {
-        if (selectedSeatId != null) {
-            // 找到之前选择的座位按钮并重置样式
-            findSeatButton(selectedSeatId).ifPresent(button -> {
-                String seatIdFromButton = (String) button.getUserData();
-                int seatNumber = Integer.parseInt(seatIdFromButton.substring(1));
-                SeatStatus originalStatus = generateMockSeatStatus(seatNumber);
-                applySeatStyle(button, originalStatus);
-            });
-        }
-    }
-    
-    /**
-     * 查找座位按钮
-     */
-    private java.util.Optional<Button> findSeatButton(String seatId) {
-        return seatGridContainer.getChildren().stream()
-            .filter(node -> node instanceof javafx.scene.layout.HBox)
-            .flatMap(hbox -> ((javafx.scene.layout.HBox) hbox).getChildren().stream())
-            .filter(node -> node instanceof Button)
-            .map(node -> (Button) node)
-            .filter(button -> seatId.equals(button.getUserData()))
-            .findFirst();
+        logger.info("🪑 选择座位: {}", selectedSeatId);
+        updateStatus("已选择座位 " + selectedSeatId);
     }
     
     /**
      * 更新座位信息
      */
-    private void updateSeatInfo(String seatId, SeatStatus status) {
-        selectedSeatLabel.setText(seatId);
+    private void updateSeatInfo(Seat seat) {
+        selectedSeatLabel.setText(seat.getSeatNumber());
         
-        switch (status) {
+        switch (seat.getType() != null ? seat.getType() : Seat.Type.NORMAL) {
             case VIP:
                 seatTypeLabel.setText("VIP座位");
                 seatFeaturesLabel.setText("电源插座、台灯、靠背椅");
@@ -332,17 +285,6 @@ public class SeatSelectionController implements Initializable {
                 break;
         }
     }
-    
-    /**
-     * 座位状态枚举
-     */
-    private enum SeatStatus {
-        AVAILABLE,  // 可用
-        OCCUPIED,   // 已占用
-        MAINTENANCE, // 维护中
-        VIP,        // VIP座位
-        SELECTED    // 已选择
-    }
 
     // 事件处理方法
     @FXML
@@ -368,6 +310,21 @@ public class SeatSelectionController implements Initializable {
         AlertUtils.showInfo("预订确认", "预订功能正在开发中");
     }
 
+    @FXML
+    private void handleZoomIn() {
+        seatMapView.zoomIn();
+    }
+
+    @FXML
+    private void handleZoomOut() {
+        seatMapView.zoomOut();
+    }
+
+    @FXML
+    private void handleFitSeatMap() {
+        seatMapView.fitToView();
+    }
+
     @FXML
     private void handleClearSelection() {
         clearSelection();
@@ -378,8 +335,8 @@ public class SeatSelectionController implements Initializable {
      * 清除选择
      */
     private void clearSelection() {
-        // 清除之前的选择样式
-        clearPreviousSelection();
+        // 清除座位图上的选择
+        seatMapView.setSelectedSeat(null);
         
         // 重置选择状态
         selectedSeatId = null;
@@ -1,8 +1,11 @@
 package com.studyroom.client.controller;
 
 import com.studyroom.client.model.StudyRoom;
+import com.studyroom.client.service.ApiServiceManager;
+import com.studyroom.client.service.RequestPrefetcher;
 import com.studyroom.client.util.AlertUtils;
 import com.studyroom.client.util.WindowUtils;
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -16,6 +19,7 @@ import javafx.scene.layout.*;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.stage.Window;
+import javafx.util.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,6 +45,9 @@ public class StudyRoomListController implements Initializable {
 
     private static final Logger logger = LoggerFactory.getLogger(StudyRoomListController.class);
 
+    // 在卡片上停留超过该时间才预取，鼠标快速划过时不发请求
+    private static final Duration PREFETCH_HOVER_DELAY = Duration.millis(150);
+
     // 搜索和过滤组件
     @FXML private TextField searchField;
     @FXML private TextField minPriceField;
@@ -73,6 +80,10 @@ public class StudyRoomListController implements Initializable {
     private List<StudyRoom> filteredStudyRooms = new ArrayList<>();
     private boolean isGridView = false;
 
+    // 悬停卡片的座位预取
+    private final PauseTransition prefetchDelay = new PauseTransition(PREFETCH_HOVER_DELAY);
+    private RequestPrefetcher.Handle roomPrefetch;
+
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         logger.info("🔄 初始化自习室列表界面...");
@@ -179,6 +190,7 @@ public class StudyRoomListController implements Initializable {
      * 显示自习室列表
      */
     private void displayStudyRooms() {
+        cancelPrefetch();
         roomListContainer.getChildren().clear();
         
         if (filteredStudyRooms.isEmpty()) {
@@ -256,9 +268,35 @@ public class StudyRoomListController implements Initializable {
         actions.getChildren().addAll(favoriteButton, viewButton, reserveButton);
 
         card.getChildren().addAll(header, details, descLabel, actions);
+
+        // 可预订的自习室：悬停片刻后预取座位列表，点击"立即预订"时座位选择界面直接使用
+        if (room.getStatus() == StudyRoom.Status.AVAILABLE) {
+            card.setOnMouseEntered(e -> schedulePrefetch(room));
+            card.setOnMouseExited(e -> cancelPrefetch());
+        }
         return card;
     }
 
+    /**
+     * 悬停达到 PREFETCH_HOVER_DELAY 后预取自习室的座位列表
+     */
+    private void schedulePrefetch(StudyRoom room) {
+        cancelPrefetch();
+        prefetchDelay.setOnFinished(e -> roomPrefetch = ApiServiceManager.getInstance().prefetchStudyRoom(room.getId()));
+        prefetchDelay.playFromStart();
+    }
+
+    /**
+     * 鼠标移开或列表重建：撤销还未发出的预取
+     */
+    private void cancelPrefetch() {
+        prefetchDelay.stop();
+        if (roomPrefetch != null) {
+            roomPrefetch.cancel();
+            roomPrefetch = null;
+        }
+    }
+
     /**
      * 更新统计信息
      */
@@ -1,6 +1,7 @@
 package com.studyroom.client.controller;
 
 import com.studyroom.client.model.User;
+import com.studyroom.client.service.RefreshScheduler;
 import com.studyroom.client.util.AlertUtils;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
@@ -13,11 +14,10 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.URL;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ResourceBundle;
-import java.util.Timer;
-import java.util.TimerTask;
 
 /**
  * 用户仪表板控制器
@@ -75,7 +75,7 @@ public class UserDashboardController implements Initializable {
     private User currentUser;
     
     // 时间更新定时器
-    private Timer timeUpdateTimer;
+    private RefreshScheduler.Task timeUpdateTask;
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
@@ -124,16 +124,11 @@ public class UserDashboardController implements Initializable {
     }
 
     /**
-     * 启动时间更新定时器
+     * 启动时间更新
      */
     private void startTimeUpdate() {
-        timeUpdateTimer = new Timer(true);
-        timeUpdateTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                Platform.runLater(() -> updateCurrentTime());
-            }
-        }, 0, 1000); // 每秒更新一次
+        timeUpdateTask = RefreshScheduler.getInstance().scheduleFixed("用户仪表板时钟",
+            Duration.ofSeconds(1), () -> Platform.runLater(this::updateCurrentTime)); // 每秒更新一次
     }
 
     /**
@@ -289,9 +284,9 @@ public class UserDashboardController implements Initializable {
         
         if (confirmed) {
             try {
-                // 停止定时器
-                if (timeUpdateTimer != null) {
-                    timeUpdateTimer.cancel();
+                // 停止定时任务
+                if (timeUpdateTask != null) {
+                    timeUpdateTask.cancel();
                 }
                 
                 // TODO: 清理用户会话
@@ -310,9 +305,9 @@ public class UserDashboardController implements Initializable {
      * 清理资源
      */
     public void cleanup() {
-        if (timeUpdateTimer != null) {
-            timeUpdateTimer.cancel();
-            timeUpdateTimer = null;
+        if (timeUpdateTask != null) {
+            timeUpdateTask.cancel();
+            timeUpdateTask = null;
         }
         logger.info("🧹 用户仪表板资源清理完成");
     }
@@ -5,9 +5,8 @@ import com.studyroom.client.model.PageData;
 import com.studyroom.client.service.ApiServiceManager;
 import com.studyroom.client.service.UserApiService;
 import com.studyroom.client.util.AlertUtils;
+import com.studyroom.client.util.PagedObservableList;
 import javafx.application.Platform;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
@@ -20,11 +19,13 @@ import java.net.URL;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.concurrent.CompletableFuture;
 
 /**
  * 用户管理控制器
+ * 用户表格按需分页加载：滚动到哪里加载哪一页，排序和过滤由服务端完成
  * 
  * @author Developer
  * @version 1.0.0
@@ -65,28 +66,23 @@ public class UserManagementController implements Initializable {
     @FXML private TableColumn<User, LocalDateTime> lastLoginColumn;
     @FXML private TableColumn<User, Void> actionColumn;
 
-    // 分页控制
-    @FXML private Button firstPageButton;
-    @FXML private Button prevPageButton;
-    @FXML private Label pageInfoLabel;
-    @FXML private Button nextPageButton;
-    @FXML private Button lastPageButton;
-    @FXML private ComboBox<String> pageSizeComboBox;
-
     // 底部状态栏
     @FXML private Label totalRecordsLabel;
     @FXML private Label statusLabel;
     @FXML private Label lastUpdateLabel;
 
+    // 分页加载参数
+    private static final int PAGE_SIZE = 50;
+    private static final int MAX_CACHED_PAGES = 20;
+
     // 服务和数据
     private final UserApiService userApiService;
-    private final ObservableList<User> userList = FXCollections.observableArrayList();
+    private final PagedObservableList<User> userList = new PagedObservableList<>(PAGE_SIZE, MAX_CACHED_PAGES, this::loadPage);
     
-    // 分页数据
-    private int currentPage = 1;
-    private int totalPages = 1;
-    private int pageSize = 20;
-    private long totalElements = 0;
+    // 当前生效的过滤条件（搜索或切换过滤器时更新，之后加载的每一页都使用同一组条件）
+    private String keywordFilter;
+    private User.Role roleFilter;
+    private User.Status statusFilter;
 
     // 构造函数
     public UserManagementController() {
@@ -126,10 +122,6 @@ public class UserManagementController implements Initializable {
         statusFilterComboBox.getItems().addAll("全部状态", "正常", "停用", "封禁");
         statusFilterComboBox.setValue("全部状态");
 
-        // 初始化分页大小选择器
-        pageSizeComboBox.getItems().addAll("10", "20", "50", "100");
-        pageSizeComboBox.setValue("20");
-
         // 设置默认状态
         updateStatus("就绪");
         updateLastUpdate();
@@ -140,8 +132,22 @@ public class UserManagementController implements Initializable {
      * 初始化表格
      */
     private void initializeTable() {
-        // 绑定数据到表格
+        // 绑定数据到表格（未加载的行为 null，各列需要处理）
         userTableView.setItems(userList);
+        userList.setOnPageLoaded(this::handlePageLoaded);
+        userList.setOnLoadFailed(this::handleLoadFailed);
+        
+        // 列头排序交给服务端
+        userList.bindSort(userTableView, Map.of(
+            idColumn, "id",
+            usernameColumn, "username",
+            realNameColumn, "realName",
+            emailColumn, "email",
+            roleColumn, "role",
+            statusColumn, "status",
+            registerTimeColumn, "createdAt",
+            lastLoginColumn, "lastLoginAt"
+        ));
         
         // 设置表格列的数据绑定
         idColumn.setCellValueFactory(new PropertyValueFactory<>("id"));
@@ -152,6 +158,9 @@ public class UserManagementController implements Initializable {
         
         // 角色列 - 显示中文
         roleColumn.setCellValueFactory(cellData -> {
+            if (cellData.getValue() == null) {
+                return new javafx.beans.property.SimpleStringProperty();
+            }
             User.Role role = cellData.getValue().getRole();
             return new javafx.beans.property.SimpleStringProperty(
                 role != null ? role.getDisplayName() : "未知"
@@ -160,6 +169,9 @@ public class UserManagementController implements Initializable {
         
         // 状态列 - 显示中文
         statusColumn.setCellValueFactory(cellData -> {
+            if (cellData.getValue() == null) {
+                return new javafx.beans.property.SimpleStringProperty();
+            }
             User.Status status = cellData.getValue().getStatus();
             return new javafx.beans.property.SimpleStringProperty(
                 status != null ? status.getDisplayName() : "未知"
@@ -186,7 +198,9 @@ public class UserManagementController implements Initializable {
             @Override
             protected void updateItem(LocalDateTime item, boolean empty) {
                 super.updateItem(item, empty);
-                if (empty || item == null) {
+                if (empty || getTableRow() == null || getTableRow().getItem() == null) {
+                    setText(null);
+                } else if (item == null) {
                     setText("从未登录");
                 } else {
                     setText(item.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
@@ -205,12 +219,16 @@ public class UserManagementController implements Initializable {
                     {
                         editButton.setOnAction(event -> {
                             User user = getTableView().getItems().get(getIndex());
-                            handleEditUser(user);
+                            if (user != null) {
+                                handleEditUser(user);
+                            }
                         });
                         
                         deleteButton.setOnAction(event -> {
                             User user = getTableView().getItems().get(getIndex());
-                            handleDeleteUser(user);
+                            if (user != null) {
+                                handleDeleteUser(user);
+                            }
                         });
                         
                         editButton.getStyleClass().add("button-primary");
@@ -220,7 +238,8 @@ public class UserManagementController implements Initializable {
                     @Override
                     protected void updateItem(Void item, boolean empty) {
                         super.updateItem(item, empty);
-                        if (empty) {
+                        // 所在页尚未加载的行不显示按钮
+                        if (empty || getTableRow() == null || getTableRow().getItem() == null) {
                             setGraphic(null);
                         } else {
                             javafx.scene.layout.HBox buttons = new javafx.scene.layout.HBox(5);
@@ -237,73 +256,70 @@ public class UserManagementController implements Initializable {
     }
 
     /**
-     * 加载用户数据
+     * 按当前过滤条件重新加载用户数据（从第一页开始）
      */
     private void loadUsers() {
         updateStatus("正在加载用户数据...");
         
-        // 获取过滤条件
-        String searchKeyword = searchField.getText();
-        String roleFilter = roleFilterComboBox.getValue();
-        String statusFilter = statusFilterComboBox.getValue();
+        // 记录过滤条件，之后滚动加载的页都使用这组条件
+        String keyword = searchField.getText() != null ? searchField.getText().trim() : "";
+        User.Role role = convertRoleFilter(roleFilterComboBox.getValue());
+        User.Status status = convertStatusFilter(statusFilterComboBox.getValue());
+        if (userList.size() > 0 && keyword.equals(keywordFilter) && role == roleFilter && status == statusFilter) {
+            // 条件没有变化，不必清空表格
+            refreshUsers();
+            return;
+        }
+        keywordFilter = keyword;
+        roleFilter = role;
+        statusFilter = status;
+        userList.reset();
+    }
+
+    /**
+     * 刷新当前显示的用户数据，保留滚动位置
+     */
+    private void refreshUsers() {
+        updateStatus("正在刷新用户数据...");
+        userList.refresh();
+    }
+
+    /**
+     * 加载一页用户数据（由分页列表在需要时调用）
+     */
+    private CompletableFuture<PageData<User>> loadPage(int page, int size, String sort) {
+        return userApiService.getUsers(page, size, keywordFilter, roleFilter, statusFilter, sort);
+    }
+
+    /**
+     * 一页用户数据加载完成
+     */
+    private void handlePageLoaded(PageData<User> pageData) {
+        long totalElements = pageData.getTotalElements();
+        if (pageData.getPage() == 0) {
+            // 统计卡片按第一页计算（与原来按当前页计算一致），总数取服务端总记录数
+            updateStatistics(pageData);
+        }
+        totalRecordsLabel.setText("共 " + totalElements + " 条记录");
+        userTableView.setPlaceholder(new Label("没有符合条件的用户"));
         
-        // 转换过滤条件
-        User.Role role = convertRoleFilter(roleFilter);
-        User.Status status = convertStatusFilter(statusFilter);
+        updateStatus("数据加载完成，已加载 " + userList.getLoadedPageCount() + " 页，每页 " + userList.getPageSize() + " 条");
+        updateLastUpdate();
         
-        // 调用API获取分页数据
-        CompletableFuture<PageData<User>> future = userApiService.getUsers(
-            currentPage - 1, // API从0开始计数
-            pageSize,
-            searchKeyword,
-            role,
-            status
-        );
+        logger.debug("✅ 用户数据第 {} 页加载成功, 总记录数: {}", pageData.getPage(), totalElements);
+    }
+
+    /**
+     * 用户数据加载失败
+     */
+    private void handleLoadFailed(Throwable throwable) {
+        String message = throwable != null ? throwable.getMessage() : "未获取到数据";
+        logger.error("❌ 加载用户数据失败", throwable);
+        updateStatus("数据加载失败: " + message);
         
-        future.thenAccept(pageData -> {
-            Platform.runLater(() -> {
-                try {
-                    if (pageData != null) {
-                        // 更新表格数据
-                        userList.clear();
-                        userList.addAll(pageData.getContent());
-                        
-                        // 更新分页信息
-                        totalElements = pageData.getTotalElements();
-                        totalPages = pageData.getTotalPages();
-                        
-                        // 更新UI显示
-                        updatePageInfo();
-                        updateStatistics(pageData);
-                        totalRecordsLabel.setText("共 " + totalElements + " 条记录");
-                        
-                        // 更新状态
-                        updateStatus("数据加载完成，共 " + pageData.getContent().size() + " 条记录");
-                        updateLastUpdate();
-                        
-                        logger.info("✅ 用户数据加载成功，当前页: {}/{}, 记录数: {}", 
-                            currentPage, totalPages, pageData.getContent().size());
-                    } else {
-                        updateStatus("未获取到数据");
-                        logger.warn("⚠️ 获取用户数据为空");
-                    }
-                    
-                } catch (Exception e) {
-                    logger.error("❌ 处理用户数据失败", e);
-                    updateStatus("数据处理失败: " + e.getMessage());
-                }
-            });
-        }).exceptionally(throwable -> {
-            Platform.runLater(() -> {
-                logger.error("❌ 加载用户数据失败", throwable);
-                updateStatus("数据加载失败: " + throwable.getMessage());
-                
-                // 显示错误提示
-                AlertUtils.showError("数据加载失败", 
-                    "无法连接到服务器或数据加载出错：\n" + throwable.getMessage());
-            });
-            return null;
-        });
+        // 显示错误提示
+        AlertUtils.showError("数据加载失败", 
+            "无法连接到服务器或数据加载出错：\n" + message);
     }
 
     /**
@@ -349,13 +365,14 @@ public class UserManagementController implements Initializable {
         if (pageData != null) {
             // 计算统计数据
             long totalUsers = pageData.getTotalElements();
-            long activeUsers = pageData.getContent().stream()
+            List<User> users = pageData.getContent() != null ? pageData.getContent() : List.of();
+            long activeUsers = users.stream()
                 .mapToLong(user -> user.getStatus() == User.Status.ACTIVE ? 1 : 0)
                 .sum();
-            long adminUsers = pageData.getContent().stream()
+            long adminUsers = users.stream()
                 .mapToLong(user -> user.getRole() == User.Role.ADMIN ? 1 : 0)
                 .sum();
-            long newUsers = pageData.getContent().stream()
+            long newUsers = users.stream()
                 .mapToLong(user -> {
                     if (user.getCreatedAt() != null) {
                         return user.getCreatedAt().isAfter(LocalDateTime.now().minusDays(7)) ? 1 : 0;
@@ -378,19 +395,6 @@ public class UserManagementController implements Initializable {
         newUsersLabel.setText(String.valueOf(newUsers));
     }
 
-    /**
-     * 更新分页信息
-     */
-    private void updatePageInfo() {
-        pageInfoLabel.setText("第 " + currentPage + " 页，共 " + totalPages + " 页");
-        
-        // 更新分页按钮状态
-        firstPageButton.setDisable(currentPage <= 1);
-        prevPageButton.setDisable(currentPage <= 1);
-        nextPageButton.setDisable(currentPage >= totalPages);
-        lastPageButton.setDisable(currentPage >= totalPages);
-    }
-
     /**
      * 处理编辑用户
      */
@@ -448,7 +452,7 @@ public class UserManagementController implements Initializable {
                         if (success) {
                             logger.info("✅ 用户更新成功: {}", user.getUsername());
                             AlertUtils.showInfo("更新成功", "用户信息已更新");
-                            loadUsers(); // 重新加载数据
+                            refreshUsers(); // 重新加载当前显示的数据
                         } else {
                             logger.error("❌ 用户更新失败: {}", user.getUsername());
                             AlertUtils.showError("更新失败", "更新用户信息失败，请稍后重试");
@@ -487,7 +491,7 @@ public class UserManagementController implements Initializable {
                             if (success) {
                                 logger.info("✅ 用户删除成功: {}", user.getUsername());
                                 AlertUtils.showInfo("删除成功", "用户已成功删除");
-                                loadUsers(); // 重新加载数据
+                                refreshUsers(); // 重新加载当前显示的数据
                             } else {
                                 logger.error("❌ 用户删除失败: {}", user.getUsername());
                                 AlertUtils.showError("删除失败", "删除用户失败，请稍后重试");
@@ -521,13 +525,12 @@ public class UserManagementController implements Initializable {
     @FXML
     private void handleRefresh() {
         logger.info("🔄 刷新用户列表");
-        loadUsers();
+        refreshUsers();
     }
 
     @FXML
     private void handleFilter() {
         logger.info("🔍 应用过滤条件");
-        currentPage = 1; // 重置到第一页
         loadUsers();
     }
 
@@ -535,7 +538,6 @@ public class UserManagementController implements Initializable {
     private void handleSearch() {
         String keyword = searchField.getText();
         logger.info("🔍 搜索用户: {}", keyword);
-        currentPage = 1; // 重置到第一页
         loadUsers();
     }
 
@@ -547,49 +549,9 @@ public class UserManagementController implements Initializable {
         dateFilterPicker.setValue(null);
         
         logger.info("🧹 清除过滤条件");
-        currentPage = 1; // 重置到第一页
-        loadUsers();
-    }
-
-    // 分页事件处理
-    @FXML
-    private void handleFirstPage() {
-        currentPage = 1;
         loadUsers();
     }
 
-    @FXML
-    private void handlePrevPage() {
-        if (currentPage > 1) {
-            currentPage--;
-            loadUsers();
-        }
-    }
-
-    @FXML
-    private void handleNextPage() {
-        if (currentPage < totalPages) {
-            currentPage++;
-            loadUsers();
-        }
-    }
-
-    @FXML
-    private void handleLastPage() {
-        currentPage = totalPages;
-        loadUsers();
-    }
-
-    @FXML
-    private void handlePageSizeChange() {
-        String newSize = pageSizeComboBox.getValue();
-        if (newSize != null) {
-            pageSize = Integer.parseInt(newSize);
-            currentPage = 1; // 重置到第一页
-            loadUsers();
-        }
-    }
-
     /**
      * 更新状态
      */
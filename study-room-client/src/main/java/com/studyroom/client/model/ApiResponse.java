@@ -20,6 +20,12 @@ public class ApiResponse<T> {
     @JsonProperty("success")
     private boolean success;
     
+    /**
+     * 响应状态码（服务端以 200 表示成功）
+     */
+    @JsonProperty("code")
+    private int code;
+    
     /**
      * 响应消息
      */
@@ -79,6 +85,14 @@ public class ApiResponse<T> {
         this.success = success;
     }
 
+    public int getCode() {
+        return code;
+    }
+
+    public void setCode(int code) {
+        this.code = code;
+    }
+
     public String getMessage() {
         return message;
     }
@@ -107,6 +121,7 @@ public class ApiResponse<T> {
     public String toString() {
         return "ApiResponse{" +
                 "success=" + success +
+                ", code=" + code +
                 ", message='" + message + '\'' +
                 ", data=" + data +
                 ", errorCode='" + errorCode + '\'' +
@@ -1,5 +1,6 @@
 package com.studyroom.client.model;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -17,15 +18,17 @@ import java.util.List;
 public class PageData<T> {
     
     /**
-     * 数据列表
+     * 数据列表（预订、座位、自习室分页接口返回的字段名分别为 reservations、seats、studyRooms）
      */
     @JsonProperty("content")
+    @JsonAlias({"reservations", "seats", "studyRooms"})
     private List<T> content;
     
     /**
-     * 当前页码（从0开始）
+     * 当前页码（从0开始，预订、座位、自习室分页接口返回的字段名为 currentPage）
      */
     @JsonProperty("pageNumber")
+    @JsonAlias("currentPage")
     private int page;
     
     /**
@@ -0,0 +1,78 @@
+package com.studyroom.client.service;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.studyroom.client.model.ApiResponse;
+import com.studyroom.client.model.PageData;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * API响应读取器缓存
+ * 每种具体的 ApiResponse&lt;T&gt; 类型只构造一次 ObjectReader 并缓存复用，不再每次解析都
+ * new TypeReference 重新解析泛型类型。ObjectReader 不可变、线程安全，第一次使用后会保存根类型的
+ * 反序列化器，之后的响应直接流式解析为模型对象，不经过 Map 中转。
+ *
+ * @author Developer
+ * @version 1.0.0
+ * @since 2024
+ */
+public class ApiResponseReaders {
+
+    private final ObjectMapper objectMapper;
+    private final TypeFactory typeFactory;
+    private final ConcurrentMap<JavaType, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    /**
+     * @param objectMapper 已完成配置的 ObjectMapper（之后不应再修改配置）
+     */
+    public ApiResponseReaders(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.typeFactory = objectMapper.getTypeFactory();
+    }
+
+    /**
+     * ApiResponse&lt;T&gt; 的读取器
+     */
+    public ObjectReader forData(Class<?> dataType) {
+        return readerFor(typeFactory.constructType(dataType));
+    }
+
+    /**
+     * ApiResponse&lt;List&lt;T&gt;&gt; 的读取器
+     */
+    public ObjectReader forList(Class<?> elementType) {
+        return readerFor(typeFactory.constructCollectionType(List.class, elementType));
+    }
+
+    /**
+     * ApiResponse&lt;PageData&lt;T&gt;&gt; 的读取器
+     */
+    public ObjectReader forPage(Class<?> elementType) {
+        return readerFor(typeFactory.constructParametricType(PageData.class, elementType));
+    }
+
+    /**
+     * ApiResponse&lt;Map&lt;String, V&gt;&gt; 的读取器
+     */
+    public ObjectReader forMap(Class<?> valueType) {
+        return readerFor(typeFactory.constructMapType(Map.class, String.class, valueType));
+    }
+
+    /**
+     * 已缓存的读取器数量
+     */
+    public int size() {
+        return readers.size();
+    }
+
+    private ObjectReader readerFor(JavaType dataType) {
+        JavaType responseType = typeFactory.constructParametricType(ApiResponse.class, dataType);
+        return readers.computeIfAbsent(responseType, objectMapper::readerFor);
+    }
+}
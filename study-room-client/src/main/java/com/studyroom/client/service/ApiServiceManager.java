@@ -1,8 +1,10 @@
 package com.studyroom.client.service;
 
+import com.studyroom.client.model.ApiResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
@@ -31,6 +33,9 @@ public class ApiServiceManager {
     private final AsyncDataManager asyncDataManager;
     private final DataBindingService dataBindingService;
     
+    // 下一个界面数据的预取
+    private final RequestPrefetcher prefetcher;
+    
     // 服务状态
     private boolean initialized = false;
     private String serverUrl = "http://localhost:8080";
@@ -50,6 +55,8 @@ public class ApiServiceManager {
         this.seatApiService = SeatApiService.getInstance();
         this.reservationApiService = ReservationApiService.getInstance();
         
+        this.prefetcher = new RequestPrefetcher(httpClientService);
+        
         logger.info("🌐 API服务管理器初始化完成");
     }
 
@@ -103,6 +110,7 @@ public class ApiServiceManager {
      * 清除认证令牌
      */
     public void clearAuthToken() {
+        prefetcher.cancelAll();
         httpClientService.clearAuthToken();
         dataBindingService.clearCurrentUser();
         logger.info("🗑️ 清除认证令牌");
@@ -180,6 +188,13 @@ public class ApiServiceManager {
         return dataBindingService;
     }
 
+    /**
+     * 获取预取调度器
+     */
+    public RequestPrefetcher getPrefetcher() {
+        return prefetcher;
+    }
+
     // ==== 便捷方法 ====
 
     /**
@@ -195,7 +210,8 @@ public class ApiServiceManager {
                 if (user != null) {
                     // 设置当前用户
                     dataBindingService.setCurrentUser(user);
-                    // 刷新相关数据
+                    // 先显示磁盘缓存中上次的数据，再从服务端刷新
+                    dataBindingService.restoreCachedData();
                     dataBindingService.refreshAllData();
                     logger.info("✅ 用户登录成功: {}", user.getUsername());
                     return true;
@@ -233,6 +249,28 @@ public class ApiServiceManager {
             });
     }
 
+    // ==== 预取 ====
+
+    /**
+     * 预取自习室的座位列表（用户悬停或选中自习室时调用）
+     * 座位选择界面打开时请求的是同一个接口，直接使用预取的响应；座位列表带有各座位当前的状态。
+     *
+     * @return 预取句柄，用户移开或打开了其他自习室时调用 cancel()
+     */
+    public RequestPrefetcher.Handle prefetchStudyRoom(Long studyRoomId) {
+        if (!initialized || studyRoomId == null) {
+            return prefetcher.prefetch(List.of());
+        }
+        return prefetcher.prefetch(List.of(SeatApiService.studyRoomSeatsUrl(studyRoomId)));
+    }
+
+    /**
+     * 撤销所有等待中的预取
+     */
+    public void cancelPrefetches() {
+        prefetcher.cancelAll();
+    }
+
     /**
      * 获取系统统计信息
      */
@@ -278,6 +316,63 @@ public class ApiServiceManager {
             });
     }
 
+    /**
+     * 获取服务器运行指标（管理员功能）：HTTP 请求 p50/p99、每秒请求数和进程 CPU 占用
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<ServerMetrics> getServerMetrics() {
+        return httpClientService.get("/metrics")
+            .thenApply(json -> {
+                try {
+                    ApiResponse<Map<String, Object>> response = httpClientService.getResponseReaders()
+                        .forMap(Object.class).readValue(json);
+                    Map<String, Object> data = response.getData();
+                    if (response.getCode() != 200 || data == null) {
+                        throw new RuntimeException("API错误: " + response.getMessage());
+                    }
+                    ServerMetrics metrics = new ServerMetrics();
+                    Object http = data.get("http");
+                    if (http instanceof Map) {
+                        Map<String, Object> httpData = (Map<String, Object>) http;
+                        metrics.setP50Millis(getDoubleValue(httpData, "p50Millis"));
+                        metrics.setP99Millis(getDoubleValue(httpData, "p99Millis"));
+                        metrics.setRequestsPerSecond(getDoubleValue(httpData, "ratePerSecond"));
+                        metrics.setErrorCount((long) getDoubleValue(httpData, "errors"));
+                    }
+                    Object jvm = data.get("jvm");
+                    if (jvm instanceof Map) {
+                        metrics.setProcessCpuLoad(getDoubleValue((Map<String, Object>) jvm, "processCpuLoad"));
+                    }
+                    Object statistics = data.get("statistics");
+                    Object overview = statistics instanceof Map ? ((Map<String, Object>) statistics).get("overview") : null;
+                    if (overview instanceof Map) {
+                        Map<String, Object> overviewData = (Map<String, Object>) overview;
+                        metrics.setOnlineUsers(getIntValue(overviewData, "onlineUsers", -1));
+                        metrics.setTotalUsers(getIntValue(overviewData, "totalUsers", -1));
+                        metrics.setActiveReservations(getIntValue(overviewData, "activeReservations", -1));
+                        int totalSeats = getIntValue(overviewData, "totalSeats", 0);
+                        int availableSeats = getIntValue(overviewData, "availableSeats", 0);
+                        if (totalSeats > 0) {
+                            metrics.setSeatUtilizationRate((double) (totalSeats - availableSeats) / totalSeats * 100);
+                        }
+                    }
+                    return metrics;
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new RuntimeException("数据解析失败: " + e.getMessage(), e);
+                }
+            });
+    }
+
+    /**
+     * 辅助方法：安全获取浮点值
+     */
+    private double getDoubleValue(Map<String, Object> map, String key) {
+        Object value = map.get(key);
+        return value instanceof Number ? ((Number) value).doubleValue() : 0.0;
+    }
+
     /**
      * 辅助方法：安全获取整数值
      */
@@ -322,6 +417,13 @@ public class ApiServiceManager {
         return asyncDataManager.hasActiveTasks();
     }
 
+    /**
+     * 获取按任务名的异步加载统计
+     */
+    public Map<String, AsyncDataManager.TaskStats> getTaskStats() {
+        return asyncDataManager.getTaskStats();
+    }
+
     /**
      * 关闭所有服务
      */
@@ -329,6 +431,9 @@ public class ApiServiceManager {
         logger.info("🔒 关闭API服务管理器");
         
         try {
+            // 撤销等待中的预取
+            prefetcher.cancelAll();
+            
             // 关闭数据绑定服务
             dataBindingService.shutdown();
             
@@ -396,4 +501,53 @@ public class ApiServiceManager {
                     '}';
         }
     }
+
+    /**
+     * 服务器运行指标
+     */
+    public static class ServerMetrics {
+        private double p50Millis = 0.0;
+        private double p99Millis = 0.0;
+        private double requestsPerSecond = 0.0;
+        private long errorCount = 0;
+        private double processCpuLoad = -1.0;
+        private int onlineUsers = -1;
+        private int totalUsers = -1;
+        private int activeReservations = -1;
+        private double seatUtilizationRate = -1.0;
+
+        // Getter 和 Setter 方法
+        public double getP50Millis() { return p50Millis; }
+        public void setP50Millis(double p50Millis) { this.p50Millis = p50Millis; }
+
+        public double getP99Millis() { return p99Millis; }
+        public void setP99Millis(double p99Millis) { this.p99Millis = p99Millis; }
+
+        public double getRequestsPerSecond() { return requestsPerSecond; }
+        public void setRequestsPerSecond(double requestsPerSecond) { this.requestsPerSecond = requestsPerSecond; }
+
+        public long getErrorCount() { return errorCount; }
+        public void setErrorCount(long errorCount) { this.errorCount = errorCount; }
+
+        /**
+         * 进程 CPU 占用（0~1），服务器尚未采样时为负数
+         */
+        public double getProcessCpuLoad() { return processCpuLoad; }
+        public void setProcessCpuLoad(double processCpuLoad) { this.processCpuLoad = processCpuLoad; }
+
+        /**
+         * 以下总体数据来自服务器的 overview 统计，未导出时为负数
+         */
+        public int getOnlineUsers() { return onlineUsers; }
+        public void setOnlineUsers(int onlineUsers) { this.onlineUsers = onlineUsers; }
+
+        public int getTotalUsers() { return totalUsers; }
+        public void setTotalUsers(int totalUsers) { this.totalUsers = totalUsers; }
+
+        public int getActiveReservations() { return activeReservations; }
+        public void setActiveReservations(int activeReservations) { this.activeReservations = activeReservations; }
+
+        public double getSeatUtilizationRate() { return seatUtilizationRate; }
+        public void setSeatUtilizationRate(double seatUtilizationRate) { this.seatUtilizationRate = seatUtilizationRate; }
+    }
 } 
\ No newline at end of file
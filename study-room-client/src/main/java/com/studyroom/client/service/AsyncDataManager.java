@@ -1,22 +1,38 @@
 package com.studyroom.client.service;
 
 import javafx.application.Platform;
-import javafx.concurrent.Task;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ProgressIndicator;
 import javafx.stage.Stage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * 异步数据加载管理器
  * 负责管理异步数据加载、进度提示和错误处理
+ *
+ * <p>加载过程完全非阻塞：请求本身已经是 CompletableFuture，这里只负责组合
+ * （重试、截止时间、取消），不占用任何等待线程；只有最终的回调切换到 JavaFX 线程执行。
+ * 每个加载返回 {@link TaskHandle}，可以取消；按任务名统计次数、重试和耗时，见 {@link #getTaskStats()}。
  * 
  * @author Developer
  * @version 1.0.0
@@ -28,20 +44,22 @@ public class AsyncDataManager {
     // 单例实例
     private static AsyncDataManager instance;
     
-    // 线程池
-    private final ExecutorService executorService;
+    // 退避重试和截止时间的定时器（只做调度，不执行请求）
+    private final ScheduledExecutorService scheduler;
     
-    // 最大并发任务数
-    private static final int MAX_THREADS = 10;
+    // 进行中的任务
+    private final Set<TaskHandle<?>> activeTasks = ConcurrentHashMap.newKeySet();
+    
+    // 按任务名的统计
+    private final Map<String, TaskStats> taskStats = new ConcurrentHashMap<>();
 
     /**
      * 私有构造函数 - 单例模式
      */
     private AsyncDataManager() {
-        this.executorService = Executors.newFixedThreadPool(MAX_THREADS, r -> {
-            Thread thread = new Thread(r);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "AsyncData-scheduler");
             thread.setDaemon(true);
-            thread.setName("AsyncData-" + thread.getId());
             return thread;
         });
         logger.info("⚡ 异步数据管理器初始化完成");
@@ -59,6 +77,7 @@ public class AsyncDataManager {
 
     /**
      * 数据加载回调接口
+     * 所有回调都在 JavaFX 线程上执行；任务被取消时不再回调。
      */
     public interface DataCallback<T> {
         void onSuccess(T data);
@@ -70,200 +89,238 @@ public class AsyncDataManager {
     /**
      * 异步加载数据（无进度提示）
      */
-    public <T> void loadData(String taskName, CompletableFuture<T> dataFuture, DataCallback<T> callback) {
-        loadData(taskName, dataFuture, callback, false, null);
+    public <T> TaskHandle<T> loadData(String taskName, CompletableFuture<T> dataFuture, DataCallback<T> callback) {
+        return execute(taskName, () -> dataFuture, callback, RetryPolicy.none(), null);
     }
 
     /**
      * 异步加载数据（有进度提示）
      */
-    public <T> void loadDataWithProgress(String taskName, CompletableFuture<T> dataFuture, 
-                                       DataCallback<T> callback, Stage ownerStage) {
-        loadData(taskName, dataFuture, callback, true, ownerStage);
-    }
-
-    /**
-     * 异步加载数据（核心方法）
-     */
-    private <T> void loadData(String taskName, CompletableFuture<T> dataFuture, 
-                            DataCallback<T> callback, boolean showProgress, Stage ownerStage) {
-        logger.debug("🚀 开始异步加载: {}", taskName);
-        
-        // 创建JavaFX任务
-        Task<T> task = new Task<T>() {
-            @Override
-            protected T call() throws Exception {
-                try {
-                    // 在UI线程中调用开始回调
-                    Platform.runLater(callback::onStart);
-                    
-                    // 等待异步任务完成
-                    return dataFuture.get();
-                } catch (Exception e) {
-                    logger.error("❌ 数据加载失败: {}", taskName, e);
-                    throw e;
-                }
-            }
-        };
-
-        // 设置成功回调
-        task.setOnSucceeded(event -> {
-            try {
-                T result = task.getValue();
-                logger.debug("✅ 数据加载成功: {}", taskName);
-                callback.onSuccess(result);
-            } catch (Exception e) {
-                logger.error("❌ 成功回调执行失败: {}", taskName, e);
-                callback.onError(e);
-            } finally {
-                callback.onComplete();
-            }
-        });
-
-        // 设置失败回调
-        task.setOnFailed(event -> {
-            try {
-                Throwable exception = task.getException();
-                logger.error("❌ 任务执行失败: {}", taskName, exception);
-                callback.onError(exception);
-            } catch (Exception e) {
-                logger.error("❌ 失败回调执行失败: {}", taskName, e);
-            } finally {
-                callback.onComplete();
-            }
-        });
-
-        // 显示进度提示
-        if (showProgress && ownerStage != null) {
-            showProgressDialog(taskName, task, ownerStage);
+    public <T> TaskHandle<T> loadDataWithProgress(String taskName, CompletableFuture<T> dataFuture,
+                                                  DataCallback<T> callback, Stage ownerStage) {
+        TaskHandle<T> handle = execute(taskName, () -> dataFuture, callback, RetryPolicy.none(), null);
+        if (ownerStage != null) {
+            showProgressDialog(taskName, handle, ownerStage);
         }
-
-        // 提交任务到线程池
-        executorService.submit(task);
+        return handle;
     }
 
     /**
      * 批量异步加载数据
+     * 所有请求并行发出，全部成功后一次性回调；任意一个失败即整体失败。
      */
-    public <T> void loadMultipleData(String taskName, CompletableFuture<T>[] dataFutures, 
-                                   Consumer<T[]> onSuccess, Consumer<Throwable> onError) {
+    public <T> TaskHandle<T[]> loadMultipleData(String taskName, CompletableFuture<T>[] dataFutures,
+                                                Consumer<T[]> onSuccess, Consumer<Throwable> onError) {
         logger.debug("🚀 开始批量异步加载: {} ({}个任务)", taskName, dataFutures.length);
-        
-        CompletableFuture.allOf(dataFutures)
+
+        Supplier<CompletableFuture<T[]>> request = () -> CompletableFuture.allOf(dataFutures)
             .thenApply(v -> {
                 @SuppressWarnings("unchecked")
                 T[] results = (T[]) new Object[dataFutures.length];
                 for (int i = 0; i < dataFutures.length; i++) {
-                    try {
-                        results[i] = dataFutures[i].get();
-                    } catch (Exception e) {
-                        throw new RuntimeException("任务 " + i + " 执行失败", e);
-                    }
+                    results[i] = dataFutures[i].join();
                 }
                 return results;
-            })
-            .whenCompleteAsync((results, throwable) -> {
-                Platform.runLater(() -> {
-                    if (throwable == null) {
-                        logger.debug("✅ 批量数据加载成功: {}", taskName);
-                        onSuccess.accept(results);
-                    } else {
-                        logger.error("❌ 批量数据加载失败: {}", taskName, throwable);
-                        onError.accept(throwable);
-                    }
-                });
-            }, executorService);
+            });
+        return execute(taskName, request, new DataCallback<T[]>() {
+            @Override
+            public void onSuccess(T[] data) {
+                onSuccess.accept(data);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                onError.accept(throwable);
+            }
+        }, RetryPolicy.none(), null);
     }
 
     /**
      * 链式异步加载（一个任务依赖另一个任务的结果）
      */
-    public <T, U> void loadChainedData(String taskName, CompletableFuture<T> firstTask, 
-                                     Function<T, CompletableFuture<U>> secondTaskProvider,
-                                     DataCallback<U> callback) {
+    public <T, U> TaskHandle<U> loadChainedData(String taskName, CompletableFuture<T> firstTask,
+                                                Function<T, CompletableFuture<U>> secondTaskProvider,
+                                                DataCallback<U> callback) {
         logger.debug("🔗 开始链式异步加载: {}", taskName);
-        
-        firstTask
-            .thenCompose(firstResult -> {
-                logger.debug("🔄 第一阶段完成，开始第二阶段: {}", taskName);
-                return secondTaskProvider.apply(firstResult);
-            })
-            .whenCompleteAsync((result, throwable) -> {
-                Platform.runLater(() -> {
-                    callback.onStart();
+
+        return execute(taskName, () -> firstTask.thenCompose(firstResult -> {
+            logger.debug("🔄 第一阶段完成，开始第二阶段: {}", taskName);
+            return secondTaskProvider.apply(firstResult);
+        }), callback, RetryPolicy.none(), null);
+    }
+
+    /**
+     * 重试机制的异步加载（默认指数退避）
+     * @param request 每次尝试调用一次，返回新的请求
+     */
+    public <T> TaskHandle<T> loadDataWithRetry(String taskName, Supplier<CompletableFuture<T>> request,
+                                               DataCallback<T> callback, int maxRetries) {
+        return execute(taskName, request, callback, RetryPolicy.exponential(maxRetries), null);
+    }
+
+    /**
+     * 重试机制的异步加载
+     * @param request 每次尝试调用一次，返回新的请求
+     * @param retryPolicy 重试策略
+     * @param deadline 整个任务（含重试等待）的截止时间，null 表示不限；超时后以 TimeoutException 失败
+     */
+    public <T> TaskHandle<T> loadDataWithRetry(String taskName, Supplier<CompletableFuture<T>> request,
+                                               DataCallback<T> callback, RetryPolicy retryPolicy,
+                                               Duration deadline) {
+        return execute(taskName, request, callback, retryPolicy, deadline);
+    }
+
+    /**
+     * 执行加载任务（核心方法）
+     */
+    private <T> TaskHandle<T> execute(String taskName, Supplier<CompletableFuture<T>> request,
+                                      DataCallback<T> callback, RetryPolicy retryPolicy, Duration deadline) {
+        logger.debug("🚀 开始异步加载: {}", taskName);
+
+        TaskHandle<T> handle = new TaskHandle<>(taskName);
+        TaskStats stats = taskStats.computeIfAbsent(taskName, TaskStats::new);
+        stats.started.incrementAndGet();
+        activeTasks.add(handle);
+        runOnFxThread(callback::onStart);
+
+        if (deadline != null) {
+            ScheduledFuture<?> timer = scheduler.schedule(() -> handle.result.completeExceptionally(
+                new TimeoutException(taskName + " 超过截止时间 " + deadline.toMillis() + "ms")),
+                deadline.toMillis(), TimeUnit.MILLISECONDS);
+            handle.result.whenComplete((value, error) -> timer.cancel(false));
+        }
+
+        handle.result.whenComplete((value, error) -> {
+            activeTasks.remove(handle);
+            handle.stopCurrentAttempt();
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - handle.startNanos);
+
+            if (handle.result.isCancelled()) {
+                stats.cancelled.incrementAndGet();
+                logger.debug("🛑 任务已取消: {} ({}ms)", taskName, elapsedMillis);
+                return;
+            }
+            if (error == null) {
+                stats.recordSuccess(elapsedMillis);
+                logger.debug("✅ 数据加载成功: {} ({}ms, 第{}次尝试)", taskName, elapsedMillis, handle.attempts);
+                runOnFxThread(() -> {
+                    try {
+                        callback.onSuccess(value);
+                    } catch (Exception e) {
+                        logger.error("❌ 成功回调执行失败: {}", taskName, e);
+                        callback.onError(e);
+                    } finally {
+                        callback.onComplete();
+                    }
+                });
+            } else {
+                Throwable cause = unwrap(error);
+                stats.recordFailure(elapsedMillis, cause instanceof TimeoutException);
+                logger.error("❌ 数据加载失败: {} ({}ms, 共{}次尝试)", taskName, elapsedMillis, handle.attempts, cause);
+                runOnFxThread(() -> {
                     try {
-                        if (throwable == null) {
-                            logger.debug("✅ 链式数据加载成功: {}", taskName);
-                            callback.onSuccess(result);
-                        } else {
-                            logger.error("❌ 链式数据加载失败: {}", taskName, throwable);
-                            callback.onError(throwable);
-                        }
+                        callback.onError(cause);
+                    } catch (Exception e) {
+                        logger.error("❌ 失败回调执行失败: {}", taskName, e);
                     } finally {
                         callback.onComplete();
                     }
                 });
-            }, executorService);
+            }
+        });
+
+        attempt(handle, request, retryPolicy, stats, 0);
+        return handle;
     }
 
     /**
-     * 重试机制的异步加载
+     * 发起一次尝试；可重试的失败在退避等待后由定时器发起下一次尝试
+     */
+    private <T> void attempt(TaskHandle<T> handle, Supplier<CompletableFuture<T>> request,
+                             RetryPolicy retryPolicy, TaskStats stats, int retry) {
+        if (handle.result.isDone()) {
+            return;
+        }
+        handle.attempts = retry + 1;
+
+        CompletableFuture<T> future;
+        try {
+            future = request.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        handle.currentAttempt = future;
+
+        future.whenComplete((value, error) -> {
+            if (error == null) {
+                handle.result.complete(value);
+                return;
+            }
+            Throwable cause = unwrap(error);
+            if (handle.result.isDone()) {
+                return;
+            }
+            if (retry < retryPolicy.getMaxRetries() && retryPolicy.isRetryable(cause)) {
+                long delayMillis = retryPolicy.delayMillis(retry);
+                stats.retries.incrementAndGet();
+                logger.warn("⚠️ 数据加载失败，{}ms 后重试: {} (第{}次/共{}次): {}", delayMillis, handle.taskName,
+                    retry + 1, retryPolicy.getMaxRetries() + 1, cause.getMessage());
+                try {
+                    handle.retryTimer = scheduler.schedule(
+                        () -> attempt(handle, request, retryPolicy, stats, retry + 1), delayMillis, TimeUnit.MILLISECONDS);
+                } catch (RuntimeException e) {
+                    // 管理器已关闭
+                    handle.result.completeExceptionally(cause);
+                }
+            } else {
+                handle.result.completeExceptionally(cause);
+            }
+        });
+    }
+
+    /**
+     * 在 JavaFX 线程上执行回调
      */
-    public <T> void loadDataWithRetry(String taskName, CompletableFuture<T> dataFuture, 
-                                    DataCallback<T> callback, int maxRetries) {
-        loadDataWithRetry(taskName, dataFuture, callback, maxRetries, 0);
+    private static void runOnFxThread(Runnable action) {
+        if (Platform.isFxApplicationThread()) {
+            action.run();
+        } else {
+            Platform.runLater(action);
+        }
     }
 
     /**
-     * 重试机制的异步加载（内部实现）
+     * 去掉 CompletableFuture 包装的 CompletionException/ExecutionException
      */
-    private <T> void loadDataWithRetry(String taskName, CompletableFuture<T> dataFuture, 
-                                     DataCallback<T> callback, int maxRetries, int currentAttempt) {
-        logger.debug("🔄 尝试加载数据: {} (第{}次/共{}次)", taskName, currentAttempt + 1, maxRetries + 1);
-        
-        dataFuture.whenCompleteAsync((result, throwable) -> {
-            Platform.runLater(() -> {
-                if (throwable == null) {
-                    logger.debug("✅ 数据加载成功: {} (第{}次尝试)", taskName, currentAttempt + 1);
-                    callback.onSuccess(result);
-                } else if (currentAttempt < maxRetries) {
-                    logger.warn("⚠️ 数据加载失败，准备重试: {} (第{}次/共{}次)", taskName, currentAttempt + 1, maxRetries + 1, throwable);
-                    // 延迟后重试
-                    CompletableFuture.delayedExecutor(1000 + currentAttempt * 1000, java.util.concurrent.TimeUnit.MILLISECONDS)
-                        .execute(() -> {
-                            // 这里需要重新创建CompletableFuture，因为原来的已经完成了
-                            // 具体实现取决于数据源
-                            logger.debug("🔄 开始重试: {}", taskName);
-                        });
-                } else {
-                    logger.error("❌ 数据加载失败，已达最大重试次数: {} ({}次)", taskName, maxRetries + 1, throwable);
-                    callback.onError(throwable);
-                }
-            });
-        }, executorService);
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
     }
 
     /**
-     * 显示进度对话框
+     * 显示进度对话框，任务结束（成功、失败或取消）时关闭
      */
-    private void showProgressDialog(String taskName, Task<?> task, Stage ownerStage) {
+    private void showProgressDialog(String taskName, TaskHandle<?> handle, Stage ownerStage) {
         Platform.runLater(() -> {
             try {
+                if (handle.isDone()) {
+                    return;
+                }
                 Alert progressAlert = new Alert(Alert.AlertType.INFORMATION);
                 progressAlert.initOwner(ownerStage);
                 progressAlert.setTitle("加载中");
                 progressAlert.setHeaderText("正在" + taskName);
                 progressAlert.setContentText("请稍候...");
                 
-                // 添加进度指示器
-                ProgressIndicator progressIndicator = new ProgressIndicator();
-                progressIndicator.progressProperty().bind(task.progressProperty());
-                progressAlert.setGraphic(progressIndicator);
+                // 添加进度指示器（请求没有进度信息，显示为不确定进度）
+                progressAlert.setGraphic(new ProgressIndicator());
                 
                 // 任务完成时关闭对话框
-                task.setOnSucceeded(e -> progressAlert.close());
-                task.setOnFailed(e -> progressAlert.close());
-                task.setOnCancelled(e -> progressAlert.close());
+                handle.result.whenComplete((value, error) -> runOnFxThread(progressAlert::close));
                 
                 progressAlert.show();
             } catch (Exception e) {
@@ -311,8 +368,10 @@ public class AsyncDataManager {
      * 取消所有正在执行的任务
      */
     public void cancelAllTasks() {
-        logger.info("🛑 取消所有异步任务");
-        executorService.shutdownNow();
+        logger.info("🛑 取消所有异步任务 ({}个)", activeTasks.size());
+        for (TaskHandle<?> handle : activeTasks) {
+            handle.cancel();
+        }
     }
 
     /**
@@ -320,31 +379,192 @@ public class AsyncDataManager {
      */
     public void shutdown() {
         logger.info("🔒 关闭异步数据管理器");
-        executorService.shutdown();
-        try {
-            if (!executorService.awaitTermination(5, java.util.concurrent.TimeUnit.SECONDS)) {
-                executorService.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            executorService.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
+        cancelAllTasks();
+        scheduler.shutdownNow();
     }
 
     /**
      * 获取当前活跃任务数
      */
     public int getActiveTaskCount() {
-        if (executorService instanceof java.util.concurrent.ThreadPoolExecutor) {
-            return ((java.util.concurrent.ThreadPoolExecutor) executorService).getActiveCount();
-        }
-        return 0;
+        return activeTasks.size();
     }
 
     /**
      * 检查是否有任务正在执行
      */
     public boolean hasActiveTasks() {
-        return getActiveTaskCount() > 0;
+        return !activeTasks.isEmpty();
+    }
+
+    /**
+     * 按任务名的统计（只读视图）
+     */
+    public Map<String, TaskStats> getTaskStats() {
+        return Collections.unmodifiableMap(taskStats);
+    }
+
+    /**
+     * 清空统计
+     */
+    public void resetTaskStats() {
+        taskStats.clear();
+    }
+
+    /**
+     * 加载任务句柄
+     */
+    public static final class TaskHandle<T> {
+        private final String taskName;
+        private final long startNanos = System.nanoTime();
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private volatile CompletableFuture<T> currentAttempt;
+        private volatile ScheduledFuture<?> retryTimer;
+        private volatile int attempts;
+
+        private TaskHandle(String taskName) {
+            this.taskName = taskName;
+        }
+
+        /**
+         * 取消任务：不再重试，也不再回调。已经发出的请求不会被中断，其结果被丢弃。
+         * @return 是否由本次调用取消（任务已结束时返回 false）
+         */
+        public boolean cancel() {
+            return result.cancel(false);
+        }
+
+        private void stopCurrentAttempt() {
+            ScheduledFuture<?> timer = retryTimer;
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            CompletableFuture<T> attempt = currentAttempt;
+            if (attempt != null && !attempt.isDone()) {
+                attempt.cancel(false);
+            }
+        }
+
+        public String getTaskName() {
+            return taskName;
+        }
+
+        public boolean isDone() {
+            return result.isDone();
+        }
+
+        public boolean isCancelled() {
+            return result.isCancelled();
+        }
+
+        /**
+         * 已发起的尝试次数（含第一次）
+         */
+        public int getAttempts() {
+            return attempts;
+        }
+
+        /**
+         * 任务结果，可继续组合；回调不在 JavaFX 线程上执行。
+         * 取消时以 {@link CancellationException} 结束。
+         */
+        public CompletableFuture<T> future() {
+            return result.copy();
+        }
+    }
+
+    /**
+     * 单个任务名的统计
+     */
+    public static final class TaskStats {
+        private final String taskName;
+        private final AtomicLong started = new AtomicLong();
+        private final AtomicLong succeeded = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong timedOut = new AtomicLong();
+        private final AtomicLong cancelled = new AtomicLong();
+        private final AtomicLong retries = new AtomicLong();
+        private final AtomicLong totalMillis = new AtomicLong();
+        private final AtomicLong maxMillis = new AtomicLong();
+
+        private TaskStats(String taskName) {
+            this.taskName = taskName;
+        }
+
+        private void recordSuccess(long elapsedMillis) {
+            succeeded.incrementAndGet();
+            recordElapsed(elapsedMillis);
+        }
+
+        private void recordFailure(long elapsedMillis, boolean timeout) {
+            failed.incrementAndGet();
+            if (timeout) {
+                timedOut.incrementAndGet();
+            }
+            recordElapsed(elapsedMillis);
+        }
+
+        private void recordElapsed(long elapsedMillis) {
+            totalMillis.addAndGet(elapsedMillis);
+            maxMillis.accumulateAndGet(elapsedMillis, Math::max);
+        }
+
+        public String getTaskName() {
+            return taskName;
+        }
+
+        public long getStarted() {
+            return started.get();
+        }
+
+        public long getSucceeded() {
+            return succeeded.get();
+        }
+
+        /**
+         * 失败次数（含超时）
+         */
+        public long getFailed() {
+            return failed.get();
+        }
+
+        public long getTimedOut() {
+            return timedOut.get();
+        }
+
+        public long getCancelled() {
+            return cancelled.get();
+        }
+
+        public long getRetries() {
+            return retries.get();
+        }
+
+        /**
+         * 已结束（成功或失败）任务的平均耗时，含重试等待
+         */
+        public double getAverageMillis() {
+            long finished = succeeded.get() + failed.get();
+            return finished == 0 ? 0 : (double) totalMillis.get() / finished;
+        }
+
+        public long getMaxMillis() {
+            return maxMillis.get();
+        }
+
+        @Override
+        public String toString() {
+            return "TaskStats{" +
+                    "taskName='" + taskName + '\'' +
+                    ", started=" + getStarted() +
+                    ", succeeded=" + getSucceeded() +
+                    ", failed=" + getFailed() +
+                    ", timedOut=" + getTimedOut() +
+                    ", cancelled=" + getCancelled() +
+                    ", retries=" + getRetries() +
+                    ", averageMillis=" + String.format("%.1f", getAverageMillis()) +
+                    ", maxMillis=" + getMaxMillis() +
+                    '}';
+        }
     }
-} 
\ No newline at end of file
+}
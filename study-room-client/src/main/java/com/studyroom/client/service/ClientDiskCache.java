@@ -0,0 +1,257 @@
+package com.studyroom.client.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 客户端磁盘缓存
+ * 把自习室、座位、我的预约等 GET 响应（连同服务端返回的 ETag）保存在配置目录下，
+ * 下次启动时先用磁盘上的数据渲染界面，再带 If-None-Match 向服务端核对：
+ * 数据未变时服务端只回 304，不再传输响应体。
+ *
+ * <p>文件格式为 gzip 压缩的二进制记录，整体读入内存；修改后延迟合并写盘，
+ * 先写临时文件再原子替换，写到一半退出也不会损坏已有缓存。文件损坏或版本不符时当作空缓存。
+ *
+ * @author Developer
+ * @version 1.0.0
+ * @since 2024
+ */
+public class ClientDiskCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientDiskCache.class);
+
+    private static final int MAGIC = 0x53524443; // "SRDC"
+    private static final int VERSION = 1;
+
+    private final Path file;
+    private final int maxEntries;
+    private final Executor delayedFlush;
+    private final Object writeLock = new Object();
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private boolean dirty;
+    private boolean flushScheduled;
+
+    /**
+     * @param file 缓存文件路径
+     * @param maxEntries 最多保存的响应数，超出时淘汰最早保存的
+     * @param flushDelayMillis 修改后延迟写盘的时间，期间的多次修改合并为一次写盘
+     */
+    public ClientDiskCache(Path file, int maxEntries, long flushDelayMillis) {
+        this.file = file;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.delayedFlush = CompletableFuture.delayedExecutor(Math.max(0, flushDelayMillis), TimeUnit.MILLISECONDS);
+        load();
+    }
+
+    /**
+     * 读取缓存的响应，不存在时返回 null
+     */
+    public synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * 保存响应
+     */
+    public synchronized void put(String key, String body, String etag) {
+        entries.put(key, new Entry(body, etag, System.currentTimeMillis()));
+        if (entries.size() > maxEntries) {
+            evictOldest();
+        }
+        markDirty();
+    }
+
+    /**
+     * 服务端确认缓存仍然有效（304），只刷新保存时间
+     */
+    public synchronized void touch(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entries.put(key, new Entry(entry.body, entry.etag, System.currentTimeMillis()));
+            markDirty();
+        }
+    }
+
+    /**
+     * 删除响应（服务端返回 404 等表示数据已不存在时）
+     */
+    public synchronized void remove(String key) {
+        if (entries.remove(key) != null) {
+            markDirty();
+        }
+    }
+
+    /**
+     * 清空缓存并删除文件
+     */
+    public void clear() {
+        synchronized (writeLock) {
+            synchronized (this) {
+                entries.clear();
+                dirty = false;
+            }
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("⚠️ 删除磁盘缓存失败: {}", file, e);
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * 立即把未保存的修改写入磁盘
+     */
+    public void flush() {
+        // 快照和写盘在同一把锁内，较早的快照不会覆盖较新的
+        synchronized (writeLock) {
+            List<Map.Entry<String, Entry>> snapshot;
+            synchronized (this) {
+                flushScheduled = false;
+                if (!dirty) {
+                    return;
+                }
+                dirty = false;
+                snapshot = new ArrayList<>(entries.entrySet());
+            }
+            try {
+                write(snapshot);
+                logger.debug("💾 磁盘缓存已保存: {} 条", snapshot.size());
+            } catch (IOException e) {
+                logger.warn("⚠️ 保存磁盘缓存失败: {}", file, e);
+                synchronized (this) {
+                    dirty = true;
+                }
+            }
+        }
+    }
+
+    private void markDirty() {
+        dirty = true;
+        if (flushScheduled) {
+            return;
+        }
+        flushScheduled = true;
+        delayedFlush.execute(this::flush);
+    }
+
+    private void evictOldest() {
+        List<Map.Entry<String, Entry>> sorted = new ArrayList<>(entries.entrySet());
+        sorted.sort(Comparator.comparingLong(e -> e.getValue().savedAt));
+        for (int i = 0; i < sorted.size() - maxEntries; i++) {
+            entries.remove(sorted.get(i).getKey());
+        }
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file))))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                logger.info("ℹ️ 磁盘缓存版本不符，忽略: {}", file);
+                return;
+            }
+            int count = input.readInt();
+            for (int i = 0; i < count; i++) {
+                String key = input.readUTF();
+                String etag = input.readUTF();
+                long savedAt = input.readLong();
+                byte[] body = new byte[input.readInt()];
+                input.readFully(body);
+                entries.put(key, new Entry(new String(body, StandardCharsets.UTF_8),
+                    etag.isEmpty() ? null : etag, savedAt));
+            }
+            logger.info("💾 已加载磁盘缓存: {} 条", entries.size());
+        } catch (IOException | RuntimeException e) {
+            logger.warn("⚠️ 磁盘缓存已损坏，忽略: {} ({})", file, e.toString());
+            entries.clear();
+        }
+    }
+
+    private void write(List<Map.Entry<String, Entry>> snapshot) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream fileOutput = Files.newOutputStream(temp);
+             DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                 new GZIPOutputStream(fileOutput)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(snapshot.size());
+            for (Map.Entry<String, Entry> item : snapshot) {
+                Entry entry = item.getValue();
+                byte[] body = entry.body.getBytes(StandardCharsets.UTF_8);
+                output.writeUTF(item.getKey());
+                output.writeUTF(entry.etag == null ? "" : entry.etag);
+                output.writeLong(entry.savedAt);
+                output.writeInt(body.length);
+                output.write(body);
+            }
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * 缓存的响应
+     */
+    public static final class Entry {
+        private final String body;
+        private final String etag;
+        private final long savedAt;
+
+        Entry(String body, String etag, long savedAt) {
+            this.body = body;
+            this.etag = etag;
+            this.savedAt = savedAt;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        /**
+         * 服务端返回的 ETag，没有时为 null
+         */
+        public String getEtag() {
+            return etag;
+        }
+
+        /**
+         * 保存（或最近一次经服务端确认）的时间戳
+         */
+        public long getSavedAt() {
+            return savedAt;
+        }
+    }
+}
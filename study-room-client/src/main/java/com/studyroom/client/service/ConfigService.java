@@ -281,4 +281,11 @@ public class ConfigService {
     public String getConfigFilePath() {
         return CONFIG_FILE;
     }
+
+    /**
+     * 获取客户端配置目录（~/.studyroom），本地缓存等文件也放在这里
+     */
+    public static Path getConfigDirectory() {
+        return Paths.get(CONFIG_DIR);
+    }
 } 
\ No newline at end of file
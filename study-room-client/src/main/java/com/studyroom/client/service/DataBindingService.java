@@ -2,23 +2,24 @@ package com.studyroom.client.service;
 
 import javafx.application.Platform;
 import javafx.beans.property.*;
-import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import com.studyroom.client.model.*;
+import com.studyroom.client.util.KeyedObservableList;
+import com.studyroom.client.util.StartupTimer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 /**
  * 数据绑定服务
  * 实现数据的观察者模式和自动更新功能
+ * 列表按ID索引，刷新时只应用增删改差异，绑定的表格不会丢失选中项和滚动位置
  * 
  * @author Developer
  * @version 1.0.0
@@ -26,12 +27,16 @@ import java.util.function.Consumer;
 public class DataBindingService {
 
     private static final Logger logger = LoggerFactory.getLogger(DataBindingService.class);
+
+    // 所有预订列表只保留最近的一页，完整列表由管理界面分页加载
+    private static final int RECENT_RESERVATIONS_SIZE = 50;
     
     // 单例实例
     private static DataBindingService instance;
     
-    // 定时刷新执行器
-    private final ScheduledExecutorService scheduler;
+    // 统一刷新调度器（自动刷新按窗口焦点、数据变化和失败情况自适应调整间隔）
+    private final RefreshScheduler refreshScheduler;
+    private RefreshScheduler.Task autoRefreshTask;
     
     // API服务引用
     private final UserApiService userApiService;
@@ -44,10 +49,10 @@ public class DataBindingService {
     
     // 可观察数据属性
     private final ObjectProperty<User> currentUser = new SimpleObjectProperty<>();
-    private final ObservableList<StudyRoom> studyRooms = FXCollections.observableArrayList();
-    private final ObservableList<Seat> seats = FXCollections.observableArrayList();
-    private final ObservableList<Reservation> reservations = FXCollections.observableArrayList();
-    private final ObservableList<Reservation> myReservations = FXCollections.observableArrayList();
+    private final KeyedObservableList<Long, StudyRoom> studyRooms = createStudyRoomList();
+    private final KeyedObservableList<Long, Seat> seats = createSeatList();
+    private final KeyedObservableList<Long, Reservation> reservations = createReservationList();
+    private final KeyedObservableList<Long, Reservation> myReservations = createReservationList();
     
     // 统计数据属性
     private final IntegerProperty totalUsers = new SimpleIntegerProperty(0);
@@ -61,6 +66,9 @@ public class DataBindingService {
     private final BooleanProperty isLoading = new SimpleBooleanProperty(false);
     private final StringProperty lastUpdateTime = new SimpleStringProperty();
     
+    // 已从服务端加载过的数据类型（之后不再用磁盘缓存覆盖）
+    private final Set<String> refreshedDataTypes = ConcurrentHashMap.newKeySet();
+    
     // 自动刷新设置
     private volatile boolean autoRefreshEnabled = true;
     private volatile int refreshIntervalSeconds = 30;
@@ -69,12 +77,7 @@ public class DataBindingService {
      * 私有构造函数 - 单例模式
      */
     private DataBindingService() {
-        this.scheduler = new ScheduledThreadPoolExecutor(2, r -> {
-            Thread thread = new Thread(r);
-            thread.setDaemon(true);
-            thread.setName("DataBinding-" + thread.getId());
-            return thread;
-        });
+        this.refreshScheduler = RefreshScheduler.getInstance();
         
         this.userApiService = UserApiService.getInstance();
         this.studyRoomApiService = StudyRoomApiService.getInstance();
@@ -97,6 +100,53 @@ public class DataBindingService {
         return instance;
     }
 
+    // ==== 列表创建 ====
+
+    /**
+     * 创建按ID索引的自习室列表（更新时间或状态变化时视为内容变化）
+     */
+    public static KeyedObservableList<Long, StudyRoom> createStudyRoomList() {
+        return new KeyedObservableList<>(StudyRoom::getId,
+            room -> versionOf(room.getUpdatedAt(), room.getStatus()));
+    }
+
+    /**
+     * 创建按ID索引的座位列表（更新时间或状态变化时视为内容变化）
+     */
+    public static KeyedObservableList<Long, Seat> createSeatList() {
+        return new KeyedObservableList<>(Seat::getId,
+            seat -> versionOf(seat.getUpdatedAt(), seat.getStatus()));
+    }
+
+    /**
+     * 创建按ID索引的预订列表（更新时间、预订状态或支付状态变化时视为内容变化）
+     */
+    public static KeyedObservableList<Long, Reservation> createReservationList() {
+        return new KeyedObservableList<>(Reservation::getId,
+            r -> versionOf(r.getUpdatedAt(), r.getStatus(), r.getPaymentStatus()));
+    }
+
+    /**
+     * 创建按ID索引的用户列表（更新时间、角色、状态或最后登录时间变化时视为内容变化）
+     */
+    public static KeyedObservableList<Long, User> createUserList() {
+        return new KeyedObservableList<>(User::getId,
+            user -> versionOf(user.getUpdatedAt(), user.getRole(), user.getStatus(), user.getLastLoginAt()));
+    }
+
+    /**
+     * 元素版本；没有更新时间时无法判断是否变化，返回 null（总是替换）
+     */
+    private static Object versionOf(LocalDateTime updatedAt, Object... fields) {
+        if (updatedAt == null) {
+            return null;
+        }
+        List<Object> version = new ArrayList<>(fields.length + 1);
+        version.add(updatedAt);
+        version.addAll(Arrays.asList(fields));
+        return version;
+    }
+
     // ==== 数据观察者管理 ====
 
     /**
@@ -158,6 +208,7 @@ public class DataBindingService {
      */
     public void clearCurrentUser() {
         setCurrentUser(null);
+        refreshedDataTypes.clear();
     }
 
     /**
@@ -183,11 +234,12 @@ public class DataBindingService {
         setLoading(true);
         studyRoomApiService.getAllStudyRooms()
             .thenAccept(rooms -> Platform.runLater(() -> {
-                studyRooms.setAll(rooms);
+                KeyedObservableList.DiffResult diff = studyRooms.applyDiff(rooms);
                 totalStudyRooms.set(rooms.size());
+                markRefreshed("studyRooms");
                 notifyDataObservers("studyRooms", rooms);
                 updateLastUpdateTime();
-                logger.debug("🏢 刷新自习室列表: {}个", rooms.size());
+                logger.debug("🏢 刷新自习室列表: {}个 ({})", rooms.size(), diff);
             }))
             .exceptionally(throwable -> {
                 logger.error("❌ 刷新自习室列表失败", throwable);
@@ -201,7 +253,7 @@ public class DataBindingService {
      */
     public void addStudyRoom(StudyRoom room) {
         Platform.runLater(() -> {
-            studyRooms.add(room);
+            studyRooms.upsert(studyRooms.size(), room);
             totalStudyRooms.set(studyRooms.size());
             notifyDataObservers("studyRoomAdded", room);
         });
@@ -212,12 +264,8 @@ public class DataBindingService {
      */
     public void updateStudyRoom(StudyRoom updatedRoom) {
         Platform.runLater(() -> {
-            for (int i = 0; i < studyRooms.size(); i++) {
-                if (studyRooms.get(i).getId().equals(updatedRoom.getId())) {
-                    studyRooms.set(i, updatedRoom);
-                    notifyDataObservers("studyRoomUpdated", updatedRoom);
-                    break;
-                }
+            if (studyRooms.replace(updatedRoom)) {
+                notifyDataObservers("studyRoomUpdated", updatedRoom);
             }
         });
     }
@@ -227,7 +275,7 @@ public class DataBindingService {
      */
     public void removeStudyRoom(Long roomId) {
         Platform.runLater(() -> {
-            studyRooms.removeIf(room -> room.getId().equals(roomId));
+            studyRooms.removeByKey(roomId);
             totalStudyRooms.set(studyRooms.size());
             notifyDataObservers("studyRoomRemoved", roomId);
         });
@@ -244,11 +292,12 @@ public class DataBindingService {
             seatApiService.getSeatsByStudyRoom(studyRoomId) : 
             seatApiService.getAvailableSeats(null))
             .thenAccept(seatList -> Platform.runLater(() -> {
-                seats.setAll(seatList);
+                KeyedObservableList.DiffResult diff = seats.applyDiff(seatList);
                 totalSeats.set(seatList.size());
+                markRefreshed("seats");
                 notifyDataObservers("seats", seatList);
                 updateLastUpdateTime();
-                logger.debug("💺 刷新座位列表: {}个", seatList.size());
+                logger.debug("💺 刷新座位列表: {}个 ({})", seatList.size(), diff);
             }))
             .exceptionally(throwable -> {
                 logger.error("❌ 刷新座位列表失败", throwable);
@@ -262,14 +311,11 @@ public class DataBindingService {
      */
     public void updateSeatStatus(Long seatId, Seat.Status newStatus) {
         Platform.runLater(() -> {
-            for (int i = 0; i < seats.size(); i++) {
-                Seat seat = seats.get(i);
-                if (seat.getId().equals(seatId)) {
-                    seat.setStatus(newStatus);
-                    seats.set(i, seat); // 触发列表更新
-                    notifyDataObservers("seatStatusUpdated", seat);
-                    break;
-                }
+            Seat seat = seats.getByKey(seatId);
+            if (seat != null) {
+                seat.setStatus(newStatus);
+                seats.replace(seat); // 触发列表更新
+                notifyDataObservers("seatStatusUpdated", seat);
             }
         });
     }
@@ -280,41 +326,52 @@ public class DataBindingService {
      * 刷新我的预订列表
      */
     public void refreshMyReservations() {
+        loadMyReservations();
+    }
+
+    /**
+     * 刷新我的预订列表，返回数据是否有变化（供自动刷新调整间隔）
+     */
+    private CompletableFuture<RefreshScheduler.Result> loadMyReservations() {
         if (!isLoggedIn.get()) {
-            return;
+            return CompletableFuture.completedFuture(RefreshScheduler.Result.SKIPPED);
         }
         
         setLoading(true);
+        CompletableFuture<RefreshScheduler.Result> result = new CompletableFuture<>();
         reservationApiService.getMyReservations()
             .thenAccept(reservationList -> Platform.runLater(() -> {
-                myReservations.setAll(reservationList);
+                KeyedObservableList.DiffResult diff = myReservations.applyDiff(reservationList);
                 
                 // 统计活跃预订
-                long activeCount = reservationList.stream()
-                    .filter(r -> r.isActive() || r.isConfirmed())
-                    .count();
-                activeReservations.set((int) activeCount);
+                int activeCount = countActive(reservationList);
+                activeReservations.set(activeCount);
+                markRefreshed("myReservations");
                 
                 notifyDataObservers("myReservations", reservationList);
                 updateLastUpdateTime();
-                logger.debug("📅 刷新我的预订列表: {}个 ({}个活跃)", reservationList.size(), activeCount);
+                logger.debug("📅 刷新我的预订列表: {}个 ({}个活跃, {})", reservationList.size(), activeCount, diff);
+                result.complete(diff.isEmpty() ? RefreshScheduler.Result.UNCHANGED : RefreshScheduler.Result.CHANGED);
             }))
             .exceptionally(throwable -> {
                 logger.error("❌ 刷新我的预订列表失败", throwable);
+                result.complete(RefreshScheduler.Result.FAILED);
                 return null;
             })
-            .whenComplete((result, throwable) -> setLoading(false));
+            .whenComplete((ignored, throwable) -> setLoading(false));
+        return result;
     }
 
     /**
      * 刷新所有预订列表（管理员功能）
+     * 只加载最近创建的一页并更新总数，不再一次拉取全部预订
      */
     public void refreshAllReservations() {
         setLoading(true);
-        reservationApiService.getReservations(0, 1000, null, null, null)
+        reservationApiService.getReservations(0, RECENT_RESERVATIONS_SIZE, null, null, null, null, null, null, "createdAt,desc")
             .thenAccept(pageData -> Platform.runLater(() -> {
-                if (pageData != null && pageData.hasContent()) {
-                    reservations.setAll(pageData.getContent());
+                if (pageData != null && pageData.getContent() != null) {
+                    reservations.applyDiff(pageData.getContent());
                     totalReservations.set((int) pageData.getTotalElements());
                     notifyDataObservers("allReservations", pageData.getContent());
                     updateLastUpdateTime();
@@ -333,10 +390,8 @@ public class DataBindingService {
      */
     public void addReservation(Reservation reservation) {
         Platform.runLater(() -> {
-            myReservations.add(0, reservation); // 添加到列表开头
-            if (reservation.isActive() || reservation.isConfirmed()) {
-                activeReservations.set(activeReservations.get() + 1);
-            }
+            myReservations.upsert(0, reservation); // 添加到列表开头（已存在时原位替换）
+            activeReservations.set(countActive(myReservations));
             notifyDataObservers("reservationAdded", reservation);
         });
     }
@@ -346,27 +401,12 @@ public class DataBindingService {
      */
     public void updateReservation(Reservation updatedReservation) {
         Platform.runLater(() -> {
-            // 更新我的预订列表
-            for (int i = 0; i < myReservations.size(); i++) {
-                if (myReservations.get(i).getId().equals(updatedReservation.getId())) {
-                    myReservations.set(i, updatedReservation);
-                    break;
-                }
-            }
-            
-            // 更新所有预订列表
-            for (int i = 0; i < reservations.size(); i++) {
-                if (reservations.get(i).getId().equals(updatedReservation.getId())) {
-                    reservations.set(i, updatedReservation);
-                    break;
-                }
-            }
+            // 更新我的预订列表和所有预订列表
+            myReservations.replace(updatedReservation);
+            reservations.replace(updatedReservation);
             
             // 重新计算活跃预订数量
-            long activeCount = myReservations.stream()
-                .filter(r -> r.isActive() || r.isConfirmed())
-                .count();
-            activeReservations.set((int) activeCount);
+            activeReservations.set(countActive(myReservations));
             
             notifyDataObservers("reservationUpdated", updatedReservation);
         });
@@ -376,19 +416,23 @@ public class DataBindingService {
 
     /**
      * 启动自动刷新
+     * refreshIntervalSeconds 是基础间隔；数据连续未变化、窗口不在前台或请求失败时由调度器自动放慢
      */
     private void startAutoRefresh() {
-        scheduler.scheduleWithFixedDelay(() -> {
-            if (autoRefreshEnabled && isLoggedIn.get()) {
-                try {
-                    logger.debug("🔄 执行自动刷新");
-                    refreshMyReservations();
-                    // 可以根据需要添加其他数据的自动刷新
-                } catch (Exception e) {
-                    logger.error("❌ 自动刷新失败", e);
-                }
-            }
-        }, refreshIntervalSeconds, refreshIntervalSeconds, TimeUnit.SECONDS);
+        autoRefreshTask = refreshScheduler.schedule("自动刷新", null,
+            Duration.ofSeconds(refreshIntervalSeconds), this::autoRefresh);
+    }
+
+    /**
+     * 执行一次自动刷新
+     */
+    private CompletableFuture<RefreshScheduler.Result> autoRefresh() {
+        if (!autoRefreshEnabled || !isLoggedIn.get()) {
+            return CompletableFuture.completedFuture(RefreshScheduler.Result.SKIPPED);
+        }
+        logger.debug("🔄 执行自动刷新");
+        // 可以根据需要添加其他数据的自动刷新
+        return loadMyReservations();
     }
 
     /**
@@ -396,6 +440,7 @@ public class DataBindingService {
      */
     public void setRefreshInterval(int seconds) {
         this.refreshIntervalSeconds = Math.max(10, seconds); // 最小10秒
+        autoRefreshTask.setInterval(Duration.ofSeconds(refreshIntervalSeconds));
         logger.info("🔄 设置自动刷新间隔: {}秒", this.refreshIntervalSeconds);
     }
 
@@ -409,6 +454,15 @@ public class DataBindingService {
 
     // ==== 工具方法 ====
 
+    /**
+     * 统计活跃（进行中或已确认）的预订数量
+     */
+    private static int countActive(List<Reservation> reservationList) {
+        return (int) reservationList.stream()
+            .filter(r -> r.isActive() || r.isConfirmed())
+            .count();
+    }
+
     /**
      * 设置加载状态
      */
@@ -425,6 +479,51 @@ public class DataBindingService {
         });
     }
 
+    /**
+     * 用磁盘缓存中上次运行时的数据先行填充自习室、座位和我的预订，让界面不必等待网络就能显示；
+     * 已经从服务端加载过的数据不会被覆盖。之后调用 {@link #refreshAllData()} 用服务端数据核对更新。
+     */
+    public void restoreCachedData() {
+        refreshScheduler.execute(() -> {
+            Optional<List<StudyRoom>> cachedRooms = studyRoomApiService.getCachedStudyRooms();
+            Optional<List<Seat>> cachedSeats = seatApiService.getCachedAvailableSeats(null);
+            Optional<List<Reservation>> cachedReservations = reservationApiService.getCachedMyReservations();
+            if (cachedRooms.isEmpty() && cachedSeats.isEmpty() && cachedReservations.isEmpty()) {
+                logger.debug("💾 没有可用的磁盘缓存数据");
+                return;
+            }
+            
+            Platform.runLater(() -> {
+                cachedRooms.filter(rooms -> !refreshedDataTypes.contains("studyRooms")).ifPresent(rooms -> {
+                    studyRooms.applyDiff(rooms);
+                    totalStudyRooms.set(rooms.size());
+                    notifyDataObservers("studyRooms", rooms);
+                });
+                cachedSeats.filter(seatList -> !refreshedDataTypes.contains("seats")).ifPresent(seatList -> {
+                    seats.applyDiff(seatList);
+                    totalSeats.set(seatList.size());
+                    notifyDataObservers("seats", seatList);
+                });
+                cachedReservations.filter(list -> !refreshedDataTypes.contains("myReservations")).ifPresent(list -> {
+                    myReservations.applyDiff(list);
+                    activeReservations.set(countActive(list));
+                    notifyDataObservers("myReservations", list);
+                });
+                StartupTimer.mark("首屏数据(磁盘缓存)");
+                logger.info("💾 已从磁盘缓存恢复数据: 自习室{}个, 座位{}个, 我的预订{}个",
+                    studyRooms.size(), seats.size(), myReservations.size());
+            });
+        });
+    }
+
+    /**
+     * 记录某类数据已从服务端加载
+     */
+    private void markRefreshed(String dataType) {
+        refreshedDataTypes.add(dataType);
+        StartupTimer.mark("首屏数据(网络)");
+    }
+
     /**
      * 刷新所有数据
      */
@@ -464,15 +563,7 @@ public class DataBindingService {
     public void shutdown() {
         logger.info("🔒 关闭数据绑定服务");
         autoRefreshEnabled = false;
-        scheduler.shutdown();
-        try {
-            if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
-                scheduler.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            scheduler.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
+        autoRefreshTask.cancel();
         dataObservers.clear();
     }
 } 
\ No newline at end of file
@@ -1,22 +1,59 @@
 package com.studyroom.client.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import org.apache.http.client.methods.*;
-import org.apache.http.entity.StringEntity;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
 
 /**
  * HTTP客户端服务类
  * 负责与后端服务器的API通信
+ *
+ * <p>基于 java.net.http.HttpClient 的非阻塞传输：连接在请求之间复用（keep-alive），
+ * 响应在专用线程池上处理，不占用公共 ForkJoinPool；同时在途的请求数受
+ * network.max.connections 限制，超出的请求排队。可选HTTP/2和gzip，见 {@link HttpTransportConfig}。
+ *
+ * <p>GET 请求按 "认证主体 + URL" 去重：同一时刻相同的 GET 只发出一次网络请求，结果分发给所有调用方；
+ * 成功的响应再缓存 network.cache.ttl 毫秒，期间的相同 GET 直接返回缓存。
+ * 任何 POST/PUT/DELETE 完成后（无论成败）清空缓存，并让之后的 GET 不再合并到写操作之前发出的请求上。
+ *
+ * <p>network.disk.cache.paths 下的 GET 响应另外连同 ETag 保存到磁盘（{@link ClientDiskCache}），按登录用户区分。
+ * 启动时可通过 {@link #getCachedResponse(String)} 先取上次的数据渲染；之后的 GET 带 If-None-Match 发出，
+ * 服务端返回 304 时直接使用磁盘上的响应体。
+ *
+ * <p>{@link #prefetch(String)} 提前发出用户可能马上要打开的界面的 GET，响应在短期缓存中保留
+ * network.prefetch.ttl 毫秒；界面打开时的相同 GET 命中缓存，或合并到仍在途的预取请求上。
  * 
  * @author Developer
  * @version 1.0.0
@@ -24,40 +61,96 @@ import java.util.concurrent.CompletableFuture;
 public class HttpClientService {
 
     private static final Logger logger = LoggerFactory.getLogger(HttpClientService.class);
+
+    // JDK HttpClient 连接池的系统属性，须在第一个 HttpClient 创建前设置
+    private static final String JDK_KEEPALIVE_PROPERTY = "jdk.httpclient.keepalive.timeout";
+    private static final String JDK_POOL_SIZE_PROPERTY = "jdk.httpclient.connectionPoolSize";
+    
+    private static final int NOT_MODIFIED = 304;
+    private static final long DISK_FLUSH_DELAY_MILLIS = 1000;
     
     // 单例实例
     private static HttpClientService instance;
     
+    // 传输配置
+    private final HttpTransportConfig config;
+    
     // HTTP客户端
-    private final CloseableHttpClient httpClient;
+    private final HttpClient httpClient;
+    
+    // 响应处理线程池
+    private final ExecutorService executor;
+    
+    // 在途请求许可和排队中的请求
+    private final Semaphore permits;
+    private final Queue<Runnable> pendingRequests = new ConcurrentLinkedQueue<>();
+    
+    // 请求完成且没有排队请求时的回调（预取调度器据此继续发出等待中的预取）
+    private final List<Runnable> idleListeners = new CopyOnWriteArrayList<>();
+    
+    // 进行中的 GET（单飞去重）和短期响应缓存，键为 认证主体 + URL
+    private final Map<String, CompletableFuture<String>> inFlightGets = new ConcurrentHashMap<>();
+    private final ResponseCache responseCache;
+    
+    // 缓存代数：写操作完成时递增，之前发出的 GET 的结果不再写入缓存
+    private final AtomicLong cacheGeneration = new AtomicLong();
+    
+    // GET 统计
+    private final AtomicLong networkGets = new AtomicLong();
+    private final AtomicLong coalescedGets = new AtomicLong();
+    private final AtomicLong cachedGets = new AtomicLong();
+    private final AtomicLong revalidatedGets = new AtomicLong();
+    private final AtomicLong prefetchGets = new AtomicLong();
+    private final AtomicLong prefetchHits = new AtomicLong();
+    
+    // 磁盘缓存（未启用时为 null）
+    private final ClientDiskCache diskCache;
     
     // JSON处理器
     private final ObjectMapper objectMapper;
     
+    // 按响应类型缓存的 ObjectReader
+    private final ApiResponseReaders responseReaders;
+    
     // 服务器配置
-    private String baseUrl = "http://localhost:8080";
+    private volatile String baseUrl;
     private String apiPrefix = "/api";
     
-    // 认证令牌
-    private String authToken;
+    // 认证令牌及其对应的用户名（JWT 的 sub），磁盘缓存按用户名区分
+    private volatile String authToken;
+    private volatile String principal;
 
     /**
      * 私有构造函数 - 单例模式
      */
-    private HttpClientService() {
-        this.httpClient = HttpClients.createDefault();
-        this.objectMapper = new ObjectMapper();
-        
-        // 配置Java时间模块
-        this.objectMapper.registerModule(new JavaTimeModule());
-        
-        // 配置Jackson以处理枚举和未知字段
-        this.objectMapper.configure(com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        this.objectMapper.configure(com.fasterxml.jackson.databind.DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL, true);
-        this.objectMapper.configure(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
-        this.objectMapper.configure(com.fasterxml.jackson.databind.SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+    private HttpClientService(HttpTransportConfig config) {
+        this.config = config;
+        this.baseUrl = config.getBaseUrl();
+        this.permits = new Semaphore(config.getMaxConnections());
+        this.responseCache = new ResponseCache(config.getCacheTtlMillis(), config.getPrefetchTtlMillis(),
+            config.getCacheMaxEntries());
+        this.executor = Executors.newFixedThreadPool(config.getExecutorThreads(), new HttpThreadFactory());
+        this.diskCache = config.isDiskCacheEnabled() && config.getDiskCacheFile() != null
+            ? new ClientDiskCache(config.getDiskCacheFile(), config.getDiskCacheMaxEntries(), DISK_FLUSH_DELAY_MILLIS)
+            : null;
+
+        if (System.getProperty(JDK_KEEPALIVE_PROPERTY) == null) {
+            System.setProperty(JDK_KEEPALIVE_PROPERTY, String.valueOf(config.getKeepAliveSeconds()));
+        }
+        if (System.getProperty(JDK_POOL_SIZE_PROPERTY) == null) {
+            System.setProperty(JDK_POOL_SIZE_PROPERTY, String.valueOf(config.getMaxConnections()));
+        }
+        this.httpClient = HttpClient.newBuilder()
+            .version(config.isHttp2Enabled() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(config.getConnectTimeoutMillis()))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .executor(executor)
+            .build();
+
+        this.objectMapper = createObjectMapper();
+        this.responseReaders = new ApiResponseReaders(objectMapper);
         
-        logger.info("🔧 HTTP客户端服务初始化完成");
+        logger.info("🔧 HTTP客户端服务初始化完成: {}", config);
     }
 
     /**
@@ -65,11 +158,18 @@ public class HttpClientService {
      */
     public static synchronized HttpClientService getInstance() {
         if (instance == null) {
-            instance = new HttpClientService();
+            instance = new HttpClientService(HttpTransportConfig.load());
         }
         return instance;
     }
 
+    /**
+     * 以指定配置创建独立实例（不影响单例，用于基准测试等场景）
+     */
+    public static HttpClientService create(HttpTransportConfig config) {
+        return new HttpClientService(config);
+    }
+
     /**
      * 设置服务器基础URL
      */
@@ -83,6 +183,7 @@ public class HttpClientService {
      */
     public void setAuthToken(String token) {
         this.authToken = token;
+        this.principal = principalOf(token);
         logger.debug("🔑 设置认证令牌");
     }
 
@@ -91,143 +192,385 @@ public class HttpClientService {
      */
     public void clearAuthToken() {
         this.authToken = null;
+        this.principal = null;
+        invalidateCache();
         logger.debug("🗑️ 清除认证令牌");
     }
 
     /**
-     * GET请求
+     * GET请求（合并相同的并发请求，短期缓存响应）
      */
     public CompletableFuture<String> get(String endpoint) {
-        return CompletableFuture.supplyAsync(() -> {
-            String url = buildUrl(endpoint);
-            HttpGet request = new HttpGet(url);
-            setupHeaders(request);
-            
-            logger.debug("📡 发送GET请求: {}", url);
-            
-            try (CloseableHttpResponse response = httpClient.execute(request)) {
-                String responseBody = EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
-                int statusCode = response.getStatusLine().getStatusCode();
-                
-                logger.debug("📨 收到响应: {} - {}", statusCode, response.getStatusLine().getReasonPhrase());
-                
-                if (statusCode >= 200 && statusCode < 300) {
-                    return responseBody;
+        return get(endpoint, true);
+    }
+
+    /**
+     * GET请求，跳过响应缓存（仍会合并到进行中的相同请求上），用于用户主动刷新
+     */
+    public CompletableFuture<String> getFresh(String endpoint) {
+        return get(endpoint, false);
+    }
+
+    /**
+     * 预取GET：响应写入短期缓存并保留 network.prefetch.ttl 毫秒，供随后打开的界面直接使用。
+     * 已有缓存或相同请求已在途时不再发出网络请求。
+     *
+     * <p>返回的 future 是调用方独立的副本，取消它不会中断请求，也不影响合并到同一请求上的其他 GET。
+     */
+    public CompletableFuture<String> prefetch(String endpoint) {
+        String url = buildUrl(endpoint);
+        CachedResponse cached = responseCache.get(requestKey(url));
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached.body);
+        }
+        return request(url, true);
+    }
+
+    private CompletableFuture<String> get(String endpoint, boolean useCache) {
+        String url = buildUrl(endpoint);
+        String key = requestKey(url);
+
+        if (useCache) {
+            CachedResponse cached = responseCache.get(key);
+            if (cached != null) {
+                cachedGets.incrementAndGet();
+                if (cached.prefetched) {
+                    prefetchHits.incrementAndGet();
+                    logger.debug("🎯 命中预取的响应: {}", url);
                 } else {
-                    throw new RuntimeException("HTTP错误: " + statusCode + " - " + responseBody);
+                    logger.debug("💾 命中响应缓存: {}", url);
                 }
-                
-            } catch (IOException e) {
-                logger.error("❌ GET请求失败: {}", url, e);
-                throw new RuntimeException("网络请求失败: " + e.getMessage(), e);
+                return CompletableFuture.completedFuture(cached.body);
             }
-        });
+        }
+        return request(url, false);
     }
 
     /**
-     * POST请求
+     * 发出GET或合并到进行中的相同GET上，成功的响应写入短期缓存
      */
-    public CompletableFuture<String> post(String endpoint, Object data) {
-        return CompletableFuture.supplyAsync(() -> {
-            String url = buildUrl(endpoint);
-            HttpPost request = new HttpPost(url);
-            setupHeaders(request);
-            
-            try {
-                if (data != null) {
-                    String jsonData = objectMapper.writeValueAsString(data);
-                    request.setEntity(new StringEntity(jsonData, StandardCharsets.UTF_8));
-                    request.setHeader("Content-Type", "application/json");
-                }
-                
-                logger.debug("📡 发送POST请求: {}", url);
-                
-                try (CloseableHttpResponse response = httpClient.execute(request)) {
-                    String responseBody = EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
-                    int statusCode = response.getStatusLine().getStatusCode();
-                    
-                    logger.debug("📨 收到响应: {} - {}", statusCode, response.getStatusLine().getReasonPhrase());
-                    
-                    if (statusCode >= 200 && statusCode < 300) {
-                        return responseBody;
-                    } else {
-                        throw new RuntimeException("HTTP错误: " + statusCode + " - " + responseBody);
-                    }
+    private CompletableFuture<String> request(String url, boolean prefetched) {
+        String key = requestKey(url);
+
+        CompletableFuture<String> shared = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlightGets.putIfAbsent(key, shared);
+        if (existing != null) {
+            coalescedGets.incrementAndGet();
+            logger.debug("🔗 合并到进行中的请求: {}", url);
+            // 每个调用方拿到独立的副本，取消其中一个不影响其他调用方
+            return existing.copy();
+        }
+
+        networkGets.incrementAndGet();
+        if (prefetched) {
+            prefetchGets.incrementAndGet();
+            logger.debug("🔮 预取: {}", url);
+        }
+        long generation = cacheGeneration.get();
+        fetch(url).whenComplete((responseBody, error) -> {
+            inFlightGets.remove(key, shared);
+            if (error != null) {
+                shared.completeExceptionally(error);
+            } else {
+                if (generation == cacheGeneration.get()) {
+                    responseCache.put(key, responseBody, prefetched);
                 }
-                
-            } catch (IOException e) {
-                logger.error("❌ POST请求失败: {}", url, e);
-                throw new RuntimeException("网络请求失败: " + e.getMessage(), e);
+                shared.complete(responseBody);
             }
         });
+        return shared.copy();
     }
 
     /**
-     * PUT请求
+     * 发出GET；可持久化的接口带上磁盘缓存的 ETag 做条件请求，并把新的响应写回磁盘
      */
-    public CompletableFuture<String> put(String endpoint, Object data) {
-        return CompletableFuture.supplyAsync(() -> {
-            String url = buildUrl(endpoint);
-            HttpPut request = new HttpPut(url);
-            setupHeaders(request);
-            
-            try {
-                if (data != null) {
-                    String jsonData = objectMapper.writeValueAsString(data);
-                    request.setEntity(new StringEntity(jsonData, StandardCharsets.UTF_8));
-                    request.setHeader("Content-Type", "application/json");
-                }
-                
-                logger.debug("📡 发送PUT请求: {}", url);
-                
-                try (CloseableHttpResponse response = httpClient.execute(request)) {
-                    String responseBody = EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
-                    int statusCode = response.getStatusLine().getStatusCode();
-                    
-                    logger.debug("📨 收到响应: {} - {}", statusCode, response.getStatusLine().getReasonPhrase());
-                    
-                    if (statusCode >= 200 && statusCode < 300) {
-                        return responseBody;
-                    } else {
-                        throw new RuntimeException("HTTP错误: " + statusCode + " - " + responseBody);
-                    }
+    private CompletableFuture<String> fetch(String url) {
+        String diskKey = diskKey(url);
+        if (diskKey == null) {
+            return send("GET", url, null);
+        }
+        ClientDiskCache.Entry stored = diskCache.get(diskKey);
+        String etag = stored != null ? stored.getEtag() : null;
+        return exchange("GET", url, null, etag).handle((response, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+                if (cause instanceof HttpStatusException && ((HttpStatusException) cause).getStatusCode() == 404) {
+                    diskCache.remove(diskKey);
                 }
-                
-            } catch (IOException e) {
-                logger.error("❌ PUT请求失败: {}", url, e);
-                throw new RuntimeException("网络请求失败: " + e.getMessage(), e);
+                throw cause instanceof RuntimeException ? (RuntimeException) cause : new CompletionException(cause);
+            }
+            if (response.statusCode == NOT_MODIFIED) {
+                revalidatedGets.incrementAndGet();
+                logger.debug("✅ 服务端确认磁盘缓存有效: {}", url);
+                diskCache.touch(diskKey);
+                return stored.getBody();
             }
+            diskCache.put(diskKey, response.body, response.etag);
+            return response.body;
         });
     }
 
+    /**
+     * 读取磁盘上保存的当前用户的GET响应（上次运行时的数据），不发网络请求
+     */
+    public Optional<String> getCachedResponse(String endpoint) {
+        String diskKey = diskKey(buildUrl(endpoint));
+        if (diskKey == null) {
+            return Optional.empty();
+        }
+        ClientDiskCache.Entry stored = diskCache.get(diskKey);
+        return stored != null ? Optional.of(stored.getBody()) : Optional.empty();
+    }
+
+    /**
+     * POST请求
+     */
+    public CompletableFuture<String> post(String endpoint, Object data) {
+        return write("POST", endpoint, data);
+    }
+
+    /**
+     * PUT请求
+     */
+    public CompletableFuture<String> put(String endpoint, Object data) {
+        return write("PUT", endpoint, data);
+    }
+
     /**
      * DELETE请求
      */
     public CompletableFuture<String> delete(String endpoint) {
-        return CompletableFuture.supplyAsync(() -> {
-            String url = buildUrl(endpoint);
-            HttpDelete request = new HttpDelete(url);
-            setupHeaders(request);
-            
-            logger.debug("📡 发送DELETE请求: {}", url);
-            
-            try (CloseableHttpResponse response = httpClient.execute(request)) {
-                String responseBody = EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
-                int statusCode = response.getStatusLine().getStatusCode();
-                
-                logger.debug("📨 收到响应: {} - {}", statusCode, response.getStatusLine().getReasonPhrase());
-                
-                if (statusCode >= 200 && statusCode < 300) {
-                    return responseBody;
+        return write("DELETE", endpoint, null);
+    }
+
+    /**
+     * 写操作：完成后（无论成败）使GET缓存失效
+     */
+    private CompletableFuture<String> write(String method, String endpoint, Object data) {
+        return send(method, buildUrl(endpoint), data)
+            .whenComplete((responseBody, error) -> invalidateCache());
+    }
+
+    /**
+     * 清空GET响应缓存，之后的GET不再合并到此前发出的请求上
+     */
+    public void invalidateCache() {
+        cacheGeneration.incrementAndGet();
+        inFlightGets.clear();
+        responseCache.clear();
+    }
+
+    /**
+     * 去重和缓存的键：认证主体 + URL，不同用户的响应互不可见
+     */
+    private String requestKey(String url) {
+        String token = authToken;
+        return (token == null ? "" : token) + '\n' + url;
+    }
+
+    /**
+     * 磁盘缓存的键：用户名 + URL；磁盘缓存未启用、未登录或接口不在 network.disk.cache.paths 下时为 null
+     */
+    private String diskKey(String url) {
+        String user = principal;
+        if (diskCache == null || user == null || !url.startsWith(baseUrl)) {
+            return null;
+        }
+        String path = url.substring(baseUrl.length());
+        for (String prefix : config.getDiskCachePaths()) {
+            if (path.startsWith(prefix)) {
+                return user + '\n' + url;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 从JWT中取出用户名（sub），令牌格式不符时返回 null（不使用磁盘缓存）
+     */
+    private String principalOf(String token) {
+        if (token == null) {
+            return null;
+        }
+        String[] parts = token.split("\\.");
+        if (parts.length < 2) {
+            return null;
+        }
+        try {
+            JsonNode claims = objectMapper.readTree(Base64.getUrlDecoder().decode(parts[1]));
+            JsonNode subject = claims.get("sub");
+            return subject != null && subject.isTextual() ? subject.asText() : null;
+        } catch (IOException | IllegalArgumentException e) {
+            logger.debug("无法从令牌中解析用户名，不使用磁盘缓存");
+            return null;
+        }
+    }
+
+    /**
+     * 发送请求
+     * 请求异步发出，不占用调用线程；非2xx响应以 {@link HttpStatusException}、
+     * 网络错误以 RuntimeException（cause 为原始 IOException）结束返回的 future。
+     */
+    private CompletableFuture<String> send(String method, String url, Object data) {
+        return exchange(method, url, data, null).thenApply(response -> response.body);
+    }
+
+    /**
+     * 发送请求，返回状态码、响应体和ETag
+     * etag 不为空时带 If-None-Match 发出，此时 304 也视为成功（响应体为空）。
+     */
+    private CompletableFuture<Response> exchange(String method, String url, Object data, String etag) {
+        HttpRequest request;
+        try {
+            request = buildRequest(method, url, data, etag);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.error("❌ {}请求失败: {}", method, url, e);
+            return CompletableFuture.failedFuture(new RuntimeException("网络请求失败: " + e.getMessage(), e));
+        }
+
+        logger.debug("📡 发送{}请求: {}", method, url);
+
+        return dispatch(() -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()))
+            .handle((response, error) -> {
+                if (error != null) {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                    logger.error("❌ {}请求失败: {}", method, url, cause);
+                    String reason = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+                    throw new RuntimeException("网络请求失败: " + reason, cause);
+                }
+
+                String responseBody;
+                try {
+                    responseBody = readBody(response);
+                } catch (IOException e) {
+                    logger.error("❌ {}请求失败: {}", method, url, e);
+                    throw new RuntimeException("网络请求失败: " + e.getMessage(), e);
+                }
+                int statusCode = response.statusCode();
+
+                logger.debug("📨 收到响应: {} ({})", statusCode, response.version());
+
+                if ((statusCode >= 200 && statusCode < 300) || (statusCode == NOT_MODIFIED && etag != null)) {
+                    return new Response(statusCode, responseBody, response.headers().firstValue("ETag").orElse(null));
                 } else {
-                    throw new RuntimeException("HTTP错误: " + statusCode + " - " + responseBody);
+                    throw new HttpStatusException(statusCode, responseBody);
                 }
-                
-            } catch (IOException e) {
-                logger.error("❌ DELETE请求失败: {}", url, e);
-                throw new RuntimeException("网络请求失败: " + e.getMessage(), e);
+            });
+    }
+
+    /**
+     * 在并发上限内执行请求，超出上限的请求排队，等前面的请求完成后再发出
+     */
+    private <T> CompletableFuture<T> dispatch(Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable task = () -> {
+            CompletableFuture<T> future;
+            try {
+                future = call.get();
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
             }
-        });
+            future.whenComplete((value, error) -> {
+                releasePermit();
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+        };
+
+        if (permits.tryAcquire()) {
+            task.run();
+        } else {
+            pendingRequests.add(task);
+            // 入队期间可能有请求完成并归还了许可
+            drainPending();
+        }
+        return result;
+    }
+
+    /**
+     * 请求完成：把许可转交给下一个排队的请求，没有排队请求时归还
+     */
+    private void releasePermit() {
+        Runnable next = pendingRequests.poll();
+        if (next != null) {
+            executor.execute(next);
+        } else {
+            permits.release();
+            drainPending();
+            if (pendingRequests.isEmpty()) {
+                notifyIdle();
+            }
+        }
+    }
+
+    /**
+     * 注册空闲回调：请求完成、排队的请求已全部发出时在完成请求的线程上调用
+     */
+    public void addIdleListener(Runnable listener) {
+        idleListeners.add(listener);
+    }
+
+    private void notifyIdle() {
+        for (Runnable listener : idleListeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                logger.warn("⚠️ 空闲回调执行失败: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void drainPending() {
+        while (!pendingRequests.isEmpty() && permits.tryAcquire()) {
+            Runnable next = pendingRequests.poll();
+            if (next == null) {
+                permits.release();
+                return;
+            }
+            executor.execute(next);
+        }
+    }
+
+    /**
+     * 构建请求
+     */
+    private HttpRequest buildRequest(String method, String url, Object data, String etag) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+            .timeout(Duration.ofMillis(config.getRequestTimeoutMillis()));
+        setupHeaders(builder);
+        if (etag != null) {
+            builder.setHeader("If-None-Match", etag);
+        }
+
+        if (data != null) {
+            byte[] jsonData = objectMapper.writeValueAsBytes(data);
+            builder.header("Content-Type", "application/json; charset=UTF-8");
+            builder.method(method, HttpRequest.BodyPublishers.ofByteArray(jsonData));
+        } else {
+            builder.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        return builder.build();
+    }
+
+    /**
+     * 读取响应体，按 Content-Encoding 解压gzip
+     */
+    private static String readBody(HttpResponse<byte[]> response) throws IOException {
+        byte[] body = response.body();
+        boolean gzipped = response.headers().firstValue("Content-Encoding")
+            .map(encoding -> encoding.trim().equalsIgnoreCase("gzip"))
+            .orElse(false);
+        if (gzipped && body.length > 0) {
+            try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                body = input.readAllBytes();
+            }
+        }
+        return new String(body, StandardCharsets.UTF_8);
     }
 
     /**
@@ -265,18 +608,46 @@ public class HttpClientService {
     /**
      * 设置请求头
      */
-    private void setupHeaders(HttpRequestBase request) {
+    private void setupHeaders(HttpRequest.Builder request) {
         // 设置通用头部
         request.setHeader("User-Agent", "StudyRoomClient/1.0.0");
         request.setHeader("Accept", "application/json");
         request.setHeader("Accept-Charset", "UTF-8");
+        if (config.isGzipEnabled()) {
+            request.setHeader("Accept-Encoding", "gzip");
+        }
         
         // 添加认证头部
-        if (authToken != null && !authToken.trim().isEmpty()) {
-            request.setHeader("Authorization", "Bearer " + authToken);
+        String token = authToken;
+        if (token != null && !token.trim().isEmpty()) {
+            request.setHeader("Authorization", "Bearer " + token);
         }
     }
 
+    /**
+     * 创建客户端使用的 ObjectMapper（基准测试等也用它得到相同的配置）
+     */
+    public static ObjectMapper createObjectMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        
+        // 配置Java时间模块
+        mapper.registerModule(new JavaTimeModule());
+        
+        // 配置Jackson以处理枚举和未知字段
+        mapper.configure(com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        mapper.configure(com.fasterxml.jackson.databind.DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL, true);
+        mapper.configure(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        mapper.configure(com.fasterxml.jackson.databind.SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+        return mapper;
+    }
+
+    /**
+     * 获取按响应类型缓存的 ObjectReader（解析 ApiResponse 时优先使用）
+     */
+    public ApiResponseReaders getResponseReaders() {
+        return responseReaders;
+    }
+
     /**
      * 获取ObjectMapper实例（用于JSON处理）
      */
@@ -284,17 +655,167 @@ public class HttpClientService {
         return objectMapper;
     }
 
+    /**
+     * 获取传输配置
+     */
+    public HttpTransportConfig getTransportConfig() {
+        return config;
+    }
+
+    /**
+     * 当前在途的请求数
+     */
+    public int getInFlightRequestCount() {
+        return config.getMaxConnections() - permits.availablePermits();
+    }
+
+    /**
+     * 当前排队等待发出的请求数
+     */
+    public int getQueuedRequestCount() {
+        return pendingRequests.size();
+    }
+
+    /**
+     * 实际发出网络请求的GET数
+     */
+    public long getNetworkGetCount() {
+        return networkGets.get();
+    }
+
+    /**
+     * 合并到进行中请求上的GET数
+     */
+    public long getCoalescedGetCount() {
+        return coalescedGets.get();
+    }
+
+    /**
+     * 命中响应缓存的GET数
+     */
+    public long getCachedGetCount() {
+        return cachedGets.get();
+    }
+
+    /**
+     * 服务端返回 304、直接使用磁盘缓存响应体的GET数
+     */
+    public long getRevalidatedGetCount() {
+        return revalidatedGets.get();
+    }
+
+    /**
+     * 实际发出网络请求的预取数
+     */
+    public long getPrefetchGetCount() {
+        return prefetchGets.get();
+    }
+
+    /**
+     * 命中预取响应的GET数
+     */
+    public long getPrefetchHitCount() {
+        return prefetchHits.get();
+    }
+
     /**
      * 关闭HTTP客户端
+     * 停止响应处理线程池并保存磁盘缓存；空闲连接在 keep-alive 超时后由 HttpClient 自行关闭
      */
     public void close() {
-        try {
-            if (httpClient != null) {
-                httpClient.close();
-                logger.info("🔌 HTTP客户端已关闭");
+        executor.shutdown();
+        if (diskCache != null) {
+            diskCache.flush();
+        }
+        logger.info("🔌 HTTP客户端已关闭");
+    }
+
+    /**
+     * GET响应的短期缓存（LRU，条目到期后不再返回）
+     */
+    private static class ResponseCache {
+        private final long ttlNanos;
+        private final long prefetchTtlNanos;
+        private final Map<String, CachedResponse> entries;
+
+        ResponseCache(long ttlMillis, long prefetchTtlMillis, int maxEntries) {
+            this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+            this.prefetchTtlNanos = TimeUnit.MILLISECONDS.toNanos(prefetchTtlMillis);
+            this.entries = new LinkedHashMap<String, CachedResponse>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+
+        synchronized CachedResponse get(String key) {
+            CachedResponse cached = entries.get(key);
+            if (cached == null) {
+                return null;
+            }
+            if (System.nanoTime() - cached.expiresAtNanos >= 0) {
+                entries.remove(key);
+                return null;
             }
-        } catch (IOException e) {
-            logger.error("❌ 关闭HTTP客户端时发生错误", e);
+            return cached;
+        }
+
+        /**
+         * @param prefetched 是否为预取的响应（保留 prefetchTtl，而不是普通的 ttl）
+         */
+        synchronized void put(String key, String body, boolean prefetched) {
+            long ttl = prefetched ? Math.max(ttlNanos, prefetchTtlNanos) : ttlNanos;
+            if (ttl > 0) {
+                entries.put(key, new CachedResponse(body, System.nanoTime() + ttl, prefetched));
+            }
+        }
+
+        synchronized void clear() {
+            entries.clear();
+        }
+    }
+
+    /**
+     * 一次请求的结果
+     */
+    private static class Response {
+        private final int statusCode;
+        private final String body;
+        private final String etag;
+
+        Response(int statusCode, String body, String etag) {
+            this.statusCode = statusCode;
+            this.body = body;
+            this.etag = etag;
+        }
+    }
+
+    private static class CachedResponse {
+        private final String body;
+        private final long expiresAtNanos;
+        private final boolean prefetched;
+
+        CachedResponse(String body, long expiresAtNanos, boolean prefetched) {
+            this.body = body;
+            this.expiresAtNanos = expiresAtNanos;
+            this.prefetched = prefetched;
+        }
+    }
+
+    /**
+     * 响应处理线程工厂（守护线程，不阻止客户端退出）
+     */
+    private static class HttpThreadFactory implements ThreadFactory {
+        private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+        private final AtomicInteger threadCounter = new AtomicInteger();
+        private final int poolNumber = POOL_COUNTER.incrementAndGet();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "studyroom-http-" + poolNumber + "-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+package com.studyroom.client.service;
+
+/**
+ * 服务器返回非2xx状态码时的异常
+ * 消息格式与之前的 RuntimeException 保持一致（"HTTP错误: 状态码 - 响应体"）。
+ *
+ * @author Developer
+ * @version 1.0.0
+ * @since 2024
+ */
+public class HttpStatusException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+    private final String responseBody;
+
+    public HttpStatusException(int statusCode, String responseBody) {
+        super("HTTP错误: " + statusCode + " - " + responseBody);
+        this.statusCode = statusCode;
+        this.responseBody = responseBody;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    /**
+     * 是否为服务端错误（5xx）
+     */
+    public boolean isServerError() {
+        return statusCode >= 500;
+    }
+}
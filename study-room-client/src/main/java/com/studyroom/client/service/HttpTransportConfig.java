@@ -0,0 +1,354 @@
+package com.studyroom.client.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * HTTP传输层配置
+ * 默认值来自类路径下的 application.properties（network.* 配置项），
+ * 同名的 JVM 系统属性（-Dnetwork.max.connections=32 等）优先。
+ *
+ * @author Developer
+ * @version 1.0.0
+ * @since 2024
+ */
+public class HttpTransportConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpTransportConfig.class);
+
+    private static final String CONFIG_RESOURCE = "/application.properties";
+
+    // 配置键名
+    private static final String KEY_BASE_URL = "server.base.url";
+    private static final String KEY_REQUEST_TIMEOUT = "network.timeout";
+    private static final String KEY_CONNECT_TIMEOUT = "network.connect.timeout";
+    private static final String KEY_MAX_CONNECTIONS = "network.max.connections";
+    private static final String KEY_KEEPALIVE_SECONDS = "network.keepalive.seconds";
+    private static final String KEY_EXECUTOR_THREADS = "network.executor.threads";
+    private static final String KEY_HTTP2_ENABLED = "network.http2.enabled";
+    private static final String KEY_GZIP_ENABLED = "network.gzip.enabled";
+    private static final String KEY_CACHE_TTL = "network.cache.ttl";
+    private static final String KEY_CACHE_MAX_ENTRIES = "network.cache.max.entries";
+    private static final String KEY_DISK_CACHE_ENABLED = "network.disk.cache.enabled";
+    private static final String KEY_DISK_CACHE_PATHS = "network.disk.cache.paths";
+    private static final String KEY_DISK_CACHE_MAX_ENTRIES = "network.disk.cache.max.entries";
+    private static final String KEY_PREFETCH_ENABLED = "network.prefetch.enabled";
+    private static final String KEY_PREFETCH_MAX_CONCURRENT = "network.prefetch.max.concurrent";
+    private static final String KEY_PREFETCH_MAX_QUEUED = "network.prefetch.max.queued";
+    private static final String KEY_PREFETCH_TTL = "network.prefetch.ttl";
+
+    private String baseUrl = "http://localhost:8080";
+    private long requestTimeoutMillis = 30000;
+    private long connectTimeoutMillis = 5000;
+    private int maxConnections = 16;
+    private int keepAliveSeconds = 60;
+    private int executorThreads = 4;
+    private boolean http2Enabled = false;
+    private boolean gzipEnabled = true;
+    private long cacheTtlMillis = 2000;
+    private int cacheMaxEntries = 256;
+    private boolean diskCacheEnabled = true;
+    private List<String> diskCachePaths = Arrays.asList("/api/study-rooms", "/api/seats", "/api/reservations");
+    private int diskCacheMaxEntries = 128;
+    private Path diskCacheFile = ConfigService.getConfigDirectory().resolve("cache").resolve("responses.bin");
+    private boolean prefetchEnabled = true;
+    private int prefetchMaxConcurrent = 2;
+    private int prefetchMaxQueued = 8;
+    private long prefetchTtlMillis = 15000;
+
+    /**
+     * 加载配置：类路径 application.properties，再以系统属性覆盖
+     */
+    public static HttpTransportConfig load() {
+        Properties properties = new Properties();
+        try (InputStream input = HttpTransportConfig.class.getResourceAsStream(CONFIG_RESOURCE)) {
+            if (input != null) {
+                properties.load(input);
+            }
+        } catch (IOException e) {
+            logger.warn("⚠️ 读取网络配置失败，使用默认值", e);
+        }
+        for (String key : new String[] {KEY_BASE_URL, KEY_REQUEST_TIMEOUT, KEY_CONNECT_TIMEOUT, KEY_MAX_CONNECTIONS,
+                KEY_KEEPALIVE_SECONDS, KEY_EXECUTOR_THREADS, KEY_HTTP2_ENABLED, KEY_GZIP_ENABLED, KEY_CACHE_TTL,
+                KEY_CACHE_MAX_ENTRIES, KEY_DISK_CACHE_ENABLED, KEY_DISK_CACHE_PATHS, KEY_DISK_CACHE_MAX_ENTRIES,
+                KEY_PREFETCH_ENABLED, KEY_PREFETCH_MAX_CONCURRENT, KEY_PREFETCH_MAX_QUEUED, KEY_PREFETCH_TTL}) {
+            String override = System.getProperty(key);
+            if (override != null) {
+                properties.setProperty(key, override);
+            }
+        }
+
+        HttpTransportConfig config = new HttpTransportConfig();
+        config.setBaseUrl(properties.getProperty(KEY_BASE_URL, config.baseUrl).trim());
+        config.setRequestTimeoutMillis(getLong(properties, KEY_REQUEST_TIMEOUT, config.requestTimeoutMillis));
+        config.setConnectTimeoutMillis(getLong(properties, KEY_CONNECT_TIMEOUT, config.connectTimeoutMillis));
+        config.setMaxConnections((int) getLong(properties, KEY_MAX_CONNECTIONS, config.maxConnections));
+        config.setKeepAliveSeconds((int) getLong(properties, KEY_KEEPALIVE_SECONDS, config.keepAliveSeconds));
+        config.setExecutorThreads((int) getLong(properties, KEY_EXECUTOR_THREADS, config.executorThreads));
+        config.setHttp2Enabled(Boolean.parseBoolean(
+            properties.getProperty(KEY_HTTP2_ENABLED, String.valueOf(config.http2Enabled)).trim()));
+        config.setGzipEnabled(Boolean.parseBoolean(
+            properties.getProperty(KEY_GZIP_ENABLED, String.valueOf(config.gzipEnabled)).trim()));
+        config.setCacheTtlMillis(getLong(properties, KEY_CACHE_TTL, config.cacheTtlMillis));
+        config.setCacheMaxEntries((int) getLong(properties, KEY_CACHE_MAX_ENTRIES, config.cacheMaxEntries));
+        config.setDiskCacheEnabled(Boolean.parseBoolean(
+            properties.getProperty(KEY_DISK_CACHE_ENABLED, String.valueOf(config.diskCacheEnabled)).trim()));
+        String paths = properties.getProperty(KEY_DISK_CACHE_PATHS);
+        if (paths != null) {
+            config.setDiskCachePaths(Arrays.asList(paths.split(",")));
+        }
+        config.setDiskCacheMaxEntries((int) getLong(properties, KEY_DISK_CACHE_MAX_ENTRIES, config.diskCacheMaxEntries));
+        config.setPrefetchEnabled(Boolean.parseBoolean(
+            properties.getProperty(KEY_PREFETCH_ENABLED, String.valueOf(config.prefetchEnabled)).trim()));
+        config.setPrefetchMaxConcurrent((int) getLong(properties, KEY_PREFETCH_MAX_CONCURRENT, config.prefetchMaxConcurrent));
+        config.setPrefetchMaxQueued((int) getLong(properties, KEY_PREFETCH_MAX_QUEUED, config.prefetchMaxQueued));
+        config.setPrefetchTtlMillis(getLong(properties, KEY_PREFETCH_TTL, config.prefetchTtlMillis));
+        return config;
+    }
+
+    private static long getLong(Properties properties, String key, long defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("⚠️ 网络配置 {}={} 不是有效数字，使用默认值 {}", key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * 单个请求从发出到收到完整响应的超时（毫秒）
+     */
+    public long getRequestTimeoutMillis() {
+        return requestTimeoutMillis;
+    }
+
+    public void setRequestTimeoutMillis(long requestTimeoutMillis) {
+        this.requestTimeoutMillis = Math.max(1, requestTimeoutMillis);
+    }
+
+    /**
+     * 建立TCP连接的超时（毫秒）
+     */
+    public long getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    public void setConnectTimeoutMillis(long connectTimeoutMillis) {
+        this.connectTimeoutMillis = Math.max(1, connectTimeoutMillis);
+    }
+
+    /**
+     * 同时在途的最大请求数，也是空闲连接池的容量；超出的请求排队等待
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = Math.max(1, maxConnections);
+    }
+
+    /**
+     * 空闲连接保持时间（秒）
+     */
+    public int getKeepAliveSeconds() {
+        return keepAliveSeconds;
+    }
+
+    public void setKeepAliveSeconds(int keepAliveSeconds) {
+        this.keepAliveSeconds = Math.max(1, keepAliveSeconds);
+    }
+
+    /**
+     * 处理响应回调的线程数
+     */
+    public int getExecutorThreads() {
+        return executorThreads;
+    }
+
+    public void setExecutorThreads(int executorThreads) {
+        this.executorThreads = Math.max(1, executorThreads);
+    }
+
+    /**
+     * 是否优先使用HTTP/2（明文连接通过 h2c 升级协商，服务端不支持时退回HTTP/1.1）
+     */
+    public boolean isHttp2Enabled() {
+        return http2Enabled;
+    }
+
+    public void setHttp2Enabled(boolean http2Enabled) {
+        this.http2Enabled = http2Enabled;
+    }
+
+    /**
+     * 是否请求gzip压缩的响应
+     */
+    public boolean isGzipEnabled() {
+        return gzipEnabled;
+    }
+
+    public void setGzipEnabled(boolean gzipEnabled) {
+        this.gzipEnabled = gzipEnabled;
+    }
+
+    /**
+     * GET响应缓存时间（毫秒），0 表示不缓存（仍合并相同的并发GET）
+     */
+    public long getCacheTtlMillis() {
+        return cacheTtlMillis;
+    }
+
+    public void setCacheTtlMillis(long cacheTtlMillis) {
+        this.cacheTtlMillis = Math.max(0, cacheTtlMillis);
+    }
+
+    /**
+     * GET响应缓存的最大条目数
+     */
+    public int getCacheMaxEntries() {
+        return cacheMaxEntries;
+    }
+
+    public void setCacheMaxEntries(int cacheMaxEntries) {
+        this.cacheMaxEntries = Math.max(1, cacheMaxEntries);
+    }
+
+    /**
+     * 是否把GET响应保存到磁盘，供下次启动时先行渲染
+     */
+    public boolean isDiskCacheEnabled() {
+        return diskCacheEnabled;
+    }
+
+    public void setDiskCacheEnabled(boolean diskCacheEnabled) {
+        this.diskCacheEnabled = diskCacheEnabled;
+    }
+
+    /**
+     * 保存到磁盘的接口路径前缀（含 /api 前缀）
+     */
+    public List<String> getDiskCachePaths() {
+        return diskCachePaths;
+    }
+
+    public void setDiskCachePaths(List<String> diskCachePaths) {
+        List<String> paths = new ArrayList<>();
+        for (String path : diskCachePaths) {
+            if (path != null && !path.trim().isEmpty()) {
+                paths.add(path.trim());
+            }
+        }
+        this.diskCachePaths = Collections.unmodifiableList(paths);
+    }
+
+    /**
+     * 磁盘缓存的最大条目数
+     */
+    public int getDiskCacheMaxEntries() {
+        return diskCacheMaxEntries;
+    }
+
+    public void setDiskCacheMaxEntries(int diskCacheMaxEntries) {
+        this.diskCacheMaxEntries = Math.max(1, diskCacheMaxEntries);
+    }
+
+    /**
+     * 磁盘缓存文件，默认在配置目录下（~/.studyroom/cache/responses.bin）
+     */
+    public Path getDiskCacheFile() {
+        return diskCacheFile;
+    }
+
+    public void setDiskCacheFile(Path diskCacheFile) {
+        this.diskCacheFile = diskCacheFile;
+    }
+
+    /**
+     * 是否预取用户可能打开的下一个界面的数据
+     */
+    public boolean isPrefetchEnabled() {
+        return prefetchEnabled;
+    }
+
+    public void setPrefetchEnabled(boolean prefetchEnabled) {
+        this.prefetchEnabled = prefetchEnabled;
+    }
+
+    /**
+     * 同时在途的预取请求上限
+     */
+    public int getPrefetchMaxConcurrent() {
+        return prefetchMaxConcurrent;
+    }
+
+    public void setPrefetchMaxConcurrent(int prefetchMaxConcurrent) {
+        this.prefetchMaxConcurrent = Math.max(1, prefetchMaxConcurrent);
+    }
+
+    /**
+     * 等待发出的预取请求上限，超出时丢弃最早的
+     */
+    public int getPrefetchMaxQueued() {
+        return prefetchMaxQueued;
+    }
+
+    public void setPrefetchMaxQueued(int prefetchMaxQueued) {
+        this.prefetchMaxQueued = Math.max(0, prefetchMaxQueued);
+    }
+
+    /**
+     * 预取的响应在短期缓存中保留的时间（毫秒），覆盖从悬停到点击打开的间隔
+     */
+    public long getPrefetchTtlMillis() {
+        return prefetchTtlMillis;
+    }
+
+    public void setPrefetchTtlMillis(long prefetchTtlMillis) {
+        this.prefetchTtlMillis = Math.max(0, prefetchTtlMillis);
+    }
+
+    @Override
+    public String toString() {
+        return "HttpTransportConfig{" +
+                "baseUrl='" + baseUrl + '\'' +
+                ", requestTimeoutMillis=" + requestTimeoutMillis +
+                ", connectTimeoutMillis=" + connectTimeoutMillis +
+                ", maxConnections=" + maxConnections +
+                ", keepAliveSeconds=" + keepAliveSeconds +
+                ", executorThreads=" + executorThreads +
+                ", http2Enabled=" + http2Enabled +
+                ", gzipEnabled=" + gzipEnabled +
+                ", cacheTtlMillis=" + cacheTtlMillis +
+                ", cacheMaxEntries=" + cacheMaxEntries +
+                ", diskCacheEnabled=" + diskCacheEnabled +
+                ", diskCachePaths=" + diskCachePaths +
+                ", diskCacheMaxEntries=" + diskCacheMaxEntries +
+                ", prefetchEnabled=" + prefetchEnabled +
+                ", prefetchMaxConcurrent=" + prefetchMaxConcurrent +
+                ", prefetchMaxQueued=" + prefetchMaxQueued +
+                ", prefetchTtlMillis=" + prefetchTtlMillis +
+                '}';
+    }
+}
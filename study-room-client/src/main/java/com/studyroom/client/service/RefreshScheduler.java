@@ -0,0 +1,387 @@
+package com.studyroom.client.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 统一刷新调度器
+ * 客户端所有周期任务（数据自动刷新、仪表板监控、时钟）共用一个调度线程，不再各自创建 Timer。
+ *
+ * <p>自适应任务每次执行完成后，按以下因素计算到下一次执行的间隔：
+ * <ul>
+ *   <li>数据是否变化：连续未变化（服务端返回 304 或差异为空）时间隔逐步拉长，最多为基础间隔的 4 倍；
+ *       一旦变化恢复基础间隔</li>
+ *   <li>失败退避：连续失败时间隔按 2 的幂增长，最多 32 倍</li>
+ *   <li>所属视图不可见时放慢 6 倍；窗口失去焦点时放慢 3 倍，最小化时放慢 10 倍</li>
+ *   <li>±20% 随机抖动，避免大量客户端同时请求服务端</li>
+ * </ul>
+ * 视图重新可见或窗口重新获得焦点时，按新的间隔已经到期的任务立即执行。
+ * 同一任务不会并发执行：上一次完成后才安排下一次。
+ *
+ * @author Developer
+ * @version 1.0.0
+ * @since 2024
+ */
+public class RefreshScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshScheduler.class);
+
+    private static final double IDLE_GROWTH = 1.5;
+    private static final double IDLE_MAX_FACTOR = 4;
+    private static final int MAX_BACKOFF_EXPONENT = 5;
+    private static final double HIDDEN_FACTOR = 6;
+    private static final double UNFOCUSED_FACTOR = 3;
+    private static final double MINIMIZED_FACTOR = 10;
+    private static final double JITTER = 0.2;
+    private static final long MAX_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    // 任务返回的 Future 一直不完成时按失败处理，避免任务停摆
+    private static final long TASK_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
+    /**
+     * 一次刷新的结果
+     */
+    public enum Result {
+        /** 数据有变化 */
+        CHANGED,
+        /** 数据没有变化 */
+        UNCHANGED,
+        /** 刷新失败 */
+        FAILED,
+        /** 条件不满足（如未登录）未执行，不影响间隔 */
+        SKIPPED
+    }
+
+    // 单例实例
+    private static RefreshScheduler instance;
+
+    private final ScheduledExecutorService executor;
+
+    private final Set<Task> tasks = ConcurrentHashMap.newKeySet();
+    private final Set<String> visibleViews = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean windowFocused = true;
+    private volatile boolean windowMinimized;
+    private volatile boolean shutdown;
+
+    /**
+     * 私有构造函数 - 单例模式
+     */
+    private RefreshScheduler() {
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "Refresh-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        logger.info("⏰ 刷新调度器初始化完成");
+    }
+
+    /**
+     * 获取单例实例
+     */
+    public static synchronized RefreshScheduler getInstance() {
+        if (instance == null) {
+            instance = new RefreshScheduler();
+        }
+        return instance;
+    }
+
+    /**
+     * 注册自适应刷新任务，第一次在一个间隔后执行（需要立即执行时调用 {@link Task#runNow()}）
+     *
+     * @param name 任务名（用于日志）
+     * @param view 所属视图，不可见时放慢；为 null 表示不依赖视图
+     * @param interval 基础间隔
+     * @param action 执行刷新，返回刷新结果；Future 异常完成视为失败
+     */
+    public Task schedule(String name, String view, Duration interval, Supplier<CompletableFuture<Result>> action) {
+        Task task = new Task(name, view, interval, action, null);
+        tasks.add(task);
+        synchronized (task) {
+            task.scheduleAfter(task.computeDelay());
+        }
+        logger.debug("⏰ 注册刷新任务: {} (间隔{}秒, 视图: {})", name, interval.getSeconds(), view);
+        return task;
+    }
+
+    /**
+     * 注册固定频率的轻量任务（如时钟），立即开始，不做自适应调整
+     */
+    public Task scheduleFixed(String name, Duration interval, Runnable action) {
+        Task task = new Task(name, null, interval, null, action);
+        tasks.add(task);
+        synchronized (task) {
+            long period = Math.max(1, interval.toMillis());
+            task.next = executor.scheduleAtFixedRate(task::runFixed, 0, period, TimeUnit.MILLISECONDS);
+        }
+        return task;
+    }
+
+    /**
+     * 在调度线程上执行一次性的轻量工作
+     */
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+
+    /**
+     * 设置视图是否可见
+     */
+    public void setViewVisible(String view, boolean visible) {
+        boolean changed = visible ? visibleViews.add(view) : visibleViews.remove(view);
+        if (changed && visible) {
+            logger.debug("👁️ 视图可见: {}", view);
+            wake(view);
+        }
+    }
+
+    /**
+     * 设置主窗口是否获得焦点
+     */
+    public void setWindowFocused(boolean focused) {
+        boolean wasFocused = windowFocused;
+        windowFocused = focused;
+        if (focused && !wasFocused) {
+            wake(null);
+        }
+    }
+
+    /**
+     * 设置主窗口是否最小化
+     */
+    public void setWindowMinimized(boolean minimized) {
+        boolean wasMinimized = windowMinimized;
+        windowMinimized = minimized;
+        if (!minimized && wasMinimized) {
+            wake(null);
+        }
+    }
+
+    /**
+     * 关闭调度器
+     */
+    public void shutdown() {
+        shutdown = true;
+        tasks.forEach(Task::cancel);
+        executor.shutdownNow();
+        logger.info("⏰ 刷新调度器已关闭");
+    }
+
+    /**
+     * 条件变得更活跃时，把按新间隔已经到期或会更早到期的任务提前
+     */
+    private void wake(String view) {
+        for (Task task : tasks) {
+            if (task.isAdaptive() && (view == null || view.equals(task.view))) {
+                synchronized (task) {
+                    task.reschedule(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * 刷新任务
+     */
+    public final class Task {
+
+        private final String name;
+        private final String view;
+        private final Supplier<CompletableFuture<Result>> action;
+        private final Runnable fixedAction;
+        private volatile long intervalMillis;
+
+        // 以下字段由 synchronized (this) 保护
+        private ScheduledFuture<?> next;
+        private long nextRunAt;
+        private long lastRunAt = System.currentTimeMillis();
+        private boolean running;
+        private boolean cancelled;
+        private int unchangedStreak;
+        private int failureStreak;
+
+        private Task(String name, String view, Duration interval,
+                     Supplier<CompletableFuture<Result>> action, Runnable fixedAction) {
+            this.name = name;
+            this.view = view;
+            this.intervalMillis = Math.max(1, interval.toMillis());
+            this.action = action;
+            this.fixedAction = fixedAction;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * 修改基础间隔，按新间隔重新安排下一次执行
+         */
+        public void setInterval(Duration interval) {
+            intervalMillis = Math.max(1, interval.toMillis());
+            if (isAdaptive()) {
+                synchronized (this) {
+                    reschedule(false);
+                }
+            }
+        }
+
+        /**
+         * 立即执行一次（正在执行时忽略）
+         */
+        public void runNow() {
+            if (!isAdaptive()) {
+                executor.execute(this::runFixed);
+                return;
+            }
+            synchronized (this) {
+                scheduleAfter(0);
+            }
+        }
+
+        /**
+         * 取消任务
+         */
+        public void cancel() {
+            synchronized (this) {
+                cancelled = true;
+                if (next != null) {
+                    next.cancel(false);
+                    next = null;
+                }
+            }
+            tasks.remove(this);
+        }
+
+        /**
+         * 按当前状态计算的下一次间隔（不含抖动），毫秒
+         */
+        public synchronized long getCurrentDelayMillis() {
+            return Math.round(baseDelay());
+        }
+
+        private boolean isAdaptive() {
+            return action != null;
+        }
+
+        private void runFixed() {
+            try {
+                fixedAction.run();
+            } catch (RuntimeException e) {
+                // 异常会终止 scheduleAtFixedRate 的后续执行，这里吞掉
+                logger.warn("⚠️ 定时任务执行失败: {}", name, e);
+            }
+        }
+
+        private void run() {
+            synchronized (this) {
+                if (cancelled || running || shutdown) {
+                    return;
+                }
+                running = true;
+                next = null;
+            }
+            CompletableFuture<Result> future;
+            try {
+                future = action.get();
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            if (future == null) {
+                future = CompletableFuture.completedFuture(Result.CHANGED);
+            }
+            future.orTimeout(TASK_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)
+                .whenComplete((result, throwable) -> {
+                    if (throwable != null) {
+                        logger.warn("⚠️ 刷新任务失败: {} ({})", name, throwable.toString());
+                    }
+                    complete(throwable != null ? Result.FAILED : result);
+                });
+        }
+
+        private synchronized void complete(Result result) {
+            running = false;
+            switch (result) {
+                case CHANGED:
+                    unchangedStreak = 0;
+                    failureStreak = 0;
+                    break;
+                case UNCHANGED:
+                    unchangedStreak++;
+                    failureStreak = 0;
+                    break;
+                case FAILED:
+                    failureStreak++;
+                    break;
+                default:
+                    break;
+            }
+            if (result != Result.SKIPPED) {
+                lastRunAt = System.currentTimeMillis();
+            }
+            long delay = computeDelay();
+            logger.debug("⏰ 刷新任务 {}: {}，{}ms 后再次执行", name, result, delay);
+            scheduleAfter(delay);
+        }
+
+        /**
+         * 从上一次执行时间起按当前条件重新计算下一次执行时间
+         *
+         * @param onlyEarlier 只在比已安排的时间更早时调整
+         */
+        private void reschedule(boolean onlyEarlier) {
+            if (running || cancelled) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            long dueAt = lastRunAt + computeDelay();
+            if (onlyEarlier && next != null && dueAt >= nextRunAt) {
+                return;
+            }
+            scheduleAfter(Math.max(0, dueAt - now));
+        }
+
+        private void scheduleAfter(long delayMillis) {
+            if (cancelled || shutdown || running) {
+                return;
+            }
+            if (next != null) {
+                next.cancel(false);
+            }
+            nextRunAt = System.currentTimeMillis() + delayMillis;
+            next = executor.schedule(this::run, delayMillis, TimeUnit.MILLISECONDS);
+        }
+
+        private long computeDelay() {
+            double jitter = 1 + ThreadLocalRandom.current().nextDouble(-JITTER, JITTER);
+            return Math.round(baseDelay() * jitter);
+        }
+
+        private double baseDelay() {
+            double factor;
+            if (failureStreak > 0) {
+                factor = 1L << Math.min(failureStreak, MAX_BACKOFF_EXPONENT);
+            } else {
+                factor = Math.min(Math.pow(IDLE_GROWTH, unchangedStreak), IDLE_MAX_FACTOR);
+            }
+            if (view != null && !visibleViews.contains(view)) {
+                factor *= HIDDEN_FACTOR;
+            }
+            if (windowMinimized) {
+                factor *= MINIMIZED_FACTOR;
+            } else if (!windowFocused) {
+                factor *= UNFOCUSED_FACTOR;
+            }
+            return Math.min(intervalMillis * factor, Math.max(MAX_DELAY_MILLIS, intervalMillis));
+        }
+    }
+}
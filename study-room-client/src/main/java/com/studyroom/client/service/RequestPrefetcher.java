@@ -0,0 +1,249 @@
+package com.studyroom.client.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 预取调度器
+ * 用户悬停或选中某个条目时，提前发出下一个界面会发出的 GET（{@link HttpClientService#prefetch(String)}），
+ * 界面打开时直接命中短期缓存或合并到在途的预取请求上。
+ *
+ * <p>预取是推测性的，只使用有限的预算：同时在途的预取不超过 network.prefetch.max.concurrent 个，
+ * 等待中的预取不超过 network.prefetch.max.queued 个（超出时丢弃最早的），空出名额时优先发出最新的预取；
+ * 传输层已有排队的正常请求时暂停发出新的预取，不和界面上的请求抢连接，
+ * 等传输层的请求完成、排队清空时（{@link HttpClientService#addIdleListener(Runnable)}）再继续。
+ * 相同接口的预取合并为一个，由所有持有者共享。
+ *
+ * <p>{@link Handle#cancel()} 撤销一次预取：还在等待的直接丢弃；已经发出的不中断（响应仍写入缓存），
+ * 只是不再占用调用方的引用。
+ *
+ * @author Developer
+ * @version 1.0.0
+ * @since 2024
+ */
+public class RequestPrefetcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestPrefetcher.class);
+
+    private final HttpClientService httpClient;
+    private final boolean enabled;
+    private final int maxConcurrent;
+    private final int maxQueued;
+
+    // 按加入顺序排列的等待中的预取，以及已发出的预取，键为接口路径
+    private final LinkedHashMap<String, Task> queued = new LinkedHashMap<>();
+    private final Map<String, Task> running = new HashMap<>();
+
+    // 统计
+    private long issuedCount;
+    private long droppedCount;
+    private long cancelledCount;
+
+    public RequestPrefetcher(HttpClientService httpClient) {
+        HttpTransportConfig config = httpClient.getTransportConfig();
+        this.httpClient = httpClient;
+        this.enabled = config.isPrefetchEnabled();
+        this.maxConcurrent = config.getPrefetchMaxConcurrent();
+        this.maxQueued = config.getPrefetchMaxQueued();
+        if (enabled) {
+            httpClient.addIdleListener(this::pump);
+        }
+    }
+
+    /**
+     * 预取一组接口
+     *
+     * @param endpoints 接口路径（与 {@link HttpClientService#get(String)} 的参数相同）
+     * @return 预取句柄，用户移开或离开界面时调用 {@link Handle#cancel()}
+     */
+    public Handle prefetch(List<String> endpoints) {
+        if (!enabled || endpoints.isEmpty()) {
+            return new Handle(this, Collections.emptyList());
+        }
+        List<Task> tasks = new ArrayList<>(endpoints.size());
+        synchronized (this) {
+            for (String endpoint : endpoints) {
+                Task task = running.get(endpoint);
+                if (task == null) {
+                    task = queued.remove(endpoint);
+                }
+                if (task == null) {
+                    task = new Task(endpoint);
+                }
+                if (!running.containsKey(endpoint)) {
+                    // 重新放到队尾：最近请求的预取最先发出
+                    queued.put(endpoint, task);
+                }
+                task.holders++;
+                tasks.add(task);
+            }
+        }
+        pump();
+        trimQueue();
+        return new Handle(this, tasks);
+    }
+
+    /**
+     * 撤销所有等待中的预取（登出、关闭时调用）
+     */
+    public void cancelAll() {
+        synchronized (this) {
+            if (!queued.isEmpty()) {
+                logger.debug("🚫 撤销{}个等待中的预取", queued.size());
+                cancelledCount += queued.size();
+                queued.clear();
+            }
+        }
+    }
+
+    /**
+     * 已发出的预取数（含命中缓存、未实际发出网络请求的）
+     */
+    public synchronized long getIssuedCount() {
+        return issuedCount;
+    }
+
+    /**
+     * 因排队超出上限而丢弃的预取数
+     */
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * 发出前被撤销的预取数
+     */
+    public synchronized long getCancelledCount() {
+        return cancelledCount;
+    }
+
+    /**
+     * 当前在途的预取数
+     */
+    public synchronized int getRunningCount() {
+        return running.size();
+    }
+
+    /**
+     * 当前等待中的预取数
+     */
+    public synchronized int getQueuedCount() {
+        return queued.size();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 有空闲名额且传输层没有排队的请求时，从最新的开始发出等待中的预取
+     */
+    private void pump() {
+        List<Task> toStart = new ArrayList<>();
+        synchronized (this) {
+            while (running.size() < maxConcurrent && !queued.isEmpty()
+                    && httpClient.getQueuedRequestCount() == 0) {
+                Task task = null;
+                for (Task candidate : queued.values()) {
+                    task = candidate;
+                }
+                queued.remove(task.endpoint);
+                running.put(task.endpoint, task);
+                issuedCount++;
+                toStart.add(task);
+            }
+        }
+        // 在锁外发出：命中缓存时回调会在当前线程上立即执行
+        for (Task task : toStart) {
+            CompletableFuture<String> future;
+            try {
+                future = httpClient.prefetch(task.endpoint);
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            future.whenComplete((body, error) -> {
+                if (error != null) {
+                    logger.debug("⚠️ 预取失败: {} ({})", task.endpoint, error.getMessage());
+                }
+                synchronized (this) {
+                    running.remove(task.endpoint, task);
+                }
+                pump();
+            });
+        }
+    }
+
+    /**
+     * 等待中的预取超出上限时丢弃最早的
+     */
+    private synchronized void trimQueue() {
+        Iterator<Task> iterator = queued.values().iterator();
+        while (queued.size() > maxQueued && iterator.hasNext()) {
+            Task eldest = iterator.next();
+            iterator.remove();
+            droppedCount++;
+            logger.debug("🗑️ 预取队列已满，丢弃: {}", eldest.endpoint);
+        }
+    }
+
+    private synchronized void release(Task task) {
+        if (--task.holders == 0 && queued.remove(task.endpoint, task)) {
+            cancelledCount++;
+            logger.debug("🚫 撤销预取: {}", task.endpoint);
+        }
+    }
+
+    /**
+     * 一个接口的预取，holders 为持有它的句柄数
+     */
+    private static class Task {
+        private final String endpoint;
+        private int holders;
+
+        Task(String endpoint) {
+            this.endpoint = endpoint;
+        }
+    }
+
+    /**
+     * 预取句柄
+     */
+    public static final class Handle {
+        private final RequestPrefetcher owner;
+        private final List<Task> tasks;
+        private boolean cancelled;
+
+        private Handle(RequestPrefetcher owner, List<Task> tasks) {
+            this.owner = owner;
+            this.tasks = tasks;
+        }
+
+        /**
+         * 撤销预取（重复调用无效果）
+         */
+        public void cancel() {
+            synchronized (owner) {
+                if (cancelled) {
+                    return;
+                }
+                cancelled = true;
+            }
+            tasks.forEach(owner::release);
+        }
+
+        public boolean isCancelled() {
+            synchronized (owner) {
+                return cancelled;
+            }
+        }
+    }
+}
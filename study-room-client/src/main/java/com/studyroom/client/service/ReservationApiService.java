@@ -1,18 +1,21 @@
 package com.studyroom.client.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.studyroom.client.model.ApiResponse;
 import com.studyroom.client.model.PageData;
 import com.studyroom.client.model.Reservation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -26,6 +29,8 @@ public class ReservationApiService {
 
     private static final Logger logger = LoggerFactory.getLogger(ReservationApiService.class);
     
+    private static final String MY_RESERVATIONS_URL = "/reservations/my";
+    
     // 单例实例
     private static ReservationApiService instance;
     
@@ -34,6 +39,14 @@ public class ReservationApiService {
     
     // JSON处理器
     private final ObjectMapper objectMapper;
+
+    // 按响应类型预先构建的读取器（见 ApiResponseReaders）
+    private final ObjectReader reservationReader;
+    private final ObjectReader reservationListReader;
+    private final ObjectReader reservationPageReader;
+    private final ObjectReader mapReader;
+    private final ObjectReader booleanReader;
+    private final ObjectReader booleanMapReader;
     
     // 日期时间格式器
     private final DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
@@ -44,6 +57,13 @@ public class ReservationApiService {
     private ReservationApiService() {
         this.httpClient = HttpClientService.getInstance();
         this.objectMapper = httpClient.getObjectMapper();
+        ApiResponseReaders readers = httpClient.getResponseReaders();
+        this.reservationReader = readers.forData(Reservation.class);
+        this.reservationListReader = readers.forList(Reservation.class);
+        this.reservationPageReader = readers.forPage(Reservation.class);
+        this.mapReader = readers.forMap(Object.class);
+        this.booleanReader = readers.forData(Boolean.class);
+        this.booleanMapReader = readers.forMap(Boolean.class);
         logger.info("📅 预订API服务初始化完成");
     }
 
@@ -108,7 +128,7 @@ public class ReservationApiService {
     public CompletableFuture<List<Reservation>> getMyReservations() {
         logger.debug("📋 获取我的预订列表");
         
-        return httpClient.get("/reservations/my")
+        return httpClient.get(MY_RESERVATIONS_URL)
             .thenApply(this::parseReservationListResponse)
             .whenComplete((reservations, throwable) -> {
                 if (throwable == null && reservations != null) {
@@ -119,6 +139,19 @@ public class ReservationApiService {
             });
     }
 
+    /**
+     * 读取磁盘缓存中当前用户上次获取的预订列表（启动时先行显示），不发网络请求
+     */
+    public Optional<List<Reservation>> getCachedMyReservations() {
+        try {
+            return httpClient.getCachedResponse(MY_RESERVATIONS_URL)
+                .map(this::parseReservationListResponse);
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ 磁盘缓存的预订列表无法解析，忽略: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
     /**
      * 获取当前用户的有效预订
      */
@@ -141,8 +174,23 @@ public class ReservationApiService {
      */
     public CompletableFuture<PageData<Reservation>> getReservations(int page, int size, Long userId, 
                                                                    Reservation.Status status, Reservation.PaymentStatus paymentStatus) {
-        logger.debug("📋 查询预订列表: page={}, size={}, userId={}, status={}, paymentStatus={}", 
-            page, size, userId, status, paymentStatus);
+        return getReservations(page, size, userId, status, paymentStatus, null, null, null, null);
+    }
+
+    /**
+     * 分页查询预订列表，按开始时间范围过滤并按服务端排序
+     *
+     * @param startDate 开始时间下限（含），为 null 时不限
+     * @param endDate 开始时间上限（不含），为 null 时不限
+     * @param keyword 预订码、用户名、真实姓名、座位号或自习室名称关键字，为空时不限
+     * @param sort 排序参数，如 "startTime,desc"，多个字段用分号分隔；为 null 时使用服务端默认排序
+     */
+    public CompletableFuture<PageData<Reservation>> getReservations(int page, int size, Long userId,
+                                                                   Reservation.Status status, Reservation.PaymentStatus paymentStatus,
+                                                                   LocalDateTime startDate, LocalDateTime endDate,
+                                                                   String keyword, String sort) {
+        logger.debug("📋 查询预订列表: page={}, size={}, userId={}, status={}, paymentStatus={}, 时间={} ~ {}, keyword={}, sort={}", 
+            page, size, userId, status, paymentStatus, startDate, endDate, keyword, sort);
         
         StringBuilder url = new StringBuilder("/reservations?page=" + page + "&size=" + size);
         if (userId != null) {
@@ -154,6 +202,18 @@ public class ReservationApiService {
         if (paymentStatus != null) {
             url.append("&paymentStatus=").append(paymentStatus.name());
         }
+        if (startDate != null) {
+            url.append("&startDate=").append(startDate.format(dateTimeFormatter));
+        }
+        if (endDate != null) {
+            url.append("&endDate=").append(endDate.format(dateTimeFormatter));
+        }
+        if (keyword != null && !keyword.trim().isEmpty()) {
+            url.append("&keyword=").append(URLEncoder.encode(keyword.trim(), StandardCharsets.UTF_8));
+        }
+        if (sort != null && !sort.isEmpty()) {
+            url.append("&sort=").append(URLEncoder.encode(sort, StandardCharsets.UTF_8));
+        }
         
         return httpClient.get(url.toString())
             .thenApply(this::parseReservationPageResponse)
@@ -391,8 +451,7 @@ public class ReservationApiService {
      */
     private Reservation parseReservationResponse(String jsonResponse) {
         try {
-            ApiResponse<Reservation> apiResponse = objectMapper.readValue(jsonResponse,
-                new TypeReference<ApiResponse<Reservation>>() {});
+            ApiResponse<Reservation> apiResponse = reservationReader.readValue(jsonResponse);
 
             if (apiResponse.getCode() == 200) { // Assuming 200 is success
                 return apiResponse.getData();
@@ -411,8 +470,7 @@ public class ReservationApiService {
      */
     private List<Reservation> parseReservationListResponse(String jsonResponse) {
         try {
-            ApiResponse<List<Reservation>> apiResponse = objectMapper.readValue(jsonResponse,
-                new TypeReference<ApiResponse<List<Reservation>>>() {});
+            ApiResponse<List<Reservation>> apiResponse = reservationListReader.readValue(jsonResponse);
 
             if (apiResponse.getCode() == 200) { // Assuming 200 is success
                 return apiResponse.getData();
@@ -431,21 +489,13 @@ public class ReservationApiService {
      */
     private PageData<Reservation> parseReservationPageResponse(String jsonResponse) {
         try {
-            ApiResponse<PageData<Reservation>> apiResponse = objectMapper.readValue(jsonResponse,
-                new TypeReference<ApiResponse<PageData<Reservation>>>() {});
+            ApiResponse<PageData<Reservation>> apiResponse = reservationPageReader.readValue(jsonResponse);
 
             if (apiResponse.getCode() == 200) { // Assuming 200 is success
                 PageData<Reservation> pageData = apiResponse.getData();
                 if (pageData != null) {
-                    // Ensure content is correctly deserialized if it's a list of maps initially
-                    if (pageData.getContent() != null && !pageData.getContent().isEmpty() && !(pageData.getContent().get(0) instanceof Reservation)) {
-                        List<Reservation> reservations = pageData.getContent().stream()
-                            .map(item -> objectMapper.convertValue(item, Reservation.class))
-                            .collect(java.util.stream.Collectors.toList());
-                        pageData.setContent(reservations);
-                    }
                     logger.debug("✅ 预订分页数据解析成功: 当前页={}, 总页数={}, 总记录数={}, 当前页记录数={}",
-                        pageData.getPageNumber(), pageData.getTotalPages(), pageData.getTotalElements(), pageData.getContent() != null ? pageData.getContent().size() : 0);
+                        pageData.getPage(), pageData.getTotalPages(), pageData.getTotalElements(), pageData.getContent() != null ? pageData.getContent().size() : 0);
                     return pageData;
                 } else {
                     logger.error("❌ 预订分页响应数据为空");
@@ -467,8 +517,7 @@ public class ReservationApiService {
     @SuppressWarnings("unchecked")
     private Map<String, Object> parseStatisticsResponse(String jsonResponse) {
         try {
-            ApiResponse<Map<String, Object>> apiResponse = objectMapper.readValue(jsonResponse,
-                new TypeReference<ApiResponse<Map<String, Object>>>() {});
+            ApiResponse<Map<String, Object>> apiResponse = mapReader.readValue(jsonResponse);
 
             if (apiResponse.getCode() == 200) { // Assuming 200 is success
                 return apiResponse.getData();
@@ -489,8 +538,7 @@ public class ReservationApiService {
         try {
             // Attempt to parse as ApiResponse<Boolean> first
              try {
-                ApiResponse<Boolean> apiResponse = objectMapper.readValue(jsonResponse,
-                        new TypeReference<ApiResponse<Boolean>>() {});
+                ApiResponse<Boolean> apiResponse = booleanReader.readValue(jsonResponse);
                 if (apiResponse.getCode() == 200) { // Assuming 200 is success
                     // Check if data itself is the boolean or if it's a map like {"hasConflict": false}
                      Object data = apiResponse.getData();
@@ -517,8 +565,7 @@ public class ReservationApiService {
             } catch (com.fasterxml.jackson.databind.JsonMappingException e) {
                 // If direct Boolean parsing fails, try parsing as ApiResponse<Map<String, Boolean>>
                 logger.warn("⚠️ Direct boolean parsing failed for ReservationApi, attempting to parse as Map<String, Boolean>: {}", jsonResponse.substring(0, Math.min(jsonResponse.length(), 200)));
-                ApiResponse<Map<String, Boolean>> apiResponseMap = objectMapper.readValue(jsonResponse,
-                        new TypeReference<ApiResponse<Map<String, Boolean>>>() {});
+                ApiResponse<Map<String, Boolean>> apiResponseMap = booleanMapReader.readValue(jsonResponse);
 
                 if (apiResponseMap.getCode() == 200) { // Assuming 200 is success
                     Map<String, Boolean> dataMap = apiResponseMap.getData();
@@ -0,0 +1,104 @@
+package com.studyroom.client.service;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 重试策略：指数退避 + 随机抖动
+ * 第 n 次重试前等待 min(initialDelay * multiplier^n, maxDelay)，再上下浮动 jitter 比例，
+ * 避免多个失败请求在同一时刻一起重试。
+ *
+ * <p>只有暂时性错误才会重试：网络错误（IOException，包括超时）、HTTP 5xx 和 429；
+ * 其他 4xx（参数错误、未登录、无权限等）重试也不会成功，直接失败。
+ *
+ * @author Developer
+ * @version 1.0.0
+ * @since 2024
+ */
+public final class RetryPolicy {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private static final RetryPolicy NONE = new RetryPolicy(0, 0, 1.0, 0, 0.0);
+
+    private final int maxRetries;
+    private final long initialDelayMillis;
+    private final double multiplier;
+    private final long maxDelayMillis;
+    private final double jitter;
+
+    /**
+     * @param maxRetries 最大重试次数（不含第一次请求）
+     * @param initialDelayMillis 第一次重试前的等待时间
+     * @param multiplier 每次重试等待时间的倍数
+     * @param maxDelayMillis 单次等待时间上限
+     * @param jitter 随机抖动比例，0.2 表示在 ±20% 内浮动
+     */
+    public RetryPolicy(int maxRetries, long initialDelayMillis, double multiplier, long maxDelayMillis, double jitter) {
+        this.maxRetries = Math.max(0, maxRetries);
+        this.initialDelayMillis = Math.max(0, initialDelayMillis);
+        this.multiplier = Math.max(1.0, multiplier);
+        this.maxDelayMillis = Math.max(this.initialDelayMillis, maxDelayMillis);
+        this.jitter = Math.min(1.0, Math.max(0.0, jitter));
+    }
+
+    /**
+     * 不重试
+     */
+    public static RetryPolicy none() {
+        return NONE;
+    }
+
+    /**
+     * 默认退避参数（500ms 起，每次翻倍，最长 8 秒，±20% 抖动）
+     */
+    public static RetryPolicy exponential(int maxRetries) {
+        return new RetryPolicy(maxRetries, 500, 2.0, 8000, 0.2);
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * 第 retry 次重试（从 0 开始）前的等待时间（毫秒）
+     */
+    public long delayMillis(int retry) {
+        double delay = Math.min(initialDelayMillis * Math.pow(multiplier, retry), maxDelayMillis);
+        if (jitter > 0) {
+            delay *= 1.0 + jitter * (ThreadLocalRandom.current().nextDouble() * 2 - 1);
+        }
+        return Math.max(0, Math.round(delay));
+    }
+
+    /**
+     * 判断失败原因是否值得重试
+     */
+    public boolean isRetryable(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpStatusException) {
+                HttpStatusException statusError = (HttpStatusException) cause;
+                return statusError.isServerError() || statusError.getStatusCode() == TOO_MANY_REQUESTS;
+            }
+            if (cause instanceof IOException || cause instanceof TimeoutException) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "RetryPolicy{" +
+                "maxRetries=" + maxRetries +
+                ", initialDelayMillis=" + initialDelayMillis +
+                ", multiplier=" + multiplier +
+                ", maxDelayMillis=" + maxDelayMillis +
+                ", jitter=" + jitter +
+                '}';
+    }
+}
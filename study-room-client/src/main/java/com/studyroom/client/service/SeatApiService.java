@@ -1,7 +1,7 @@
 package com.studyroom.client.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.studyroom.client.model.ApiResponse;
 import com.studyroom.client.model.PageData;
 import com.studyroom.client.model.Seat;
@@ -11,6 +11,7 @@ import org.slf4j.LoggerFactory;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -33,12 +34,27 @@ public class SeatApiService {
     // JSON处理器
     private final ObjectMapper objectMapper;
 
+    // 按响应类型预先构建的读取器（见 ApiResponseReaders）
+    private final ObjectReader seatReader;
+    private final ObjectReader seatListReader;
+    private final ObjectReader seatPageReader;
+    private final ObjectReader mapReader;
+    private final ObjectReader booleanReader;
+    private final ObjectReader booleanMapReader;
+
     /**
      * 私有构造函数 - 单例模式
      */
     private SeatApiService() {
         this.httpClient = HttpClientService.getInstance();
         this.objectMapper = httpClient.getObjectMapper();
+        ApiResponseReaders readers = httpClient.getResponseReaders();
+        this.seatReader = readers.forData(Seat.class);
+        this.seatListReader = readers.forList(Seat.class);
+        this.seatPageReader = readers.forPage(Seat.class);
+        this.mapReader = readers.forMap(Object.class);
+        this.booleanReader = readers.forData(Boolean.class);
+        this.booleanMapReader = readers.forMap(Boolean.class);
         logger.info("💺 座位API服务初始化完成");
     }
 
@@ -76,7 +92,7 @@ public class SeatApiService {
     public CompletableFuture<List<Seat>> getSeatsByStudyRoom(Long studyRoomId) {
         logger.debug("📋 获取自习室座位列表: studyRoomId={}", studyRoomId);
         
-        return httpClient.get("/seats/study-room/" + studyRoomId)
+        return httpClient.get(studyRoomSeatsUrl(studyRoomId))
             .thenApply(this::parseSeatListResponse)
             .whenComplete((seats, throwable) -> {
                 if (throwable == null && seats != null) {
@@ -94,11 +110,7 @@ public class SeatApiService {
     public CompletableFuture<List<Seat>> getAvailableSeats(Long studyRoomId) {
         logger.debug("🔍 获取可用座位: studyRoomId={}", studyRoomId);
         
-        String url = studyRoomId != null ? 
-            "/seats/available?studyRoomId=" + studyRoomId : 
-            "/seats/available";
-        
-        return httpClient.get(url)
+        return httpClient.get(availableSeatsUrl(studyRoomId))
             .thenApply(this::parseSeatListResponse)
             .whenComplete((seats, throwable) -> {
                 if (throwable == null && seats != null) {
@@ -109,6 +121,32 @@ public class SeatApiService {
             });
     }
 
+    /**
+     * 读取磁盘缓存中上次获取的可用座位（启动时先行显示），不发网络请求
+     */
+    public Optional<List<Seat>> getCachedAvailableSeats(Long studyRoomId) {
+        try {
+            return httpClient.getCachedResponse(availableSeatsUrl(studyRoomId))
+                .map(this::parseSeatListResponse);
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ 磁盘缓存的座位列表无法解析，忽略: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 自习室座位列表接口（预取时须与 {@link #getSeatsByStudyRoom(Long)} 请求的地址一致）
+     */
+    static String studyRoomSeatsUrl(Long studyRoomId) {
+        return "/seats/study-room/" + studyRoomId;
+    }
+
+    private static String availableSeatsUrl(Long studyRoomId) {
+        return studyRoomId != null ? 
+            "/seats/available?studyRoomId=" + studyRoomId : 
+            "/seats/available";
+    }
+
     /**
      * 分页查询座位列表
      */
@@ -220,6 +258,26 @@ public class SeatApiService {
             });
     }
 
+    /**
+     * 按布局规格批量生成自习室座位（管理员功能）
+     * 布局字段见服务端 POST /seats/study-room/{studyRoomId}/layout：
+     * rows, columns, aisleRows, aisleColumns, windowColumns, powerColumns, defaultType, zones, seatNumberPrefix
+     * @return 服务端返回的数据（count、elapsedMillis、seats 等）
+     */
+    public CompletableFuture<Map<String, Object>> createSeatLayout(Long studyRoomId, Map<String, Object> layout) {
+        logger.info("📐 生成座位布局: 自习室ID={}, {}行 × {}列", studyRoomId, layout.get("rows"), layout.get("columns"));
+        
+        return httpClient.post("/seats/study-room/" + studyRoomId + "/layout", layout)
+            .thenApply(this::parseStatisticsResponse)
+            .whenComplete((result, throwable) -> {
+                if (throwable == null && result != null) {
+                    logger.info("✅ 座位布局生成成功: {} 个座位, 耗时 {}ms", result.get("count"), result.get("elapsedMillis"));
+                } else {
+                    logger.error("❌ 座位布局生成失败: {}", throwable != null ? throwable.getMessage() : "未知错误");
+                }
+            });
+    }
+
     /**
      * 更新座位信息（管理员功能）
      */
@@ -337,8 +395,7 @@ public class SeatApiService {
      */
     private Seat parseSeatResponse(String jsonResponse) {
         try {
-            ApiResponse<Seat> apiResponse = objectMapper.readValue(jsonResponse,
-                new TypeReference<ApiResponse<Seat>>() {});
+            ApiResponse<Seat> apiResponse = seatReader.readValue(jsonResponse);
 
             if (apiResponse.getCode() == 200) { // Assuming 200 is success
                 return apiResponse.getData();
@@ -357,8 +414,7 @@ public class SeatApiService {
      */
     private List<Seat> parseSeatListResponse(String jsonResponse) {
         try {
-            ApiResponse<List<Seat>> apiResponse = objectMapper.readValue(jsonResponse,
-                new TypeReference<ApiResponse<List<Seat>>>() {});
+            ApiResponse<List<Seat>> apiResponse = seatListReader.readValue(jsonResponse);
 
             if (apiResponse.getCode() == 200) { // Assuming 200 is success
                 return apiResponse.getData();
@@ -377,21 +433,13 @@ public class SeatApiService {
      */
     private PageData<Seat> parseSeatPageResponse(String jsonResponse) {
         try {
-            ApiResponse<PageData<Seat>> apiResponse = objectMapper.readValue(jsonResponse,
-                new TypeReference<ApiResponse<PageData<Seat>>>() {});
+            ApiResponse<PageData<Seat>> apiResponse = seatPageReader.readValue(jsonResponse);
 
             if (apiResponse.getCode() == 200) { // Assuming 200 is success
                 PageData<Seat> pageData = apiResponse.getData();
                 if (pageData != null) {
-                    // Ensure content is correctly deserialized if it's a list of maps initially
-                    if (pageData.getContent() != null && !pageData.getContent().isEmpty() && !(pageData.getContent().get(0) instanceof Seat)) {
-                        List<Seat> seats = pageData.getContent().stream()
-                            .map(item -> objectMapper.convertValue(item, Seat.class))
-                            .collect(java.util.stream.Collectors.toList());
-                        pageData.setContent(seats);
-                    }
                      logger.debug("✅ 座位分页数据解析成功: 当前页={}, 总页数={}, 总记录数={}, 当前页记录数={}",
-                        pageData.getPageNumber(), pageData.getTotalPages(), pageData.getTotalElements(), pageData.getContent() != null ? pageData.getContent().size() : 0);
+                        pageData.getPage(), pageData.getTotalPages(), pageData.getTotalElements(), pageData.getContent() != null ? pageData.getContent().size() : 0);
                     return pageData;
                 } else {
                     logger.error("❌ 座位分页响应数据为空");
@@ -413,8 +461,7 @@ public class SeatApiService {
     @SuppressWarnings("unchecked")
     private Map<String, Object> parseStatisticsResponse(String jsonResponse) {
         try {
-            ApiResponse<Map<String, Object>> apiResponse = objectMapper.readValue(jsonResponse,
-                new TypeReference<ApiResponse<Map<String, Object>>>() {});
+            ApiResponse<Map<String, Object>> apiResponse = mapReader.readValue(jsonResponse);
 
             if (apiResponse.getCode() == 200) { // Assuming 200 is success
                 return apiResponse.getData();
@@ -435,14 +482,14 @@ public class SeatApiService {
         try {
             // Attempt to parse as ApiResponse<Boolean> first
              try {
-                ApiResponse<Boolean> apiResponse = objectMapper.readValue(jsonResponse,
-                        new TypeReference<ApiResponse<Boolean>>() {});
+                ApiResponse<Boolean> apiResponse = booleanReader.readValue(jsonResponse);
                 if (apiResponse.getCode() == 200) { // Assuming 200 is success
                     return apiResponse.getData() != null ? apiResponse.getData() : false;
                 } else {
                      // Check if data is a map containing a boolean
-                    if (apiResponse.getData() instanceof Map) {
-                         Map<?, ?> dataMap = (Map<?, ?>) apiResponse.getData();
+                     Object data = apiResponse.getData();
+                     if (data instanceof Map) {
+                         Map<?, ?> dataMap = (Map<?, ?>) data;
                         if (dataMap.containsKey("success") && dataMap.get("success") instanceof Boolean) {
                             logger.warn("⚠️ API returned success code but boolean data was in a map for: {}", jsonResponse.substring(0, Math.min(jsonResponse.length(), 200)));
                             return (Boolean) dataMap.get("success");
@@ -458,8 +505,7 @@ public class SeatApiService {
             } catch (com.fasterxml.jackson.databind.JsonMappingException e) {
                 // If direct Boolean parsing fails, try parsing as ApiResponse<Map<String, Boolean>>
                 logger.warn("⚠️ Direct boolean parsing failed for SeatApi, attempting to parse as Map<String, Boolean>: {}", jsonResponse.substring(0, Math.min(jsonResponse.length(), 200)));
-                ApiResponse<Map<String, Boolean>> apiResponseMap = objectMapper.readValue(jsonResponse,
-                        new TypeReference<ApiResponse<Map<String, Boolean>>>() {});
+                ApiResponse<Map<String, Boolean>> apiResponseMap = booleanMapReader.readValue(jsonResponse);
 
                 if (apiResponseMap.getCode() == 200) { // Assuming 200 is success
                     Map<String, Boolean> dataMap = apiResponseMap.getData();
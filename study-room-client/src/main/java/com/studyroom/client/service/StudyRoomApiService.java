@@ -1,7 +1,7 @@
 package com.studyroom.client.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.studyroom.client.model.ApiResponse;
 import com.studyroom.client.model.PageData;
 import com.studyroom.client.model.StudyRoom;
@@ -12,6 +12,7 @@ import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
@@ -26,6 +27,10 @@ public class StudyRoomApiService {
 
     private static final Logger logger = LoggerFactory.getLogger(StudyRoomApiService.class);
     
+    // 全部自习室：服务端没有不分页的接口，取一页足够大的分页结果
+    private static final int ALL_STUDY_ROOMS_PAGE_SIZE = 1000;
+    private static final String ALL_STUDY_ROOMS_URL = "/study-rooms?page=0&size=" + ALL_STUDY_ROOMS_PAGE_SIZE;
+    
     // 单例实例
     private static StudyRoomApiService instance;
     
@@ -35,12 +40,25 @@ public class StudyRoomApiService {
     // JSON处理器
     private final ObjectMapper objectMapper;
 
+    // 按响应类型预先构建的读取器（见 ApiResponseReaders）
+    private final ObjectReader studyRoomListReader;
+    private final ObjectReader studyRoomPageReader;
+    private final ObjectReader mapReader;
+    private final ObjectReader booleanReader;
+    private final ObjectReader booleanMapReader;
+
     /**
      * 私有构造函数 - 单例模式
      */
     private StudyRoomApiService() {
         this.httpClient = HttpClientService.getInstance();
         this.objectMapper = httpClient.getObjectMapper();
+        ApiResponseReaders readers = httpClient.getResponseReaders();
+        this.studyRoomListReader = readers.forList(StudyRoom.class);
+        this.studyRoomPageReader = readers.forPage(StudyRoom.class);
+        this.mapReader = readers.forMap(Object.class);
+        this.booleanReader = readers.forData(Boolean.class);
+        this.booleanMapReader = readers.forMap(Boolean.class);
         logger.info("🏢 自习室API服务初始化完成");
     }
 
@@ -76,19 +94,32 @@ public class StudyRoomApiService {
      * 获取所有自习室列表
      */
     public CompletableFuture<List<StudyRoom>> getAllStudyRooms() {
-        logger.warn("⚠️ 调用了 getAllStudyRooms() 方法，但其对应的服务器端点 /study-rooms/all 可能不存在或未实现。");
-        logger.warn("Consider using the paginated getStudyRooms() method or ensure a non-paginated endpoint is available on the server.");
-        // For now, returning an empty list or exceptional future to avoid breaking compilation if called.
-        // return httpClient.get("/study-rooms/all")
-        //     .thenApply(this::parseStudyRoomListResponse)
-        //     .whenComplete((rooms, throwable) -> {
-        //         if (throwable == null && rooms != null) {
-        //             logger.debug("✅ 获取自习室列表成功: 共{}个自习室", rooms.size());
-        //         } else {
-        //             logger.warn("❌ 获取自习室列表失败: {}", throwable != null ? throwable.getMessage() : "未知错误");
-        //         }
-        //     });
-        return CompletableFuture.completedFuture(new java.util.ArrayList<>()); // Return empty list for now
+        logger.debug("📋 获取全部自习室");
+        
+        return httpClient.get(ALL_STUDY_ROOMS_URL)
+            .thenApply(this::parseStudyRoomPageResponse)
+            .thenApply(PageData::getContent)
+            .whenComplete((rooms, throwable) -> {
+                if (throwable == null && rooms != null) {
+                    logger.debug("✅ 获取自习室列表成功: 共{}个自习室", rooms.size());
+                } else {
+                    logger.warn("❌ 获取自习室列表失败: {}", throwable != null ? throwable.getMessage() : "未知错误");
+                }
+            });
+    }
+
+    /**
+     * 读取磁盘缓存中上次获取的全部自习室（启动时先行显示），不发网络请求
+     */
+    public Optional<List<StudyRoom>> getCachedStudyRooms() {
+        try {
+            return httpClient.getCachedResponse(ALL_STUDY_ROOMS_URL)
+                .map(this::parseStudyRoomPageResponse)
+                .map(PageData::getContent);
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ 磁盘缓存的自习室列表无法解析，忽略: {}", e.getMessage());
+            return Optional.empty();
+        }
     }
 
     /**
@@ -331,8 +362,7 @@ public class StudyRoomApiService {
      */
     private StudyRoom parseStudyRoomResponse(String jsonResponse) {
         try {
-            ApiResponse<Map<String, Object>> apiResponse = objectMapper.readValue(jsonResponse,
-                new TypeReference<ApiResponse<Map<String, Object>>>() {});
+            ApiResponse<Map<String, Object>> apiResponse = mapReader.readValue(jsonResponse);
 
             if (apiResponse.getCode() == 200) { // Assuming 200 is success
                 Map<String, Object> dataMap = apiResponse.getData();
@@ -363,7 +393,6 @@ public class StudyRoomApiService {
                 }
 
                 room.setLocation((String) dataMap.get("location"));
-                room.setFacilities((String) dataMap.get("facilities")); // Assuming facilities is a simple string
 
                 String statusStr = (String) dataMap.get("status");
                 if (statusStr != null) {
@@ -431,8 +460,7 @@ public class StudyRoomApiService {
      */
     private List<StudyRoom> parseStudyRoomListResponse(String jsonResponse) {
         try {
-            ApiResponse<List<StudyRoom>> apiResponse = objectMapper.readValue(jsonResponse,
-                new TypeReference<ApiResponse<List<StudyRoom>>>() {});
+            ApiResponse<List<StudyRoom>> apiResponse = studyRoomListReader.readValue(jsonResponse);
 
             if (apiResponse.getCode() == 200) { // Assuming 200 is success
                 return apiResponse.getData();
@@ -451,21 +479,13 @@ public class StudyRoomApiService {
      */
     private PageData<StudyRoom> parseStudyRoomPageResponse(String jsonResponse) {
         try {
-            ApiResponse<PageData<StudyRoom>> apiResponse = objectMapper.readValue(jsonResponse,
-                new TypeReference<ApiResponse<PageData<StudyRoom>>>() {});
+            ApiResponse<PageData<StudyRoom>> apiResponse = studyRoomPageReader.readValue(jsonResponse);
 
             if (apiResponse.getCode() == 200) { // Assuming 200 is success
                 PageData<StudyRoom> pageData = apiResponse.getData();
                 if (pageData != null) {
-                     // Ensure content is correctly deserialized if it's a list of maps initially
-                    if (pageData.getContent() != null && !pageData.getContent().isEmpty() && !(pageData.getContent().get(0) instanceof StudyRoom)) {
-                        List<StudyRoom> studyRooms = pageData.getContent().stream()
-                            .map(item -> objectMapper.convertValue(item, StudyRoom.class))
-                            .collect(Collectors.toList());
-                        pageData.setContent(studyRooms);
-                    }
                     logger.debug("✅ 自习室分页数据解析成功: 当前页={}, 总页数={}, 总记录数={}, 当前页记录数={}",
-                        pageData.getPageNumber(), pageData.getTotalPages(), pageData.getTotalElements(), pageData.getContent().size());
+                        pageData.getPage(), pageData.getTotalPages(), pageData.getTotalElements(), pageData.getContent().size());
                     return pageData;
                 } else {
                     logger.error("❌ 自习室分页响应数据为空");
@@ -487,8 +507,7 @@ public class StudyRoomApiService {
     @SuppressWarnings("unchecked")
     private Map<String, Object> parseStatisticsResponse(String jsonResponse) {
         try {
-            ApiResponse<Map<String, Object>> apiResponse = objectMapper.readValue(jsonResponse,
-                new TypeReference<ApiResponse<Map<String, Object>>>() {});
+            ApiResponse<Map<String, Object>> apiResponse = mapReader.readValue(jsonResponse);
 
             if (apiResponse.getCode() == 200) { // Assuming 200 is success
                 return apiResponse.getData();
@@ -509,14 +528,14 @@ public class StudyRoomApiService {
         try {
             // Attempt to parse as ApiResponse<Boolean> first
             try {
-                ApiResponse<Boolean> apiResponse = objectMapper.readValue(jsonResponse,
-                        new TypeReference<ApiResponse<Boolean>>() {});
+                ApiResponse<Boolean> apiResponse = booleanReader.readValue(jsonResponse);
                 if (apiResponse.getCode() == 200) { // Assuming 200 is success
                     return apiResponse.getData() != null ? apiResponse.getData() : false;
                 } else {
                      // Check if data is a map containing a boolean
-                    if (apiResponse.getData() instanceof Map) {
-                         Map<?, ?> dataMap = (Map<?, ?>) apiResponse.getData();
+                     Object data = apiResponse.getData();
+                     if (data instanceof Map) {
+                         Map<?, ?> dataMap = (Map<?, ?>) data;
                         if (dataMap.containsKey("success") && dataMap.get("success") instanceof Boolean) {
                             logger.warn("⚠️ API returned success code but boolean data was in a map for: {}", jsonResponse.substring(0, Math.min(jsonResponse.length(), 200)));
                             return (Boolean) dataMap.get("success");
@@ -528,8 +547,7 @@ public class StudyRoomApiService {
             } catch (com.fasterxml.jackson.databind.JsonMappingException e) {
                 // If direct Boolean parsing fails, try parsing as ApiResponse<Map<String, Boolean>>
                 logger.warn("⚠️ Direct boolean parsing failed for StudyRoomApi, attempting to parse as Map<String, Boolean>: {}", jsonResponse.substring(0, Math.min(jsonResponse.length(), 200)));
-                ApiResponse<Map<String, Boolean>> apiResponseMap = objectMapper.readValue(jsonResponse,
-                        new TypeReference<ApiResponse<Map<String, Boolean>>>() {});
+                ApiResponse<Map<String, Boolean>> apiResponseMap = booleanMapReader.readValue(jsonResponse);
 
                 if (apiResponseMap.getCode() == 200) { // Assuming 200 is success
                     Map<String, Boolean> dataMap = apiResponseMap.getData();
@@ -1,13 +1,15 @@
 package com.studyroom.client.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.studyroom.client.model.ApiResponse;
 import com.studyroom.client.model.PageData;
 import com.studyroom.client.model.User;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,12 +35,27 @@ public class UserApiService {
     // JSON处理器
     private final ObjectMapper objectMapper;
 
+    // 按响应类型预先构建的读取器（见 ApiResponseReaders）
+    private final ObjectReader userReader;
+    private final ObjectReader userListReader;
+    private final ObjectReader userPageReader;
+    private final ObjectReader mapReader;
+    private final ObjectReader booleanReader;
+    private final ObjectReader booleanMapReader;
+
     /**
      * 私有构造函数 - 单例模式
      */
     private UserApiService() {
         this.httpClient = HttpClientService.getInstance();
         this.objectMapper = httpClient.getObjectMapper();
+        ApiResponseReaders readers = httpClient.getResponseReaders();
+        this.userReader = readers.forData(User.class);
+        this.userListReader = readers.forList(User.class);
+        this.userPageReader = readers.forPage(User.class);
+        this.mapReader = readers.forMap(Object.class);
+        this.booleanReader = readers.forData(Boolean.class);
+        this.booleanMapReader = readers.forMap(Boolean.class);
         logger.info("🧑 用户API服务初始化完成");
     }
 
@@ -189,12 +206,22 @@ public class UserApiService {
      * 分页查询用户列表（管理员功能）
      */
     public CompletableFuture<PageData<User>> getUsers(int page, int size, String keyword, User.Role role, User.Status status) {
-        logger.debug("📋 查询用户列表: page={}, size={}, keyword={}, role={}, status={}", 
-            page, size, keyword, role, status);
+        return getUsers(page, size, keyword, role, status, null);
+    }
+
+    /**
+     * 分页查询用户列表（管理员功能），按服务端排序
+     *
+     * @param sort 排序参数，如 "createdAt,desc"，多个字段用分号分隔；为 null 时使用服务端默认排序
+     */
+    public CompletableFuture<PageData<User>> getUsers(int page, int size, String keyword, User.Role role,
+                                                      User.Status status, String sort) {
+        logger.debug("📋 查询用户列表: page={}, size={}, keyword={}, role={}, status={}, sort={}", 
+            page, size, keyword, role, status, sort);
         
         StringBuilder url = new StringBuilder("/users?page=" + page + "&size=" + size);
         if (keyword != null && !keyword.trim().isEmpty()) {
-            url.append("&keyword=").append(keyword.trim());
+            url.append("&keyword=").append(URLEncoder.encode(keyword.trim(), StandardCharsets.UTF_8));
         }
         if (role != null) {
             url.append("&role=").append(role.name());
@@ -202,6 +229,9 @@ public class UserApiService {
         if (status != null) {
             url.append("&status=").append(status.name());
         }
+        if (sort != null && !sort.isEmpty()) {
+            url.append("&sort=").append(URLEncoder.encode(sort, StandardCharsets.UTF_8));
+        }
         
         return httpClient.get(url.toString())
             .thenApply(this::parseUserPageResponse)
@@ -214,6 +244,21 @@ public class UserApiService {
             });
     }
 
+    /**
+     * 分页查询审计日志（管理员功能，按时间倒序）
+     */
+    public CompletableFuture<List<Map<String, Object>>> getAuditLogs(int page, int size) {
+        logger.debug("📋 查询审计日志: page={}, size={}", page, size);
+
+        return httpClient.get("/audit-logs?page=" + page + "&size=" + size)
+            .thenApply(this::parseAuditLogResponse)
+            .whenComplete((logs, throwable) -> {
+                if (throwable != null) {
+                    logger.warn("❌ 查询审计日志失败: {}", throwable.getMessage());
+                }
+            });
+    }
+
     /**
      * 获取所有用户列表（不分页）
      */
@@ -334,8 +379,7 @@ public class UserApiService {
      */
     private User parseUserResponse(String jsonResponse) {
         try {
-            ApiResponse<User> apiResponse = objectMapper.readValue(jsonResponse,
-                new TypeReference<ApiResponse<User>>() {});
+            ApiResponse<User> apiResponse = userReader.readValue(jsonResponse);
 
             if (apiResponse.getCode() == 200) { // Assuming 200 is success
                 return apiResponse.getData();
@@ -355,8 +399,7 @@ public class UserApiService {
      */
     private User parseUserFromMapResponse(String jsonResponse) {
         try {
-            ApiResponse<Map<String, Object>> apiResponse = objectMapper.readValue(jsonResponse,
-                    new TypeReference<ApiResponse<Map<String, Object>>>() {});
+            ApiResponse<Map<String, Object>> apiResponse = mapReader.readValue(jsonResponse);
 
             if (apiResponse.getCode() == 200) {
                 Map<String, Object> dataMap = apiResponse.getData();
@@ -381,8 +424,7 @@ public class UserApiService {
      */
     private List<User> parseUserListResponse(String jsonResponse) {
         try {
-            ApiResponse<List<User>> apiResponse = objectMapper.readValue(jsonResponse,
-                new TypeReference<ApiResponse<List<User>>>() {});
+            ApiResponse<List<User>> apiResponse = userListReader.readValue(jsonResponse);
 
             if (apiResponse.getCode() == 200) { // Assuming 200 is success
                 return apiResponse.getData();
@@ -401,8 +443,7 @@ public class UserApiService {
      */
     private PageData<User> parseUserPageResponse(String jsonResponse) {
         try {
-            ApiResponse<PageData<User>> apiResponse = objectMapper.readValue(jsonResponse,
-                new TypeReference<ApiResponse<PageData<User>>>() {});
+            ApiResponse<PageData<User>> apiResponse = userPageReader.readValue(jsonResponse);
 
             if (apiResponse.getCode() == 200) { // Assuming 200 is success
                 return apiResponse.getData();
@@ -416,6 +457,27 @@ public class UserApiService {
         }
     }
 
+    /**
+     * 解析审计日志分页响应
+     */
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> parseAuditLogResponse(String jsonResponse) {
+        try {
+            ApiResponse<Map<String, Object>> apiResponse = mapReader.readValue(jsonResponse);
+
+            if (apiResponse.getCode() == 200 && apiResponse.getData() != null) {
+                Object logs = apiResponse.getData().get("logs");
+                return logs instanceof List ? (List<Map<String, Object>>) logs : List.of();
+            } else {
+                logger.error("❌ API请求失败: Code={}, Message={}", apiResponse.getCode(), apiResponse.getMessage());
+                throw new RuntimeException("API错误: " + apiResponse.getMessage());
+            }
+        } catch (Exception e) {
+            logger.error("❌ 解析审计日志响应失败: {}", jsonResponse, e);
+            throw new RuntimeException("数据解析失败: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * 解析布尔响应
      */
@@ -425,14 +487,14 @@ public class UserApiService {
             // Or it could be directly Boolean. We need to handle this gracefully.
             // Let's first try to parse as ApiResponse<Boolean>
             try {
-                ApiResponse<Boolean> apiResponse = objectMapper.readValue(jsonResponse,
-                        new TypeReference<ApiResponse<Boolean>>() {});
+                ApiResponse<Boolean> apiResponse = booleanReader.readValue(jsonResponse);
                 if (apiResponse.getCode() == 200) { // Assuming 200 is success
                     return apiResponse.getData() != null ? apiResponse.getData() : false;
                 } else {
                      // Check if data is a map containing a boolean, e.g. for checkUsername/Email
-                    if (apiResponse.getData() instanceof Map) {
-                        Map<?, ?> dataMap = (Map<?, ?>) apiResponse.getData();
+                    Object data = apiResponse.getData();
+                    if (data instanceof Map) {
+                        Map<?, ?> dataMap = (Map<?, ?>) data;
                         if (dataMap.containsKey("available") && dataMap.get("available") instanceof Boolean) {
                             logger.warn("⚠️ API returned success code but boolean data was in a map for: {}", jsonResponse);
                             return (Boolean) dataMap.get("available");
@@ -449,8 +511,7 @@ public class UserApiService {
                 // If direct Boolean parsing fails, try parsing as ApiResponse<Map<String, Boolean>>
                 // This is common for responses like checkUsernameExists which might return {"available": true} in data
                 logger.warn("⚠️ Direct boolean parsing failed, attempting to parse as Map<String, Boolean>: {}", jsonResponse.substring(0, Math.min(jsonResponse.length(), 200)));
-                ApiResponse<Map<String, Boolean>> apiResponseMap = objectMapper.readValue(jsonResponse,
-                        new TypeReference<ApiResponse<Map<String, Boolean>>>() {});
+                ApiResponse<Map<String, Boolean>> apiResponseMap = booleanMapReader.readValue(jsonResponse);
 
                 if (apiResponseMap.getCode() == 200) { // Assuming 200 is success
                     Map<String, Boolean> dataMap = apiResponseMap.getData();
@@ -476,8 +537,7 @@ public class UserApiService {
     // Special parser for login/register that expects User inside a Map in data
     private User parseLoginRegisterResponse(String jsonResponse) {
         try {
-            ApiResponse<Map<String, Object>> apiResponse = objectMapper.readValue(jsonResponse,
-                    new TypeReference<ApiResponse<Map<String, Object>>>() {});
+            ApiResponse<Map<String, Object>> apiResponse = mapReader.readValue(jsonResponse);
 
             // HTTPStatus.CREATED is 201 for registration, 200 for login
             if (apiResponse.getCode() == 200 || apiResponse.getCode() == 201) {
@@ -0,0 +1,269 @@
+package com.studyroom.client.util;
+
+import javafx.collections.ModifiableObservableListBase;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 按ID索引的可观察列表
+ * 刷新数据时用 {@link #applyDiff(Collection)} 代替 setAll：只删除消失的元素、插入新增的元素、
+ * 替换内容有变化的元素，所有修改合并为一次列表变更通知。绑定的 TableView 只更新受影响的行，
+ * 选中项和滚动位置不会丢失。按ID查找通过索引完成，不需要遍历列表。
+ *
+ * <p>内容是否变化由 versionOf 判断：同一ID新旧元素的版本相同（且不为 null）时视为未变化，
+ * 保留原对象；版本为 null 时总是替换。只能在 JavaFX 线程上修改。
+ *
+ * @param <K> ID类型
+ * @param <T> 元素类型
+ * @author Developer
+ * @version 1.0.0
+ * @since 2024
+ */
+public class KeyedObservableList<K, T> extends ModifiableObservableListBase<T> {
+
+    private final List<T> items = new ArrayList<>();
+    private final Function<T, K> keyOf;
+    private final Function<T, ?> versionOf;
+
+    // ID -> 下标；插入、删除会让后面元素的下标失效，之后第一次查找时重建
+    private final Map<K, Integer> indexByKey = new HashMap<>();
+    private boolean indexValid = true;
+
+    /**
+     * @param keyOf 取元素ID
+     * @param versionOf 取元素版本（如更新时间），用于判断内容是否变化；为 null 时总是替换
+     */
+    public KeyedObservableList(Function<T, K> keyOf, Function<T, ?> versionOf) {
+        this.keyOf = keyOf;
+        this.versionOf = versionOf;
+    }
+
+    /**
+     * 把列表更新为 newItems（按其顺序），只做必要的增删改，作为一次变更通知。
+     * 新列表中的元素按ID逐个对齐：前面的元素都已就位，同ID的旧元素只可能在当前位置或之后。
+     */
+    public DiffResult applyDiff(Collection<? extends T> newItems) {
+        // 新列表中ID重复的元素只保留第一个
+        List<T> target = new ArrayList<>(newItems.size());
+        Set<K> targetKeys = new HashSet<>();
+        for (T item : newItems) {
+            if (targetKeys.add(keyOf.apply(item))) {
+                target.add(item);
+            }
+        }
+
+        int added = 0;
+        int updated = 0;
+        int removed = 0;
+        int moved = 0;
+
+        beginChange();
+        try {
+            // 1. 删除已不存在的元素（从后往前，下标不受影响）
+            for (int i = items.size() - 1; i >= 0; i--) {
+                if (!targetKeys.contains(keyOf.apply(items.get(i)))) {
+                    remove(i);
+                    removed++;
+                }
+            }
+
+            // 2. 按新顺序逐个对齐：前 i 个元素已就位
+            Set<K> currentKeys = new HashSet<>();
+            for (T item : items) {
+                currentKeys.add(keyOf.apply(item));
+            }
+            for (int i = 0; i < target.size(); i++) {
+                T item = target.get(i);
+                K key = keyOf.apply(item);
+                if (!currentKeys.contains(key)) {
+                    add(i, item);
+                    added++;
+                    continue;
+                }
+                int current = i;
+                while (!Objects.equals(keyOf.apply(items.get(current)), key)) {
+                    current++;
+                }
+                if (current != i) {
+                    // 顺序变化：移到当前位置（通常只有少数元素）
+                    remove(current);
+                    add(i, item);
+                    moved++;
+                } else if (isChanged(items.get(i), item)) {
+                    set(i, item);
+                    updated++;
+                }
+            }
+        } finally {
+            endChange();
+        }
+        return new DiffResult(added, updated, removed, moved);
+    }
+
+    /**
+     * 按ID查找元素，不存在时返回 null
+     */
+    public T getByKey(K key) {
+        int index = indexOfKey(key);
+        return index >= 0 ? items.get(index) : null;
+    }
+
+    /**
+     * 按ID查找下标，不存在时返回 -1
+     */
+    public int indexOfKey(K key) {
+        ensureIndex();
+        Integer index = indexByKey.get(key);
+        return index != null ? index : -1;
+    }
+
+    public boolean containsKey(K key) {
+        return indexOfKey(key) >= 0;
+    }
+
+    /**
+     * 用同ID的新元素替换旧元素（即使是同一个对象也会发出替换通知），不存在时返回 false
+     */
+    public boolean replace(T item) {
+        int index = indexOfKey(keyOf.apply(item));
+        if (index < 0) {
+            return false;
+        }
+        set(index, item);
+        return true;
+    }
+
+    /**
+     * 存在同ID元素时替换，否则插入到 index 位置
+     */
+    public void upsert(int index, T item) {
+        if (!replace(item)) {
+            add(Math.min(index, items.size()), item);
+        }
+    }
+
+    /**
+     * 按ID删除元素，不存在时返回 null
+     */
+    public T removeByKey(K key) {
+        int index = indexOfKey(key);
+        return index >= 0 ? remove(index) : null;
+    }
+
+    private boolean isChanged(T oldItem, T newItem) {
+        if (oldItem == newItem) {
+            return false;
+        }
+        if (versionOf == null) {
+            return true;
+        }
+        Object version = versionOf.apply(newItem);
+        return version == null || !version.equals(versionOf.apply(oldItem));
+    }
+
+    private void ensureIndex() {
+        if (indexValid) {
+            return;
+        }
+        indexByKey.clear();
+        for (int i = 0; i < items.size(); i++) {
+            indexByKey.put(keyOf.apply(items.get(i)), i);
+        }
+        indexValid = true;
+    }
+
+    @Override
+    public T get(int index) {
+        return items.get(index);
+    }
+
+    @Override
+    public int size() {
+        return items.size();
+    }
+
+    @Override
+    protected void doAdd(int index, T element) {
+        items.add(index, element);
+        if (index == items.size() - 1 && indexValid) {
+            indexByKey.put(keyOf.apply(element), index);
+        } else {
+            indexValid = false;
+        }
+    }
+
+    @Override
+    protected T doSet(int index, T element) {
+        T previous = items.set(index, element);
+        if (indexValid) {
+            K oldKey = keyOf.apply(previous);
+            K newKey = keyOf.apply(element);
+            if (!Objects.equals(oldKey, newKey)) {
+                indexByKey.remove(oldKey);
+                indexByKey.put(newKey, index);
+            }
+        }
+        return previous;
+    }
+
+    @Override
+    protected T doRemove(int index) {
+        T removed = items.remove(index);
+        if (index == items.size() && indexValid) {
+            indexByKey.remove(keyOf.apply(removed));
+        } else {
+            indexValid = false;
+        }
+        return removed;
+    }
+
+    /**
+     * 一次 applyDiff 的修改统计
+     */
+    public static final class DiffResult {
+        private final int added;
+        private final int updated;
+        private final int removed;
+        private final int moved;
+
+        DiffResult(int added, int updated, int removed, int moved) {
+            this.added = added;
+            this.updated = updated;
+            this.removed = removed;
+            this.moved = moved;
+        }
+
+        public int getAdded() {
+            return added;
+        }
+
+        public int getUpdated() {
+            return updated;
+        }
+
+        public int getRemoved() {
+            return removed;
+        }
+
+        public int getMoved() {
+            return moved;
+        }
+
+        public boolean isEmpty() {
+            return added == 0 && updated == 0 && removed == 0 && moved == 0;
+        }
+
+        @Override
+        public String toString() {
+            return "+" + added + " ~" + updated + " -" + removed + (moved > 0 ? " ↕" + moved : "");
+        }
+    }
+}
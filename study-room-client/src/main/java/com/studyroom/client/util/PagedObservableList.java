@@ -0,0 +1,361 @@
+package com.studyroom.client.util;
+
+import com.studyroom.client.model.PageData;
+import javafx.application.Platform;
+import javafx.collections.ObservableListBase;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 按需分页加载的可观察列表（用作 TableView 的数据源）
+ * 列表长度等于服务端返回的总记录数，但只有表格实际显示到的行所在的页才会向服务端请求；
+ * 滚动到某页后半部分时预取下一页。已加载的页按最近使用保留有限个（LRU），
+ * 未加载的行返回 null，页面到达后以一次替换变更通知表格刷新这些行，滚动位置不变。
+ * 加载失败的页按指数退避（1秒起，最长30秒）在再次显示时重试，不会随表格每次布局重复请求。
+ *
+ * <p>排序和过滤都交给服务端：{@link #bindSort(TableView, Map)} 把列头排序转换为服务端排序参数，
+ * 过滤条件由 PageLoader 读取，条件变化后调用 {@link #reset()}。只能在 JavaFX 线程上使用。
+ *
+ * @param <T> 元素类型
+ * @author Developer
+ * @version 1.0.0
+ * @since 2024
+ */
+public class PagedObservableList<T> extends ObservableListBase<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(PagedObservableList.class);
+
+    // 刷新时重新加载的最近访问页数（通常覆盖当前可见的行）
+    private static final int REFRESH_PAGES = 3;
+
+    // 加载失败后的重试间隔
+    private static final long INITIAL_RETRY_DELAY_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long MAX_RETRY_DELAY_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    /**
+     * 分页加载函数
+     */
+    @FunctionalInterface
+    public interface PageLoader<T> {
+        /**
+         * @param page 页码（从0开始）
+         * @param size 每页大小
+         * @param sort 服务端排序参数（如 "createdAt,desc"），为 null 时使用服务端默认排序
+         */
+        CompletableFuture<PageData<T>> load(int page, int size, String sort);
+    }
+
+    private final PageLoader<T> loader;
+    // 加载完成后在其上处理结果，默认为 JavaFX 线程
+    private final Executor fxExecutor;
+    private final int pageSize;
+    private final Map<Integer, List<T>> pages;
+    private final Set<Integer> loadingPages = new HashSet<>();
+    // 加载失败的页：连续失败次数和下次允许重试的时间（System.nanoTime）
+    private final Map<Integer, Integer> pageFailures = new HashMap<>();
+    private final Map<Integer, Long> pageRetryAt = new HashMap<>();
+
+    private int size;
+    private String sort;
+    // 过滤或排序变化后递增，丢弃旧条件下发出的请求的响应
+    private int generation;
+    // 已回调过 onLoadFailed 的代数，每代最多提示一次
+    private int failureReportedGeneration = -1;
+
+    private Consumer<PageData<T>> onPageLoaded;
+    private Consumer<Throwable> onLoadFailed;
+
+    /**
+     * @param pageSize 每页大小
+     * @param maxCachedPages 最多保留的已加载页数
+     * @param loader 分页加载函数
+     */
+    public PagedObservableList(int pageSize, int maxCachedPages, PageLoader<T> loader) {
+        this(pageSize, maxCachedPages, loader, Platform::runLater);
+    }
+
+    /**
+     * @param fxExecutor 处理加载结果的执行器（测试中可用同步执行器代替 JavaFX 线程）
+     */
+    PagedObservableList(int pageSize, int maxCachedPages, PageLoader<T> loader, Executor fxExecutor) {
+        this.pageSize = Math.max(1, pageSize);
+        this.loader = loader;
+        this.fxExecutor = fxExecutor;
+        int capacity = Math.max(REFRESH_PAGES, maxCachedPages);
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    @Override
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        int page = index / pageSize;
+        int offset = index % pageSize;
+        List<T> items = pages.get(page);
+        if (items == null) {
+            requestPage(page);
+            return null;
+        }
+        if (offset >= pageSize / 2) {
+            // 滚动到本页后半部分时预取下一页
+            prefetch(page + 1);
+        }
+        return offset < items.size() ? items.get(offset) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 只在已加载的页中查找，不会触发加载（表格的选择模型会调用）
+     */
+    @Override
+    public int indexOf(Object o) {
+        for (Map.Entry<Integer, List<T>> entry : pages.entrySet()) {
+            int offset = entry.getValue().indexOf(o);
+            if (offset >= 0) {
+                return entry.getKey() * pageSize + offset;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * 过滤或排序条件变化：清空列表，从第一页重新加载
+     */
+    public void reset() {
+        generation++;
+        loadingPages.clear();
+        clearFailures();
+        if (size > 0) {
+            List<T> removed = snapshot(0, size);
+            pages.clear();
+            size = 0;
+            beginChange();
+            nextRemove(0, removed);
+            endChange();
+        } else {
+            pages.clear();
+        }
+        requestPage(0);
+    }
+
+    /**
+     * 数据可能已变化：保留当前显示的内容和滚动位置，只重新加载最近访问的几页，其余页丢弃
+     */
+    public void refresh() {
+        generation++;
+        loadingPages.clear();
+        clearFailures();
+        List<Integer> recent = new ArrayList<>(pages.keySet());
+        List<Integer> reload = recent.subList(Math.max(0, recent.size() - REFRESH_PAGES), recent.size());
+        pages.keySet().retainAll(reload);
+        if (reload.isEmpty()) {
+            requestPage(0);
+        } else {
+            new ArrayList<>(reload).forEach(this::requestPage);
+        }
+    }
+
+    /**
+     * 设置服务端排序参数，变化时从第一页重新加载
+     */
+    public void setSort(String sort) {
+        if (!Objects.equals(this.sort, sort)) {
+            this.sort = sort;
+            reset();
+        }
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    /**
+     * 把表格的列头排序交给服务端：点击列头时按对应字段重新分页加载，不在客户端排序。
+     * 不在 sortProperties 中的列不可排序。
+     *
+     * @param table 表格（items 应为本列表）
+     * @param sortProperties 列到服务端排序字段的映射
+     */
+    public void bindSort(TableView<T> table, Map<TableColumn<T, ?>, String> sortProperties) {
+        table.getColumns().forEach(column -> column.setSortable(sortProperties.containsKey(column)));
+        table.setSortPolicy(tableView -> {
+            StringJoiner orders = new StringJoiner(";");
+            for (TableColumn<T, ?> column : tableView.getSortOrder()) {
+                String property = sortProperties.get(column);
+                if (property != null) {
+                    orders.add(property + "," + (column.getSortType() == TableColumn.SortType.DESCENDING ? "desc" : "asc"));
+                }
+            }
+            setSort(orders.length() > 0 ? orders.toString() : null);
+            return true;
+        });
+    }
+
+    /**
+     * 每加载完一页时回调（JavaFX 线程），可用于更新总数等显示
+     */
+    public void setOnPageLoaded(Consumer<PageData<T>> onPageLoaded) {
+        this.onPageLoaded = onPageLoaded;
+    }
+
+    /**
+     * 加载失败时回调（JavaFX 线程）；每次重置、排序或刷新后最多回调一次，
+     * 失败的页按退避间隔在再次显示时重试
+     */
+    public void setOnLoadFailed(Consumer<Throwable> onLoadFailed) {
+        this.onLoadFailed = onLoadFailed;
+    }
+
+    /**
+     * 正在加载的页数
+     */
+    public int getLoadingPageCount() {
+        return loadingPages.size();
+    }
+
+    /**
+     * 当前保留的已加载页数
+     */
+    public int getLoadedPageCount() {
+        return pages.size();
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    private void prefetch(int page) {
+        if (page * pageSize < size && !pages.containsKey(page)) {
+            requestPage(page);
+        }
+    }
+
+    private void requestPage(int page) {
+        Long retryAt = pageRetryAt.get(page);
+        if (retryAt != null && System.nanoTime() - retryAt < 0) {
+            return;
+        }
+        if (!loadingPages.add(page)) {
+            return;
+        }
+        int requestGeneration = generation;
+        logger.debug("📄 加载第 {} 页 (每页{}条, 排序: {})", page, pageSize, sort);
+        loader.load(page, pageSize, sort).whenComplete((data, throwable) -> fxExecutor.execute(() -> {
+            if (requestGeneration != generation) {
+                return;
+            }
+            loadingPages.remove(page);
+            if (throwable != null || data == null) {
+                long delay = recordFailure(page);
+                logger.warn("⚠️ 加载第 {} 页失败，{}秒后可重试: {}", page, TimeUnit.NANOSECONDS.toSeconds(delay),
+                    throwable != null ? throwable.getMessage() : "无数据");
+                if (onLoadFailed != null && failureReportedGeneration != generation) {
+                    failureReportedGeneration = generation;
+                    onLoadFailed.accept(throwable);
+                }
+                return;
+            }
+            pageFailures.remove(page);
+            pageRetryAt.remove(page);
+            applyPage(page, data);
+        }));
+    }
+
+    /**
+     * 记录一次加载失败，返回到下次允许重试的间隔
+     */
+    private long recordFailure(int page) {
+        int failures = pageFailures.merge(page, 1, Integer::sum);
+        long delay = Math.min(MAX_RETRY_DELAY_NANOS, INITIAL_RETRY_DELAY_NANOS << Math.min(failures - 1, 5));
+        pageRetryAt.put(page, System.nanoTime() + delay);
+        return delay;
+    }
+
+    private void clearFailures() {
+        pageFailures.clear();
+        pageRetryAt.clear();
+    }
+
+    private void applyPage(int page, PageData<T> data) {
+        List<T> content = data.getContent() != null ? new ArrayList<>(data.getContent()) : Collections.emptyList();
+        int from = page * pageSize;
+        beginChange();
+        try {
+            resize((int) Math.min(Integer.MAX_VALUE, data.getTotalElements()));
+            if (from < size) {
+                List<T> previous = pages.put(page, content);
+                int to = Math.min(from + pageSize, size);
+                List<T> removed = new ArrayList<>(to - from);
+                for (int i = 0; i < to - from; i++) {
+                    removed.add(previous != null && i < previous.size() ? previous.get(i) : null);
+                }
+                nextReplace(from, to, removed);
+            }
+        } finally {
+            endChange();
+        }
+        if (onPageLoaded != null) {
+            onPageLoaded.accept(data);
+        }
+    }
+
+    /**
+     * 服务端总数变化时调整列表长度
+     */
+    private void resize(int newSize) {
+        if (newSize > size) {
+            int oldSize = size;
+            size = newSize;
+            nextAdd(oldSize, newSize);
+        } else if (newSize < size) {
+            List<T> removed = snapshot(newSize, size);
+            size = newSize;
+            int lastPage = newSize == 0 ? -1 : (newSize - 1) / pageSize;
+            pages.keySet().removeIf(page -> page > lastPage);
+            nextRemove(newSize, removed);
+        }
+    }
+
+    /**
+     * 已加载的元素（未加载的为 null），不触发加载
+     */
+    private List<T> snapshot(int from, int to) {
+        List<T> items = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            List<T> page = pages.get(i / pageSize);
+            int offset = i % pageSize;
+            items.add(page != null && offset < page.size() ? page.get(offset) : null);
+        }
+        return items;
+    }
+}
@@ -0,0 +1,56 @@
+package com.studyroom.client.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 启动耗时记录工具
+ * 记录从JVM启动到各个启动节点（登录界面显示、首屏数据显示等）的耗时，每个节点只记录第一次。
+ * 例如首屏数据来自磁盘缓存和来自网络时各记一次，便于对比磁盘缓存带来的收益。
+ *
+ * @author Developer
+ * @version 1.0.0
+ * @since 2024
+ */
+public class StartupTimer {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimer.class);
+
+    private static final long JVM_START_TIME = ManagementFactory.getRuntimeMXBean().getStartTime();
+
+    private static final Map<String, Long> milestones = new ConcurrentHashMap<>();
+
+    private StartupTimer() {
+    }
+
+    /**
+     * 记录启动节点，返回距JVM启动的毫秒数；同一节点重复调用时返回第一次的值
+     */
+    public static long mark(String milestone) {
+        long elapsed = System.currentTimeMillis() - JVM_START_TIME;
+        Long previous = milestones.putIfAbsent(milestone, elapsed);
+        if (previous != null) {
+            return previous;
+        }
+        logger.info("⏱️ 启动耗时 [{}]: {} ms", milestone, elapsed);
+        return elapsed;
+    }
+
+    /**
+     * 获取已记录的启动节点耗时（毫秒），未记录时返回 -1
+     */
+    public static long getElapsed(String milestone) {
+        return milestones.getOrDefault(milestone, -1L);
+    }
+
+    /**
+     * 获取所有已记录的启动节点
+     */
+    public static Map<String, Long> getMilestones() {
+        return Map.copyOf(milestones);
+    }
+}
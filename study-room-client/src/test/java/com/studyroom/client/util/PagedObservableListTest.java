@@ -0,0 +1,211 @@
+package com.studyroom.client.util;
+
+import com.studyroom.client.model.PageData;
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 分页可观察列表测试：按需加载、预取、LRU 淘汰、过期响应和失败退避
+ * 加载结果用同步执行器处理，不需要启动 JavaFX
+ *
+ * @author Developer
+ * @version 1.0.0
+ * @since 2024
+ */
+class PagedObservableListTest {
+
+    private static final int PAGE_SIZE = 10;
+
+    private final List<Request> requests = new ArrayList<>();
+    private PagedObservableList<String> list;
+
+    private static final class Request {
+        final int page;
+        final String sort;
+        final CompletableFuture<PageData<String>> future = new CompletableFuture<>();
+
+        Request(int page, String sort) {
+            this.page = page;
+            this.sort = sort;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        list = new PagedObservableList<>(PAGE_SIZE, 3, (page, size, sort) -> {
+            Request request = new Request(page, sort);
+            requests.add(request);
+            return request.future;
+        }, Runnable::run);
+    }
+
+    @Test
+    void loadsFirstPageOnReset() {
+        List<PageData<String>> loaded = new ArrayList<>();
+        list.setOnPageLoaded(loaded::add);
+
+        list.reset();
+        assertEquals(List.of(0), requestedPages());
+        assertEquals(0, list.size());
+
+        complete(0, 45);
+        assertEquals(45, list.size());
+        assertEquals("item-3", list.get(3));
+        assertEquals(1, loaded.size());
+        assertEquals(0, list.getLoadingPageCount());
+    }
+
+    @Test
+    void requestsUnloadedPageOnceWhileLoading() {
+        list.reset();
+        complete(0, 45);
+
+        assertNull(list.get(25));
+        assertNull(list.get(26));
+        assertEquals(List.of(0, 2), requestedPages());
+
+        complete(2, 45);
+        assertEquals("item-25", list.get(25));
+    }
+
+    @Test
+    void prefetchesNextPageFromSecondHalfOnly() {
+        list.reset();
+        complete(0, 45);
+
+        list.get(PAGE_SIZE / 2 - 1);
+        assertEquals(List.of(0), requestedPages());
+
+        list.get(PAGE_SIZE / 2);
+        assertEquals(List.of(0, 1), requestedPages());
+    }
+
+    @Test
+    void doesNotPrefetchPastLastPage() {
+        list.reset();
+        complete(0, 8);
+
+        assertEquals("item-7", list.get(7));
+        assertEquals(List.of(0), requestedPages());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedPages() {
+        list.reset();
+        complete(0, 100);
+        for (int page = 1; page <= 3; page++) {
+            list.get(page * PAGE_SIZE);
+            complete(page, 100);
+        }
+
+        assertEquals(3, list.getLoadedPageCount());
+        assertNull(list.get(0));
+        assertEquals(0, last().page);
+    }
+
+    @Test
+    void ignoresResponsesFromBeforeSortChange() {
+        list.reset();
+        Request stale = last();
+
+        list.setSort("createdAt,desc");
+        assertEquals("createdAt,desc", last().sort);
+
+        stale.future.complete(page(0, 45));
+        assertEquals(0, list.size());
+
+        complete(0, 12);
+        assertEquals(12, list.size());
+    }
+
+    @Test
+    void reportsFailureOnceAndBacksOffRetries() {
+        List<Throwable> failures = new ArrayList<>();
+        list.setOnLoadFailed(failures::add);
+        list.reset();
+        complete(0, 45);
+
+        list.get(25);
+        last().future.completeExceptionally(new IllegalStateException("timeout"));
+        list.get(35);
+        last().future.completeExceptionally(new IllegalStateException("timeout"));
+        assertEquals(1, failures.size());
+
+        // 退避期内再次显示不会重复请求
+        int before = requests.size();
+        assertNull(list.get(25));
+        assertEquals(before, requests.size());
+
+        // 刷新清除失败记录，可以立即重试
+        list.refresh();
+        list.get(25);
+        assertEquals(2, last().page);
+    }
+
+    @Test
+    void shrinksWhenTotalDecreases() {
+        list.reset();
+        complete(0, 45);
+        list.get(35);
+        complete(3, 45);
+
+        List<Integer> removedFrom = new ArrayList<>();
+        list.addListener((ListChangeListener<String>) change -> {
+            while (change.next()) {
+                if (change.wasRemoved() && !change.wasReplaced()) {
+                    removedFrom.add(change.getFrom());
+                }
+            }
+        });
+
+        list.refresh();
+        completeAll(20);
+        assertEquals(20, list.size());
+        assertEquals(List.of(20), removedFrom);
+        assertFalse(list.contains("item-35"));
+        assertTrue(list.contains("item-5"));
+    }
+
+    private void complete(int page, long total) {
+        Request request = requests.stream()
+            .filter(r -> r.page == page && !r.future.isDone())
+            .reduce((first, second) -> second)
+            .orElseThrow();
+        request.future.complete(page(page, total));
+    }
+
+    private void completeAll(long total) {
+        new ArrayList<>(requests).stream()
+            .filter(r -> !r.future.isDone())
+            .forEach(r -> r.future.complete(page(r.page, total)));
+    }
+
+    private static PageData<String> page(int page, long total) {
+        int from = page * PAGE_SIZE;
+        int to = (int) Math.min(total, from + PAGE_SIZE);
+        List<String> content = IntStream.range(from, Math.max(from, to))
+            .mapToObj(i -> "item-" + i)
+            .collect(Collectors.toList());
+        return new PageData<>(content, page, PAGE_SIZE, total);
+    }
+
+    private List<Integer> requestedPages() {
+        return requests.stream().map(r -> r.page).collect(Collectors.toList());
+    }
+
+    private Request last() {
+        return requests.get(requests.size() - 1);
+    }
+}
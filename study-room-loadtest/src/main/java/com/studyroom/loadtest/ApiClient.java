@@ -0,0 +1,183 @@
+package com.studyroom.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * 压测用的 REST 客户端
+ * 基于 JDK 的 java.net.http，所有虚拟用户共享同一个 HttpClient（连接池复用）。
+ * 每次调用都计入当前阶段的统计，调用方通过 rejectedStatuses 声明哪些状态码属于预期的业务拒绝。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+final class ApiClient {
+
+    private final URI baseUrl;
+    private final Duration requestTimeout;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private volatile StageMetrics metrics = new StageMetrics();
+
+    ApiClient(URI baseUrl, Duration requestTimeout) {
+        this.baseUrl = baseUrl;
+        this.requestTimeout = requestTimeout;
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(requestTimeout)
+            .build();
+    }
+
+    /**
+     * 切换统计目标（阶段开始、预热结束时调用）
+     */
+    void useMetrics(StageMetrics stageMetrics) {
+        this.metrics = stageMetrics;
+    }
+
+    Result get(String operation, String path, String token, int... rejectedStatuses) {
+        return send(operation, newRequest(path, token).GET(), rejectedStatuses);
+    }
+
+    Result post(String operation, String path, String token, Object body, int... rejectedStatuses) {
+        return send(operation, newRequest(path, token).POST(bodyOf(body)), rejectedStatuses);
+    }
+
+    Result put(String operation, String path, String token, Object body, int... rejectedStatuses) {
+        return send(operation, newRequest(path, token).PUT(bodyOf(body)), rejectedStatuses);
+    }
+
+    private HttpRequest.Builder newRequest(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(requestTimeout)
+            .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher bodyOf(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("请求体无法序列化", e);
+        }
+    }
+
+    private Result send(String operation, HttpRequest.Builder builder, int[] rejectedStatuses) {
+        HttpRequest request = builder.header("Content-Type", "application/json").build();
+        StageMetrics target = metrics;
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            long elapsed = System.nanoTime() - start;
+            String message = e.getClass().getSimpleName();
+            target.record(operation, elapsed, OperationStats.NO_RESPONSE, OperationStats.Outcome.FAILED, message);
+            return new Result(OperationStats.NO_RESPONSE, MissingNode.getInstance(), message, 0);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Result(OperationStats.NO_RESPONSE, MissingNode.getInstance(), "interrupted", 0);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        JsonNode root = parse(response.body());
+        int status = response.statusCode();
+        String message = root.path("message").asText(null);
+        OperationStats.Outcome outcome;
+        if (status >= 200 && status < 300) {
+            outcome = OperationStats.Outcome.SUCCEEDED;
+        } else if (contains(rejectedStatuses, status)) {
+            outcome = OperationStats.Outcome.REJECTED;
+        } else {
+            outcome = OperationStats.Outcome.FAILED;
+        }
+        target.record(operation, elapsed, status, outcome, message);
+        return new Result(status, root, message, retryAfterOf(response));
+    }
+
+    private JsonNode parse(byte[] body) {
+        if (body == null || body.length == 0) {
+            return MissingNode.getInstance();
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return MissingNode.getInstance();
+        }
+    }
+
+    private static long retryAfterOf(HttpResponse<?> response) {
+        return response.headers().firstValue("Retry-After")
+            .map(value -> {
+                try {
+                    return Long.parseLong(value.trim()) * 1000;
+                } catch (NumberFormatException e) {
+                    return 1000L;
+                }
+            })
+            .orElse(0L);
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int candidate : values) {
+            if (candidate == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 一次调用的结果
+     */
+    static final class Result {
+
+        private final int status;
+        private final JsonNode root;
+        private final String message;
+        private final long retryAfterMillis;
+
+        Result(int status, JsonNode root, String message, long retryAfterMillis) {
+            this.status = status;
+            this.root = root;
+            this.message = message;
+            this.retryAfterMillis = retryAfterMillis;
+        }
+
+        boolean isSuccess() {
+            return status >= 200 && status < 300;
+        }
+
+        int getStatus() {
+            return status;
+        }
+
+        /**
+         * ApiResponse 的 data 字段，不存在时返回 MissingNode
+         */
+        JsonNode data() {
+            return root.path("data");
+        }
+
+        String getMessage() {
+            return message;
+        }
+
+        long getRetryAfterMillis() {
+            return retryAfterMillis;
+        }
+    }
+}
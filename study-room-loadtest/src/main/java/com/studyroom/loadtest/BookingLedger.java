@@ -0,0 +1,155 @@
+package com.studyroom.loadtest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 压测过程中创建成功的预订台账
+ * 记录服务端确认创建（201）的每个预订及其是否已被取消，用于事后检测同一座位的时间重叠，
+ * 以及确定需要到服务端核对的座位范围。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+final class BookingLedger {
+
+    private final ConcurrentLinkedQueue<Booking> bookings = new ConcurrentLinkedQueue<>();
+    private final Set<Long> cancelled = ConcurrentHashMap.newKeySet();
+
+    void created(long reservationId, long seatId, LocalDateTime start, LocalDateTime end) {
+        bookings.add(new Booking(reservationId, seatId, start, end));
+    }
+
+    void cancelled(long reservationId) {
+        cancelled.add(reservationId);
+    }
+
+    int size() {
+        return bookings.size();
+    }
+
+    /**
+     * 压测中创建过预订的座位
+     */
+    Set<Long> touchedSeats() {
+        Set<Long> seats = new TreeSet<>();
+        for (Booking booking : bookings) {
+            seats.add(booking.seatId);
+        }
+        return seats;
+    }
+
+    /**
+     * 找出同一座位上时间重叠且都未取消的预订
+     * @return 每一项为一对重叠的预订
+     */
+    List<Overlap> findOverlaps() {
+        Map<Long, List<Interval>> bySeat = new HashMap<>();
+        for (Booking booking : bookings) {
+            if (!cancelled.contains(booking.reservationId)) {
+                bySeat.computeIfAbsent(booking.seatId, k -> new ArrayList<>())
+                    .add(new Interval(booking.reservationId, booking.start, booking.end));
+            }
+        }
+        List<Overlap> overlaps = new ArrayList<>();
+        bySeat.forEach((seatId, intervals) -> overlaps.addAll(findOverlaps(seatId, intervals)));
+        return overlaps;
+    }
+
+    /**
+     * 在同一座位的预订中找出时间重叠的预订对（按开始时间排序后与当前最晚结束的预订比较）
+     */
+    static List<Overlap> findOverlaps(long seatId, List<Interval> intervals) {
+        List<Overlap> overlaps = new ArrayList<>();
+        intervals.sort(Comparator.comparing(Interval::getStart));
+        Interval latest = null;
+        for (Interval interval : intervals) {
+            if (latest != null && interval.start.isBefore(latest.end)) {
+                overlaps.add(new Overlap(seatId, latest, interval));
+            }
+            if (latest == null || interval.end.isAfter(latest.end)) {
+                latest = interval;
+            }
+        }
+        return overlaps;
+    }
+
+    private static final class Booking {
+        private final long reservationId;
+        private final long seatId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        Booking(long reservationId, long seatId, LocalDateTime start, LocalDateTime end) {
+            this.reservationId = reservationId;
+            this.seatId = seatId;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    /**
+     * 一个预订占用的时间段
+     */
+    static final class Interval {
+        private final long reservationId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        Interval(long reservationId, LocalDateTime start, LocalDateTime end) {
+            this.reservationId = reservationId;
+            this.start = start;
+            this.end = end;
+        }
+
+        long getReservationId() {
+            return reservationId;
+        }
+
+        LocalDateTime getStart() {
+            return start;
+        }
+
+        LocalDateTime getEnd() {
+            return end;
+        }
+    }
+
+    /**
+     * 一对重叠的预订（重复预订）
+     */
+    static final class Overlap {
+        private final long seatId;
+        private final Interval first;
+        private final Interval second;
+
+        Overlap(long seatId, Interval first, Interval second) {
+            this.seatId = seatId;
+            this.first = first;
+            this.second = second;
+        }
+
+        Map<String, Object> toMap() {
+            return Map.of(
+                "seatId", seatId,
+                "first", Map.of("reservationId", first.reservationId,
+                    "startTime", first.start.toString(), "endTime", first.end.toString()),
+                "second", Map.of("reservationId", second.reservationId,
+                    "startTime", second.start.toString(), "endTime", second.end.toString()));
+        }
+
+        @Override
+        public String toString() {
+            return "座位 " + seatId + ": 预订 " + first.reservationId + " [" + first.start + ", " + first.end + ") 与 "
+                + second.reservationId + " [" + second.start + ", " + second.end + ")";
+        }
+    }
+}
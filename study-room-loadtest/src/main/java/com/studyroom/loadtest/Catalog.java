@@ -0,0 +1,51 @@
+package com.studyroom.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 压测开始前从服务端读取的自习室和座位ID
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+final class Catalog {
+
+    private final long[] roomIds;
+    private final long[] seatIds;
+    private final long[] stormSeatIds;
+
+    Catalog(long[] roomIds, Map<Long, long[]> seatsByRoom, int stormSeats) {
+        this.roomIds = roomIds.clone();
+        this.seatIds = seatsByRoom.values().stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        if (roomIds.length == 0 || seatIds.length == 0) {
+            throw new IllegalStateException("服务端没有可用的自习室或座位");
+        }
+        this.stormSeatIds = Arrays.copyOf(seatIds, Math.min(stormSeats, seatIds.length));
+    }
+
+    long randomRoom(Random random) {
+        return roomIds[random.nextInt(roomIds.length)];
+    }
+
+    long randomSeat(Random random) {
+        return seatIds[random.nextInt(seatIds.length)];
+    }
+
+    long randomStormSeat(Random random) {
+        return stormSeatIds[random.nextInt(stormSeatIds.length)];
+    }
+
+    int getRoomCount() {
+        return roomIds.length;
+    }
+
+    int getSeatCount() {
+        return seatIds.length;
+    }
+
+    long[] getStormSeatIds() {
+        return stormSeatIds.clone();
+    }
+}
@@ -0,0 +1,72 @@
+package com.studyroom.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 从服务端核对重复预订
+ * 逐个查询压测中创建过预订的座位的全部预订（包括压测之外产生的），
+ * 找出同一座位上时间重叠且都未取消的预订。与客户端台账的检查互为补充：
+ * 台账只知道压测自己创建的预订，服务端核对以数据库中的实际状态为准。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+final class DoubleBookingVerifier {
+
+    private static final String CANCELLED = "CANCELLED";
+
+    private final ApiClient client;
+    private final String token;
+
+    DoubleBookingVerifier(ApiClient client, String token) {
+        this.client = client;
+        this.token = token;
+    }
+
+    /**
+     * 核对给定座位
+     * @param seatIds 座位ID
+     * @return 服务端数据中的重叠预订
+     * @throws IllegalStateException 某个座位的预订查询失败
+     */
+    List<BookingLedger.Overlap> verify(Collection<Long> seatIds) {
+        List<BookingLedger.Overlap> overlaps = new ArrayList<>();
+        for (long seatId : seatIds) {
+            ApiClient.Result result = client.get("verify.reservations-by-seat", "/api/reservations/seat/" + seatId, token);
+            if (!result.isSuccess()) {
+                throw new IllegalStateException("查询座位 " + seatId + " 的预订失败: "
+                    + result.getStatus() + " " + result.getMessage());
+            }
+            List<BookingLedger.Interval> intervals = new ArrayList<>();
+            for (JsonNode reservation : result.data().path("reservations")) {
+                if (CANCELLED.equals(reservation.path("status").asText())) {
+                    continue;
+                }
+                LocalDateTime start = parseTime(reservation.path("startTime"));
+                LocalDateTime end = parseTime(reservation.path("endTime"));
+                if (start != null && end != null) {
+                    intervals.add(new BookingLedger.Interval(reservation.path("id").asLong(), start, end));
+                }
+            }
+            overlaps.addAll(BookingLedger.findOverlaps(seatId, intervals));
+        }
+        return overlaps;
+    }
+
+    private static LocalDateTime parseTime(JsonNode node) {
+        if (!node.isTextual()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(node.asText());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.studyroom.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 压测参数
+ * 从 {@code --key=value} 形式的命令行参数解析，未指定的参数使用默认值。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+public final class LoadTestConfig {
+
+    /**
+     * 压测场景
+     */
+    public enum Scenario {
+        /** 浏览、查座位、查冲突、预订、支付、签到、取消的混合流量 */
+        MIXED,
+        /** 所有用户每轮同时抢同一批座位的同一时段 */
+        STORM
+    }
+
+    static final String USAGE = String.join(System.lineSeparator(),
+        "用法: java -jar loadtest.jar [参数]",
+        "  --base-url=http://localhost:8080   服务端地址",
+        "  --users=10,50,100                  各阶段并发用户数（逐级加压）",
+        "  --duration=60                      每个阶段的统计时长（秒）",
+        "  --warmup=10                        每个阶段开始前的预热时长（秒，不计入统计）",
+        "  --scenario=mixed|storm             压测场景",
+        "  --think-ms=200                     用户两次操作之间的平均思考时间（毫秒）",
+        "  --storm-seats=4                    storm 场景争抢的座位数",
+        "  --seed=42                          随机种子（相同种子产生相同的操作序列）",
+        "  --user-prefix=loadtest             压测用户名前缀，不存在时自动注册",
+        "  --password=LoadTest#2024           压测用户密码",
+        "  --timeout-ms=10000                 单个请求超时（毫秒）",
+        "  --results-dir=target/loadtest-results  JSON 报告输出目录",
+        "  --verify=true                      结束后从服务端核对重复预订");
+
+    private final URI baseUrl;
+    private final int[] userStages;
+    private final Duration stageDuration;
+    private final Duration warmup;
+    private final Scenario scenario;
+    private final long thinkMillis;
+    private final int stormSeats;
+    private final long seed;
+    private final String userPrefix;
+    private final String password;
+    private final Duration requestTimeout;
+    private final Path resultsDir;
+    private final boolean verify;
+
+    private LoadTestConfig(Map<String, String> options) {
+        String url = options.getOrDefault("base-url", "http://localhost:8080");
+        this.baseUrl = URI.create(url.endsWith("/") ? url.substring(0, url.length() - 1) : url);
+        this.userStages = Arrays.stream(options.getOrDefault("users", "10,50,100").split(","))
+            .map(String::trim)
+            .filter(s -> !s.isEmpty())
+            .mapToInt(Integer::parseInt)
+            .toArray();
+        this.stageDuration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        this.warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        this.scenario = Scenario.valueOf(options.getOrDefault("scenario", "mixed").toUpperCase(Locale.ROOT));
+        this.thinkMillis = Long.parseLong(options.getOrDefault("think-ms", "200"));
+        this.stormSeats = Integer.parseInt(options.getOrDefault("storm-seats", "4"));
+        this.seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        this.userPrefix = options.getOrDefault("user-prefix", "loadtest");
+        this.password = options.getOrDefault("password", "LoadTest#2024");
+        this.requestTimeout = Duration.ofMillis(Long.parseLong(options.getOrDefault("timeout-ms", "10000")));
+        this.resultsDir = Paths.get(options.getOrDefault("results-dir", "target/loadtest-results"));
+        this.verify = Boolean.parseBoolean(options.getOrDefault("verify", "true"));
+
+        if (userStages.length == 0 || Arrays.stream(userStages).anyMatch(n -> n <= 0)) {
+            throw new IllegalArgumentException("--users 必须是正整数列表");
+        }
+        if (stageDuration.isZero() || stageDuration.isNegative()) {
+            throw new IllegalArgumentException("--duration 必须大于 0");
+        }
+        if (stormSeats <= 0) {
+            throw new IllegalArgumentException("--storm-seats 必须大于 0");
+        }
+    }
+
+    /**
+     * 解析命令行参数
+     * @param args 命令行参数
+     * @return 压测参数
+     * @throws IllegalArgumentException 参数格式错误
+     */
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("无法识别的参数: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestConfig(options);
+    }
+
+    public URI getBaseUrl() {
+        return baseUrl;
+    }
+
+    public int[] getUserStages() {
+        return userStages.clone();
+    }
+
+    public int getMaxUsers() {
+        return Arrays.stream(userStages).max().orElse(0);
+    }
+
+    public Duration getStageDuration() {
+        return stageDuration;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public Scenario getScenario() {
+        return scenario;
+    }
+
+    public long getThinkMillis() {
+        return thinkMillis;
+    }
+
+    public int getStormSeats() {
+        return stormSeats;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public String getUserPrefix() {
+        return userPrefix;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public Path getResultsDir() {
+        return resultsDir;
+    }
+
+    public boolean isVerify() {
+        return verify;
+    }
+
+    /**
+     * 参数摘要（写入报告）
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("baseUrl", baseUrl.toString());
+        map.put("users", userStages);
+        map.put("durationSeconds", stageDuration.getSeconds());
+        map.put("warmupSeconds", warmup.getSeconds());
+        map.put("scenario", scenario.name());
+        map.put("thinkMillis", thinkMillis);
+        map.put("stormSeats", stormSeats);
+        map.put("seed", seed);
+        map.put("userPrefix", userPrefix);
+        map.put("timeoutMillis", requestTimeout.toMillis());
+        return map;
+    }
+}
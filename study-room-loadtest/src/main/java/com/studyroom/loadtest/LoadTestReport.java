@@ -0,0 +1,185 @@
+package com.studyroom.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 压测报告
+ * 在控制台输出每个阶段的接口统计、创建预订的延迟分布和各阶段汇总，
+ * 并以 JSON 写入结果目录（带时间戳的文件 + latest.json）。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+final class LoadTestReport {
+
+    private static final int MAX_LISTED_OVERLAPS = 50;
+    private static final long[] HISTOGRAM_BOUNDS_MICROS = {
+        1_000, 2_000, 5_000, 10_000, 20_000, 50_000, 100_000, 200_000, 500_000, 1_000_000, 2_000_000, 5_000_000
+    };
+    private static final int HISTOGRAM_WIDTH = 40;
+
+    private final LoadTestConfig config;
+    private final String executorType;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final List<StageResult> stages = new ArrayList<>();
+    private Catalog catalog;
+    private int signedInUsers;
+    private int bookingsCreated;
+    private List<BookingLedger.Overlap> ledgerOverlaps = List.of();
+    private List<BookingLedger.Overlap> serverOverlaps = List.of();
+    private int verifiedSeats = -1;
+
+    LoadTestReport(LoadTestConfig config, String executorType) {
+        this.config = config;
+        this.executorType = executorType;
+    }
+
+    void setSetup(Catalog catalog, int signedInUsers) {
+        this.catalog = catalog;
+        this.signedInUsers = signedInUsers;
+    }
+
+    void addStage(StageResult stage) {
+        stages.add(stage);
+    }
+
+    void setDoubleBookings(int bookingsCreated, List<BookingLedger.Overlap> ledgerOverlaps,
+                           List<BookingLedger.Overlap> serverOverlaps, int verifiedSeats) {
+        this.bookingsCreated = bookingsCreated;
+        this.ledgerOverlaps = ledgerOverlaps;
+        this.serverOverlaps = serverOverlaps;
+        this.verifiedSeats = verifiedSeats;
+    }
+
+    boolean hasDoubleBookings() {
+        return !ledgerOverlaps.isEmpty() || !serverOverlaps.isEmpty();
+    }
+
+    /**
+     * 输出单个阶段的统计
+     */
+    static void printStage(PrintStream out, int index, StageResult stage) {
+        out.printf("%n=== 阶段 %d: %d 个并发用户, 统计 %.1f 秒 ===%n", index, stage.getUsers(), stage.getSeconds());
+        out.printf("%-28s %9s %9s %8s %8s %8s %9s %9s %9s %9s %10s%n",
+            "操作", "请求数", "成功", "拒绝", "失败", "错误率", "吞吐/s", "p50 ms", "p90 ms", "p99 ms", "最大 ms");
+        for (OperationStats stats : stage.getMetrics().getOperations()) {
+            printOperation(out, stats, stage.getSeconds());
+        }
+        printOperation(out, stage.getMetrics().getOverall(), stage.getSeconds());
+
+        OperationStats create = stage.getMetrics().get(SimulatedUser.OP_CREATE);
+        if (create != null && create.getCount() > 0) {
+            out.println();
+            out.println("创建预订延迟分布:");
+            printHistogram(out, create.getHistogram());
+        }
+    }
+
+    /**
+     * 输出各阶段汇总和重复预订检测结果
+     */
+    void printSummary(PrintStream out) {
+        out.printf("%n=== 汇总 (%s, 用户线程: %s) ===%n", config.getScenario(), executorType);
+        out.printf("%8s %12s %12s %12s %14s %10s%n", "用户数", "请求/s", "预订/s", "整体 p99 ms", "创建 p99 ms", "错误率");
+        for (StageResult stage : stages) {
+            out.printf("%8d %12.1f %12.2f %12.1f %14.1f %9.2f%%%n",
+                stage.getUsers(), stage.getRequestsPerSecond(), stage.getBookingsPerSecond(),
+                stage.getMetrics().getOverall().getHistogram().percentile(99) / 1000.0,
+                stage.getCreateP99Micros() / 1000.0,
+                stage.getMetrics().getOverall().getErrorRate() * 100);
+        }
+
+        out.println();
+        out.printf("共创建预订 %d 个；客户端台账重叠 %d 对", bookingsCreated, ledgerOverlaps.size());
+        if (verifiedSeats >= 0) {
+            out.printf("；服务端核对 %d 个座位，重叠 %d 对", verifiedSeats, serverOverlaps.size());
+        }
+        out.println();
+        if (hasDoubleBookings()) {
+            out.println("检测到重复预订:");
+            List<BookingLedger.Overlap> overlaps = serverOverlaps.isEmpty() ? ledgerOverlaps : serverOverlaps;
+            overlaps.stream().limit(MAX_LISTED_OVERLAPS).forEach(overlap -> out.println("  " + overlap));
+        }
+    }
+
+    /**
+     * 以 JSON 写入结果目录
+     * @return 报告文件
+     */
+    Path write() throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", startedAt.toString());
+        report.put("config", config.toMap());
+        report.put("userThreads", executorType);
+        if (catalog != null) {
+            report.put("rooms", catalog.getRoomCount());
+            report.put("seats", catalog.getSeatCount());
+            report.put("stormSeatIds", catalog.getStormSeatIds());
+        }
+        report.put("signedInUsers", signedInUsers);
+        List<Map<String, Object>> stageMaps = new ArrayList<>();
+        for (StageResult stage : stages) {
+            stageMaps.add(stage.toMap());
+        }
+        report.put("stages", stageMaps);
+
+        Map<String, Object> doubleBookings = new LinkedHashMap<>();
+        doubleBookings.put("bookingsCreated", bookingsCreated);
+        doubleBookings.put("ledgerOverlaps", toMaps(ledgerOverlaps));
+        doubleBookings.put("verifiedSeats", verifiedSeats);
+        doubleBookings.put("serverOverlaps", toMaps(serverOverlaps));
+        report.put("doubleBookings", doubleBookings);
+
+        Path dir = config.getResultsDir();
+        Files.createDirectories(dir);
+        String timestamp = startedAt.format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path file = dir.resolve("loadtest-" + timestamp + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        Files.copy(file, dir.resolve("latest.json"), StandardCopyOption.REPLACE_EXISTING);
+        return file;
+    }
+
+    private static List<Map<String, Object>> toMaps(List<BookingLedger.Overlap> overlaps) {
+        List<Map<String, Object>> maps = new ArrayList<>();
+        overlaps.stream().limit(MAX_LISTED_OVERLAPS).forEach(overlap -> maps.add(overlap.toMap()));
+        return maps;
+    }
+
+    private static void printOperation(PrintStream out, OperationStats stats, double seconds) {
+        LatencyHistogram histogram = stats.getHistogram();
+        long rejected = stats.getCount() - stats.getSucceeded() - stats.getFailed();
+        out.printf("%-28s %9d %9d %8d %8d %7.2f%% %9.1f %9.1f %9.1f %9.1f %10.1f%n",
+            stats.getName(), stats.getCount(), stats.getSucceeded(), rejected, stats.getFailed(),
+            stats.getErrorRate() * 100, stats.getCount() / seconds,
+            histogram.percentile(50) / 1000.0, histogram.percentile(90) / 1000.0,
+            histogram.percentile(99) / 1000.0, histogram.getMaxMicros() / 1000.0);
+    }
+
+    private static void printHistogram(PrintStream out, LatencyHistogram histogram) {
+        long[] counts = histogram.countsBelow(HISTOGRAM_BOUNDS_MICROS);
+        long max = 1;
+        for (long count : counts) {
+            max = Math.max(max, count);
+        }
+        for (int i = 0; i < counts.length; i++) {
+            String label = i < HISTOGRAM_BOUNDS_MICROS.length
+                ? "<= " + HISTOGRAM_BOUNDS_MICROS[i] / 1000 + " ms"
+                : "> " + HISTOGRAM_BOUNDS_MICROS[HISTOGRAM_BOUNDS_MICROS.length - 1] / 1000 + " ms";
+            int width = (int) (counts[i] * HISTOGRAM_WIDTH / max);
+            out.printf("  %-12s %-" + HISTOGRAM_WIDTH + "s %d%n", label, "#".repeat(width), counts[i]);
+        }
+    }
+}
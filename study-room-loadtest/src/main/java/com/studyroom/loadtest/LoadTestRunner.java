@@ -0,0 +1,299 @@
+package com.studyroom.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 压测入口
+ * 针对本地启动的服务端（建议使用 loadtest 配置文件，放宽登录限流并关闭 SQL 日志）：
+ * 登录（不存在时先注册）N 个压测用户，按 --users 给出的并发数逐级加压，
+ * 每级先预热再统计，最后输出吞吐、延迟分布、错误率，并检测重复预订。
+ *
+ * <p>每个模拟用户占用一个线程。运行在 Java 21 及以上时使用虚拟线程，
+ * 否则使用普通的守护线程（模块按 Java 17 编译，通过反射判断）。
+ *
+ * <p>退出码：0 正常；1 参数错误或无法完成准备；2 检测到重复预订。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+public final class LoadTestRunner {
+
+    private static final int SIGN_IN_CONCURRENCY = 8;
+    private static final int MAX_SIGN_IN_ATTEMPTS = 5;
+    private static final long SERVER_WAIT_MILLIS = 60_000;
+    private static final int ROOM_PAGE_SIZE = 100;
+    private static final long STAGE_SHUTDOWN_GRACE_MILLIS = 30_000;
+
+    private final LoadTestConfig config;
+    private final ApiClient client;
+    private final BookingLedger ledger = new BookingLedger();
+    private final ExecutorService userExecutor;
+    private final String executorType;
+
+    private LoadTestRunner(LoadTestConfig config) {
+        this.config = config;
+        this.client = new ApiClient(config.getBaseUrl(), config.getRequestTimeout());
+        ExecutorService virtualThreads = newVirtualThreadExecutor();
+        this.userExecutor = virtualThreads != null ? virtualThreads : Executors.newCachedThreadPool(daemonThreads("loadtest-user"));
+        this.executorType = virtualThreads != null ? "virtual" : "platform";
+    }
+
+    public static void main(String[] args) {
+        if (Arrays.asList(args).contains("--help") || Arrays.asList(args).contains("-h")) {
+            System.out.println(LoadTestConfig.USAGE);
+            return;
+        }
+        LoadTestConfig config;
+        try {
+            config = LoadTestConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadTestConfig.USAGE);
+            System.exit(1);
+            return;
+        }
+
+        LoadTestRunner runner = new LoadTestRunner(config);
+        int exitCode;
+        try {
+            exitCode = runner.run();
+        } catch (Exception e) {
+            System.err.println("压测失败: " + e.getMessage());
+            e.printStackTrace();
+            exitCode = 1;
+        } finally {
+            runner.userExecutor.shutdownNow();
+        }
+        System.exit(exitCode);
+    }
+
+    private int run() throws Exception {
+        LoadTestReport report = new LoadTestReport(config, executorType);
+        System.out.printf("压测目标 %s，场景 %s，并发阶段 %s，用户线程: %s%n",
+            config.getBaseUrl(), config.getScenario(), Arrays.toString(config.getUserStages()), executorType);
+
+        waitForServer();
+        List<SimulatedUser> users = signIn(config.getMaxUsers());
+        String token = users.get(0).getToken();
+        Catalog catalog = loadCatalog(token);
+        report.setSetup(catalog, users.size());
+        System.out.printf("已登录 %d 个用户，自习室 %d 间，座位 %d 个%n",
+            users.size(), catalog.getRoomCount(), catalog.getSeatCount());
+
+        // 抢座时段从明天开始，每个阶段接着上一阶段的最后一轮往后排，避免与之前的预订冲突
+        LocalDateTime stormBase = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS).plusDays(1);
+        int[] stages = config.getUserStages();
+        for (int i = 0; i < stages.length; i++) {
+            StageResult stage = runStage(users.subList(0, stages[i]), catalog, stormBase);
+            LoadTestReport.printStage(System.out, i + 1, stage);
+            report.addStage(stage);
+            stormBase = stormBase.plusHours(2L * (stage.getStormRounds() + 1));
+        }
+
+        client.useMetrics(new StageMetrics());
+        List<BookingLedger.Overlap> serverOverlaps = List.of();
+        int verifiedSeats = -1;
+        if (config.isVerify()) {
+            DoubleBookingVerifier verifier = new DoubleBookingVerifier(client, token);
+            serverOverlaps = verifier.verify(ledger.touchedSeats());
+            verifiedSeats = ledger.touchedSeats().size();
+        }
+        report.setDoubleBookings(ledger.size(), ledger.findOverlaps(), serverOverlaps, verifiedSeats);
+        report.printSummary(System.out);
+
+        Path file = report.write();
+        System.out.println("压测报告已写入 " + file.toAbsolutePath());
+        return report.hasDoubleBookings() ? 2 : 0;
+    }
+
+    private StageResult runStage(List<SimulatedUser> users, Catalog catalog, LocalDateTime stormBase) throws Exception {
+        AtomicBoolean stop = new AtomicBoolean();
+        Phaser phaser = new Phaser(users.size());
+        client.useMetrics(new StageMetrics());
+
+        List<Future<?>> futures = new ArrayList<>(users.size());
+        for (SimulatedUser user : users) {
+            futures.add(userExecutor.submit(() -> {
+                if (config.getScenario() == LoadTestConfig.Scenario.STORM) {
+                    user.runStorm(client, catalog, ledger, stop, phaser, stormBase);
+                } else {
+                    user.runMixed(client, catalog, ledger, stop, config.getThinkMillis());
+                }
+            }));
+        }
+
+        Thread.sleep(config.getWarmup().toMillis());
+        StageMetrics measured = new StageMetrics();
+        client.useMetrics(measured);
+        long started = System.nanoTime();
+        Thread.sleep(config.getStageDuration().toMillis());
+        // 之后完成的请求不再计入本阶段
+        client.useMetrics(new StageMetrics());
+        double seconds = (System.nanoTime() - started) / 1e9;
+        stop.set(true);
+
+        long deadline = System.currentTimeMillis() + config.getRequestTimeout().toMillis() + STAGE_SHUTDOWN_GRACE_MILLIS;
+        for (Future<?> future : futures) {
+            try {
+                future.get(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                System.err.println("模拟用户异常退出: " + e.getCause());
+            } catch (TimeoutException e) {
+                future.cancel(true);
+            }
+        }
+
+        // 终止后 getPhase() 为负数，低位仍是终止时的轮次
+        int stormRounds = config.getScenario() == LoadTestConfig.Scenario.STORM
+            ? phaser.getPhase() & Integer.MAX_VALUE : 0;
+        return new StageResult(users.size(), seconds, measured, stormRounds);
+    }
+
+    private void waitForServer() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + SERVER_WAIT_MILLIS;
+        while (true) {
+            ApiClient.Result result = client.get("setup.ping", "/api/auth/check-username/" + config.getUserPrefix(), null);
+            if (result.getStatus() != OperationStats.NO_RESPONSE) {
+                return;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("无法连接服务端 " + config.getBaseUrl());
+            }
+            Thread.sleep(1000);
+        }
+    }
+
+    /**
+     * 并行登录压测用户，用户不存在时先注册
+     */
+    private List<SimulatedUser> signIn(int count) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(SIGN_IN_CONCURRENCY, daemonThreads("loadtest-sign-in"));
+        try {
+            List<Future<SimulatedUser>> futures = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                futures.add(pool.submit(() -> signInUser(index)));
+            }
+            List<SimulatedUser> users = new ArrayList<>(count);
+            for (Future<SimulatedUser> future : futures) {
+                try {
+                    users.add(future.get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("压测用户登录失败: " + e.getCause().getMessage(), e.getCause());
+                }
+            }
+            return users;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private SimulatedUser signInUser(int index) throws InterruptedException {
+        String username = String.format("%s_%04d", config.getUserPrefix(), index);
+        boolean registered = false;
+        for (int attempt = 1; attempt <= MAX_SIGN_IN_ATTEMPTS; attempt++) {
+            Map<String, Object> login = new HashMap<>();
+            login.put("username", username);
+            login.put("password", config.getPassword());
+            ApiClient.Result result = client.post("setup.login", "/api/auth/login", null, login, 401, 429);
+            if (result.isSuccess()) {
+                // 种子由全局种子和用户序号决定，保证相同参数下每个用户的操作序列一致
+                return new SimulatedUser(username, result.data().path("token").asText(),
+                    config.getSeed() * 1_000_003L + index);
+            }
+            if (result.getStatus() == 429) {
+                Thread.sleep(Math.max(result.getRetryAfterMillis(), 1000));
+            } else if (result.getStatus() == 401 && !registered) {
+                register(username, index);
+                registered = true;
+            } else {
+                throw new IllegalStateException(username + " 登录失败: " + result.getStatus() + " " + result.getMessage());
+            }
+        }
+        throw new IllegalStateException(username + " 登录失败: 超过重试次数");
+    }
+
+    private void register(String username, int index) throws InterruptedException {
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("username", username);
+        request.put("password", config.getPassword());
+        request.put("email", username + "@loadtest.local");
+        request.put("realName", "压测用户" + index);
+        for (int attempt = 1; attempt <= MAX_SIGN_IN_ATTEMPTS; attempt++) {
+            ApiClient.Result result = client.post("setup.register", "/api/auth/register", null, request, 429);
+            if (result.isSuccess()) {
+                return;
+            }
+            if (result.getStatus() != 429) {
+                throw new IllegalStateException(username + " 注册失败: " + result.getStatus() + " " + result.getMessage());
+            }
+            Thread.sleep(Math.max(result.getRetryAfterMillis(), 1000));
+        }
+        throw new IllegalStateException(username + " 注册失败: 超过重试次数");
+    }
+
+    private Catalog loadCatalog(String token) {
+        ApiClient.Result rooms = client.get("setup.rooms", "/api/study-rooms?page=0&size=" + ROOM_PAGE_SIZE, token);
+        if (!rooms.isSuccess()) {
+            throw new IllegalStateException("获取自习室失败: " + rooms.getStatus() + " " + rooms.getMessage());
+        }
+        List<Long> roomIds = new ArrayList<>();
+        Map<Long, long[]> seatsByRoom = new LinkedHashMap<>();
+        for (JsonNode room : rooms.data().path("studyRooms")) {
+            long roomId = room.path("id").asLong();
+            ApiClient.Result seats = client.get("setup.seats", "/api/seats/study-room/" + roomId, token);
+            if (!seats.isSuccess()) {
+                throw new IllegalStateException("获取座位失败: " + seats.getStatus() + " " + seats.getMessage());
+            }
+            List<Long> seatIds = new ArrayList<>();
+            for (JsonNode seat : seats.data().path("seats")) {
+                seatIds.add(seat.path("id").asLong());
+            }
+            roomIds.add(roomId);
+            seatsByRoom.put(roomId, seatIds.stream().mapToLong(Long::longValue).toArray());
+        }
+        return new Catalog(roomIds.stream().mapToLong(Long::longValue).toArray(), seatsByRoom, config.getStormSeats());
+    }
+
+    /**
+     * Java 21+ 时返回每任务一个虚拟线程的执行器，否则返回 null
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,133 @@
+package com.studyroom.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个操作（接口）的统计
+ * 结果分为三类：成功、业务拒绝（例如时间冲突返回的 400，属于预期结果）和错误
+ * （5xx、超时、连接失败以及非预期的 4xx）。错误信息按内容计数，最多保留 {@value #MAX_MESSAGES} 种。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+final class OperationStats {
+
+    /** 表示请求未得到 HTTP 响应（超时、连接失败） */
+    static final int NO_RESPONSE = 0;
+
+    private static final int MAX_MESSAGES = 20;
+
+    private final String name;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final ConcurrentHashMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> errorMessages = new ConcurrentHashMap<>();
+
+    OperationStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 记录一次请求结果
+     * @param nanos 耗时（纳秒）
+     * @param status HTTP 状态码，未得到响应时为 {@link #NO_RESPONSE}
+     * @param outcome 结果分类
+     * @param message 错误信息，成功时为空
+     */
+    void record(long nanos, int status, Outcome outcome, String message) {
+        histogram.record(nanos);
+        statuses.computeIfAbsent(status, k -> new LongAdder()).increment();
+        switch (outcome) {
+            case SUCCEEDED:
+                succeeded.increment();
+                break;
+            case REJECTED:
+                rejected.increment();
+                break;
+            default:
+                failed.increment();
+                countMessage(status, message);
+                break;
+        }
+    }
+
+    String getName() {
+        return name;
+    }
+
+    LatencyHistogram getHistogram() {
+        return histogram;
+    }
+
+    long getCount() {
+        return histogram.getCount();
+    }
+
+    long getSucceeded() {
+        return succeeded.sum();
+    }
+
+    long getFailed() {
+        return failed.sum();
+    }
+
+    double getErrorRate() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) failed.sum() / count;
+    }
+
+    /**
+     * 转换为报告中的一项
+     * @param seconds 统计时长（秒）
+     */
+    Map<String, Object> toMap(double seconds) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("count", getCount());
+        map.put("succeeded", succeeded.sum());
+        map.put("rejected", rejected.sum());
+        map.put("failed", failed.sum());
+        map.put("errorRate", getErrorRate());
+        map.put("throughputPerSecond", seconds > 0 ? getCount() / seconds : 0);
+        map.put("meanMicros", Math.round(histogram.getMeanMicros()));
+        map.put("p50Micros", histogram.percentile(50));
+        map.put("p90Micros", histogram.percentile(90));
+        map.put("p99Micros", histogram.percentile(99));
+        map.put("p999Micros", histogram.percentile(99.9));
+        map.put("maxMicros", histogram.getMaxMicros());
+
+        Map<String, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(String.valueOf(status), count.sum()));
+        map.put("statuses", statusCounts);
+
+        Map<String, Long> messages = new LinkedHashMap<>();
+        errorMessages.forEach((message, count) -> messages.put(message, count.sum()));
+        map.put("errors", messages);
+        map.put("histogram", histogram.buckets());
+        return map;
+    }
+
+    private void countMessage(int status, String message) {
+        String key = status + " " + (message == null ? "" : message);
+        LongAdder count = errorMessages.get(key);
+        if (count == null) {
+            if (errorMessages.size() >= MAX_MESSAGES) {
+                key = "其他";
+            }
+            count = errorMessages.computeIfAbsent(key, k -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    /**
+     * 请求结果分类
+     */
+    enum Outcome {
+        SUCCEEDED, REJECTED, FAILED
+    }
+}
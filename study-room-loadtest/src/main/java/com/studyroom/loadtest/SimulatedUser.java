@@ -0,0 +1,206 @@
+package com.studyroom.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 模拟用户
+ * 每个模拟用户持有自己的令牌和随机数序列（由全局种子和用户序号决定，同一参数下操作序列可重现），
+ * 在独立的线程中循环执行场景，直到阶段结束。
+ *
+ * <p>混合场景的操作比例：浏览自习室 25%、查看座位 25%、检查时间冲突 20%、预订 30%。
+ * 预订流程为 检查冲突 → 创建 → 支付（80%）→ 取消（20%）；其中 10% 的预订从几秒后开始，
+ * 支付后等到开始时间办理签到。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+final class SimulatedUser {
+
+    static final String OP_BROWSE_ROOMS = "study-room.list";
+    static final String OP_FETCH_SEATS = "seat.list-by-room";
+    static final String OP_CHECK_CONFLICT = "reservation.check-conflict";
+    static final String OP_CREATE = "reservation.create";
+    static final String OP_PAY = "reservation.pay";
+    static final String OP_CHECK_IN = "reservation.check-in";
+    static final String OP_CANCEL = "reservation.cancel";
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final int BAD_REQUEST = 400;
+
+    // 立即开始的预订：开始时间留出请求排队的余量，避免被判定为 "开始时间早于当前时间"
+    private static final long IMMEDIATE_START_SECONDS = 5;
+    private static final int BOOKING_HORIZON_DAYS = 14;
+    private static final int OPENING_HOUR = 8;
+    private static final int LAST_START_HOUR = 20;
+
+    private final String username;
+    private final String token;
+    private final Random random;
+
+    SimulatedUser(String username, String token, long seed) {
+        this.username = username;
+        this.token = token;
+        this.random = new Random(seed);
+    }
+
+    String getToken() {
+        return token;
+    }
+
+    /**
+     * 执行混合场景直到 stop 被置位
+     */
+    void runMixed(ApiClient client, Catalog catalog, BookingLedger ledger, AtomicBoolean stop, long thinkMillis) {
+        while (!stop.get()) {
+            int roll = random.nextInt(100);
+            if (roll < 25) {
+                client.get(OP_BROWSE_ROOMS, "/api/study-rooms?page=0&size=10", token);
+            } else if (roll < 50) {
+                client.get(OP_FETCH_SEATS, "/api/seats/study-room/" + catalog.randomRoom(random), token);
+            } else if (roll < 70) {
+                LocalDateTime start = randomFutureStart();
+                checkConflict(client, catalog.randomSeat(random), start, start.plusHours(1 + random.nextInt(3)));
+            } else {
+                book(client, catalog, ledger, stop);
+            }
+            if (!think(thinkMillis)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 执行抢座场景：每一轮所有用户在 phaser 上会合后同时争抢同一时段的少量座位，
+     * 同一座位同一时段最多只能有一个预订成功
+     * @param phaser 已为每个用户登记一方
+     * @param stormBase 第 0 轮的开始时间，之后每轮后移 2 小时
+     */
+    void runStorm(ApiClient client, Catalog catalog, BookingLedger ledger, AtomicBoolean stop,
+                  Phaser phaser, LocalDateTime stormBase) {
+        try {
+            while (!stop.get()) {
+                int round = phaser.arriveAndAwaitAdvance();
+                if (round < 0 || stop.get()) {
+                    return;
+                }
+                LocalDateTime start = stormBase.plusHours(2L * round);
+                LocalDateTime end = start.plusHours(1);
+                long seatId = catalog.randomStormSeat(random);
+                if (!checkConflict(client, seatId, start, end)) {
+                    create(client, ledger, seatId, start, end);
+                }
+            }
+        } finally {
+            phaser.arriveAndDeregister();
+        }
+    }
+
+    private void book(ApiClient client, Catalog catalog, BookingLedger ledger, AtomicBoolean stop) {
+        long seatId = catalog.randomSeat(random);
+        boolean immediate = random.nextInt(10) == 0;
+        LocalDateTime start = immediate
+            ? LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(IMMEDIATE_START_SECONDS)
+            : randomFutureStart();
+        LocalDateTime end = start.plusHours(1 + random.nextInt(3));
+
+        if (checkConflict(client, seatId, start, end)) {
+            return;
+        }
+        long reservationId = create(client, ledger, seatId, start, end);
+        if (reservationId < 0) {
+            return;
+        }
+
+        boolean paid = false;
+        if (random.nextInt(100) < 80) {
+            Map<String, Object> payment = new HashMap<>();
+            payment.put("paymentMethod", random.nextBoolean() ? "WECHAT" : "ALIPAY");
+            paid = client.put(OP_PAY, "/api/reservations/" + reservationId + "/pay", token, payment, BAD_REQUEST)
+                .isSuccess();
+        }
+
+        if (immediate && paid) {
+            // 等到预订开始后再签到
+            long waitMillis = Duration.between(LocalDateTime.now(), start).toMillis() + 200;
+            if (waitMillis > 0 && (stop.get() || !sleep(waitMillis))) {
+                return;
+            }
+            client.put(OP_CHECK_IN, "/api/reservations/" + reservationId + "/check-in", token, Map.of(), BAD_REQUEST);
+        } else if (random.nextInt(100) < 20) {
+            Map<String, Object> cancel = new HashMap<>();
+            cancel.put("cancelReason", "压测取消");
+            if (client.put(OP_CANCEL, "/api/reservations/" + reservationId + "/cancel", token, cancel, BAD_REQUEST)
+                    .isSuccess()) {
+                ledger.cancelled(reservationId);
+            }
+        }
+    }
+
+    /**
+     * @return 是否存在冲突（请求失败时按有冲突处理，不再继续创建）
+     */
+    private boolean checkConflict(ApiClient client, long seatId, LocalDateTime start, LocalDateTime end) {
+        Map<String, Object> request = new HashMap<>();
+        request.put("seatId", seatId);
+        request.put("startTime", TIME_FORMAT.format(start));
+        request.put("endTime", TIME_FORMAT.format(end));
+        ApiClient.Result result = client.post(OP_CHECK_CONFLICT, "/api/reservations/check-conflict", token, request);
+        return !result.isSuccess() || result.data().path("hasConflict").asBoolean(true);
+    }
+
+    /**
+     * @return 新预订的ID，创建失败时返回 -1
+     */
+    private long create(ApiClient client, BookingLedger ledger, long seatId, LocalDateTime start, LocalDateTime end) {
+        Map<String, Object> request = new HashMap<>();
+        request.put("seatId", seatId);
+        request.put("startTime", TIME_FORMAT.format(start));
+        request.put("endTime", TIME_FORMAT.format(end));
+        request.put("notes", "loadtest " + username);
+        // 400 为控制器层检测到的时间冲突，属于正常的业务拒绝
+        ApiClient.Result result = client.post(OP_CREATE, "/api/reservations", token, request, BAD_REQUEST);
+        if (!result.isSuccess()) {
+            return -1;
+        }
+        JsonNode id = result.data().path("reservation").path("id");
+        if (!id.canConvertToLong()) {
+            return -1;
+        }
+        ledger.created(id.asLong(), seatId, start, end);
+        return id.asLong();
+    }
+
+    private LocalDateTime randomFutureStart() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.DAYS)
+            .plusDays(1 + random.nextInt(BOOKING_HORIZON_DAYS))
+            .plusHours(OPENING_HOUR + random.nextInt(LAST_START_HOUR - OPENING_HOUR + 1));
+    }
+
+    /**
+     * 思考时间：在 [0, 2 * thinkMillis] 内均匀分布
+     * @return false 表示线程被中断
+     */
+    private boolean think(long thinkMillis) {
+        return thinkMillis <= 0 || sleep((long) (random.nextDouble() * 2 * thinkMillis));
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
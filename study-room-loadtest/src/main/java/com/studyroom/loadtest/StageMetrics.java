@@ -0,0 +1,54 @@
+package com.studyroom.loadtest;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 一个压测阶段的全部统计（按操作名分组）
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+final class StageMetrics {
+
+    private final ConcurrentHashMap<String, OperationStats> operations = new ConcurrentHashMap<>();
+    private final OperationStats overall = new OperationStats("all");
+
+    /**
+     * 记录一次请求结果（同时计入汇总）
+     */
+    void record(String operation, long nanos, int status, OperationStats.Outcome outcome, String message) {
+        operations.computeIfAbsent(operation, OperationStats::new).record(nanos, status, outcome, message);
+        overall.record(nanos, status, outcome, message);
+    }
+
+    OperationStats get(String operation) {
+        return operations.get(operation);
+    }
+
+    OperationStats getOverall() {
+        return overall;
+    }
+
+    Collection<OperationStats> getOperations() {
+        return new TreeMap<>(operations).values();
+    }
+
+    /**
+     * 转换为报告中的一项
+     * @param seconds 统计时长（秒）
+     */
+    Map<String, Object> toMap(double seconds) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("overall", overall.toMap(seconds));
+        Map<String, Object> byOperation = new LinkedHashMap<>();
+        for (OperationStats stats : getOperations()) {
+            byOperation.put(stats.getName(), stats.toMap(seconds));
+        }
+        map.put("operations", byOperation);
+        return map;
+    }
+}
@@ -0,0 +1,77 @@
+package com.studyroom.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 一个压测阶段（固定并发用户数）的结果
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+final class StageResult {
+
+    private final int users;
+    private final double seconds;
+    private final StageMetrics metrics;
+    private final int stormRounds;
+
+    StageResult(int users, double seconds, StageMetrics metrics, int stormRounds) {
+        this.users = users;
+        this.seconds = seconds;
+        this.metrics = metrics;
+        this.stormRounds = stormRounds;
+    }
+
+    int getUsers() {
+        return users;
+    }
+
+    double getSeconds() {
+        return seconds;
+    }
+
+    int getStormRounds() {
+        return stormRounds;
+    }
+
+    StageMetrics getMetrics() {
+        return metrics;
+    }
+
+    double getRequestsPerSecond() {
+        return metrics.getOverall().getCount() / seconds;
+    }
+
+    /**
+     * 每秒成功创建的预订数
+     */
+    double getBookingsPerSecond() {
+        OperationStats create = metrics.get(SimulatedUser.OP_CREATE);
+        return create == null ? 0 : create.getSucceeded() / seconds;
+    }
+
+    /**
+     * 创建预订接口的 p99（微秒），没有请求时为 0
+     */
+    long getCreateP99Micros() {
+        OperationStats create = metrics.get(SimulatedUser.OP_CREATE);
+        return create == null ? 0 : create.getHistogram().percentile(99);
+    }
+
+    Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("users", users);
+        map.put("seconds", seconds);
+        map.put("requestsPerSecond", getRequestsPerSecond());
+        map.put("bookingsPerSecond", getBookingsPerSecond());
+        map.put("errorRate", metrics.getOverall().getErrorRate());
+        map.put("p99Micros", metrics.getOverall().getHistogram().percentile(99));
+        map.put("createP99Micros", getCreateP99Micros());
+        if (stormRounds > 0) {
+            map.put("stormRounds", stormRounds);
+        }
+        map.putAll(metrics.toMap(seconds));
+        return map;
+    }
+}
@@ -1,14 +1,24 @@
 package com.studyroom.server.config;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.sqlite.SQLiteConfig;
 
+import javax.annotation.PreDestroy;
 import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 数据库配置类
@@ -21,11 +31,14 @@ public class DatabaseConfig {
 
     private static final Logger logger = LoggerFactory.getLogger(DatabaseConfig.class);
 
+    // 路由数据源内部创建的连接池，随应用关闭
+    private final List<HikariDataSource> managedPools = new ArrayList<>();
+
     /**
      * 开发环境数据源配置
      */
     @Bean
-    @Profile("dev")
+    @Profile("dev & !replica")
     @ConfigurationProperties("spring.datasource")
     public DataSource devDataSource() {
         logger.info("🔧 配置开发环境数据源 (H2)");
@@ -33,13 +46,109 @@ public class DatabaseConfig {
     }
 
     /**
-     * 生产环境数据源配置
+     * 生产环境数据源配置 (SQLite)
+     * 使用 WAL 日志模式和 synchronous=NORMAL，读写可以并发；
+     * SQLite 同一时刻只允许一个写事务，因此写入走单连接池（BEGIN IMMEDIATE，避免锁升级死锁），
+     * 只读事务路由到独立的只读连接池。
      */
     @Bean
     @Profile("prod")
-    @ConfigurationProperties("spring.datasource")
-    public DataSource prodDataSource() {
-        logger.info("🔧 配置生产环境数据源 (SQLite)");
-        return DataSourceBuilder.create().build();
+    public DataSource prodDataSource(@Value("${spring.datasource.url}") String url,
+                                     @Value("${sqlite.busy-timeout-ms:5000}") int busyTimeoutMillis,
+                                     @Value("${sqlite.read-pool-size:4}") int readPoolSize) {
+        logger.info("🔧 配置生产环境数据源 (SQLite, WAL, 读连接池={})", readPoolSize);
+
+        SQLiteConfig writerConfig = new SQLiteConfig();
+        writerConfig.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        writerConfig.setSynchronous(SQLiteConfig.SynchronousMode.NORMAL);
+        writerConfig.setBusyTimeout(busyTimeoutMillis);
+        writerConfig.setTransactionMode(SQLiteConfig.TransactionMode.IMMEDIATE);
+        writerConfig.enforceForeignKeys(true);
+        // 写连接先创建，确保数据库文件存在且已切换到 WAL 模式
+        HikariDataSource writer = createSqlitePool("sqlite-writer", url, writerConfig, 1, false);
+
+        SQLiteConfig readerConfig = new SQLiteConfig();
+        readerConfig.setReadOnly(true);
+        readerConfig.setBusyTimeout(busyTimeoutMillis);
+        HikariDataSource reader = createSqlitePool("sqlite-reader", url, readerConfig, readPoolSize, true);
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReadWriteRoutingDataSource.WRITER, writer);
+        targets.put(ReadWriteRoutingDataSource.READER, reader);
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource();
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(writer);
+        routing.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /**
+     * 主从数据源配置 (replica profile)
+     * 写事务走主库，只读事务走副本连接池；
+     * 用户写入后的副本延迟窗口内，该用户的读请求仍走主库。
+     */
+    @Bean
+    @Profile("replica")
+    public DataSource replicatedDataSource(@Value("${spring.datasource.url}") String primaryUrl,
+                                           @Value("${datasource.replica.url}") String replicaUrl,
+                                           @Value("${spring.datasource.username:}") String username,
+                                           @Value("${spring.datasource.password:}") String password,
+                                           @Value("${datasource.primary.pool-size:10}") int primaryPoolSize,
+                                           @Value("${datasource.replica.pool-size:10}") int replicaPoolSize,
+                                           ReplicaLagTracker lagTracker) {
+        logger.info("🔧 配置主从数据源: primary={}, replica={}", primaryUrl, replicaUrl);
+
+        HikariDataSource primary = createPool("primary", primaryUrl, username, password, primaryPoolSize, false);
+        HikariDataSource replica = createPool("replica", replicaUrl, username, password, replicaPoolSize, true);
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReadWriteRoutingDataSource.WRITER, primary);
+        targets.put(ReadWriteRoutingDataSource.READER, replica);
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource();
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primary);
+        routing.setLagTracker(lagTracker);
+        routing.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    private HikariDataSource createPool(String poolName, String url, String username, String password, int poolSize,
+                                        boolean readOnly) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(poolSize);
+        config.setReadOnly(readOnly);
+        HikariDataSource pool = new HikariDataSource(config);
+        managedPools.add(pool);
+        return pool;
+    }
+
+    /**
+     * SQLite 连接的只读标记只能在打开时指定，之后调用 setReadOnly 改为其他值会抛异常，
+     * 所以只读池须在创建前设置 readOnly，使 Hikari 给每个连接设置的默认值与连接本身一致
+     */
+    private HikariDataSource createSqlitePool(String poolName, String url, SQLiteConfig sqliteConfig, int poolSize,
+                                              boolean readOnly) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setDriverClassName("org.sqlite.JDBC");
+        config.setJdbcUrl(url);
+        config.setDataSourceProperties(sqliteConfig.toProperties());
+        config.setMaximumPoolSize(poolSize);
+        config.setMinimumIdle(poolSize);
+        config.setReadOnly(readOnly);
+        HikariDataSource pool = new HikariDataSource(config);
+        managedPools.add(pool);
+        return pool;
+    }
+
+    @PreDestroy
+    public void closePools() {
+        managedPools.forEach(HikariDataSource::close);
     }
-} 
\ No newline at end of file
+}
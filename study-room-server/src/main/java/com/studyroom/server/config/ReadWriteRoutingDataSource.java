@@ -0,0 +1,65 @@
+package com.studyroom.server.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 读写路由数据源
+ * {@code @Transactional(readOnly = true)} 的事务路由到只读副本，其余路由到主库。
+ * 配置了 {@link ReplicaLagTracker} 时，写事务提交后会登记写入时间，
+ * 同一用户在副本延迟窗口内的只读事务仍然路由到主库。
+ * 需要包装在 {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} 中使用，
+ * 使物理连接在事务的只读标记设置之后才获取。
+ *
+ * @author Developer
+ * @version 1.0.0
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String WRITER = "writer";
+    public static final String READER = "reader";
+
+    private ReplicaLagTracker lagTracker;
+
+    public void setLagTracker(ReplicaLagTracker lagTracker) {
+        this.lagTracker = lagTracker;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (lagTracker != null && lagTracker.mustReadFromPrimary()) {
+                return WRITER;
+            }
+            return READER;
+        }
+        if (lagTracker != null) {
+            registerWriteTracking();
+        }
+        return WRITER;
+    }
+
+    // 写事务提交后登记写入时间（每个事务只登记一次）
+    private void registerWriteTracking() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lagTracker.recordWrite();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lagTracker.recordWrite();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReadWriteRoutingDataSource.this);
+            }
+        });
+    }
+}
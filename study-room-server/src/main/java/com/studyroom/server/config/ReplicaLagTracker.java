@@ -0,0 +1,79 @@
+package com.studyroom.server.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 副本延迟跟踪器
+ * 记录每个用户最近一次写事务提交的时间；在副本延迟窗口内，该用户的只读请求仍然走主库，
+ * 保证 "读到自己刚写入的数据"（例如刚创建的预订立即出现在 "我的预订" 中）。
+ * 用户身份取自 JwtRequestFilter 设置的 x-user-id 请求属性。
+ *
+ * @author Developer
+ * @version 1.0.0
+ */
+@Component
+public class ReplicaLagTracker {
+
+    private static final String USER_ID_ATTRIBUTE = "x-user-id";
+
+    // 条目数超过该值时清理已过期的记录
+    private static final int CLEANUP_THRESHOLD = 10_000;
+
+    private final long lagWindowNanos;
+
+    private final ConcurrentHashMap<Long, Long> lastWriteByUser = new ConcurrentHashMap<>();
+
+    // 匿名（无用户身份）写入的最近时间，对所有匿名只读请求生效
+    private final AtomicLong lastAnonymousWrite = new AtomicLong(Long.MIN_VALUE);
+
+    public ReplicaLagTracker(@Value("${datasource.replica.max-lag-ms:2000}") long maxLagMillis) {
+        this.lagWindowNanos = TimeUnit.MILLISECONDS.toNanos(maxLagMillis);
+    }
+
+    /**
+     * 记录当前请求用户的一次写入
+     */
+    public void recordWrite() {
+        long now = System.nanoTime();
+        Long userId = currentUserId();
+        if (userId == null) {
+            lastAnonymousWrite.set(now);
+            return;
+        }
+        lastWriteByUser.put(userId, now);
+        if (lastWriteByUser.size() > CLEANUP_THRESHOLD) {
+            lastWriteByUser.values().removeIf(time -> now - time > lagWindowNanos);
+        }
+    }
+
+    /**
+     * 当前请求的只读查询是否必须走主库
+     * @return 在延迟窗口内写过数据时返回 true
+     */
+    public boolean mustReadFromPrimary() {
+        long now = System.nanoTime();
+        Long userId = currentUserId();
+        if (userId == null) {
+            long lastWrite = lastAnonymousWrite.get();
+            return lastWrite != Long.MIN_VALUE && now - lastWrite < lagWindowNanos;
+        }
+        Long lastWrite = lastWriteByUser.get(userId);
+        return lastWrite != null && now - lastWrite < lagWindowNanos;
+    }
+
+    private Long currentUserId() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object userId = attributes.getAttribute(USER_ID_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return userId instanceof Long ? (Long) userId : null;
+    }
+}
@@ -0,0 +1,205 @@
+package com.studyroom.server.config;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.model.relational.SqlStringGenerationContext;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
+import org.hibernate.dialect.function.StandardSQLFunction;
+import org.hibernate.dialect.function.VarArgsSQLFunction;
+import org.hibernate.dialect.identity.IdentityColumnSupport;
+import org.hibernate.dialect.identity.IdentityColumnSupportImpl;
+import org.hibernate.dialect.pagination.AbstractLimitHandler;
+import org.hibernate.dialect.pagination.LimitHandler;
+import org.hibernate.dialect.pagination.LimitHelper;
+import org.hibernate.dialect.unique.DefaultUniqueDelegate;
+import org.hibernate.dialect.unique.UniqueDelegate;
+import org.hibernate.engine.spi.RowSelection;
+import org.hibernate.mapping.Column;
+import org.hibernate.mapping.UniqueKey;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.sql.Types;
+import java.util.StringJoiner;
+
+/**
+ * SQLite 方言 (Hibernate 5)
+ * Hibernate 5 自带的方言不包含 SQLite，prod profile 通过 spring.jpa.database-platform 使用本类。
+ * SQLite 不支持 ALTER TABLE 添加约束：唯一约束以唯一索引创建，外键约束不生成；
+ * 自增主键使用 INTEGER PRIMARY KEY（rowid 别名），分页使用 LIMIT/OFFSET。
+ *
+ * @author Developer
+ * @version 1.0.0
+ */
+public class SQLiteDialect extends Dialect {
+
+    private static final IdentityColumnSupport IDENTITY_COLUMN_SUPPORT = new IdentityColumnSupportImpl() {
+        @Override
+        public boolean supportsIdentityColumns() {
+            return true;
+        }
+
+        @Override
+        public boolean hasDataTypeInIdentityColumn() {
+            return false;
+        }
+
+        @Override
+        public String getIdentityColumnString(int type) {
+            return "integer";
+        }
+
+        @Override
+        public String getIdentitySelectString(String table, String column, int type) {
+            return "select last_insert_rowid()";
+        }
+    };
+
+    private static final LimitHandler LIMIT_HANDLER = new AbstractLimitHandler() {
+        @Override
+        public String processSql(String sql, RowSelection selection) {
+            return sql + (LimitHelper.hasFirstRow(selection) ? " limit ? offset ?" : " limit ?");
+        }
+
+        @Override
+        public boolean supportsLimit() {
+            return true;
+        }
+
+        @Override
+        public boolean bindLimitParametersInReverseOrder() {
+            return true;
+        }
+    };
+
+    // 唯一约束改用唯一索引实现，效果相同且可以在建表后单独创建/删除
+    private final UniqueDelegate uniqueDelegate = new DefaultUniqueDelegate(this) {
+        @Override
+        public String getAlterTableToAddUniqueKeyCommand(UniqueKey uniqueKey, Metadata metadata,
+                                                         SqlStringGenerationContext context) {
+            StringJoiner columns = new StringJoiner(", ", " (", ")");
+            for (Column column : uniqueKey.getColumns()) {
+                columns.add(column.getQuotedName(dialect));
+            }
+            return "create unique index if not exists " + uniqueKey.getName() + " on "
+                    + context.format(uniqueKey.getTable().getQualifiedTableName()) + columns;
+        }
+
+        @Override
+        public String getAlterTableToDropUniqueKeyCommand(UniqueKey uniqueKey, Metadata metadata,
+                                                          SqlStringGenerationContext context) {
+            return "drop index if exists " + uniqueKey.getName();
+        }
+    };
+
+    public SQLiteDialect() {
+        registerColumnType(Types.BIT, "integer");
+        registerColumnType(Types.BOOLEAN, "integer");
+        registerColumnType(Types.TINYINT, "tinyint");
+        registerColumnType(Types.SMALLINT, "smallint");
+        registerColumnType(Types.INTEGER, "integer");
+        registerColumnType(Types.BIGINT, "bigint");
+        registerColumnType(Types.FLOAT, "float");
+        registerColumnType(Types.REAL, "real");
+        registerColumnType(Types.DOUBLE, "double");
+        registerColumnType(Types.NUMERIC, "numeric($p, $s)");
+        registerColumnType(Types.DECIMAL, "decimal($p, $s)");
+        registerColumnType(Types.CHAR, "char");
+        registerColumnType(Types.VARCHAR, "varchar($l)");
+        registerColumnType(Types.LONGVARCHAR, "longvarchar");
+        registerColumnType(Types.DATE, "date");
+        registerColumnType(Types.TIME, "time");
+        registerColumnType(Types.TIMESTAMP, "timestamp");
+        registerColumnType(Types.BINARY, "blob");
+        registerColumnType(Types.VARBINARY, "blob");
+        registerColumnType(Types.LONGVARBINARY, "blob");
+        registerColumnType(Types.BLOB, "blob");
+        registerColumnType(Types.CLOB, "clob");
+
+        registerFunction("concat", new VarArgsSQLFunction(StandardBasicTypes.STRING, "", "||", ""));
+        registerFunction("mod", new SQLFunctionTemplate(StandardBasicTypes.INTEGER, "?1 % ?2"));
+        registerFunction("substr", new StandardSQLFunction("substr", StandardBasicTypes.STRING));
+        registerFunction("substring", new StandardSQLFunction("substr", StandardBasicTypes.STRING));
+    }
+
+    @Override
+    public IdentityColumnSupport getIdentityColumnSupport() {
+        return IDENTITY_COLUMN_SUPPORT;
+    }
+
+    @Override
+    public LimitHandler getLimitHandler() {
+        return LIMIT_HANDLER;
+    }
+
+    @Override
+    public UniqueDelegate getUniqueDelegate() {
+        return uniqueDelegate;
+    }
+
+    // 约束无法通过 ALTER TABLE 添加，也无需删除
+    @Override
+    public boolean hasAlterTable() {
+        return false;
+    }
+
+    @Override
+    public boolean dropConstraints() {
+        return false;
+    }
+
+    @Override
+    public String getAddColumnString() {
+        return "add column";
+    }
+
+    @Override
+    public boolean qualifyIndexName() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsIfExistsBeforeTableName() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsCascadeDelete() {
+        return false;
+    }
+
+    // SQLite 没有行锁，写事务本身已串行化 (BEGIN IMMEDIATE)
+    @Override
+    public String getForUpdateString() {
+        return "";
+    }
+
+    @Override
+    public boolean supportsOuterJoinForUpdate() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsCurrentTimestampSelection() {
+        return true;
+    }
+
+    @Override
+    public boolean isCurrentTimestampSelectStringCallable() {
+        return false;
+    }
+
+    @Override
+    public String getCurrentTimestampSelectString() {
+        return "select current_timestamp";
+    }
+
+    @Override
+    public boolean supportsUnionAll() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsTupleDistinctCounts() {
+        return false;
+    }
+}
@@ -0,0 +1,26 @@
+package com.studyroom.server.config;
+
+import org.hibernate.id.IncrementGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.jpa.spi.IdentifierGeneratorStrategyProvider;
+
+import java.util.Map;
+
+/**
+ * SQLite 主键分配策略 (prod profile)
+ * 实体使用单行序列表分配主键，Hibernate 会在独立事务中更新序列表：需要另取一个写连接，
+ * 且当前写事务以 BEGIN IMMEDIATE 开始、已持有写锁，独立事务拿不到锁。
+ * 写连接只有一个，数据库也只由本进程写入，因此改为启动后首次分配时读取 MAX(id)、之后在内存中递增，
+ * 不再访问序列表，批量插入照常可用。
+ * 通过 spring.jpa.properties.hibernate.identifier_generator_strategy_provider 启用。
+ *
+ * @author Developer
+ * @version 1.0.0
+ */
+public class SQLiteIdGeneratorStrategyProvider implements IdentifierGeneratorStrategyProvider {
+
+    @Override
+    public Map<String, Class<?>> getStrategies() {
+        return Map.of(SequenceStyleGenerator.class.getName(), IncrementGenerator.class);
+    }
+}
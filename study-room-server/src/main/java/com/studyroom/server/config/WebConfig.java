@@ -1,6 +1,9 @@
 package com.studyroom.server.config;
 
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.slf4j.Logger;
@@ -28,4 +31,22 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowCredentials(true)
                 .maxAge(3600);
     }
+
+    /**
+     * 为客户端会缓存到磁盘的查询接口生成ETag
+     * 响应体的哈希作为ETag，请求带相同的 If-None-Match 时返回 304、不再传输响应体；
+     * 客户端启动时先显示磁盘上的数据，再用条件请求核对是否有变化。
+     * 使用弱ETag：Tomcat 默认不压缩带强ETag的响应（noCompressionStrongETag），强ETag会让这些接口的 gzip 失效。
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter();
+        filter.setWriteWeakETag(true);
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/study-rooms", "/api/study-rooms/*",
+                "/api/seats", "/api/seats/*",
+                "/api/reservations", "/api/reservations/*");
+        registration.setName("etagFilter");
+        return registration;
+    }
 } 
\ No newline at end of file
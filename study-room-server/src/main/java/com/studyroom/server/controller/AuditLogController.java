@@ -0,0 +1,97 @@
+package com.studyroom.server.controller;
+
+import com.studyroom.server.dto.ApiResponse;
+import com.studyroom.server.entity.AuditLog;
+import com.studyroom.server.service.audit.AuditTrail;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 审计日志控制器（管理员功能）
+ * 提供座位、自习室、用户状态变更等管理操作的查询API
+ * 
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/audit-logs")
+public class AuditLogController {
+
+    @Autowired
+    private AuditTrail auditTrail;
+
+    /**
+     * 分页查询审计日志（按时间倒序）
+     * GET /api/audit-logs?page=0&size=20&entityType=SEAT&entityId=1&actorId=1
+     */
+    @GetMapping("")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getAuditLogs(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(required = false) Long actorId) {
+        try {
+            String type = entityType != null && !entityType.isEmpty() ? entityType.toUpperCase() : null;
+            Page<AuditLog> auditPage = auditTrail.search(page, size, type, entityId, actorId);
+
+            Set<Long> actorIds = auditPage.getContent().stream()
+                .map(AuditLog::getActorId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+            Map<Long, String> actorNames = auditTrail.findActorNames(actorIds);
+
+            List<Map<String, Object>> logs = auditPage.getContent().stream()
+                .map(log -> createAuditLogResponse(log, actorNames))
+                .toList();
+
+            Map<String, Object> pageData = new HashMap<>();
+            pageData.put("logs", logs);
+            pageData.put("totalElements", auditPage.getTotalElements());
+            pageData.put("totalPages", auditPage.getTotalPages());
+            pageData.put("currentPage", auditPage.getNumber());
+            pageData.put("pageSize", auditPage.getSize());
+            pageData.put("hasNext", auditPage.hasNext());
+            pageData.put("hasPrevious", auditPage.hasPrevious());
+
+            return ResponseEntity.ok(ApiResponse.success(pageData, "获取审计日志成功"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.<Map<String, Object>>error(HttpStatus.INTERNAL_SERVER_ERROR.value(), "获取审计日志失败: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 获取审计缓冲统计信息
+     * GET /api/audit-logs/stats
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getAuditStatistics() {
+        return ResponseEntity.ok(ApiResponse.success(auditTrail.getStatistics(), "获取审计统计成功"));
+    }
+
+    // 工具方法：创建审计日志响应对象
+    private Map<String, Object> createAuditLogResponse(AuditLog log, Map<Long, String> actorNames) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", log.getId());
+        response.put("actorId", log.getActorId());
+        response.put("actorName", log.getActorId() != null ? actorNames.get(log.getActorId()) : null);
+        response.put("action", log.getAction());
+        response.put("entityType", log.getEntityType());
+        response.put("entityId", log.getEntityId());
+        response.put("beforeValue", log.getBeforeValue());
+        response.put("afterValue", log.getAfterValue());
+        response.put("createdAt", log.getCreatedAt());
+        return response;
+    }
+}
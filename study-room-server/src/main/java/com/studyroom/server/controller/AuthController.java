@@ -2,10 +2,14 @@ package com.studyroom.server.controller;
 
 import com.studyroom.server.dto.ApiResponse;
 import com.studyroom.server.entity.User;
+import com.studyroom.server.security.LoginRateLimiter;
+import com.studyroom.server.security.PasswordVerificationOverloadException;
+import com.studyroom.server.security.PasswordVerifier;
 import com.studyroom.server.service.UserService;
 import com.studyroom.server.util.JwtUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -29,6 +33,12 @@ public class AuthController {
 
     @Autowired
     private JwtUtil jwtUtil;
+
+    @Autowired
+    private PasswordVerifier passwordVerifier;
+
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
     
     /**
      * 用户登录
@@ -45,6 +55,12 @@ public class AuthController {
                     .body(ApiResponse.error(HttpStatus.BAD_REQUEST.value(), "用户名和密码不能为空"));
             }
 
+            // 按用户名限流，在查询数据库和校验密码之前拒绝
+            long retryAfterMillis = loginRateLimiter.tryAcquireForUsername(username);
+            if (retryAfterMillis > 0) {
+                return tooManyRequests(retryAfterMillis);
+            }
+
             User user = userService.authenticateUser(username, password);
             if (user != null) {
                 // 更新最后登录时间
@@ -62,6 +78,8 @@ public class AuthController {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(ApiResponse.error(HttpStatus.UNAUTHORIZED.value(), "用户名或密码错误"));
             }
+        } catch (PasswordVerificationOverloadException e) {
+            return serviceUnavailable(e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ApiResponse.error(HttpStatus.INTERNAL_SERVER_ERROR.value(), "登录失败: " + e.getMessage()));
@@ -87,6 +105,11 @@ public class AuthController {
                     .body(createErrorResponse("用户名、密码、邮箱和真实姓名不能为空", HttpStatus.BAD_REQUEST.value()));
             }
 
+            long retryAfterMillis = loginRateLimiter.tryAcquireForUsername(username);
+            if (retryAfterMillis > 0) {
+                return tooManyRequests(retryAfterMillis);
+            }
+
             // 检查用户名是否可用
             if (!userService.isUsernameAvailable(username)) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -106,6 +129,8 @@ public class AuthController {
 
             return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(responseData, "注册成功"));
 
+        } catch (PasswordVerificationOverloadException e) {
+            return serviceUnavailable(e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(createErrorResponse("注册失败: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR.value()));
@@ -163,6 +188,8 @@ public class AuthController {
                     .body(createErrorResponse("旧密码不正确", HttpStatus.BAD_REQUEST.value()));
             }
 
+        } catch (PasswordVerificationOverloadException e) {
+            return serviceUnavailable(e);
         } catch (Exception e) { // Catch other exceptions like userService failures
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(createErrorResponse("密码修改失败: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR.value()));
@@ -234,6 +261,38 @@ public class AuthController {
         return ResponseEntity.ok(ApiResponse.success(null, "登出成功"));
     }
 
+    /**
+     * 获取密码校验统计信息（耗时、拒绝次数、队列深度等）
+     * GET /api/auth/password-verification/stats
+     */
+    @GetMapping("/password-verification/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getPasswordVerificationStats() {
+        return ResponseEntity.ok(ApiResponse.success(passwordVerifier.getStatistics(), "获取密码校验统计成功"));
+    }
+
+    // 工具方法：密码校验线程池过载时返回 503 并附带 Retry-After
+    private <T> ResponseEntity<ApiResponse<T>> serviceUnavailable(PasswordVerificationOverloadException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+            .body(ApiResponse.error(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage()));
+    }
+
+    /**
+     * 获取登录限流统计信息
+     * GET /api/auth/rate-limit/stats
+     */
+    @GetMapping("/rate-limit/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getRateLimitStats() {
+        return ResponseEntity.ok(ApiResponse.success(loginRateLimiter.getStatistics(), "获取限流统计成功"));
+    }
+
+    // 工具方法：超出限流时返回 429 并附带 Retry-After（秒，向上取整）
+    private <T> ResponseEntity<ApiResponse<T>> tooManyRequests(long retryAfterMillis) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf((retryAfterMillis + 999) / 1000))
+            .body(ApiResponse.error(HttpStatus.TOO_MANY_REQUESTS.value(), "尝试次数过多，请稍后再试"));
+    }
+
     // 工具方法：创建用户响应对象（不包含敏感信息）
     private Map<String, Object> createUserResponse(User user) {
         Map<String, Object> userResponse = new HashMap<>();
@@ -0,0 +1,47 @@
+package com.studyroom.server.controller;
+
+import com.studyroom.server.dto.ApiResponse;
+import com.studyroom.server.metrics.MetricsRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * 运行指标控制器（管理员功能）
+ * 提供控制器、仓库、冲突检查、JWT 校验和 BCrypt 的延迟与吞吐指标
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    private static final MediaType PROMETHEUS_TEXT = MediaType.parseMediaType("text/plain; version=0.0.4; charset=utf-8");
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    /**
+     * JSON 格式指标快照
+     * GET /api/metrics
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getMetrics() {
+        return ResponseEntity.ok(ApiResponse.success(metricsRegistry.snapshot(), "获取运行指标成功"));
+    }
+
+    /**
+     * Prometheus 文本格式指标
+     * GET /api/metrics/prometheus
+     */
+    @GetMapping("/prometheus")
+    public ResponseEntity<String> scrape() {
+        return ResponseEntity.ok().contentType(PROMETHEUS_TEXT).body(metricsRegistry.scrape());
+    }
+}
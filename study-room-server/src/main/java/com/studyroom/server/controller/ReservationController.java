@@ -4,9 +4,11 @@ import com.studyroom.server.dto.ApiResponse;
 import com.studyroom.server.entity.Reservation;
 import com.studyroom.server.service.ReservationService;
 import com.studyroom.server.util.JwtUtil;
+import com.studyroom.server.util.SortParser;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,6 +19,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 预订管理控制器
@@ -29,6 +32,13 @@ import java.util.Map;
 @RequestMapping("/api/reservations")
 public class ReservationController {
     
+    // 分页查询允许排序的字段
+    private static final Set<String> RESERVATION_SORT_PROPERTIES = Set.of(
+        "id", "startTime", "endTime", "status", "paymentStatus", "totalAmount", "createdAt");
+
+    // 分页查询每页最多返回的记录数
+    private static final int MAX_PAGE_SIZE = 200;
+    
     @Autowired
     private ReservationService reservationService;
 
@@ -228,7 +238,7 @@ public class ReservationController {
 
     /**
      * 分页查询预订
-     * GET /api/reservations?page=0&size=10&userId=1&status=ACTIVE&paymentStatus=PAID
+     * GET /api/reservations?page=0&size=10&userId=1&status=ACTIVE&paymentStatus=PAID&keyword=A001&sort=startTime,desc
      */
     @GetMapping("")
     public ResponseEntity<ApiResponse<Map<String, Object>>> getReservations(
@@ -239,8 +249,12 @@ public class ReservationController {
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String paymentStatus,
             @RequestParam(required = false) String startDate, // New
-            @RequestParam(required = false) String endDate) { // New
+            @RequestParam(required = false) String endDate, // New
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String sort) {
         try {
+            page = Math.max(page, 0);
+            size = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
             LocalDateTime startDateTime = null;
             LocalDateTime endDateTime = null;
             if (startDate != null && !startDate.isEmpty()) {
@@ -260,8 +274,10 @@ public class ReservationController {
                 payStatus = Reservation.PaymentStatus.valueOf(paymentStatus.toUpperCase());
             }
 
+            Sort reservationSort = SortParser.parse(sort, RESERVATION_SORT_PROPERTIES,
+                Sort.by(Sort.Direction.DESC, "createdAt"));
             Page<Reservation> reservationPage = reservationService.findReservationsWithPagination(
-                page, size, userId, reservationStatus, payStatus);
+                page, size, userId, seatId, reservationStatus, payStatus, startDateTime, endDateTime, keyword, reservationSort);
 
             Map<String, Object> pageData = new HashMap<>();
             pageData.put("reservations", reservationPage.getContent().stream().map(this::createReservationResponse).toList());
@@ -641,6 +657,7 @@ public class ReservationController {
         reservationResponse.put("updatedAt", reservation.getUpdatedAt());
         reservationResponse.put("checkInTime", reservation.getCheckInTime());
         reservationResponse.put("checkOutTime", reservation.getCheckOutTime());
+        reservationResponse.put("cancelReason", reservation.getCancelReason());
 
         // 手动添加用户信息，避免Hibernate代理问题
         if (reservation.getUser() != null) {
@@ -3,12 +3,16 @@ package com.studyroom.server.controller;
 import com.studyroom.server.dto.ApiResponse;
 import com.studyroom.server.entity.Seat;
 import com.studyroom.server.service.SeatService;
+import com.studyroom.server.service.layout.SeatLayout;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +31,10 @@ public class SeatController {
     @Autowired
     private SeatService seatService;
     
+    // 布局网格（含过道）最多允许的格子数，与单个布局的座位上限一致
+    @Value("${seat.layout.max-seats:5000}")
+    private int maxLayoutSeats;
+    
     /**
      * 创建新座位（管理员功能）
      * POST /api/seats
@@ -69,6 +77,72 @@ public class SeatController {
         }
     }
 
+    /**
+     * 按布局规格批量生成自习室座位（管理员功能）
+     * POST /api/seats/study-room/{studyRoomId}/layout
+     *
+     * 请求示例：
+     * {"rows": 10, "columns": 12, "aisleColumns": [4, 9], "windowColumns": [1], "powerColumns": [1, 12],
+     *  "defaultType": "REGULAR", "zones": [{"type": "VIP", "fromRow": 1, "toRow": 2, "fromCol": 1, "toCol": 12}]}
+     */
+    @PostMapping("/study-room/{studyRoomId}/layout")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> createSeatLayout(
+            @PathVariable Long studyRoomId, @RequestBody Map<String, Object> layoutRequest,
+            @RequestAttribute(value = "x-user-role", required = false) String role) {
+        // 过滤器按路径判断管理员接口，这里再校验一次角色，避免路径变体（如末尾斜杠）绕过
+        if (!"ADMIN".equals(role)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(ApiResponse.<Map<String, Object>>error(HttpStatus.FORBIDDEN.value(), "无权批量创建座位"));
+        }
+
+        SeatLayout layout;
+        try {
+            layout = parseSeatLayout(layoutRequest);
+        } catch (IllegalArgumentException | ClassCastException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.<Map<String, Object>>error(HttpStatus.BAD_REQUEST.value(), "座位布局无效: " + e.getMessage()));
+        }
+
+        try {
+            long start = System.nanoTime();
+            List<Seat> seats = seatService.createSeatsFromLayout(studyRoomId, layout);
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            // 批量创建后持久化上下文已清理，只返回座位自身字段，不访问自习室关联
+            List<Map<String, Object>> seatSummaries = new ArrayList<>(seats.size());
+            for (Seat seat : seats) {
+                Map<String, Object> summary = new HashMap<>();
+                summary.put("id", seat.getId());
+                summary.put("seatNumber", seat.getSeatNumber());
+                summary.put("type", seat.getType().toString());
+                summary.put("rowNum", seat.getRowNum());
+                summary.put("colNum", seat.getColNum());
+                summary.put("hasWindow", seat.getHasWindow());
+                summary.put("hasPowerOutlet", seat.getHasPowerOutlet());
+                seatSummaries.add(summary);
+            }
+
+            Map<String, Object> responseData = new HashMap<>();
+            responseData.put("studyRoomId", studyRoomId);
+            responseData.put("rows", layout.getRows());
+            responseData.put("columns", layout.getColumns());
+            responseData.put("count", seats.size());
+            responseData.put("elapsedMillis", elapsedMillis);
+            responseData.put("seats", seatSummaries);
+            return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(responseData, "座位布局创建成功"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.<Map<String, Object>>error(HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+        } catch (IllegalStateException e) {
+            // 座位号与自习室已有座位重复
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.<Map<String, Object>>error(HttpStatus.CONFLICT.value(), e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.<Map<String, Object>>error(HttpStatus.INTERNAL_SERVER_ERROR.value(), "创建座位布局失败: " + e.getMessage()));
+        }
+    }
+
     /**
      * 获取座位详细信息
      * GET /api/seats/{seatId}
@@ -506,6 +580,8 @@ public class SeatController {
         seatResponse.put("hasWindow", seat.getHasWindow());
         seatResponse.put("hasPowerOutlet", seat.getHasPowerOutlet());
         seatResponse.put("hasLamp", seat.getHasLamp());
+        seatResponse.put("rowNum", seat.getRowNum());
+        seatResponse.put("colNum", seat.getColNum());
         seatResponse.put("createdAt", seat.getCreatedAt());
         seatResponse.put("updatedAt", seat.getUpdatedAt());
 
@@ -521,6 +597,54 @@ public class SeatController {
         return seatResponse;
     }
 
+    // 工具方法：解析座位布局请求
+    @SuppressWarnings("unchecked")
+    private SeatLayout parseSeatLayout(Map<String, Object> request) {
+        if (request.get("rows") == null || request.get("columns") == null) {
+            throw new IllegalArgumentException("行数和列数不能为空");
+        }
+        SeatLayout.Builder builder = SeatLayout.builder(toInt(request.get("rows")), toInt(request.get("columns")),
+                maxLayoutSeats)
+            .seatNumberPrefix((String) request.get("seatNumberPrefix"))
+            .equipment((String) request.get("equipment"))
+            .aisleRows(toIntList(request.get("aisleRows")))
+            .aisleColumns(toIntList(request.get("aisleColumns")))
+            .windowColumns(toIntList(request.get("windowColumns")))
+            .powerColumns(toIntList(request.get("powerColumns")));
+        if (request.get("defaultType") != null) {
+            builder.defaultType(Seat.SeatType.valueOf(request.get("defaultType").toString().toUpperCase()));
+        }
+        if (request.get("hasLamp") != null) {
+            builder.hasLamp((Boolean) request.get("hasLamp"));
+        }
+        if (request.get("zones") != null) {
+            for (Map<String, Object> zone : (List<Map<String, Object>>) request.get("zones")) {
+                builder.zone(Seat.SeatType.valueOf(zone.get("type").toString().toUpperCase()),
+                             toInt(zone.get("fromRow")), toInt(zone.get("toRow")),
+                             toInt(zone.get("fromCol")), toInt(zone.get("toCol")));
+            }
+        }
+        return builder.build();
+    }
+
+    private static List<Integer> toIntList(Object value) {
+        if (value == null) {
+            return null;
+        }
+        List<Integer> result = new ArrayList<>();
+        for (Object item : (Collection<?>) value) {
+            result.add(toInt(item));
+        }
+        return result;
+    }
+
+    private static int toInt(Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("缺少数值参数");
+        }
+        return Integer.parseInt(value.toString());
+    }
+
     // 工具方法：创建错误响应
     private ApiResponse<Object> createErrorResponse(String message, int httpStatusCode) {
         return ApiResponse.error(httpStatusCode, message);
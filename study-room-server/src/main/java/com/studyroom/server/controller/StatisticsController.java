@@ -5,6 +5,7 @@ import com.studyroom.server.service.UserService;
 import com.studyroom.server.service.StudyRoomService;
 import com.studyroom.server.service.SeatService;
 import com.studyroom.server.service.ReservationService;
+import com.studyroom.server.service.eventlog.ReservationEventLog;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -37,6 +38,9 @@ public class StatisticsController {
     
     @Autowired
     private ReservationService reservationService;
+
+    @Autowired
+    private ReservationEventLog reservationEventLog;
     
     /**
      * 获取系统总体统计信息
@@ -152,6 +156,20 @@ public class StatisticsController {
         }
     }
 
+    /**
+     * 获取基于预订事件日志的分析统计（不查询预订表）
+     * GET /api/statistics/reservation-events
+     */
+    @GetMapping("/reservation-events")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getReservationEventStatistics() {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(reservationEventLog.getStatistics(), "获取预订事件统计成功"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.<Map<String, Object>>error(HttpStatus.INTERNAL_SERVER_ERROR.value(), "获取预订事件统计失败: " + e.getMessage()));
+        }
+    }
+
     /**
      * 获取收入统计报告
      * GET /api/statistics/revenue?startDate=2024-01-01T00:00:00&endDate=2024-12-31T23:59:59
@@ -0,0 +1,45 @@
+package com.studyroom.server.controller;
+
+import com.studyroom.server.dto.ApiResponse;
+import com.studyroom.server.tracing.RecentRequestLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 请求追踪控制器（管理员功能）
+ * 查询最近请求中最慢的请求及其各阶段耗时和 SQL 明细
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/traces")
+public class TraceController {
+
+    @Autowired
+    private RecentRequestLog recentRequestLog;
+
+    /**
+     * 最近最慢的请求
+     * GET /api/traces/slowest?limit=20&includeStatements=true
+     */
+    @GetMapping("/slowest")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getSlowestRequests(
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "true") boolean includeStatements) {
+        List<Map<String, Object>> requests = recentRequestLog.findSlowest(limit, includeStatements);
+        Map<String, Object> data = new HashMap<>();
+        data.put("requests", requests);
+        data.put("count", requests.size());
+        data.put("statistics", recentRequestLog.getStatistics());
+        return ResponseEntity.ok(ApiResponse.success(data, "获取慢请求成功"));
+    }
+}
@@ -5,9 +5,11 @@ import com.studyroom.server.entity.User;
 import com.studyroom.server.entity.Reservation;
 import com.studyroom.server.service.UserService;
 import com.studyroom.server.util.JwtUtil;
+import com.studyroom.server.util.SortParser;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,6 +17,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 用户管理控制器
@@ -27,6 +30,13 @@ import java.util.Map;
 @RequestMapping("/api/users")
 public class UserController {
     
+    // 分页查询允许排序的字段
+    private static final Set<String> USER_SORT_PROPERTIES = Set.of(
+        "id", "username", "email", "realName", "role", "status", "createdAt", "lastLoginAt");
+
+    // 分页查询每页最多返回的记录数
+    private static final int MAX_PAGE_SIZE = 200;
+    
     @Autowired
     private UserService userService;
 
@@ -241,7 +251,7 @@ public class UserController {
 
     /**
      * 分页查询用户（管理员功能）
-     * GET /api/users?page=0&size=10&role=USER&status=ACTIVE&keyword=关键字
+     * GET /api/users?page=0&size=10&role=USER&status=ACTIVE&keyword=关键字&sort=createdAt,desc
      */
     @GetMapping("")
     public ResponseEntity<ApiResponse<Map<String, Object>>> getUsers(
@@ -249,8 +259,11 @@ public class UserController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String role,
             @RequestParam(required = false) String status,
-            @RequestParam(required = false) String keyword) {
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String sort) {
         try {
+            page = Math.max(page, 0);
+            size = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
             User.UserRole userRole = null;
             User.UserStatus userStatus = null;
 
@@ -261,14 +274,8 @@ public class UserController {
                 userStatus = User.UserStatus.valueOf(status.toUpperCase());
             }
 
-            Page<User> userPage = userService.findUsersWithPagination(page, size, userRole, userStatus);
-
-            // 如果有关键字搜索，先在结果中进行简单过滤（后续可以改进为数据库层面搜索）
-            if (keyword != null && !keyword.trim().isEmpty()) {
-                String searchKeyword = keyword.trim().toLowerCase();
-                // 这里简化处理，实际应该在数据库层面进行搜索
-                // 但为了快速验证功能，先在内存中过滤
-            }
+            Sort userSort = SortParser.parse(sort, USER_SORT_PROPERTIES, Sort.by(Sort.Direction.DESC, "createdAt"));
+            Page<User> userPage = userService.findUsersWithPagination(page, size, userRole, userStatus, keyword, userSort);
 
             // 创建符合前端期望的PageData结构
             Map<String, Object> pageData = new HashMap<>();
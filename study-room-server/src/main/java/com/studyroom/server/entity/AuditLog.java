@@ -0,0 +1,125 @@
+package com.studyroom.server.entity;
+
+import javax.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 审计日志实体类
+ * 记录管理操作的操作人、动作、对象及修改前后的值。
+ * 由审计缓冲区通过 JDBC 批量写入，主键使用数据库自增列。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+@Entity
+@Table(name = "audit_logs", indexes = {
+    @Index(name = "idx_audit_logs_entity", columnList = "entity_type, entity_id"),
+    @Index(name = "idx_audit_logs_actor", columnList = "actor_id"),
+    @Index(name = "idx_audit_logs_created_at", columnList = "created_at")
+})
+public class AuditLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "actor_id")
+    private Long actorId;
+
+    @Column(nullable = false, length = 50)
+    private String action;
+
+    @Column(name = "entity_type", nullable = false, length = 30)
+    private String entityType;
+
+    @Column(name = "entity_id")
+    private Long entityId;
+
+    @Column(length = 500)
+    private String beforeValue;
+
+    @Column(length = 500)
+    private String afterValue;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public AuditLog() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getActorId() {
+        return actorId;
+    }
+
+    public void setActorId(Long actorId) {
+        this.actorId = actorId;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public String getBeforeValue() {
+        return beforeValue;
+    }
+
+    public void setBeforeValue(String beforeValue) {
+        this.beforeValue = beforeValue;
+    }
+
+    public String getAfterValue() {
+        return afterValue;
+    }
+
+    public void setAfterValue(String afterValue) {
+        this.afterValue = afterValue;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "AuditLog{" +
+                "id=" + id +
+                ", actorId=" + actorId +
+                ", action='" + action + '\'' +
+                ", entityType='" + entityType + '\'' +
+                ", entityId=" + entityId +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
@@ -2,6 +2,8 @@ package com.studyroom.server.entity;
 
 import javax.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -14,11 +16,22 @@ import java.time.LocalDateTime;
  * @version 1.0
  */
 @Entity
-@Table(name = "reservations")
+// 冲突检测和按用户查询的索引；SQLite 不生成外键，外键列上也就没有 H2 那样自动创建的索引
+@Table(name = "reservations", indexes = {
+    @Index(name = "idx_reservations_seat_start", columnList = "seat_id, startTime"),
+    @Index(name = "idx_reservations_user_start", columnList = "user_id, startTime")
+})
 public class Reservation {
 
+    // 主键分配方式见 User#id
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservation_id_generator")
+    @GenericGenerator(name = "reservation_id_generator", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+        @Parameter(name = "sequence_name", value = "reservations_seq"),
+        @Parameter(name = "increment_size", value = "50"),
+        @Parameter(name = "optimizer", value = "pooled-lo"),
+        @Parameter(name = "force_table_use", value = "true")
+    })
     private Long id;
 
     @Column(nullable = false)
@@ -58,6 +71,9 @@ public class Reservation {
     @Column
     private LocalDateTime checkOutTime;
 
+    @Column(length = 200)
+    private String cancelReason;
+
     // 多个预订记录属于一个用户
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
@@ -178,6 +194,14 @@ public class Reservation {
         this.notes = notes;
     }
 
+    public String getCancelReason() {
+        return cancelReason;
+    }
+
+    public void setCancelReason(String cancelReason) {
+        this.cancelReason = cancelReason;
+    }
+
     public String getReservationCode() {
         return reservationCode;
     }
@@ -2,6 +2,8 @@ package com.studyroom.server.entity;
 
 import javax.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.annotations.UpdateTimestamp;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
@@ -19,8 +21,15 @@ import java.util.ArrayList;
 @Table(name = "seats")
 public class Seat {
 
+    // 主键分配方式见 User#id
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seat_id_generator")
+    @GenericGenerator(name = "seat_id_generator", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+        @Parameter(name = "sequence_name", value = "seats_seq"),
+        @Parameter(name = "increment_size", value = "50"),
+        @Parameter(name = "optimizer", value = "pooled-lo"),
+        @Parameter(name = "force_table_use", value = "true")
+    })
     private Long id;
 
     @Column(nullable = false, length = 20)
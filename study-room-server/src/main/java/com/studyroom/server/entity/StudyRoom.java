@@ -2,6 +2,8 @@ package com.studyroom.server.entity;
 
 import javax.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.annotations.UpdateTimestamp;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
@@ -21,8 +23,15 @@ import java.util.ArrayList;
 @Table(name = "study_rooms")
 public class StudyRoom {
 
+    // 主键分配方式见 User#id
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "study_room_id_generator")
+    @GenericGenerator(name = "study_room_id_generator", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+        @Parameter(name = "sequence_name", value = "study_rooms_seq"),
+        @Parameter(name = "increment_size", value = "50"),
+        @Parameter(name = "optimizer", value = "pooled-lo"),
+        @Parameter(name = "force_table_use", value = "true")
+    })
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -2,6 +2,8 @@ package com.studyroom.server.entity;
 
 import javax.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.annotations.UpdateTimestamp;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
@@ -19,8 +21,19 @@ import java.util.ArrayList;
 @Table(name = "users")
 public class User {
 
+    /**
+     * 使用单行序列表 + pooled-lo 优化器分配主键（每次预取 50 个），使 Hibernate 可以批量插入；
+     * 强制用表而非数据库序列，H2 与 SQLite 建表一致。prod 的 SQLite 只有一个写连接，
+     * 改由 {@link com.studyroom.server.config.SQLiteIdGeneratorStrategyProvider} 按 MAX(id) 在内存中递增
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_id_generator")
+    @GenericGenerator(name = "user_id_generator", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+        @Parameter(name = "sequence_name", value = "users_seq"),
+        @Parameter(name = "increment_size", value = "50"),
+        @Parameter(name = "optimizer", value = "pooled-lo"),
+        @Parameter(name = "force_table_use", value = "true")
+    })
     private Long id;
 
     @Column(nullable = false, unique = true, length = 50)
@@ -0,0 +1,94 @@
+package com.studyroom.server.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 无锁延迟直方图（单位：微秒）
+ * 0~15 微秒逐个计数，之后每个 2 的幂区间再分为 8 个子桶，相对误差不超过 12.5%。
+ * 记录只是一次原子自增，不分配对象，可以放在任意热路径上。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+final class LatencyHistogram {
+
+    private static final int LINEAR_BUCKETS = 16;
+    private static final int LINEAR_EXPONENT = 4; // 2^4 = LINEAR_BUCKETS
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // 2^40 微秒约 12 天，更大的值计入最后一个桶
+    private static final int MAX_EXPONENT = 40;
+
+    static final int BUCKET_COUNT = LINEAR_BUCKETS + (MAX_EXPONENT - LINEAR_EXPONENT + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    void record(long micros) {
+        counts.incrementAndGet(bucketOf(micros));
+    }
+
+    /**
+     * 把各桶计数累加到 totals 中
+     * @return 累加的总次数
+     */
+    long addTo(long[] totals) {
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = counts.get(i);
+            totals[i] += count;
+            total += count;
+        }
+        return total;
+    }
+
+    void clear() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    static int bucketOf(long micros) {
+        if (micros < LINEAR_BUCKETS) {
+            return (int) Math.max(micros, 0);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_BUCKETS + (exponent - LINEAR_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * 桶内的最大值（微秒），百分位按上界报告，宁可偏大也不低估
+     */
+    static long upperBound(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + LINEAR_EXPONENT;
+        int subBucket = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    /**
+     * 根据合并后的桶计数计算百分位（微秒）
+     * @param totals 桶计数
+     * @param total 总次数
+     * @param quantile 分位（0~1）
+     */
+    static long percentile(long[] totals, long total, double quantile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += totals[i];
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(BUCKET_COUNT - 1);
+    }
+}
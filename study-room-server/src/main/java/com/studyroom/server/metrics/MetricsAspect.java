@@ -0,0 +1,103 @@
+package com.studyroom.server.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.repository.Repository;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 指标切面
+ * 为所有 REST 控制器方法和 Spring Data 仓库方法计时。
+ * 计时器按方法缓存，热路径上只有一次哈希查找和两次 nanoTime。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+@Aspect
+@Component
+public class MetricsAspect {
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    private final ConcurrentHashMap<Method, Timer> controllerTimers = new ConcurrentHashMap<>();
+
+    // 继承来的方法（如 findById）在各仓库间共享同一个 Method，需要再按仓库代理类区分
+    private final ClassValue<ConcurrentHashMap<Method, Timer>> repositoryTimers = new ClassValue<>() {
+        @Override
+        protected ConcurrentHashMap<Method, Timer> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private volatile Timer httpTimer;
+
+    /**
+     * 控制器计时：抛出异常或返回 5xx 计为错误
+     */
+    @Around("@within(org.springframework.web.bind.annotation.RestController)")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Timer timer = controllerTimers.computeIfAbsent(method, m -> metricsRegistry.timer(MetricsRegistry.HTTP_REQUESTS,
+            "endpoint", m.getDeclaringClass().getSimpleName() + "." + m.getName()));
+        long start = System.nanoTime();
+        boolean error = true;
+        try {
+            Object result = joinPoint.proceed();
+            error = result instanceof ResponseEntity && ((ResponseEntity<?>) result).getStatusCode().is5xxServerError();
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            timer.record(elapsed, error);
+            httpTimer().record(elapsed, error);
+        }
+    }
+
+    /**
+     * 仓库计时（包括继承自 JpaRepository 的方法）
+     */
+    @Around("execution(public * org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Class<?> proxyClass = joinPoint.getThis().getClass();
+        Timer timer = repositoryTimers.get(proxyClass).computeIfAbsent(method, m -> metricsRegistry.timer(
+            MetricsRegistry.REPOSITORY_INVOCATIONS,
+            "repository", repositoryName(proxyClass), "method", m.getName()));
+        long start = System.nanoTime();
+        boolean error = true;
+        try {
+            Object result = joinPoint.proceed();
+            error = false;
+            return result;
+        } finally {
+            timer.record(System.nanoTime() - start, error);
+        }
+    }
+
+    private Timer httpTimer() {
+        Timer timer = httpTimer;
+        if (timer == null) {
+            timer = metricsRegistry.timer(MetricsRegistry.HTTP_REQUESTS_ALL);
+            httpTimer = timer;
+        }
+        return timer;
+    }
+
+    // 仓库代理实现的第一个业务接口，如 SeatRepository
+    private static String repositoryName(Class<?> proxyClass) {
+        for (Class<?> type : ClassUtils.getAllInterfacesForClass(proxyClass)) {
+            if (Repository.class.isAssignableFrom(type) && !type.getName().startsWith("org.springframework.")) {
+                return type.getSimpleName();
+            }
+        }
+        return proxyClass.getSimpleName();
+    }
+}
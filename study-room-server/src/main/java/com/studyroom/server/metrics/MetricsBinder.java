@@ -0,0 +1,87 @@
+package com.studyroom.server.metrics;
+
+import com.studyroom.server.entity.Reservation;
+import com.studyroom.server.entity.Seat;
+import com.studyroom.server.repository.SeatRepository;
+import com.studyroom.server.repository.UserRepository;
+import com.studyroom.server.security.LoginRateLimiter;
+import com.studyroom.server.security.OnlineUserTracker;
+import com.studyroom.server.security.PasswordVerifier;
+import com.studyroom.server.service.audit.AuditTrail;
+import com.studyroom.server.service.eventlog.ReservationEventLog;
+import com.studyroom.server.service.impl.UserAvailabilityIndex;
+import com.studyroom.server.tracing.RecentRequestLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 把各组件已有的统计信息注册到指标注册表，统一从 /api/metrics 导出
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+@Component
+public class MetricsBinder {
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @Autowired
+    private PasswordVerifier passwordVerifier;
+
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
+    @Autowired
+    private UserAvailabilityIndex userAvailabilityIndex;
+
+    @Autowired
+    private AuditTrail auditTrail;
+
+    @Autowired
+    private ReservationEventLog reservationEventLog;
+
+    @Autowired
+    private RecentRequestLog recentRequestLog;
+
+    @Autowired
+    private OnlineUserTracker onlineUserTracker;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @PostConstruct
+    public void bind() {
+        metricsRegistry.registerStatistics("password_verifier", passwordVerifier::getStatistics);
+        metricsRegistry.registerStatistics("login_rate_limiter", loginRateLimiter::getStatistics);
+        metricsRegistry.registerStatistics("user_availability_index", userAvailabilityIndex::getStatistics);
+        metricsRegistry.registerStatistics("audit_trail", auditTrail::getStatistics);
+        metricsRegistry.registerStatistics("reservation_event_log", reservationEventLog::getStatistics);
+        metricsRegistry.registerStatistics("request_tracing", recentRequestLog::getStatistics);
+        metricsRegistry.registerStatistics("overview", this::overview);
+    }
+
+    /**
+     * 管理端仪表盘使用的总体数据：用户数、座位数和有效预订数
+     * 有效预订数取自事件日志投影，回放完成前不导出
+     */
+    private Map<String, Object> overview() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("onlineUsers", onlineUserTracker.countOnline());
+        stats.put("totalUsers", userRepository.count());
+        stats.put("totalSeats", seatRepository.count());
+        stats.put("availableSeats", seatRepository.countByStatus(Seat.SeatStatus.AVAILABLE));
+        if (reservationEventLog.isReady()) {
+            stats.put("activeReservations",
+                reservationEventLog.getProjection().countByStatus(Reservation.ReservationStatus.ACTIVE));
+        }
+        return stats;
+    }
+}
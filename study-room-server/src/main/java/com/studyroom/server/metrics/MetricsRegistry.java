@@ -0,0 +1,270 @@
+package com.studyroom.server.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 指标注册表
+ * 管理所有计时器，并汇总各组件已有的 getStatistics() 统计信息，
+ * 输出 JSON 快照和 Prometheus 文本格式（0.0.4）。
+ * 计时器按名称 + 标签唯一，调用方应缓存返回的 {@link Timer}，避免在热路径上反复拼接键。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+@Component
+public class MetricsRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsRegistry.class);
+
+    public static final String HTTP_REQUESTS = "http.server.requests";
+    // 全部请求的汇总计时器，单独命名，避免与按 endpoint 分标签的计时器落入同一个 Prometheus 指标族而重复计数
+    public static final String HTTP_REQUESTS_ALL = "http.server.requests.all";
+    public static final String REPOSITORY_INVOCATIONS = "repository.invocations";
+
+    private static final String PROMETHEUS_PREFIX = "studyroom_";
+
+    @Value("${metrics.window-seconds:60}")
+    private long windowSeconds;
+
+    private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Supplier<Map<String, Object>>> statisticsSources = new ConcurrentHashMap<>();
+
+    /**
+     * 获取或创建计时器
+     * @param name 名称
+     * @param tags 标签，按 key, value 交替给出
+     * @return 计时器
+     */
+    public Timer timer(String name, String... tags) {
+        if (tags.length % 2 != 0) {
+            throw new IllegalArgumentException("标签必须成对出现: " + name);
+        }
+        StringBuilder key = new StringBuilder(name);
+        Map<String, String> tagMap = new LinkedHashMap<>();
+        for (int i = 0; i < tags.length; i += 2) {
+            key.append('|').append(tags[i]).append('=').append(tags[i + 1]);
+            tagMap.put(tags[i], tags[i + 1]);
+        }
+        return timers.computeIfAbsent(key.toString(),
+            k -> new Timer(name, tagMap, TimeUnit.SECONDS.toMillis(windowSeconds)));
+    }
+
+    /**
+     * 注册组件统计信息来源（数值项会以 gauge 形式导出）
+     * @param name 来源名称
+     * @param source 统计信息提供者
+     */
+    public void registerStatistics(String name, Supplier<Map<String, Object>> source) {
+        statisticsSources.put(name, source);
+    }
+
+    /**
+     * JSON 快照：计时器窗口统计、HTTP 汇总、组件统计和 JVM 信息
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new HashMap<>();
+        List<Map<String, Object>> timerList = new ArrayList<>();
+        for (Timer timer : sortedTimers()) {
+            Map<String, Object> entry = describe(timer);
+            entry.put("name", timer.getName());
+            entry.put("tags", timer.getTags());
+            timerList.add(entry);
+        }
+        result.put("timers", timerList);
+        result.put("http", describe(timer(HTTP_REQUESTS_ALL)));
+        result.put("statistics", collectStatistics());
+        result.put("jvm", jvmStatistics());
+        result.put("windowSeconds", windowSeconds);
+        return result;
+    }
+
+    /**
+     * Prometheus 文本格式
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(8192);
+        // 同一指标族的样本必须连续输出，按名称分组后逐族写出
+        Map<String, List<Timer>> families = new LinkedHashMap<>();
+        for (Timer timer : sortedTimers()) {
+            families.computeIfAbsent(PROMETHEUS_PREFIX + sanitize(timer.getName()), k -> new ArrayList<>()).add(timer);
+        }
+        families.forEach((family, members) -> {
+            String metric = family + "_seconds";
+            out.append("# TYPE ").append(metric).append(" summary\n");
+            for (Timer timer : members) {
+                Timer.Snapshot snapshot = timer.snapshot();
+                appendSample(out, metric, timer.getTags(), "quantile", "0.5", snapshot.getP50Micros() / 1e6);
+                appendSample(out, metric, timer.getTags(), "quantile", "0.95", snapshot.getP95Micros() / 1e6);
+                appendSample(out, metric, timer.getTags(), "quantile", "0.99", snapshot.getP99Micros() / 1e6);
+                appendSample(out, metric + "_count", timer.getTags(), null, null, timer.getCount());
+                appendSample(out, metric + "_sum", timer.getTags(), null, null, timer.getTotalNanos() / 1e9);
+            }
+            out.append("# TYPE ").append(metric).append("_max gauge\n");
+            for (Timer timer : members) {
+                appendSample(out, metric + "_max", timer.getTags(), null, null, timer.getMaxNanos() / 1e9);
+            }
+            out.append("# TYPE ").append(family).append("_errors_total counter\n");
+            for (Timer timer : members) {
+                appendSample(out, family + "_errors_total", timer.getTags(), null, null, timer.getErrors());
+            }
+        });
+
+        Map<String, Object> statistics = collectStatistics();
+        statistics.put("jvm", jvmStatistics());
+        for (Map.Entry<String, Object> source : statistics.entrySet()) {
+            if (!(source.getValue() instanceof Map)) {
+                continue;
+            }
+            for (Map.Entry<?, ?> item : ((Map<?, ?>) source.getValue()).entrySet()) {
+                String metric = PROMETHEUS_PREFIX + sanitize(source.getKey()) + "_" + sanitize(String.valueOf(item.getKey()));
+                Object value = item.getValue();
+                if (value instanceof Map) {
+                    // 嵌套的计数表（如按状态统计）展开为带 key 标签的多条样本
+                    boolean typed = false;
+                    for (Map.Entry<?, ?> nested : ((Map<?, ?>) value).entrySet()) {
+                        Double number = toNumber(nested.getValue());
+                        if (number != null) {
+                            if (!typed) {
+                                out.append("# TYPE ").append(metric).append(" gauge\n");
+                                typed = true;
+                            }
+                            appendSample(out, metric, Map.of(), "key", String.valueOf(nested.getKey()), number);
+                        }
+                    }
+                } else {
+                    Double number = toNumber(value);
+                    if (number != null) {
+                        out.append("# TYPE ").append(metric).append(" gauge\n");
+                        appendSample(out, metric, Map.of(), null, null, number);
+                    }
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    private List<Timer> sortedTimers() {
+        List<Timer> list = new ArrayList<>(timers.values());
+        list.sort(Comparator.comparing(Timer::getName).thenComparing(t -> t.getTags().toString()));
+        return list;
+    }
+
+    private static Map<String, Object> describe(Timer timer) {
+        Timer.Snapshot snapshot = timer.snapshot();
+        long count = timer.getCount();
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("count", count);
+        entry.put("errors", timer.getErrors());
+        entry.put("ratePerSecond", Math.round(snapshot.getRatePerSecond() * 100) / 100.0);
+        entry.put("windowCount", snapshot.getCount());
+        entry.put("p50Millis", snapshot.getP50Micros() / 1000.0);
+        entry.put("p95Millis", snapshot.getP95Micros() / 1000.0);
+        entry.put("p99Millis", snapshot.getP99Micros() / 1000.0);
+        entry.put("meanMillis", count == 0 ? 0.0 : timer.getTotalNanos() / (double) count / 1_000_000);
+        entry.put("maxMillis", timer.getMaxNanos() / 1_000_000.0);
+        return entry;
+    }
+
+    private Map<String, Object> collectStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statisticsSources.forEach((name, source) -> {
+            try {
+                statistics.put(name, source.get());
+            } catch (RuntimeException e) {
+                // 单个来源失败不影响其他指标
+                logger.warn("读取统计信息失败: source={}, error={}", name, e.getMessage());
+            }
+        });
+        return statistics;
+    }
+
+    private static Map<String, Object> jvmStatistics() {
+        Map<String, Object> jvm = new LinkedHashMap<>();
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        jvm.put("heapUsedBytes", heap.getUsed());
+        jvm.put("heapMaxBytes", heap.getMax());
+        jvm.put("threads", ManagementFactory.getThreadMXBean().getThreadCount());
+        jvm.put("uptimeSeconds", ManagementFactory.getRuntimeMXBean().getUptime() / 1000);
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        jvm.put("availableProcessors", os.getAvailableProcessors());
+        jvm.put("systemLoadAverage", os.getSystemLoadAverage());
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            // 取值 0~1，尚未采样时为负数
+            jvm.put("processCpuLoad", ((com.sun.management.OperatingSystemMXBean) os).getProcessCpuLoad());
+        }
+        return jvm;
+    }
+
+    private static void appendSample(StringBuilder out, String metric, Map<String, String> tags,
+                                     String extraKey, String extraValue, double value) {
+        out.append(metric);
+        if (!tags.isEmpty() || extraKey != null) {
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<String, String> tag : tags.entrySet()) {
+                first = appendLabel(out, first, tag.getKey(), tag.getValue());
+            }
+            if (extraKey != null) {
+                appendLabel(out, first, extraKey, extraValue);
+            }
+            out.append('}');
+        }
+        out.append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+
+    private static boolean appendLabel(StringBuilder out, boolean first, String key, String value) {
+        if (!first) {
+            out.append(',');
+        }
+        out.append(sanitize(key)).append("=\"")
+            .append(value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n"))
+            .append('"');
+        return false;
+    }
+
+    private static Double toNumber(Object value) {
+        if (value instanceof Number) {
+            double number = ((Number) value).doubleValue();
+            return Double.isFinite(number) ? number : null;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value ? 1.0 : 0.0;
+        }
+        return null;
+    }
+
+    private static String sanitize(String name) {
+        StringBuilder out = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isUpperCase(c) && i > 0 && Character.isLowerCase(name.charAt(i - 1))) {
+                // camelCase 转为 snake_case
+                out.append('_');
+            }
+            out.append((c < 128 && Character.isLetterOrDigit(c)) ? Character.toLowerCase(c) : '_');
+        }
+        return out.toString();
+    }
+}
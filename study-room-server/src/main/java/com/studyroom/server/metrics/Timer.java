@@ -0,0 +1,165 @@
+package com.studyroom.server.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 计时器
+ * 累计次数、错误数、总耗时和最大耗时，并把最近一个统计窗口按时间切成若干片，
+ * 每片一个 {@link LatencyHistogram}，百分位和每秒请求数只反映窗口内的数据。
+ * 过期的片在下一次写入时被清空复用；清空与并发写入之间的少量计数误差可以接受。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+public final class Timer {
+
+    private static final int SLICES = 6;
+
+    private final String name;
+    private final Map<String, String> tags;
+    private final long sliceMillis;
+    private final long createdAtMillis = System.currentTimeMillis();
+
+    private final LatencyHistogram[] slices = new LatencyHistogram[SLICES];
+    private final AtomicLongArray sliceEpochs = new AtomicLongArray(SLICES);
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    Timer(String name, Map<String, String> tags, long windowMillis) {
+        this.name = name;
+        this.tags = Collections.unmodifiableMap(new LinkedHashMap<>(tags));
+        this.sliceMillis = Math.max(1000, windowMillis / (SLICES - 1));
+        for (int i = 0; i < SLICES; i++) {
+            slices[i] = new LatencyHistogram();
+            sliceEpochs.set(i, -1);
+        }
+    }
+
+    /**
+     * 记录一次成功调用
+     * @param nanos 耗时（纳秒）
+     */
+    public void record(long nanos) {
+        record(nanos, false);
+    }
+
+    /**
+     * 记录一次调用
+     * @param nanos 耗时（纳秒）
+     * @param error 是否失败
+     */
+    public void record(long nanos, boolean error) {
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        if (error) {
+            errors.increment();
+        }
+        currentSlice(System.currentTimeMillis()).record(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * 统计窗口内的快照
+     */
+    public Snapshot snapshot() {
+        long now = System.currentTimeMillis();
+        long epoch = now / sliceMillis;
+        long[] totals = new long[LatencyHistogram.BUCKET_COUNT];
+        long windowCount = 0;
+        for (int i = 0; i < SLICES; i++) {
+            if (sliceEpochs.get(i) > epoch - SLICES) {
+                windowCount += slices[i].addTo(totals);
+            }
+        }
+        // 窗口 = 已结束的片 + 当前片已经过的时间，刚启动时不超过存活时间
+        long windowMillis = (SLICES - 1) * sliceMillis + (now - epoch * sliceMillis);
+        windowMillis = Math.max(1000, Math.min(windowMillis, now - createdAtMillis));
+        return new Snapshot(windowCount, windowCount * 1000.0 / windowMillis,
+            LatencyHistogram.percentile(totals, windowCount, 0.50),
+            LatencyHistogram.percentile(totals, windowCount, 0.95),
+            LatencyHistogram.percentile(totals, windowCount, 0.99));
+    }
+
+    private LatencyHistogram currentSlice(long nowMillis) {
+        long epoch = nowMillis / sliceMillis;
+        int index = (int) (epoch % SLICES);
+        long sliceEpoch = sliceEpochs.get(index);
+        if (sliceEpoch != epoch && sliceEpochs.compareAndSet(index, sliceEpoch, epoch)) {
+            slices[index].clear();
+        }
+        return slices[index];
+    }
+
+    /**
+     * 窗口快照（百分位单位：微秒）
+     */
+    public static final class Snapshot {
+
+        private final long count;
+        private final double ratePerSecond;
+        private final long p50Micros;
+        private final long p95Micros;
+        private final long p99Micros;
+
+        Snapshot(long count, double ratePerSecond, long p50Micros, long p95Micros, long p99Micros) {
+            this.count = count;
+            this.ratePerSecond = ratePerSecond;
+            this.p50Micros = p50Micros;
+            this.p95Micros = p95Micros;
+            this.p99Micros = p99Micros;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getRatePerSecond() {
+            return ratePerSecond;
+        }
+
+        public long getP50Micros() {
+            return p50Micros;
+        }
+
+        public long getP95Micros() {
+            return p95Micros;
+        }
+
+        public long getP99Micros() {
+            return p99Micros;
+        }
+    }
+}
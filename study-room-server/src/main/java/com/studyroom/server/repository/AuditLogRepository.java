@@ -0,0 +1,43 @@
+package com.studyroom.server.repository;
+
+import com.studyroom.server.entity.AuditLog;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 审计日志数据访问接口
+ * 每种查询条件都有对应的索引（entity_type + entity_id、actor_id），分页按主键倒序
+ * 
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+@Repository
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
+
+    /**
+     * 按对象类型分页查询
+     * @param entityType 对象类型
+     * @param pageable 分页参数
+     * @return 审计日志分页
+     */
+    Page<AuditLog> findByEntityType(String entityType, Pageable pageable);
+
+    /**
+     * 按具体对象分页查询
+     * @param entityType 对象类型
+     * @param entityId 对象ID
+     * @param pageable 分页参数
+     * @return 审计日志分页
+     */
+    Page<AuditLog> findByEntityTypeAndEntityId(String entityType, Long entityId, Pageable pageable);
+
+    /**
+     * 按操作人分页查询
+     * @param actorId 操作人用户ID
+     * @param pageable 分页参数
+     * @return 审计日志分页
+     */
+    Page<AuditLog> findByActorId(Long actorId, Pageable pageable);
+}
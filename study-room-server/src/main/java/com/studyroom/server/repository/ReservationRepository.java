@@ -3,6 +3,9 @@ package com.studyroom.server.repository;
 import com.studyroom.server.entity.Reservation;
 import com.studyroom.server.entity.User;
 import com.studyroom.server.entity.Seat;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -239,4 +242,37 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     boolean hasConflictingReservation(@Param("userId") Long userId,
                                       @Param("startTime") LocalDateTime startTime,
                                       @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * 按条件分页查询预订，分页、排序和过滤都在数据库中完成；同时加载用户、座位和自习室，避免逐行查询
+     * @param userId 用户ID（为 null 时不过滤）
+     * @param seatId 座位ID（为 null 时不过滤）
+     * @param status 预订状态（为 null 时不过滤）
+     * @param paymentStatus 支付状态（为 null 时不过滤）
+     * @param startDate 开始时间下限（为 null 时不过滤）
+     * @param endDate 开始时间上限，不含（为 null 时不过滤）
+     * @param keywordPattern 预订码、用户名、真实姓名、座位号或自习室名称的小写 LIKE 模式，% _ \ 以 \ 转义（为 null 时不过滤）
+     * @param pageable 分页和排序
+     * @return 预订分页结果
+     */
+    @EntityGraph(attributePaths = {"user", "seat", "seat.studyRoom"})
+    @Query("SELECT r FROM Reservation r WHERE (:userId IS NULL OR r.user.id = :userId) AND " +
+           "(:seatId IS NULL OR r.seat.id = :seatId) AND " +
+           "(:status IS NULL OR r.status = :status) AND " +
+           "(:paymentStatus IS NULL OR r.paymentStatus = :paymentStatus) AND " +
+           "(:startDate IS NULL OR r.startTime >= :startDate) AND " +
+           "(:endDate IS NULL OR r.startTime < :endDate) AND " +
+           "(:keywordPattern IS NULL OR LOWER(r.reservationCode) LIKE :keywordPattern ESCAPE '\\' OR " +
+           "LOWER(r.user.username) LIKE :keywordPattern ESCAPE '\\' OR " +
+           "LOWER(r.user.realName) LIKE :keywordPattern ESCAPE '\\' OR " +
+           "LOWER(r.seat.seatNumber) LIKE :keywordPattern ESCAPE '\\' OR " +
+           "LOWER(r.seat.studyRoom.name) LIKE :keywordPattern ESCAPE '\\')")
+    Page<Reservation> searchReservations(@Param("userId") Long userId,
+                                         @Param("seatId") Long seatId,
+                                         @Param("status") Reservation.ReservationStatus status,
+                                         @Param("paymentStatus") Reservation.PaymentStatus paymentStatus,
+                                         @Param("startDate") LocalDateTime startDate,
+                                         @Param("endDate") LocalDateTime endDate,
+                                         @Param("keywordPattern") String keywordPattern,
+                                         Pageable pageable);
 } 
\ No newline at end of file
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -138,6 +139,13 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
     @Query("SELECT COUNT(s) FROM Seat s WHERE s.studyRoom.id = :studyRoomId AND s.status = 'AVAILABLE'")
     long countAvailableSeatsByStudyRoomId(@Param("studyRoomId") Long studyRoomId);
 
+    /**
+     * 统计指定状态的座位数
+     * @param status 座位状态
+     * @return 座位数量
+     */
+    long countByStatus(Seat.SeatStatus status);
+
     /**
      * 根据座位号和自习室ID查找座位
      * @param seatNumber 座位号
@@ -173,4 +181,14 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
     @Query("SELECT COUNT(s) > 0 FROM Seat s WHERE s.seatNumber = :seatNumber AND s.studyRoom.id = :studyRoomId")
     boolean existsBySeatNumberAndStudyRoomId(@Param("seatNumber") String seatNumber, 
                                              @Param("studyRoomId") Long studyRoomId);
-} 
\ No newline at end of file
+
+    /**
+     * 查找指定自习室中已存在的座位号（用于批量创建前的一次性重复检查）
+     * @param studyRoomId 自习室ID
+     * @param seatNumbers 待检查的座位号
+     * @return 已存在的座位号列表
+     */
+    @Query("SELECT s.seatNumber FROM Seat s WHERE s.studyRoom.id = :studyRoomId AND s.seatNumber IN :seatNumbers")
+    List<String> findExistingSeatNumbers(@Param("studyRoomId") Long studyRoomId,
+                                         @Param("seatNumbers") Collection<String> seatNumbers);
+}
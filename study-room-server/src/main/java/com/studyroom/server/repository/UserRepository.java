@@ -1,6 +1,8 @@
 package com.studyroom.server.repository;
 
 import com.studyroom.server.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -113,4 +115,22 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     @Query("SELECT u FROM User u WHERE u.username = :username OR u.email = :email")
     Optional<User> findByUsernameOrEmail(@Param("username") String username, @Param("email") String email);
+
+    /**
+     * 按条件分页查询用户，分页、排序和过滤都在数据库中完成
+     * @param role 用户角色（为 null 时不过滤）
+     * @param status 用户状态（为 null 时不过滤）
+     * @param keywordPattern 用户名、邮箱或真实姓名的小写 LIKE 模式，% _ \ 以 \ 转义（为 null 时不过滤）
+     * @param pageable 分页和排序
+     * @return 用户分页结果
+     */
+    @Query("SELECT u FROM User u WHERE (:role IS NULL OR u.role = :role) AND " +
+           "(:status IS NULL OR u.status = :status) AND " +
+           "(:keywordPattern IS NULL OR LOWER(u.username) LIKE :keywordPattern ESCAPE '\\' OR " +
+           "LOWER(u.email) LIKE :keywordPattern ESCAPE '\\' OR " +
+           "LOWER(u.realName) LIKE :keywordPattern ESCAPE '\\')")
+    Page<User> searchUsers(@Param("role") User.UserRole role,
+                           @Param("status") User.UserStatus status,
+                           @Param("keywordPattern") String keywordPattern,
+                           Pageable pageable);
 } 
\ No newline at end of file
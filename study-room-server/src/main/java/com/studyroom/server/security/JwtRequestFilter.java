@@ -1,5 +1,9 @@
 package com.studyroom.server.security;
 
+import com.studyroom.server.metrics.MetricsRegistry;
+import com.studyroom.server.metrics.Timer;
+import com.studyroom.server.tracing.RequestTrace;
+import com.studyroom.server.tracing.RequestTraceContext;
 import com.studyroom.server.util.JwtUtil;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
@@ -14,8 +18,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UriUtils;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
@@ -29,6 +35,17 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @Autowired
+    private OnlineUserTracker onlineUserTracker;
+
+    private volatile Timer jwtVerifyTimer;
+
     // Define public paths that should not be protected by this filter
     // This set should ideally be managed via configuration
     private static final Set<String> PUBLIC_PATHS = new HashSet<>(Arrays.asList(
@@ -44,10 +61,23 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     // Using simple string matching for this iteration. Regex or AntPathMatcher would be more robust.
     private static final Set<String> ADMIN_PATH_PATTERNS = new HashSet<>(Arrays.asList(
             "/api/users/active", // GET all active users
-            "/api/users"         // GET paginated user list (exact match for the base, query params handle pagination)
+            "/api/users",        // GET paginated user list (exact match for the base, query params handle pagination)
+            "/api/auth/password-verification/stats", // BCrypt verification metrics
+            "/api/auth/rate-limit/stats",             // Login rate limiter metrics
+            "/api/audit-logs",                        // Paged audit trail query
+            "/api/audit-logs/stats",                  // Audit buffer metrics
+            "/api/metrics",                           // Latency/throughput snapshot (JSON)
+            "/api/metrics/prometheus",                // Prometheus text exposition
+            "/api/traces/slowest"                     // Slowest recent request traces
             // Paths like /api/users/{userId}/status and /api/users/{userId} (DELETE) will be checked with startsWith and endsWith
     ));
 
+    // Credential endpoints throttled per client IP before any DB or BCrypt work
+    private static final Set<String> RATE_LIMITED_PATHS = new HashSet<>(Arrays.asList(
+            "/api/auth/login",
+            "/api/auth/register"
+    ));
+
     private static final String ROLE_ADMIN = "ADMIN";
 
 
@@ -55,12 +85,28 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
 
-        final String requestURI = request.getRequestURI();
+        // Match on the path Spring MVC will actually route, so variants such as a trailing slash
+        // or ";param" cannot reach a controller while slipping past the public/admin checks
+        final String requestURI = normalizePath(request.getRequestURI());
+        final long authStart = System.nanoTime();
         logger.debug("JwtRequestFilter processing request: {}", requestURI);
 
+        // Throttle credential endpoints by client IP
+        if (RATE_LIMITED_PATHS.contains(requestURI)) {
+            long retryAfterMillis = loginRateLimiter.tryAcquireForIp(request.getRemoteAddr());
+            if (retryAfterMillis > 0) {
+                logger.warn("Rate limit exceeded for {} from {}. Sending 429 Too Many Requests.", requestURI, request.getRemoteAddr());
+                response.setHeader("Retry-After", String.valueOf((retryAfterMillis + 999) / 1000));
+                recordAuthPhase(authStart);
+                response.sendError(429, "Too Many Requests: Please retry later.");
+                return;
+            }
+        }
+
         // Check if the path is public
         if (isPublicPath(requestURI)) {
             logger.debug("Path {} is public, skipping JWT validation.", requestURI);
+            recordAuthPhase(authStart);
             chain.doFilter(request, response);
             return;
         }
@@ -72,6 +118,7 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         Long userId = null; // Changed from username to userId for request attribute
         String jwt = null;
 
+        long verifyStart = System.nanoTime();
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             jwt = authorizationHeader.substring(7);
             try {
@@ -93,9 +140,14 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
         // Validate the token (checks signature, expiration, and well-formedness)
         // userId being non-null implies token was parseable to some extent.
-        if (userId != null && jwt != null && jwtUtil.validateToken(jwt)) {
+        boolean tokenValid = userId != null && jwt != null && jwtUtil.validateToken(jwt);
+        if (jwt != null) {
+            jwtVerifyTimer().record(System.nanoTime() - verifyStart, !tokenValid);
+        }
+        if (tokenValid) {
             logger.debug("JWT token is valid for userId {} accessing path {}", userId, requestURI);
             request.setAttribute("x-user-id", userId); // Set userId as a request attribute
+            onlineUserTracker.record(userId);
 
             String role = jwtUtil.extractRole(jwt); // Extract role for all valid tokens
             if (role != null) {
@@ -107,10 +159,11 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             }
 
             // RBAC Check for Admin Paths
-            if (isAdminPath(requestURI)) {
+            if (isAdminPath(requestURI, request.getMethod())) {
                 logger.debug("Admin path {} accessed by user with role {}", requestURI, role);
                 if (!ROLE_ADMIN.equals(role)) {
                     logger.warn("User {} with role {} attempted to access admin path {}. Sending 403 Forbidden.", userId, role, requestURI);
+                    recordAuthPhase(authStart);
                     response.sendError(HttpServletResponse.SC_FORBIDDEN, "Forbidden: Access denied.");
                     return;
                 }
@@ -124,13 +177,29 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             //         userDetails, null, userDetails.getAuthorities());
             // authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
             // SecurityContextHolder.getContext().setAuthentication(authentication);
+            recordAuthPhase(authStart);
             chain.doFilter(request, response);
         } else {
             logger.warn("Invalid or missing JWT Token for protected path {}. Sending 401 Unauthorized.", requestURI);
+            recordAuthPhase(authStart);
             response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized: Invalid or missing JWT token.");
         }
     }
 
+    // Auth phase of the per-request trace: everything this filter does before handing off or rejecting
+    private void recordAuthPhase(long authStart) {
+        RequestTraceContext.addPhase(RequestTrace.Phase.AUTH, System.nanoTime() - authStart);
+    }
+
+    private Timer jwtVerifyTimer() {
+        Timer timer = jwtVerifyTimer;
+        if (timer == null) {
+            timer = metricsRegistry.timer("security.jwt.verify");
+            jwtVerifyTimer = timer;
+        }
+        return timer;
+    }
+
     private boolean isPublicPath(String requestURI) {
         if (PUBLIC_PATHS.contains(requestURI)) {
             return true;
@@ -145,16 +214,31 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         return false;
     }
 
-    private boolean isAdminPath(String requestURI) {
+    // Mirrors Spring MVC's lookup path: drops ";" path parameters, URL-decodes, collapses duplicate
+    // slashes, and strips the trailing slash that trailing-slash matching would ignore
+    static String normalizePath(String requestURI) {
+        String path = UriUtils.decode(requestURI.replaceAll(";[^/]*", ""), StandardCharsets.UTF_8);
+        path = path.replaceAll("/{2,}", "/");
+        while (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        return path;
+    }
+
+    private boolean isAdminPath(String requestURI, String method) {
         if (ADMIN_PATH_PATTERNS.contains(requestURI)) {
             return true;
         }
+        // Bulk seat layout generation: /api/seats/study-room/{studyRoomId}/layout
+        if (requestURI.matches("/api/seats/study-room/[^/]+/layout")) {
+            return true;
+        }
         // Check for patterns like /api/users/{userId}/status or /api/users/{userId} (DELETE)
         // A more robust solution would use regex or AntPathMatcher.
-        if (requestURI.startsWith("/api/users/") && (requestURI.endsWith("/status") || request.getMethod().equals("DELETE"))) {
+        if (requestURI.startsWith("/api/users/") && (requestURI.endsWith("/status") || method.equals("DELETE"))) {
              // This is a simplified check. For DELETE, it assumes any DELETE to /api/users/{id} is admin.
              // For PUT to /status, it assumes any /api/users/{id}/status is admin.
-            if (requestURI.matches("/api/users/[^/]+/status") || (request.getMethod().equals("DELETE") && requestURI.matches("/api/users/[^/]+"))) {
+            if (requestURI.matches("/api/users/[^/]+/status") || (method.equals("DELETE") && requestURI.matches("/api/users/[^/]+"))) {
                  return true;
             }
         }
@@ -0,0 +1,82 @@
+package com.studyroom.server.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 登录/注册限流器
+ * 分别按客户端IP和用户名维护令牌桶，在查询数据库和计算 BCrypt 之前拒绝超额请求，
+ * 防止撞库和暴力破解拖垮服务。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+@Component
+public class LoginRateLimiter {
+
+    @Value("${security.rate-limit.ip.capacity:20}")
+    private int ipCapacity;
+
+    @Value("${security.rate-limit.ip.refill-per-minute:20}")
+    private int ipRefillPerMinute;
+
+    @Value("${security.rate-limit.username.capacity:5}")
+    private int usernameCapacity;
+
+    @Value("${security.rate-limit.username.refill-per-minute:5}")
+    private int usernameRefillPerMinute;
+
+    @Value("${security.rate-limit.stripes:16}")
+    private int stripes;
+
+    @Value("${security.rate-limit.max-entries:100000}")
+    private int maxEntries;
+
+    private TokenBucketRateLimiter ipLimiter;
+    private TokenBucketRateLimiter usernameLimiter;
+
+    @PostConstruct
+    public void init() {
+        this.ipLimiter = new TokenBucketRateLimiter(ipCapacity, ipRefillPerMinute, stripes, maxEntries);
+        this.usernameLimiter = new TokenBucketRateLimiter(usernameCapacity, usernameRefillPerMinute, stripes, maxEntries);
+    }
+
+    /**
+     * 按客户端IP限流
+     * @param clientIp 客户端IP
+     * @return 0 表示放行，否则为建议的重试等待毫秒数
+     */
+    public long tryAcquireForIp(String clientIp) {
+        return ipLimiter.tryAcquire(clientIp == null ? "unknown" : clientIp);
+    }
+
+    /**
+     * 按用户名限流（忽略大小写和首尾空白）
+     * @param username 用户名
+     * @return 0 表示放行，否则为建议的重试等待毫秒数
+     */
+    public long tryAcquireForUsername(String username) {
+        if (username == null) {
+            return 0;
+        }
+        return usernameLimiter.tryAcquire(username.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * 获取限流统计信息
+     * @return 统计信息Map
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("trackedIps", ipLimiter.size());
+        stats.put("trackedUsernames", usernameLimiter.size());
+        stats.put("rejectedByIp", ipLimiter.getRejectedCount());
+        stats.put("rejectedByUsername", usernameLimiter.getRejectedCount());
+        return stats;
+    }
+}
@@ -0,0 +1,48 @@
+package com.studyroom.server.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 在线用户统计
+ * 记录每个用户最近一次携带有效令牌访问的时间，窗口内访问过的用户视为在线。
+ * 同一用户一秒内的重复请求不再写入，避免高频请求争用同一个条目。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+@Component
+public class OnlineUserTracker {
+
+    private static final long RECORD_INTERVAL_MILLIS = 1000;
+
+    @Value("${security.online-window-minutes:5}")
+    private long windowMinutes;
+
+    private final ConcurrentHashMap<Long, Long> lastSeen = new ConcurrentHashMap<>();
+
+    /**
+     * 记录用户访问
+     * @param userId 用户ID
+     */
+    public void record(Long userId) {
+        long now = System.currentTimeMillis();
+        Long previous = lastSeen.get(userId);
+        if (previous == null || now - previous >= RECORD_INTERVAL_MILLIS) {
+            lastSeen.put(userId, now);
+        }
+    }
+
+    /**
+     * 统计窗口内的在线用户数，同时清理已过期的条目
+     * @return 在线用户数
+     */
+    public int countOnline() {
+        long cutoff = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(windowMinutes);
+        lastSeen.values().removeIf(seen -> seen < cutoff);
+        return lastSeen.size();
+    }
+}
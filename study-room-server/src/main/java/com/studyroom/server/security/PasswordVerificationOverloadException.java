@@ -0,0 +1,24 @@
+package com.studyroom.server.security;
+
+/**
+ * 密码校验线程池过载异常
+ * 校验队列已满或等待超时时抛出，控制器据此返回 503 和 Retry-After
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+public class PasswordVerificationOverloadException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public PasswordVerificationOverloadException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
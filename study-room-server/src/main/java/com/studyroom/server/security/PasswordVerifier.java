@@ -0,0 +1,197 @@
+package com.studyroom.server.security;
+
+import com.studyroom.server.metrics.MetricsRegistry;
+import com.studyroom.server.metrics.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 密码校验器
+ * 将 BCrypt 的 matches/encode 放到独立的有界线程池中执行，
+ * 避免登录高峰时哈希计算占满所有 CPU 而拖慢预订请求。
+ * 队列满或等待超时时抛出 {@link PasswordVerificationOverloadException}。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+@Component
+public class PasswordVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordVerifier.class);
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    // 0 表示按 CPU 核数的一半自动计算
+    @Value("${security.password.verify.threads:0}")
+    private int threads;
+
+    @Value("${security.password.verify.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${security.password.verify.timeout-ms:5000}")
+    private long timeoutMillis;
+
+    @Value("${security.password.verify.retry-after-seconds:2}")
+    private long retryAfterSeconds;
+
+    private ThreadPoolExecutor executor;
+    private Timer matchesTimer;
+    private Timer encodeTimer;
+
+    // 校验耗时统计
+    private final LongAdder verifyCount = new LongAdder();
+    private final LongAdder verifyTotalNanos = new LongAdder();
+    private final AtomicLong verifyMaxNanos = new AtomicLong();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder rehashCount = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadIndex = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "password-verify-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        this.matchesTimer = metricsRegistry.timer("security.bcrypt", "operation", "matches");
+        this.encodeTimer = metricsRegistry.timer("security.bcrypt", "operation", "encode");
+        logger.info("🔐 密码校验线程池已启动: threads={}, queueCapacity={}", poolSize, queueCapacity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 校验明文密码与加密密码是否匹配
+     * @param rawPassword 明文密码
+     * @param encodedPassword 加密后的密码
+     * @return 是否匹配
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return submit(() -> {
+            long start = System.nanoTime();
+            try {
+                return passwordEncoder.matches(rawPassword, encodedPassword);
+            } finally {
+                recordLatency(System.nanoTime() - start);
+            }
+        });
+    }
+
+    /**
+     * 使用当前配置的强度加密密码
+     * @param rawPassword 明文密码
+     * @return 加密后的密码
+     */
+    public String encode(String rawPassword) {
+        return submit(() -> {
+            long start = System.nanoTime();
+            try {
+                return passwordEncoder.encode(rawPassword);
+            } finally {
+                encodeTimer.record(System.nanoTime() - start);
+            }
+        });
+    }
+
+    /**
+     * 判断已存储的密码是否需要按当前强度重新加密
+     * @param encodedPassword 加密后的密码
+     * @return 是否需要重新加密
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * 记录一次登录时的透明重新加密
+     */
+    public void recordRehash() {
+        rehashCount.increment();
+    }
+
+    /**
+     * 获取校验统计信息
+     * @return 统计信息Map
+     */
+    public Map<String, Object> getStatistics() {
+        long count = verifyCount.sum();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("verifyCount", count);
+        stats.put("averageMillis", count == 0 ? 0.0 : verifyTotalNanos.sum() / (double) count / 1_000_000);
+        stats.put("maxMillis", verifyMaxNanos.get() / 1_000_000.0);
+        stats.put("rejectedCount", rejectedCount.sum());
+        stats.put("timeoutCount", timeoutCount.sum());
+        stats.put("rehashCount", rehashCount.sum());
+        stats.put("activeThreads", executor.getActiveCount());
+        stats.put("queueDepth", executor.getQueue().size());
+        return stats;
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            logger.warn("密码校验队列已满，拒绝请求 (queueDepth={})", executor.getQueue().size());
+            throw new PasswordVerificationOverloadException("服务繁忙，请稍后重试", retryAfterSeconds);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timeoutCount.increment();
+            logger.warn("密码校验等待超时 ({} ms)", timeoutMillis);
+            throw new PasswordVerificationOverloadException("服务繁忙，请稍后重试", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("密码校验被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException("密码校验失败", cause);
+        }
+    }
+
+    private void recordLatency(long nanos) {
+        matchesTimer.record(nanos);
+        verifyCount.increment();
+        verifyTotalNanos.add(nanos);
+        verifyMaxNanos.accumulateAndGet(nanos, Math::max);
+    }
+}
@@ -0,0 +1,136 @@
+package com.studyroom.server.security;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 分段令牌桶限流器
+ * 每个键对应一个令牌桶，桶状态只用一个 "理论到达时间"（GCRA 算法）表示，
+ * 补充和扣减都通过一次 CAS 完成，不需要加锁。
+ * 键空间按哈希分段，空闲（已补满）的桶会在后续调用中被顺带清理；
+ * 某段达到容量上限时，新键按哈希落到该段的一组溢出桶之一，保证内存有界；
+ * 溢出桶分成多个，单个客户端耗尽溢出桶时只影响与它哈希到同一个桶的少数键。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+public class TokenBucketRateLimiter {
+
+    // 每处理多少次请求顺带清理一个分段
+    private static final int SWEEP_INTERVAL_MASK = 1023;
+
+    // 每个分段有 2^OVERFLOW_SLOT_BITS 个溢出桶
+    private static final int OVERFLOW_SLOT_BITS = 6;
+    private static final int OVERFLOW_BUCKETS_PER_STRIPE = 1 << OVERFLOW_SLOT_BITS;
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxEntriesPerStripe;
+
+    private final List<ConcurrentHashMap<String, AtomicLong>> stripes;
+    private final AtomicLong[] overflowBuckets;
+    private final AtomicLong operations = new AtomicLong();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final long origin = System.nanoTime();
+
+    /**
+     * @param capacity 桶容量（允许的突发请求数）
+     * @param refillPerMinute 每分钟补充的令牌数
+     * @param stripeCount 分段数
+     * @param maxEntries 最多跟踪的键数量
+     */
+    public TokenBucketRateLimiter(int capacity, int refillPerMinute, int stripeCount, int maxEntries) {
+        if (capacity < 1 || refillPerMinute < 1 || stripeCount < 1 || maxEntries < stripeCount) {
+            throw new IllegalArgumentException("限流参数无效");
+        }
+        this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+        this.maxEntriesPerStripe = maxEntries / stripeCount;
+        this.stripes = new ArrayList<>(stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes.add(new ConcurrentHashMap<>());
+        }
+        this.overflowBuckets = new AtomicLong[stripeCount * OVERFLOW_BUCKETS_PER_STRIPE];
+        for (int i = 0; i < overflowBuckets.length; i++) {
+            overflowBuckets[i] = new AtomicLong();
+        }
+    }
+
+    /**
+     * 尝试为指定键消费一个令牌
+     * @param key 限流键（如客户端IP、用户名）
+     * @return 0 表示放行，否则为建议的重试等待毫秒数
+     */
+    public long tryAcquire(String key) {
+        long now = System.nanoTime() - origin;
+        maybeSweep(now);
+
+        AtomicLong bucket = bucketFor(key, now);
+        while (true) {
+            long tat = bucket.get();
+            long start = Math.max(tat, now);
+            long waitNanos = start - now - burstToleranceNanos;
+            if (waitNanos > 0) {
+                rejectedCount.increment();
+                return Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+            }
+            if (bucket.compareAndSet(tat, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 当前跟踪的键数量
+     */
+    public int size() {
+        int size = 0;
+        for (Map<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    /**
+     * 累计拒绝次数
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    private AtomicLong bucketFor(String key, long now) {
+        int hash = key.hashCode();
+        int index = (hash & 0x7fffffff) % stripes.size();
+        ConcurrentHashMap<String, AtomicLong> stripe = stripes.get(index);
+        AtomicLong bucket = stripe.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (stripe.size() >= maxEntriesPerStripe) {
+            sweep(stripe, now);
+            if (stripe.size() >= maxEntriesPerStripe) {
+                // 分段下标用了哈希的低位，溢出桶用混合后的高位，同一分段内的键也能分散开
+                int slot = (hash * 0x9E3779B9) >>> (Integer.SIZE - OVERFLOW_SLOT_BITS);
+                return overflowBuckets[index * OVERFLOW_BUCKETS_PER_STRIPE + slot];
+            }
+        }
+        return stripe.computeIfAbsent(key, k -> new AtomicLong());
+    }
+
+    private void maybeSweep(long now) {
+        long ops = operations.incrementAndGet();
+        if ((ops & SWEEP_INTERVAL_MASK) == 0) {
+            sweep(stripes.get((int) ((ops >>> 10) % stripes.size())), now);
+        }
+    }
+
+    // 理论到达时间不晚于当前时间的桶已经补满，删除后与新建桶等价
+    private void sweep(ConcurrentHashMap<String, AtomicLong> stripe, long now) {
+        stripe.values().removeIf(bucket -> bucket.get() <= now);
+    }
+}
@@ -198,12 +198,18 @@ public interface ReservationService {
      * @param page 页码（从0开始）
      * @param size 每页大小
      * @param userId 用户ID筛选（可选）
+     * @param seatId 座位ID筛选（可选）
      * @param status 状态筛选（可选）
      * @param paymentStatus 支付状态筛选（可选）
+     * @param startDate 开始时间下限（可选）
+     * @param endDate 开始时间上限，不含（可选）
+     * @param keyword 预订码、用户名、真实姓名、座位号或自习室名称关键字（可选）
+     * @param sort 排序
      * @return 预订分页结果
      */
     org.springframework.data.domain.Page<Reservation> findReservationsWithPagination(
         int page, int size, Long userId, Long seatId,
         Reservation.ReservationStatus status, Reservation.PaymentStatus paymentStatus,
-        LocalDateTime startDate, LocalDateTime endDate);
+        LocalDateTime startDate, LocalDateTime endDate, String keyword,
+        org.springframework.data.domain.Sort sort);
 } 
\ No newline at end of file
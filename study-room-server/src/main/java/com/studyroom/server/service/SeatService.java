@@ -2,6 +2,7 @@ package com.studyroom.server.service;
 
 import com.studyroom.server.entity.Seat;
 import com.studyroom.server.entity.StudyRoom;
+import com.studyroom.server.service.layout.SeatLayout;
 
 import java.util.List;
 import java.util.Optional;
@@ -31,6 +32,25 @@ public interface SeatService {
                     Boolean hasWindow, Boolean hasPowerOutlet, Boolean hasLamp,
                     String description, String equipment, Integer rowNum, Integer colNum);
     
+    /**
+     * 批量创建座位（单个事务内 JDBC 批量插入）
+     * 座位号重复检查通过一次集合查询完成，任一座位号冲突则整体失败
+     * @param studyRoomId 自习室ID
+     * @param seats 待创建的座位（无需设置自习室和ID）
+     * @return 创建的座位列表
+     * @throws IllegalArgumentException 自习室不存在或请求内座位号重复时
+     * @throws IllegalStateException 座位号与自习室已有座位冲突时
+     */
+    List<Seat> createSeatsInBatch(Long studyRoomId, List<Seat> seats);
+    
+    /**
+     * 按布局规格批量生成自习室座位
+     * @param studyRoomId 自习室ID
+     * @param layout 座位布局规格
+     * @return 创建的座位列表
+     */
+    List<Seat> createSeatsFromLayout(Long studyRoomId, SeatLayout layout);
+    
     /**
      * 根据ID查找座位
      * @param seatId 座位ID
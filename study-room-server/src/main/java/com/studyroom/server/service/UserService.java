@@ -36,7 +36,7 @@ public interface UserService {
     User authenticateUser(String username, String password);
     
     /**
-     * 更新用户最后登录时间
+     * 更新用户最后登录时间（异步批量写入，可能有数秒延迟）
      * @param userId 用户ID
      */
     void updateLastLoginTime(Long userId);
@@ -142,8 +142,11 @@ public interface UserService {
      * @param size 每页大小
      * @param role 角色筛选（可选）
      * @param status 状态筛选（可选）
+     * @param keyword 用户名、邮箱或真实姓名关键字（可选）
+     * @param sort 排序
      * @return 用户分页结果
      */
     org.springframework.data.domain.Page<User> findUsersWithPagination(
-        int page, int size, User.UserRole role, User.UserStatus status);
+        int page, int size, User.UserRole role, User.UserStatus status, String keyword,
+        org.springframework.data.domain.Sort sort);
 } 
\ No newline at end of file
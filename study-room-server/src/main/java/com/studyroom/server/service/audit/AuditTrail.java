@@ -0,0 +1,264 @@
+package com.studyroom.server.service.audit;
+
+import com.studyroom.server.entity.AuditLog;
+import com.studyroom.server.entity.User;
+import com.studyroom.server.repository.AuditLogRepository;
+import com.studyroom.server.repository.UserRepository;
+import com.studyroom.server.util.MpscRingBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 审计追踪
+ * 管理操作在事务提交后写入无锁环形缓冲区（不阻塞业务线程），
+ * 由后台线程定期取出并以 JDBC 批量 INSERT 写入 audit_logs 表。
+ * 缓冲区满或批量写入持续失败时丢弃记录并计数，审计不影响业务操作本身。
+ * 操作人取自 JwtRequestFilter 设置的 x-user-id 请求属性。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+@Component
+public class AuditTrail {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditTrail.class);
+
+    public static final String ENTITY_SEAT = "SEAT";
+    public static final String ENTITY_STUDY_ROOM = "STUDY_ROOM";
+    public static final String ENTITY_USER = "USER";
+
+    public static final String ACTION_UPDATE_STATUS = "UPDATE_STATUS";
+
+    private static final String USER_ID_ATTRIBUTE = "x-user-id";
+    private static final int MAX_VALUE_LENGTH = 500;
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private static final String INSERT_SQL = "INSERT INTO audit_logs "
+        + "(actor_id, action, entity_type, entity_id, before_value, after_value, created_at) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${audit.buffer-capacity:8192}")
+    private int bufferCapacity;
+
+    @Value("${audit.flush-interval-ms:500}")
+    private long flushIntervalMillis;
+
+    @Value("${audit.batch-size:200}")
+    private int batchSize;
+
+    @Value("${audit.max-retries:5}")
+    private int maxRetries;
+
+    private MpscRingBuffer<Object[]> buffer;
+    private ScheduledExecutorService writer;
+
+    // 以下字段只由写入线程访问
+    private List<Object[]> failedBatch;
+    private int failedAttempts;
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    @PostConstruct
+    public void start() {
+        buffer = new MpscRingBuffer<>(bufferCapacity);
+        writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "audit-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.scheduleWithFixedDelay(this::drain, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 写入线程已停止，在当前线程做最后一次写入
+        drain();
+        logger.info("审计缓冲已关闭: written={}, dropped={}", written.sum(), dropped.sum());
+    }
+
+    /**
+     * 记录一次管理操作；在事务中调用时等事务提交后再进入缓冲区
+     * @param action 动作
+     * @param entityType 对象类型
+     * @param entityId 对象ID
+     * @param before 修改前的值
+     * @param after 修改后的值
+     */
+    public void record(String action, String entityType, Long entityId, Object before, Object after) {
+        Object[] row = new Object[] {
+            currentActorId(), action, entityType, entityId,
+            truncate(before), truncate(after), Timestamp.valueOf(LocalDateTime.now())
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(row);
+                }
+            });
+        } else {
+            enqueue(row);
+        }
+    }
+
+    /**
+     * 分页查询审计日志（按时间倒序），条件按优先级选择：具体对象 > 对象类型 > 操作人 > 全部
+     * @param page 页码（从 0 开始）
+     * @param size 每页条数
+     * @param entityType 对象类型，可为空
+     * @param entityId 对象ID，可为空
+     * @param actorId 操作人ID，可为空
+     * @return 审计日志分页
+     */
+    public Page<AuditLog> search(int page, int size, String entityType, Long entityId, Long actorId) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE),
+            Sort.by("id").descending());
+        if (entityType != null && entityId != null) {
+            return auditLogRepository.findByEntityTypeAndEntityId(entityType, entityId, pageable);
+        }
+        if (entityType != null) {
+            return auditLogRepository.findByEntityType(entityType, pageable);
+        }
+        if (actorId != null) {
+            return auditLogRepository.findByActorId(actorId, pageable);
+        }
+        return auditLogRepository.findAll(pageable);
+    }
+
+    /**
+     * 批量查询操作人用户名（一次 IN 查询）
+     * @param actorIds 操作人ID
+     * @return 用户ID到用户名的映射
+     */
+    public Map<Long, String> findActorNames(Collection<Long> actorIds) {
+        Map<Long, String> names = new HashMap<>();
+        if (!actorIds.isEmpty()) {
+            for (User user : userRepository.findAllById(actorIds)) {
+                names.put(user.getId(), user.getUsername());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * 获取审计缓冲统计信息
+     * @return 统计信息Map
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("recorded", recorded.sum());
+        stats.put("written", written.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("buffered", buffer.size());
+        stats.put("bufferCapacity", buffer.capacity());
+        return stats;
+    }
+
+    private void enqueue(Object[] row) {
+        recorded.increment();
+        if (!buffer.offer(row)) {
+            dropped.increment();
+            logger.warn("审计缓冲区已满，丢弃记录: action={}, entityType={}, entityId={}", row[1], row[2], row[3]);
+        }
+    }
+
+    private void drain() {
+        try {
+            if (failedBatch != null && !writeBatch(failedBatch)) {
+                return;
+            }
+            List<Object[]> batch = new ArrayList<>(batchSize);
+            while (buffer.drainTo(batch, batchSize) > 0) {
+                if (!writeBatch(batch)) {
+                    return;
+                }
+                batch = new ArrayList<>(batchSize);
+            }
+        } catch (Exception e) {
+            logger.warn("审计日志写入异常: {}", e.getMessage());
+        }
+    }
+
+    // 写入失败时保留该批次，下次优先重试；超过重试次数后丢弃
+    private boolean writeBatch(List<Object[]> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+            written.add(batch.size());
+            failedBatch = null;
+            failedAttempts = 0;
+            return true;
+        } catch (RuntimeException e) {
+            failedAttempts++;
+            if (failedAttempts > maxRetries) {
+                dropped.add(batch.size());
+                logger.error("审计日志批量写入连续失败 {} 次，丢弃 {} 条记录", failedAttempts, batch.size(), e);
+                failedBatch = null;
+                failedAttempts = 0;
+                return true;
+            }
+            logger.warn("审计日志批量写入失败，将在下次重试: {}", e.getMessage());
+            failedBatch = batch;
+            return false;
+        }
+    }
+
+    private static Long currentActorId() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object userId = attributes.getAttribute(USER_ID_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return userId instanceof Long ? (Long) userId : null;
+    }
+
+    private static String truncate(Object value) {
+        if (value == null) {
+            return null;
+        }
+        String text = value.toString();
+        return text.length() <= MAX_VALUE_LENGTH ? text : text.substring(0, MAX_VALUE_LENGTH);
+    }
+}
@@ -0,0 +1,207 @@
+package com.studyroom.server.service.eventlog;
+
+import com.studyroom.server.entity.Reservation;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 预订生命周期事件（不可变）
+ * 记录事件发生后预订的完整状态，回放时无需依赖之前的事件即可得到最新状态。
+ * 时间统一编码为 UTC 下的 epoch 秒（与实体的 LocalDateTime 语义一致，不做时区换算），
+ * 金额编码为分。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+public final class ReservationEvent {
+
+    /**
+     * 事件类型（只能追加新类型，不能调整已有顺序，序号会写入日志）
+     */
+    public enum Type {
+        CREATED, UPDATED, PAID, CHECKED_IN, CHECKED_OUT, CANCELLED, EXTENDED
+    }
+
+    static final long NONE = Long.MIN_VALUE;
+
+    // 固定长度部分：seq + type + reservationId + userId + seatId + occurredAt
+    //             + startTime + endTime + amountCents + status + paymentStatus + reasonLength
+    static final int FIXED_BYTES = 8 + 1 + 8 + 8 + 8 + 8 + 8 + 8 + 8 + 1 + 1 + 2;
+
+    private static final int MAX_REASON_CHARS = 200;
+
+    // UTF-8 下每个 char 最多编码为 3 个字节
+    static final int MAX_ENCODED_BYTES = FIXED_BYTES + MAX_REASON_CHARS * 3;
+
+    private static final Type[] TYPES = Type.values();
+    private static final Reservation.ReservationStatus[] STATUSES = Reservation.ReservationStatus.values();
+    private static final Reservation.PaymentStatus[] PAYMENT_STATUSES = Reservation.PaymentStatus.values();
+
+    private final long sequence;
+    private final Type type;
+    private final long reservationId;
+    private final long userId;
+    private final long seatId;
+    private final long occurredAt;
+    private final long startTime;
+    private final long endTime;
+    private final long amountCents;
+    private final Reservation.ReservationStatus status;
+    private final Reservation.PaymentStatus paymentStatus;
+    private final byte[] reason;
+
+    private ReservationEvent(long sequence, Type type, long reservationId, long userId, long seatId,
+                             long occurredAt, long startTime, long endTime, long amountCents,
+                             Reservation.ReservationStatus status, Reservation.PaymentStatus paymentStatus,
+                             byte[] reason) {
+        this.sequence = sequence;
+        this.type = type;
+        this.reservationId = reservationId;
+        this.userId = userId;
+        this.seatId = seatId;
+        this.occurredAt = occurredAt;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.amountCents = amountCents;
+        this.status = status;
+        this.paymentStatus = paymentStatus;
+        this.reason = reason;
+    }
+
+    /**
+     * 根据预订当前状态创建事件（序号在写入日志时分配）
+     * @param type 事件类型
+     * @param reservation 已修改完成的预订
+     * @param reason 附加说明（取消原因、支付方式等），可为空
+     */
+    public static ReservationEvent of(Type type, Reservation reservation, String reason) {
+        String trimmed = reason == null || reason.length() <= MAX_REASON_CHARS
+            ? reason : reason.substring(0, MAX_REASON_CHARS);
+        return new ReservationEvent(0, type, reservation.getId(),
+            reservation.getUser().getId(), reservation.getSeat().getId(),
+            encodeTime(LocalDateTime.now()),
+            encodeTime(reservation.getStartTime()), encodeTime(reservation.getEndTime()),
+            toCents(reservation.getTotalAmount()),
+            reservation.getStatus(), reservation.getPaymentStatus(),
+            trimmed == null ? null : trimmed.getBytes(StandardCharsets.UTF_8));
+    }
+
+    ReservationEvent withSequence(long newSequence) {
+        return new ReservationEvent(newSequence, type, reservationId, userId, seatId, occurredAt,
+            startTime, endTime, amountCents, status, paymentStatus, reason);
+    }
+
+    int encodedSize() {
+        return FIXED_BYTES + (reason == null ? 0 : reason.length);
+    }
+
+    void writeTo(ByteBuffer buffer) {
+        buffer.putLong(sequence);
+        buffer.put((byte) type.ordinal());
+        buffer.putLong(reservationId);
+        buffer.putLong(userId);
+        buffer.putLong(seatId);
+        buffer.putLong(occurredAt);
+        buffer.putLong(startTime);
+        buffer.putLong(endTime);
+        buffer.putLong(amountCents);
+        buffer.put((byte) status.ordinal());
+        buffer.put((byte) paymentStatus.ordinal());
+        // 长度 -1 表示没有原因，与空字符串区分
+        buffer.putShort((short) (reason == null ? -1 : reason.length));
+        if (reason != null) {
+            buffer.put(reason);
+        }
+    }
+
+    static ReservationEvent readFrom(ByteBuffer buffer) {
+        long sequence = buffer.getLong();
+        Type type = TYPES[buffer.get()];
+        long reservationId = buffer.getLong();
+        long userId = buffer.getLong();
+        long seatId = buffer.getLong();
+        long occurredAt = buffer.getLong();
+        long startTime = buffer.getLong();
+        long endTime = buffer.getLong();
+        long amountCents = buffer.getLong();
+        Reservation.ReservationStatus status = STATUSES[buffer.get()];
+        Reservation.PaymentStatus paymentStatus = PAYMENT_STATUSES[buffer.get()];
+        short reasonLength = buffer.getShort();
+        byte[] reason = null;
+        if (reasonLength >= 0) {
+            reason = new byte[reasonLength];
+            buffer.get(reason);
+        }
+        return new ReservationEvent(sequence, type, reservationId, userId, seatId, occurredAt,
+            startTime, endTime, amountCents, status, paymentStatus, reason);
+    }
+
+    static long encodeTime(LocalDateTime time) {
+        return time == null ? NONE : time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    static LocalDateTime decodeTime(long epochSecond) {
+        return epochSecond == NONE ? null : LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getReservationId() {
+        return reservationId;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public long getSeatId() {
+        return seatId;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return decodeTime(occurredAt);
+    }
+
+    long getOccurredAtEpochSecond() {
+        return occurredAt;
+    }
+
+    long getStartEpochSecond() {
+        return startTime;
+    }
+
+    long getEndEpochSecond() {
+        return endTime;
+    }
+
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    public Reservation.ReservationStatus getStatus() {
+        return status;
+    }
+
+    public Reservation.PaymentStatus getPaymentStatus() {
+        return paymentStatus;
+    }
+
+    public String getReason() {
+        return reason == null ? null : new String(reason, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,481 @@
+package com.studyroom.server.service.eventlog;
+
+import com.studyroom.server.entity.Reservation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 预订事件日志
+ * 预订的创建、修改、支付、签到、签退、取消、延长在事务提交后追加到内存映射的分段日志，
+ * 并同步更新内存中的 {@link ReservationProjection}，供统计分析使用而不必查询预订表。
+ *
+ * 后台线程定期刷盘，每累计一定数量的事件写一次投影快照；启动时加载最新快照并只回放其后的事件。
+ * 写快照后删除已全部包含在保留的最早快照中的旧段，日志目录不会无限增长。
+ * 启动完成后会与预订表核对数量、最大ID、各状态和支付状态的数量以及已支付金额，
+ * 不一致（例如开发环境内存数据库重建、绕过日志直接修改了预订表）时
+ * 将旧日志移到 stale 目录并以数据库当前数据重新建立投影。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+@Component
+public class ReservationEventLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationEventLog.class);
+
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final String STALE_DIRECTORY = "stale";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${reservation.event-log.dir:reservation-events}")
+    private String directory;
+
+    @Value("${reservation.event-log.segment-bytes:16777216}")
+    private int segmentBytes;
+
+    @Value("${reservation.event-log.flush-interval-ms:1000}")
+    private long flushIntervalMillis;
+
+    @Value("${reservation.event-log.snapshot-every-events:10000}")
+    private long snapshotEveryEvents;
+
+    @Value("${reservation.event-log.snapshots-to-keep:2}")
+    private int snapshotsToKeep;
+
+    // 日志只允许单写者，追加、快照复制、重建都在此锁内进行
+    private final Object writeLock = new Object();
+
+    // 写快照和重建互斥，避免旧投影的快照在重建之后落盘（加锁顺序：snapshotLock -> writeLock）
+    private final Object snapshotLock = new Object();
+
+    private Path logDirectory;
+    private SegmentedEventLog log;
+    private volatile ReservationProjection projection = new ReservationProjection();
+    private volatile long snapshotSequence;
+    private volatile boolean ready;
+    private volatile long replayMillis;
+
+    private final LongAdder appendFailures = new LongAdder();
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() throws IOException {
+        logDirectory = Paths.get(directory);
+        openLog();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reservation-event-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::maintainQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (snapshotLock) {
+            synchronized (writeLock) {
+                try {
+                    if (log.getLastSequence() > snapshotSequence) {
+                        writeSnapshot(projection.copy(), log.getLastSequence());
+                    }
+                    log.close();
+                } catch (IOException e) {
+                    logger.warn("关闭预订事件日志失败: {}", e.getMessage());
+                }
+                log = null;
+            }
+        }
+        logger.info("预订事件日志已关闭");
+    }
+
+    /**
+     * 启动完成后与预订表核对，不一致时从数据库重建投影
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        ReservationProjection current = projection;
+        String drift = findDrift(current);
+        if (drift == null) {
+            ready = true;
+            logger.info("✅ 预订事件日志已就绪: reservations={}, lastSequence={}", current.size(), getLastSequence());
+            return;
+        }
+
+        logger.warn("预订事件日志与预订表不一致（{}），从数据库重建", drift);
+        try {
+            rebuildFromDatabase();
+            ready = true;
+        } catch (IOException e) {
+            logger.error("重建预订事件日志失败，统计将回退到数据库查询", e);
+        }
+    }
+
+    /**
+     * 记录预订事件；在事务中调用时等事务提交后再写入日志，回滚的修改不会留下事件
+     * @param type 事件类型
+     * @param reservation 已修改完成的预订
+     * @param reason 附加说明（取消原因、支付方式等），可为空
+     */
+    @SuppressWarnings("unchecked")
+    public void record(ReservationEvent.Type type, Reservation reservation, String reason) {
+        ReservationEvent event = ReservationEvent.of(type, reservation, reason);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(Collections.singletonList(event));
+            return;
+        }
+
+        List<ReservationEvent> pending = (List<ReservationEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<ReservationEvent> events = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, events);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    append(events);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ReservationEventLog.this);
+                }
+            });
+            pending = events;
+        }
+        pending.add(event);
+    }
+
+    /**
+     * 投影是否已与数据库核对一致，未就绪时统计应回退到数据库查询
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public ReservationProjection getProjection() {
+        return projection;
+    }
+
+    public long getLastSequence() {
+        synchronized (writeLock) {
+            return log != null ? log.getLastSequence() : snapshotSequence;
+        }
+    }
+
+    /**
+     * 获取事件日志及投影统计信息
+     * @return 统计信息Map
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = projection.getStatistics();
+        synchronized (writeLock) {
+            if (log != null) {
+                stats.put("lastSequence", log.getLastSequence());
+                stats.put("segments", log.getSegmentCount());
+            }
+        }
+        stats.put("snapshotSequence", snapshotSequence);
+        stats.put("ready", ready);
+        stats.put("replayMillis", replayMillis);
+        stats.put("appendFailures", appendFailures.sum());
+        return stats;
+    }
+
+    private void append(List<ReservationEvent> events) {
+        synchronized (writeLock) {
+            if (log == null) {
+                logger.warn("预订事件日志已关闭，丢弃 {} 个事件", events.size());
+                return;
+            }
+            for (ReservationEvent event : events) {
+                ReservationEvent sequenced = event.withSequence(log.getLastSequence() + 1);
+                try {
+                    log.append(sequenced);
+                } catch (IOException | RuntimeException e) {
+                    // 业务事务已提交，写日志失败只记录，不影响调用方
+                    appendFailures.increment();
+                    logger.error("写入预订事件失败: reservationId={}, type={}", event.getReservationId(), event.getType(), e);
+                    continue;
+                }
+                projection.apply(sequenced);
+            }
+        }
+    }
+
+    /**
+     * 按状态和支付状态分组汇总预订表，与投影逐项比较。
+     * 只比较数量和最大ID时，预订数不变的状态修改（例如直接执行 SQL 取消预订）无法被发现
+     * @return 第一个不一致项的说明，一致时返回 null
+     */
+    private String findDrift(ReservationProjection current) {
+        Map<Reservation.ReservationStatus, Long> statusCounts = new EnumMap<>(Reservation.ReservationStatus.class);
+        Map<Reservation.PaymentStatus, Long> paymentCounts = new EnumMap<>(Reservation.PaymentStatus.class);
+        // 总数、最大ID、已支付金额（分）
+        long[] totals = new long[3];
+        jdbcTemplate.query("SELECT status, payment_status, COUNT(*), COALESCE(MAX(id), 0), COALESCE(SUM(total_amount), 0) "
+                + "FROM reservations GROUP BY status, payment_status",
+            rs -> {
+                Reservation.ReservationStatus status = Reservation.ReservationStatus.valueOf(rs.getString(1));
+                Reservation.PaymentStatus paymentStatus = Reservation.PaymentStatus.valueOf(rs.getString(2));
+                long count = rs.getLong(3);
+                statusCounts.merge(status, count, Long::sum);
+                paymentCounts.merge(paymentStatus, count, Long::sum);
+                totals[0] += count;
+                totals[1] = Math.max(totals[1], rs.getLong(4));
+                if (paymentStatus == Reservation.PaymentStatus.PAID) {
+                    totals[2] += ReservationEvent.toCents(rs.getBigDecimal(5));
+                }
+            });
+
+        if (totals[0] != current.size() || totals[1] != current.getMaxReservationId()) {
+            return String.format("日志 %d 条/最大ID %d，数据库 %d 条/最大ID %d",
+                current.size(), current.getMaxReservationId(), totals[0], totals[1]);
+        }
+        for (Reservation.ReservationStatus status : Reservation.ReservationStatus.values()) {
+            long expected = statusCounts.getOrDefault(status, 0L);
+            if (expected != current.countByStatus(status)) {
+                return String.format("状态 %s 日志 %d 条，数据库 %d 条", status, current.countByStatus(status), expected);
+            }
+        }
+        for (Reservation.PaymentStatus paymentStatus : Reservation.PaymentStatus.values()) {
+            long expected = paymentCounts.getOrDefault(paymentStatus, 0L);
+            if (expected != current.countByPaymentStatus(paymentStatus)) {
+                return String.format("支付状态 %s 日志 %d 条，数据库 %d 条",
+                    paymentStatus, current.countByPaymentStatus(paymentStatus), expected);
+            }
+        }
+        if (totals[2] != current.getPaidRevenueCents()) {
+            return String.format("已支付金额日志 %d 分，数据库 %d 分", current.getPaidRevenueCents(), totals[2]);
+        }
+        return null;
+    }
+
+    private void openLog() throws IOException {
+        long start = System.nanoTime();
+        Files.createDirectories(logDirectory);
+
+        ReservationProjection restored = new ReservationProjection();
+        long restoredSequence = 0;
+        List<Path> snapshots = listSnapshots();
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            ReservationProjection candidate = new ReservationProjection();
+            try {
+                restoredSequence = readSnapshot(snapshots.get(i), candidate);
+                restored = candidate;
+                break;
+            } catch (IOException | RuntimeException e) {
+                logger.warn("快照 {} 无效，尝试更早的快照: {}", snapshots.get(i).getFileName(), e.getMessage());
+            }
+        }
+
+        SegmentedEventLog segmentLog = new SegmentedEventLog(logDirectory, segmentBytes);
+        long lastSequence = segmentLog.open(restoredSequence, restored::apply);
+
+        synchronized (writeLock) {
+            this.log = segmentLog;
+            this.projection = restored;
+            this.snapshotSequence = restoredSequence;
+        }
+        replayMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        logger.info("预订事件日志已加载: snapshot={}, replayed={}, reservations={}, {}ms",
+            restoredSequence, lastSequence - restoredSequence, restored.size(), replayMillis);
+    }
+
+    private void rebuildFromDatabase() throws IOException {
+        synchronized (snapshotLock) {
+            synchronized (writeLock) {
+                log.close();
+                archiveLogFiles();
+
+                ReservationProjection seeded = new ReservationProjection();
+                jdbcTemplate.query("SELECT id, user_id, seat_id, status, payment_status, start_time, end_time, "
+                        + "total_amount, check_in_time, check_out_time, cancel_reason FROM reservations",
+                    rs -> {
+                        seeded.put(new ReservationProjection.State(rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                            Reservation.ReservationStatus.valueOf(rs.getString(4)),
+                            Reservation.PaymentStatus.valueOf(rs.getString(5)),
+                            encode(rs.getTimestamp(6)), encode(rs.getTimestamp(7)),
+                            ReservationEvent.toCents(rs.getBigDecimal(8)),
+                            encode(rs.getTimestamp(9)), encode(rs.getTimestamp(10)),
+                            rs.getString(11)));
+                    });
+
+                log = new SegmentedEventLog(logDirectory, segmentBytes);
+                log.open(0, event -> { });
+                projection = seeded;
+                // 以序号 0 保存初始投影，之后的事件从序号 1 开始
+                snapshotSequence = 0;
+                writeSnapshot(seeded.copy(), 0);
+            }
+        }
+        logger.info("✅ 预订事件日志已从数据库重建: reservations={}", projection.size());
+    }
+
+    private void maintainQuietly() {
+        try {
+            synchronized (snapshotLock) {
+                ReservationProjection copy = null;
+                long sequence;
+                synchronized (writeLock) {
+                    if (log == null) {
+                        return;
+                    }
+                    log.force();
+                    sequence = log.getLastSequence();
+                    if (sequence - snapshotSequence >= snapshotEveryEvents) {
+                        copy = projection.copy();
+                    }
+                }
+                // 快照在写锁外写出，不阻塞追加
+                if (copy != null) {
+                    writeSnapshot(copy, sequence);
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("预订事件日志维护失败: {}", e.getMessage());
+        }
+    }
+
+    private void writeSnapshot(ReservationProjection copy, long sequence) throws IOException {
+        Path target = logDirectory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, sequence, SNAPSHOT_SUFFIX));
+        Path temp = logDirectory.resolve(target.getFileName() + ".tmp");
+
+        CRC32 crc = new CRC32();
+        try (FileOutputStream file = new FileOutputStream(temp.toFile())) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(file, crc)));
+            copy.writeSnapshot(out, sequence);
+            out.flush();
+            // 末尾追加整个快照内容的 CRC32，加载时校验
+            long checksum = crc.getValue();
+            out.writeLong(checksum);
+            out.flush();
+            file.getChannel().force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        snapshotSequence = Math.max(snapshotSequence, sequence);
+
+        List<Path> snapshots = listSnapshots();
+        for (int i = 0; i < snapshots.size() - snapshotsToKeep; i++) {
+            Files.deleteIfExists(snapshots.get(i));
+        }
+        deleteCoveredSegments(snapshots.get(Math.max(0, snapshots.size() - snapshotsToKeep)));
+        logger.debug("预订投影快照已写入: sequence={}, reservations={}", sequence, copy.size());
+    }
+
+    // 只删除保留的最早快照也已包含的段，最新快照损坏时仍能从更早的快照回放
+    private void deleteCoveredSegments(Path oldestSnapshot) {
+        String name = oldestSnapshot.getFileName().toString();
+        long sequence = Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length()));
+        synchronized (writeLock) {
+            if (log == null) {
+                return;
+            }
+            try {
+                int deleted = log.deleteSegmentsBefore(sequence);
+                if (deleted > 0) {
+                    logger.debug("已删除 {} 个被快照覆盖的日志段: snapshot={}", deleted, sequence);
+                }
+            } catch (IOException e) {
+                // 删除失败只是多占磁盘，下次写快照时重试
+                logger.warn("删除旧日志段失败: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static long readSnapshot(Path file, ReservationProjection target) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        if (bytes.length < Long.BYTES) {
+            throw new IOException("快照文件过短");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - Long.BYTES);
+        if (crc.getValue() != ByteBuffer.wrap(bytes, bytes.length - Long.BYTES, Long.BYTES).getLong()) {
+            throw new IOException("快照校验失败");
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 0, bytes.length - Long.BYTES))) {
+            return target.readSnapshot(in);
+        }
+    }
+
+    private List<Path> listSnapshots() throws IOException {
+        List<Path> snapshots = new ArrayList<>();
+        try (Stream<Path> files = Files.list(logDirectory)) {
+            files.filter(path -> {
+                    String name = path.getFileName().toString();
+                    return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+                })
+                .sorted()
+                .forEach(snapshots::add);
+        }
+        return snapshots;
+    }
+
+    // 旧日志移入 stale 目录（只保留最近一次），便于排查，不参与回放
+    private void archiveLogFiles() throws IOException {
+        Path stale = logDirectory.resolve(STALE_DIRECTORY);
+        if (Files.exists(stale)) {
+            try (Stream<Path> files = Files.list(stale)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+        }
+        Files.createDirectories(stale);
+        try (Stream<Path> files = Files.list(logDirectory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.isRegularFile(file)) {
+                    Files.move(file, stale.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+    }
+
+    private static long encode(Timestamp timestamp) {
+        return ReservationEvent.encodeTime(timestamp != null ? timestamp.toLocalDateTime() : null);
+    }
+}
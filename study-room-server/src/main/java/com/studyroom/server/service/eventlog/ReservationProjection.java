@@ -0,0 +1,348 @@
+package com.studyroom.server.service.eventlog;
+
+import com.studyroom.server.entity.Reservation;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 预订状态投影
+ * 由事件日志回放得到每个预订的最新状态，并增量维护按状态、支付状态、事件类型的计数
+ * 以及已支付收入、预订时长、取消原因分布，统计查询不需要访问预订表。
+ * 写入由事件日志单线程完成，读取可以并发进行。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+public class ReservationProjection {
+
+    private static final int SNAPSHOT_MAGIC = 0x52455650; // "REVP"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int MAX_TRACKED_REASONS = 1000;
+    private static final int TOP_REASONS = 10;
+    private static final String OTHER_REASON = "其他";
+    private static final String NO_REASON = "未填写";
+
+    private static final Reservation.ReservationStatus[] STATUSES = Reservation.ReservationStatus.values();
+    private static final Reservation.PaymentStatus[] PAYMENT_STATUSES = Reservation.PaymentStatus.values();
+    private static final ReservationEvent.Type[] EVENT_TYPES = ReservationEvent.Type.values();
+
+    private final ConcurrentHashMap<Long, State> states = new ConcurrentHashMap<>();
+    private final AtomicLongArray statusCounts = new AtomicLongArray(STATUSES.length);
+    private final AtomicLongArray paymentCounts = new AtomicLongArray(PAYMENT_STATUSES.length);
+    private final AtomicLongArray eventCounts = new AtomicLongArray(EVENT_TYPES.length);
+    private final AtomicLong paidRevenueCents = new AtomicLong();
+    private final AtomicLong bookedMinutes = new AtomicLong();
+    private final ConcurrentHashMap<String, AtomicLong> cancelReasons = new ConcurrentHashMap<>();
+    private volatile long maxReservationId;
+
+    /**
+     * 单个预订的最新状态（不可变）
+     */
+    public static final class State {
+
+        private final long reservationId;
+        private final long userId;
+        private final long seatId;
+        private final Reservation.ReservationStatus status;
+        private final Reservation.PaymentStatus paymentStatus;
+        private final long startTime;
+        private final long endTime;
+        private final long amountCents;
+        private final long checkInTime;
+        private final long checkOutTime;
+        private final String cancelReason;
+
+        State(long reservationId, long userId, long seatId,
+              Reservation.ReservationStatus status, Reservation.PaymentStatus paymentStatus,
+              long startTime, long endTime, long amountCents,
+              long checkInTime, long checkOutTime, String cancelReason) {
+            this.reservationId = reservationId;
+            this.userId = userId;
+            this.seatId = seatId;
+            this.status = status;
+            this.paymentStatus = paymentStatus;
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.amountCents = amountCents;
+            this.checkInTime = checkInTime;
+            this.checkOutTime = checkOutTime;
+            this.cancelReason = cancelReason;
+        }
+
+        public long getReservationId() {
+            return reservationId;
+        }
+
+        public long getUserId() {
+            return userId;
+        }
+
+        public long getSeatId() {
+            return seatId;
+        }
+
+        public Reservation.ReservationStatus getStatus() {
+            return status;
+        }
+
+        public Reservation.PaymentStatus getPaymentStatus() {
+            return paymentStatus;
+        }
+
+        public long getAmountCents() {
+            return amountCents;
+        }
+
+        public String getCancelReason() {
+            return cancelReason;
+        }
+
+        private void writeTo(DataOutputStream out) throws IOException {
+            out.writeLong(reservationId);
+            out.writeLong(userId);
+            out.writeLong(seatId);
+            out.writeByte(status.ordinal());
+            out.writeByte(paymentStatus.ordinal());
+            out.writeLong(startTime);
+            out.writeLong(endTime);
+            out.writeLong(amountCents);
+            out.writeLong(checkInTime);
+            out.writeLong(checkOutTime);
+            out.writeBoolean(cancelReason != null);
+            if (cancelReason != null) {
+                out.writeUTF(cancelReason);
+            }
+        }
+
+        private static State readFrom(DataInputStream in) throws IOException {
+            return new State(in.readLong(), in.readLong(), in.readLong(),
+                STATUSES[in.readByte()], PAYMENT_STATUSES[in.readByte()],
+                in.readLong(), in.readLong(), in.readLong(), in.readLong(), in.readLong(),
+                in.readBoolean() ? in.readUTF() : null);
+        }
+    }
+
+    /**
+     * 应用一个事件
+     */
+    void apply(ReservationEvent event) {
+        State previous = states.get(event.getReservationId());
+        long checkInTime = previous != null ? previous.checkInTime : ReservationEvent.NONE;
+        long checkOutTime = previous != null ? previous.checkOutTime : ReservationEvent.NONE;
+        String cancelReason = previous != null ? previous.cancelReason : null;
+
+        switch (event.getType()) {
+            case CHECKED_IN:
+                checkInTime = event.getOccurredAtEpochSecond();
+                break;
+            case CHECKED_OUT:
+                checkOutTime = event.getOccurredAtEpochSecond();
+                break;
+            case CANCELLED:
+                cancelReason = event.getReason();
+                countCancelReason(cancelReason);
+                break;
+            default:
+                break;
+        }
+
+        replace(previous, new State(event.getReservationId(), event.getUserId(), event.getSeatId(),
+            event.getStatus(), event.getPaymentStatus(),
+            event.getStartEpochSecond(), event.getEndEpochSecond(), event.getAmountCents(),
+            checkInTime, checkOutTime, cancelReason));
+        eventCounts.incrementAndGet(event.getType().ordinal());
+    }
+
+    /**
+     * 直接写入预订状态（从数据库初始化投影时使用）
+     */
+    void put(State state) {
+        replace(states.get(state.reservationId), state);
+        if (state.status == Reservation.ReservationStatus.CANCELLED) {
+            countCancelReason(state.cancelReason);
+        }
+    }
+
+    /**
+     * 根据ID获取预订状态
+     */
+    public State get(long reservationId) {
+        return states.get(reservationId);
+    }
+
+    public int size() {
+        return states.size();
+    }
+
+    public long getMaxReservationId() {
+        return maxReservationId;
+    }
+
+    /**
+     * 指定状态的预订数
+     */
+    public long countByStatus(Reservation.ReservationStatus status) {
+        return statusCounts.get(status.ordinal());
+    }
+
+    /**
+     * 指定支付状态的预订数
+     */
+    public long countByPaymentStatus(Reservation.PaymentStatus paymentStatus) {
+        return paymentCounts.get(paymentStatus.ordinal());
+    }
+
+    /**
+     * 已支付预订的金额合计（分）
+     */
+    public long getPaidRevenueCents() {
+        return paidRevenueCents.get();
+    }
+
+    /**
+     * 按状态统计预订数（只包含数量大于 0 的状态）
+     */
+    public Map<String, Long> getStatusCounts() {
+        return toMap(statusCounts, STATUSES);
+    }
+
+    /**
+     * 获取投影统计信息
+     * @return 统计信息Map
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalReservations", states.size());
+        stats.put("statusStats", toMap(statusCounts, STATUSES));
+        stats.put("paymentStats", toMap(paymentCounts, PAYMENT_STATUSES));
+        stats.put("eventStats", toMap(eventCounts, EVENT_TYPES));
+        stats.put("paidRevenue", BigDecimal.valueOf(paidRevenueCents.get(), 2));
+        stats.put("bookedHours", BigDecimal.valueOf(bookedMinutes.get()).divide(BigDecimal.valueOf(60), 1, RoundingMode.HALF_UP));
+
+        Map<String, Long> topReasons = new LinkedHashMap<>();
+        cancelReasons.entrySet().stream()
+            .sorted(Comparator.comparingLong((Map.Entry<String, AtomicLong> e) -> e.getValue().get()).reversed())
+            .limit(TOP_REASONS)
+            .forEach(e -> topReasons.put(e.getKey(), e.getValue().get()));
+        stats.put("topCancelReasons", topReasons);
+        return stats;
+    }
+
+    /**
+     * 写出快照（调用方需保证期间没有并发写入）
+     */
+    void writeSnapshot(DataOutputStream out, long sequence) throws IOException {
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeInt(SNAPSHOT_VERSION);
+        out.writeLong(sequence);
+        out.writeInt(EVENT_TYPES.length);
+        for (int i = 0; i < EVENT_TYPES.length; i++) {
+            out.writeLong(eventCounts.get(i));
+        }
+        out.writeInt(cancelReasons.size());
+        for (Map.Entry<String, AtomicLong> entry : cancelReasons.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeLong(entry.getValue().get());
+        }
+        out.writeInt(states.size());
+        for (State state : states.values()) {
+            state.writeTo(out);
+        }
+    }
+
+    /**
+     * 从快照恢复投影
+     * @return 快照对应的事件序号
+     */
+    long readSnapshot(DataInputStream in) throws IOException {
+        if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+            throw new IOException("快照格式不兼容");
+        }
+        long sequence = in.readLong();
+        int typeCount = in.readInt();
+        for (int i = 0; i < typeCount; i++) {
+            eventCounts.set(i, in.readLong());
+        }
+        int reasonCount = in.readInt();
+        for (int i = 0; i < reasonCount; i++) {
+            cancelReasons.put(in.readUTF(), new AtomicLong(in.readLong()));
+        }
+        int stateCount = in.readInt();
+        for (int i = 0; i < stateCount; i++) {
+            State state = State.readFrom(in);
+            replace(null, state);
+        }
+        return sequence;
+    }
+
+    /**
+     * 复制当前所有状态，用于在锁外写快照
+     */
+    ReservationProjection copy() {
+        ReservationProjection copy = new ReservationProjection();
+        for (State state : states.values()) {
+            copy.replace(null, state);
+        }
+        for (int i = 0; i < EVENT_TYPES.length; i++) {
+            copy.eventCounts.set(i, eventCounts.get(i));
+        }
+        cancelReasons.forEach((reason, count) -> copy.cancelReasons.put(reason, new AtomicLong(count.get())));
+        return copy;
+    }
+
+    private void replace(State previous, State state) {
+        states.put(state.reservationId, state);
+        account(previous, -1);
+        account(state, 1);
+        if (state.reservationId > maxReservationId) {
+            maxReservationId = state.reservationId;
+        }
+    }
+
+    private void account(State state, int sign) {
+        if (state == null) {
+            return;
+        }
+        statusCounts.addAndGet(state.status.ordinal(), sign);
+        paymentCounts.addAndGet(state.paymentStatus.ordinal(), sign);
+        if (state.paymentStatus == Reservation.PaymentStatus.PAID) {
+            paidRevenueCents.addAndGet(sign * state.amountCents);
+        }
+        if (state.status != Reservation.ReservationStatus.CANCELLED) {
+            bookedMinutes.addAndGet(sign * (state.endTime - state.startTime) / 60);
+        }
+    }
+
+    private void countCancelReason(String reason) {
+        String key = reason == null || reason.isBlank() ? NO_REASON : reason;
+        AtomicLong count = cancelReasons.get(key);
+        if (count == null) {
+            // 原因是自由文本，超过上限后新原因统一计入 "其他"
+            key = cancelReasons.size() >= MAX_TRACKED_REASONS ? OTHER_REASON : key;
+            count = cancelReasons.computeIfAbsent(key, k -> new AtomicLong());
+        }
+        count.incrementAndGet();
+    }
+
+    private static Map<String, Long> toMap(AtomicLongArray counts, Enum<?>[] keys) {
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            long count = counts.get(i);
+            if (count > 0) {
+                map.put(keys[i].name(), count);
+            }
+        }
+        return map;
+    }
+}
@@ -0,0 +1,226 @@
+package com.studyroom.server.service.eventlog;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 按段滚动的内存映射追加日志
+ * 每个段文件预分配固定大小并整体映射到内存，追加只是一次内存拷贝；
+ * 写满后强制刷盘并切换到以下一个事件序号命名的新段。
+ *
+ * 记录格式：[int 长度][int CRC32][事件内容]，长度为 0 表示段内数据结束。
+ * 启动时遇到长度越界或 CRC 不匹配的记录视为崩溃时写了一半，从该位置截断并清零。
+ * 非线程安全，由调用方保证单写者。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+final class SegmentedEventLog implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int RECORD_HEADER_BYTES = 8;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final CRC32 crc = new CRC32();
+
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int segmentCount;
+    private long lastSequence;
+
+    SegmentedEventLog(Path directory, int segmentBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+    }
+
+    /**
+     * 回放序号大于 afterSequence 的所有事件，并把写位置定位到最后一个有效记录之后
+     * @param afterSequence 快照已包含的最大序号
+     * @param consumer 事件处理器
+     * @return 日志中的最大序号
+     */
+    long open(long afterSequence, Consumer<ReservationEvent> consumer) throws IOException {
+        Files.createDirectories(directory);
+        List<Path> segments = listSegments();
+        segmentCount = segments.size();
+        lastSequence = afterSequence;
+
+        for (int i = 0; i < segments.size() - 1; i++) {
+            // 下一段的起始序号不超过快照序号时，本段的事件已全部包含在快照中
+            if (firstSequenceOf(segments.get(i + 1)) <= afterSequence + 1) {
+                continue;
+            }
+            try (FileChannel readChannel = FileChannel.open(segments.get(i), StandardOpenOption.READ)) {
+                scan(readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size()), afterSequence, consumer);
+            }
+        }
+
+        if (segments.isEmpty()) {
+            openSegment(lastSequence + 1);
+        } else {
+            mapSegment(segments.get(segments.size() - 1));
+            int end = scan(segment.duplicate(), afterSequence, consumer);
+            clearTornRecord(end);
+            segment.position(end);
+        }
+        return lastSequence;
+    }
+
+    /**
+     * 追加事件（事件序号必须大于已有的最大序号）
+     */
+    void append(ReservationEvent event) throws IOException {
+        int size = RECORD_HEADER_BYTES + event.encodedSize();
+        if (size > segmentBytes) {
+            throw new IOException("事件过大: " + size);
+        }
+        if (segment.remaining() < size) {
+            roll(event.getSequence());
+        }
+
+        int start = segment.position();
+        ByteBuffer body = segment.duplicate();
+        body.position(start + RECORD_HEADER_BYTES);
+        event.writeTo(body);
+
+        ByteBuffer content = segment.duplicate();
+        content.position(start + RECORD_HEADER_BYTES).limit(start + size);
+        crc.reset();
+        crc.update(content);
+        segment.putInt(start + 4, (int) crc.getValue());
+        // 最后写长度，长度非 0 才表示记录完整可读
+        segment.putInt(start, event.encodedSize());
+        segment.position(start + size);
+        lastSequence = event.getSequence();
+    }
+
+    /**
+     * 将当前段已写入的数据刷到磁盘
+     */
+    void force() {
+        if (segment != null) {
+            segment.force();
+        }
+    }
+
+    /**
+     * 删除事件已全部包含在快照中的旧段，当前写入的段始终保留
+     * @param snapshotSequence 快照已包含的最大序号
+     * @return 删除的段数
+     */
+    int deleteSegmentsBefore(long snapshotSequence) throws IOException {
+        List<Path> segments = listSegments();
+        int deleted = 0;
+        for (int i = 0; i < segments.size() - 1; i++) {
+            // 与 open 的判断一致：下一段的起始序号不超过快照序号 + 1 时本段才能删除
+            if (firstSequenceOf(segments.get(i + 1)) > snapshotSequence + 1) {
+                break;
+            }
+            Files.deleteIfExists(segments.get(i));
+            deleted++;
+        }
+        segmentCount -= deleted;
+        return deleted;
+    }
+
+    long getLastSequence() {
+        return lastSequence;
+    }
+
+    int getSegmentCount() {
+        return segmentCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        segment = null;
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    // 返回最后一个有效记录之后的位置
+    private int scan(ByteBuffer buffer, long afterSequence, Consumer<ReservationEvent> consumer) {
+        int position = 0;
+        int limit = buffer.limit();
+        while (position + RECORD_HEADER_BYTES <= limit) {
+            int length = buffer.getInt(position);
+            if (length < ReservationEvent.FIXED_BYTES || length > ReservationEvent.MAX_ENCODED_BYTES
+                    || position + RECORD_HEADER_BYTES + length > limit) {
+                break;
+            }
+            ByteBuffer content = buffer.duplicate();
+            content.position(position + RECORD_HEADER_BYTES).limit(position + RECORD_HEADER_BYTES + length);
+            crc.reset();
+            crc.update(content.duplicate());
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+            ReservationEvent event = ReservationEvent.readFrom(content);
+            if (event.getSequence() > afterSequence) {
+                consumer.accept(event);
+                lastSequence = Math.max(lastSequence, event.getSequence());
+            }
+            position += RECORD_HEADER_BYTES + length;
+        }
+        return position;
+    }
+
+    // 单写者顺序追加，崩溃时最多只有最后一条记录写了一半，清零它可能占用的区域
+    private void clearTornRecord(int position) {
+        int end = Math.min(segment.limit(), position + RECORD_HEADER_BYTES + ReservationEvent.MAX_ENCODED_BYTES);
+        for (int i = position; i < end; i++) {
+            segment.put(i, (byte) 0);
+        }
+    }
+
+    private void roll(long nextSequence) throws IOException {
+        close();
+        openSegment(nextSequence);
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        mapSegment(path);
+        segmentCount++;
+    }
+
+    private void mapSegment(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // 映射会把文件扩展到段大小，新增部分为 0
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentBytes, channel.size()));
+    }
+
+    private List<Path> listSegments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> {
+                    String name = path.getFileName().toString();
+                    return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                })
+                .sorted()
+                .forEach(segments::add);
+        }
+        return segments;
+    }
+
+    private static long firstSequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,129 @@
+package com.studyroom.server.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 最后登录时间写回缓冲
+ * 登录成功时只在内存中记录时间（同一用户多次登录合并为最新一次），
+ * 由后台线程定期以一次 JDBC 批量 UPDATE 写入数据库，
+ * 应用关闭时会执行最后一次刷新。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+@Component
+public class LastLoginWriteBehind {
+
+    private static final Logger logger = LoggerFactory.getLogger(LastLoginWriteBehind.class);
+
+    private static final String UPDATE_SQL = "UPDATE users SET last_login_at = ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${user.last-login.flush-interval-ms:2000}")
+    private long flushIntervalMillis;
+
+    @Value("${user.last-login.batch-size:500}")
+    private int batchSize;
+
+    private final ConcurrentHashMap<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "last-login-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int flushed = flush();
+        logger.info("最后登录时间缓冲已关闭，最终刷新 {} 条记录", flushed);
+    }
+
+    /**
+     * 记录用户登录时间
+     * @param userId 用户ID
+     * @param loginTime 登录时间
+     */
+    public void record(Long userId, LocalDateTime loginTime) {
+        pending.merge(userId, loginTime, (oldTime, newTime) -> newTime.isAfter(oldTime) ? newTime : oldTime);
+    }
+
+    /**
+     * 待写入的记录数
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * 将缓冲中的记录批量写入数据库
+     * @return 写入的记录数
+     */
+    public synchronized int flush() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> batch = new ArrayList<>(pending.size());
+        for (Long userId : pending.keySet()) {
+            LocalDateTime loginTime = pending.remove(userId);
+            if (loginTime != null) {
+                batch.add(new Object[] {Timestamp.valueOf(loginTime), userId});
+            }
+        }
+
+        try {
+            for (int from = 0; from < batch.size(); from += batchSize) {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, batch.subList(from, Math.min(from + batchSize, batch.size())));
+            }
+            return batch.size();
+        } catch (RuntimeException e) {
+            // 写入失败时放回缓冲，等待下次刷新（保留更新的时间）
+            for (Object[] row : batch) {
+                record((Long) row[1], ((Timestamp) row[0]).toLocalDateTime());
+            }
+            throw e;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            int flushed = flush();
+            if (flushed > 0) {
+                logger.debug("已批量写入 {} 条最后登录时间", flushed);
+            }
+        } catch (Exception e) {
+            logger.warn("批量写入最后登录时间失败，将在下次重试: {}", e.getMessage());
+        }
+    }
+}
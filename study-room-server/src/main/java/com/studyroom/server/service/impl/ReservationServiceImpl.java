@@ -3,10 +3,17 @@ package com.studyroom.server.service.impl;
 import com.studyroom.server.entity.Reservation;
 import com.studyroom.server.entity.Seat;
 import com.studyroom.server.entity.User;
+import com.studyroom.server.metrics.MetricsRegistry;
+import com.studyroom.server.metrics.Timer;
 import com.studyroom.server.repository.ReservationRepository;
 import com.studyroom.server.repository.SeatRepository;
 import com.studyroom.server.repository.UserRepository;
 import com.studyroom.server.service.ReservationService;
+import com.studyroom.server.service.eventlog.ReservationEvent;
+import com.studyroom.server.service.eventlog.ReservationEventLog;
+import com.studyroom.server.service.eventlog.ReservationProjection;
+import com.studyroom.server.service.pricing.PricingEngine;
+import com.studyroom.server.util.LikePattern;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -14,6 +21,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -37,6 +45,8 @@ import java.util.stream.Collectors;
 @Transactional
 public class ReservationServiceImpl implements ReservationService {
 
+    private static final String AUTO_CANCEL_REASON = "系统自动取消：超时未支付";
+
     @Autowired
     private ReservationRepository reservationRepository;
     
@@ -46,6 +56,17 @@ public class ReservationServiceImpl implements ReservationService {
     @Autowired
     private SeatRepository seatRepository;
 
+    @Autowired
+    private PricingEngine pricingEngine;
+
+    @Autowired
+    private ReservationEventLog eventLog;
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    private volatile Timer conflictCheckTimer;
+
     @Override
     public Reservation createReservation(Long userId, Long seatId, LocalDateTime startTime, 
                                        LocalDateTime endTime, String notes) {
@@ -91,7 +112,9 @@ public class ReservationServiceImpl implements ReservationService {
         reservation.setPaymentStatus(Reservation.PaymentStatus.PENDING);
         reservation.setNotes(notes);
         
-        return reservationRepository.save(reservation);
+        Reservation savedReservation = reservationRepository.save(reservation);
+        eventLog.record(ReservationEvent.Type.CREATED, savedReservation, null);
+        return savedReservation;
     }
 
     @Override
@@ -141,53 +164,51 @@ public class ReservationServiceImpl implements ReservationService {
     @Override
     @Transactional(readOnly = true)
     public boolean hasTimeConflict(Long seatId, LocalDateTime startTime, LocalDateTime endTime, Long excludeReservationId) {
-        List<Reservation> conflictingReservations = reservationRepository.findConflictingReservations(
-            seatId, startTime, endTime);
-        
-        if (excludeReservationId != null) {
-            conflictingReservations = conflictingReservations.stream()
-                .filter(r -> !r.getId().equals(excludeReservationId))
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        try {
+            List<Reservation> conflictingReservations = reservationRepository.findConflictingReservations(
+                seatId, startTime, endTime);
+
+            if (excludeReservationId != null) {
+                conflictingReservations = conflictingReservations.stream()
+                    .filter(r -> !r.getId().equals(excludeReservationId))
+                    .collect(Collectors.toList());
+            }
+
+            return !conflictingReservations.isEmpty();
+        } finally {
+            // 内部调用不经过代理，切面计时覆盖不到，这里单独计时
+            conflictCheckTimer().record(System.nanoTime() - start);
         }
-        
-        return !conflictingReservations.isEmpty();
+    }
+
+    private Timer conflictCheckTimer() {
+        Timer timer = conflictCheckTimer;
+        if (timer == null) {
+            timer = metricsRegistry.timer("reservation.conflict_check");
+            conflictCheckTimer = timer;
+        }
+        return timer;
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public BigDecimal calculateReservationCost(Long seatId, LocalDateTime startTime, LocalDateTime endTime) {
+        // 优先使用内存中的费率表，不访问数据库
+        long cents = pricingEngine.quoteCents(seatId, startTime, endTime);
+        if (cents != PricingEngine.UNKNOWN_SEAT) {
+            return BigDecimal.valueOf(cents, 2);
+        }
+        
+        // 费率表中尚无该座位（例如刚刚创建），回源查询并刷新费率表
         Optional<Seat> seatOpt = seatRepository.findById(seatId);
         if (!seatOpt.isPresent()) {
             return BigDecimal.ZERO;
         }
-        
-        // 计算时长（小时）
-        long hours = Duration.between(startTime, endTime).toHours();
-        if (hours < 1) {
-            hours = 1; // 最少按1小时计费
-        }
-        
-        // 根据自习室的每小时价格计算
         Seat seat = seatOpt.get();
-        BigDecimal hourlyRate = seat.getStudyRoom().getHourlyRate();
-        
-        // 根据座位类型调整价格
-        BigDecimal multiplier = BigDecimal.ONE;
-        switch (seat.getType()) {
-            case VIP:
-                multiplier = new BigDecimal("1.5");
-                break;
-            case QUIET:
-                multiplier = new BigDecimal("1.2");
-                break;
-            case GROUP:
-                multiplier = new BigDecimal("1.3");
-                break;
-            default:
-                multiplier = BigDecimal.ONE;
-        }
-        
-        return hourlyRate.multiply(BigDecimal.valueOf(hours)).multiply(multiplier);
+        pricingEngine.refresh();
+        long hourlyRateCents = seat.getStudyRoom().getHourlyRate().movePointRight(2).longValue();
+        return BigDecimal.valueOf(pricingEngine.quoteCents(hourlyRateCents, seat.getType(), startTime, endTime), 2);
     }
 
     @Override
@@ -224,7 +245,9 @@ public class ReservationServiceImpl implements ReservationService {
         reservation.setTotalAmount(newAmount);
         reservation.setNotes(notes);
         
-        return reservationRepository.save(reservation);
+        Reservation savedReservation = reservationRepository.save(reservation);
+        eventLog.record(ReservationEvent.Type.UPDATED, savedReservation, null);
+        return savedReservation;
     }
 
     @Override
@@ -243,9 +266,10 @@ public class ReservationServiceImpl implements ReservationService {
         }
         
         reservation.setStatus(Reservation.ReservationStatus.CANCELLED);
-        reservation.setNotes(reservation.getNotes() + "\n取消原因: " + cancelReason);
+        reservation.setCancelReason(cancelReason);
         
         reservationRepository.save(reservation);
+        eventLog.record(ReservationEvent.Type.CANCELLED, reservation, cancelReason);
         return true;
     }
 
@@ -267,6 +291,7 @@ public class ReservationServiceImpl implements ReservationService {
         reservation.setPaymentStatus(Reservation.PaymentStatus.PAID);
         
         reservationRepository.save(reservation);
+        eventLog.record(ReservationEvent.Type.PAID, reservation, paymentMethod);
         return true;
     }
 
@@ -293,6 +318,7 @@ public class ReservationServiceImpl implements ReservationService {
         
         reservation.setCheckInTime(now);
         reservationRepository.save(reservation);
+        eventLog.record(ReservationEvent.Type.CHECKED_IN, reservation, null);
         return true;
     }
 
@@ -314,6 +340,7 @@ public class ReservationServiceImpl implements ReservationService {
         reservation.setStatus(Reservation.ReservationStatus.COMPLETED);
         
         reservationRepository.save(reservation);
+        eventLog.record(ReservationEvent.Type.CHECKED_OUT, reservation, null);
         return true;
     }
 
@@ -350,6 +377,7 @@ public class ReservationServiceImpl implements ReservationService {
         reservation.setTotalAmount(reservation.getTotalAmount().add(additionalCost));
         
         reservationRepository.save(reservation);
+        eventLog.record(ReservationEvent.Type.EXTENDED, reservation, null);
         return true;
     }
 
@@ -368,10 +396,16 @@ public class ReservationServiceImpl implements ReservationService {
         List<Reservation> expiredReservations = findExpiredUnpaidReservations();
         int canceledCount = 0;
         
+        // 直接修改已加载的实体，提交时由 Hibernate 按批次执行 UPDATE
         for (Reservation reservation : expiredReservations) {
-            if (cancelReservation(reservation.getId(), "系统自动取消：超时未支付")) {
-                canceledCount++;
+            if (reservation.getStatus() == Reservation.ReservationStatus.CANCELLED ||
+                reservation.getStatus() == Reservation.ReservationStatus.COMPLETED) {
+                continue;
             }
+            reservation.setStatus(Reservation.ReservationStatus.CANCELLED);
+            reservation.setCancelReason(AUTO_CANCEL_REASON);
+            eventLog.record(ReservationEvent.Type.CANCELLED, reservation, AUTO_CANCEL_REASON);
+            canceledCount++;
         }
         
         return canceledCount;
@@ -452,25 +486,33 @@ public class ReservationServiceImpl implements ReservationService {
     public Map<String, Object> getSystemReservationStatistics() {
         Map<String, Object> stats = new HashMap<>();
         
-        List<Reservation> allReservations = reservationRepository.findAll();
-        stats.put("totalReservations", allReservations.size());
-        
-        // 按状态统计
-        Map<String, Long> statusStats = allReservations.stream()
-            .collect(Collectors.groupingBy(
-                r -> r.getStatus().toString(),
-                Collectors.counting()
-            ));
-        stats.put("statusStats", statusStats);
+        // 事件日志投影就绪时直接读取内存中的计数，不扫描预订表
+        if (eventLog.isReady()) {
+            ReservationProjection projection = eventLog.getProjection();
+            stats.put("totalReservations", projection.size());
+            stats.put("statusStats", projection.getStatusCounts());
+            stats.put("activeReservations", projection.countByStatus(Reservation.ReservationStatus.ACTIVE));
+        } else {
+            List<Reservation> allReservations = reservationRepository.findAll();
+            stats.put("totalReservations", allReservations.size());
+            
+            // 按状态统计
+            Map<String, Long> statusStats = allReservations.stream()
+                .collect(Collectors.groupingBy(
+                    r -> r.getStatus().toString(),
+                    Collectors.counting()
+                ));
+            stats.put("statusStats", statusStats);
+            
+            // 活跃预订
+            List<Reservation> activeReservations = findActiveReservations();
+            stats.put("activeReservations", activeReservations.size());
+        }
         
         // 今日预订
         List<Reservation> todayReservations = findTodayReservations();
         stats.put("todayReservations", todayReservations.size());
         
-        // 活跃预订
-        List<Reservation> activeReservations = findActiveReservations();
-        stats.put("activeReservations", activeReservations.size());
-        
         return stats;
     }
 
@@ -511,28 +553,13 @@ public class ReservationServiceImpl implements ReservationService {
 
     @Override
     @Transactional(readOnly = true)
-    public Page<Reservation> findReservationsWithPagination(int page, int size, Long userId, 
-                                                           Reservation.ReservationStatus status, 
-                                                           Reservation.PaymentStatus paymentStatus) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        
-        // 获取所有预订，然后在内存中过滤
-        List<Reservation> allReservations = reservationRepository.findAll();
-        
-        // 应用过滤条件
-        List<Reservation> filteredReservations = allReservations.stream()
-            .filter(r -> userId == null || r.getUser().getId().equals(userId))
-            .filter(r -> status == null || r.getStatus() == status)
-            .filter(r -> paymentStatus == null || r.getPaymentStatus() == paymentStatus)
-            .sorted((r1, r2) -> r2.getCreatedAt().compareTo(r1.getCreatedAt()))
-            .collect(Collectors.toList());
-        
-        // 手动分页
-        int start = page * size;
-        int end = Math.min(start + size, filteredReservations.size());
-        List<Reservation> pageContent = filteredReservations.subList(start, end);
-        
-        return new org.springframework.data.domain.PageImpl<>(
-            pageContent, pageable, filteredReservations.size());
+    public Page<Reservation> findReservationsWithPagination(int page, int size, Long userId, Long seatId,
+                                                           Reservation.ReservationStatus status,
+                                                           Reservation.PaymentStatus paymentStatus,
+                                                           LocalDateTime startDate, LocalDateTime endDate,
+                                                           String keyword, Sort sort) {
+        Pageable pageable = PageRequest.of(page, size, sort);
+        return reservationRepository.searchReservations(
+            userId, seatId, status, paymentStatus, startDate, endDate, LikePattern.containing(keyword), pageable);
     }
 } 
\ No newline at end of file
@@ -7,8 +7,12 @@ import com.studyroom.server.repository.SeatRepository;
 import com.studyroom.server.repository.StudyRoomRepository;
 import com.studyroom.server.repository.ReservationRepository;
 import com.studyroom.server.service.SeatService;
+import com.studyroom.server.service.audit.AuditTrail;
+import com.studyroom.server.service.layout.SeatLayout;
+import com.studyroom.server.service.pricing.PricingEngine;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -16,11 +20,16 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * 座位服务实现类
@@ -41,6 +50,21 @@ public class SeatServiceImpl implements SeatService {
     @Autowired
     private ReservationRepository reservationRepository;
 
+    @Autowired
+    private PricingEngine pricingEngine;
+
+    @Autowired
+    private AuditTrail auditTrail;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Value("${seat.layout.max-seats:5000}")
+    private int maxLayoutSeats;
+
     @Override
     public Seat createSeat(String seatNumber, Long studyRoomId, Seat.SeatType type,
                           Boolean hasWindow, Boolean hasPowerOutlet, Boolean hasLamp,
@@ -71,7 +95,57 @@ public class SeatServiceImpl implements SeatService {
         seat.setRowNum(rowNum);
         seat.setColNum(colNum);
         
-        return seatRepository.save(seat);
+        Seat savedSeat = seatRepository.save(seat);
+        pricingEngine.refresh();
+        return savedSeat;
+    }
+
+    @Override
+    public List<Seat> createSeatsInBatch(Long studyRoomId, List<Seat> seats) {
+        StudyRoom studyRoom = studyRoomRepository.findById(studyRoomId)
+            .orElseThrow(() -> new IllegalArgumentException("自习室不存在"));
+        
+        // 检查请求内部和数据库中的座位号重复
+        Set<String> seatNumbers = new HashSet<>();
+        for (Seat seat : seats) {
+            if (!seatNumbers.add(seat.getSeatNumber())) {
+                throw new IllegalArgumentException("座位号重复: " + seat.getSeatNumber());
+            }
+        }
+        if (!seatNumbers.isEmpty()) {
+            List<String> existing = seatRepository.findExistingSeatNumbers(studyRoomId, seatNumbers);
+            if (!existing.isEmpty()) {
+                throw new IllegalStateException("座位号已存在: " + String.join(",", existing));
+            }
+        }
+        
+        List<Seat> savedSeats = new ArrayList<>(seats.size());
+        for (int i = 0; i < seats.size(); i++) {
+            Seat seat = seats.get(i);
+            seat.setStudyRoom(studyRoom);
+            if (seat.getStatus() == null) {
+                seat.setStatus(Seat.SeatStatus.AVAILABLE);
+            }
+            entityManager.persist(seat);
+            savedSeats.add(seat);
+            // 每个批次刷新一次并清理持久化上下文，控制内存占用
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                studyRoom = studyRoomRepository.getReferenceById(studyRoomId);
+            }
+        }
+        
+        pricingEngine.refresh();
+        return savedSeats;
+    }
+
+    @Override
+    public List<Seat> createSeatsFromLayout(Long studyRoomId, SeatLayout layout) {
+        if (layout.getSeatCount() > maxLayoutSeats) {
+            throw new IllegalArgumentException("布局座位数超过上限: " + maxLayoutSeats);
+        }
+        return createSeatsInBatch(studyRoomId, layout.generate());
     }
 
     @Override
@@ -143,7 +217,10 @@ public class SeatServiceImpl implements SeatService {
         seat.setDescription(description);
         seat.setEquipment(equipment);
         
-        return seatRepository.save(seat);
+        Seat savedSeat = seatRepository.save(seat);
+        // 座位类型可能变化，提交后重新加载费率表
+        pricingEngine.refresh();
+        return savedSeat;
     }
 
     @Override
@@ -154,9 +231,12 @@ public class SeatServiceImpl implements SeatService {
         }
         
         Seat seat = seatOpt.get();
+        Seat.SeatStatus previousStatus = seat.getStatus();
         seat.setStatus(status);
         
-        return seatRepository.save(seat);
+        Seat savedSeat = seatRepository.save(seat);
+        auditTrail.record(AuditTrail.ACTION_UPDATE_STATUS, AuditTrail.ENTITY_SEAT, seatId, previousStatus, status);
+        return savedSeat;
     }
 
     @Override
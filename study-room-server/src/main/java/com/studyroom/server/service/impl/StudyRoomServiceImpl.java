@@ -7,6 +7,8 @@ import com.studyroom.server.repository.StudyRoomRepository;
 import com.studyroom.server.repository.SeatRepository;
 import com.studyroom.server.repository.ReservationRepository;
 import com.studyroom.server.service.StudyRoomService;
+import com.studyroom.server.service.audit.AuditTrail;
+import com.studyroom.server.service.pricing.PricingEngine;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -43,6 +45,12 @@ public class StudyRoomServiceImpl implements StudyRoomService {
     @Autowired
     private ReservationRepository reservationRepository;
 
+    @Autowired
+    private PricingEngine pricingEngine;
+
+    @Autowired
+    private AuditTrail auditTrail;
+
     @Override
     public StudyRoom createStudyRoom(String name, String description, Integer capacity,
                                    BigDecimal hourlyRate, LocalTime openTime, LocalTime closeTime,
@@ -58,7 +66,9 @@ public class StudyRoomServiceImpl implements StudyRoomService {
         studyRoom.setFacilities(facilities);
         studyRoom.setStatus(StudyRoom.RoomStatus.AVAILABLE);
         
-        return studyRoomRepository.save(studyRoom);
+        StudyRoom savedRoom = studyRoomRepository.save(studyRoom);
+        pricingEngine.refresh();
+        return savedRoom;
     }
 
     @Override
@@ -122,7 +132,10 @@ public class StudyRoomServiceImpl implements StudyRoomService {
         studyRoom.setLocation(location);
         studyRoom.setFacilities(facilities);
         
-        return studyRoomRepository.save(studyRoom);
+        StudyRoom savedRoom = studyRoomRepository.save(studyRoom);
+        // 价格可能变化，提交后重新加载费率表
+        pricingEngine.refresh();
+        return savedRoom;
     }
 
     @Override
@@ -133,9 +146,12 @@ public class StudyRoomServiceImpl implements StudyRoomService {
         }
         
         StudyRoom studyRoom = roomOpt.get();
+        StudyRoom.RoomStatus previousStatus = studyRoom.getStatus();
         studyRoom.setStatus(status);
         
-        return studyRoomRepository.save(studyRoom);
+        StudyRoom savedRoom = studyRoomRepository.save(studyRoom);
+        auditTrail.record(AuditTrail.ACTION_UPDATE_STATUS, AuditTrail.ENTITY_STUDY_ROOM, roomId, previousStatus, status);
+        return savedRoom;
     }
 
     @Override
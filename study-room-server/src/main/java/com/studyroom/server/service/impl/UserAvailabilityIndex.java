@@ -0,0 +1,184 @@
+package com.studyroom.server.service.impl;
+
+import com.studyroom.server.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 用户名/邮箱可用性索引
+ * 启动完成后（数据初始化脚本已执行）从 users 表加载所有规范化的用户名和邮箱到布隆过滤器，
+ * 过滤器判定 "一定不存在" 时无需查询数据库，只有 "可能存在" 时才回源确认。
+ * 索引构建完成之前所有查询都回源数据库。
+ * 新注册的值在事务提交后才写入过滤器；构建期间提交的值同时记入待重放列表，
+ * 切换前重放到新过滤器，避免值既不在旧过滤器也不在新过滤器中。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+@Component
+public class UserAvailabilityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserAvailabilityIndex.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${user.availability-index.expected-users:100000}")
+    private long expectedUsers;
+
+    @Value("${user.availability-index.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter usernames;
+    private volatile BloomFilter emails;
+
+    // 构建期间提交的新值（非 null 表示正在构建），切换前重放到新过滤器
+    private List<String> pendingUsernames;
+    private List<String> pendingEmails;
+
+    // 新值的写入与构建开始、结束时的切换互斥，写入要么进入旧过滤器和待重放列表，要么进入新过滤器
+    private final Object swapLock = new Object();
+
+    private final LongAdder definiteNegatives = new LongAdder();
+    private final LongAdder possibleHits = new LongAdder();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        Long userCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        long capacity = Math.max(expectedUsers, (userCount != null ? userCount : 0) * 2);
+
+        BloomFilter usernameFilter = new BloomFilter(capacity, falsePositiveRate);
+        BloomFilter emailFilter = new BloomFilter(capacity, falsePositiveRate);
+        synchronized (swapLock) {
+            this.pendingUsernames = new ArrayList<>();
+            this.pendingEmails = new ArrayList<>();
+        }
+        jdbcTemplate.query("SELECT username, email FROM users", rs -> {
+            usernameFilter.put(normalize(rs.getString(1)));
+            emailFilter.put(normalize(rs.getString(2)));
+        });
+
+        synchronized (swapLock) {
+            pendingUsernames.forEach(usernameFilter::put);
+            pendingEmails.forEach(emailFilter::put);
+            this.usernames = usernameFilter;
+            this.emails = emailFilter;
+            this.pendingUsernames = null;
+            this.pendingEmails = null;
+        }
+        logger.info("✅ 用户名/邮箱可用性索引已构建: users={}, capacity={}", userCount, capacity);
+    }
+
+    /**
+     * 判断用户名是否可能已被占用
+     * @param username 用户名
+     * @return false 表示一定未被占用
+     */
+    public boolean usernameMightExist(String username) {
+        return mightContain(usernames, username);
+    }
+
+    /**
+     * 判断邮箱是否可能已被占用
+     * @param email 邮箱
+     * @return false 表示一定未被占用
+     */
+    public boolean emailMightExist(String email) {
+        return mightContain(emails, email);
+    }
+
+    /**
+     * 记录新占用的用户名；在事务中调用时等事务提交后再写入
+     * @param username 用户名
+     */
+    public void addUsername(String username) {
+        afterCommit(() -> {
+            synchronized (swapLock) {
+                put(usernames, pendingUsernames, username);
+            }
+        });
+    }
+
+    /**
+     * 记录新占用的邮箱；在事务中调用时等事务提交后再写入
+     * @param email 邮箱
+     */
+    public void addEmail(String email) {
+        afterCommit(() -> {
+            synchronized (swapLock) {
+                put(emails, pendingEmails, email);
+            }
+        });
+    }
+
+    /**
+     * 获取索引命中统计
+     * @return 统计信息Map
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("ready", usernames != null);
+        stats.put("definiteNegatives", definiteNegatives.sum());
+        stats.put("possibleHits", possibleHits.sum());
+        return stats;
+    }
+
+    // 提交前写入的话，构建可能在提交前读完 users 表并切换掉这次写入的旧过滤器，值会从两个过滤器中都丢失
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void put(BloomFilter current, List<String> pending, String value) {
+        if (value == null) {
+            return;
+        }
+        String normalized = normalize(value);
+        if (current != null) {
+            current.put(normalized);
+        }
+        if (pending != null) {
+            pending.add(normalized);
+        }
+    }
+
+    private boolean mightContain(BloomFilter filter, String value) {
+        if (filter == null || value == null) {
+            return true;
+        }
+        if (filter.mightContain(normalize(value))) {
+            possibleHits.increment();
+            return true;
+        }
+        definiteNegatives.increment();
+        return false;
+    }
+
+    // 规范化：去除首尾空白并转小写，保证精确匹配的值一定落在过滤器中
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -4,19 +4,23 @@ import com.studyroom.server.entity.User;
 import com.studyroom.server.entity.Reservation;
 import com.studyroom.server.repository.UserRepository;
 import com.studyroom.server.repository.ReservationRepository;
+import com.studyroom.server.security.PasswordVerifier;
 import com.studyroom.server.service.UserService;
+import com.studyroom.server.service.audit.AuditTrail;
+import com.studyroom.server.util.LikePattern;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,9 +43,26 @@ public class UserServiceImpl implements UserService {
     private ReservationRepository reservationRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordVerifier passwordVerifier;
 
+    @Autowired
+    private LastLoginWriteBehind lastLoginWriteBehind;
+
+    @Autowired
+    private UserAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private AuditTrail auditTrail;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * 注册不在事务中进行：可用性检查各自使用短只读查询，BCrypt 加密在事务外完成，
+     * 只有插入用户在短写事务中进行，加密排队期间不占用数据库连接。
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User registerUser(String username, String password, String email, String phone, String realName) {
         // 检查用户名和邮箱是否已存在
         if (!isUsernameAvailable(username)) {
@@ -54,38 +75,51 @@ public class UserServiceImpl implements UserService {
         // 创建新用户
         User user = new User();
         user.setUsername(username);
-        user.setPassword(passwordEncoder.encode(password)); // 加密密码
+        user.setPassword(passwordVerifier.encode(password)); // 加密密码
         user.setEmail(email);
         user.setPhone(phone);
         user.setRealName(realName);
         user.setRole(User.UserRole.USER);
         user.setStatus(User.UserStatus.ACTIVE);
         
-        return userRepository.save(user);
+        return writeTransaction().execute(status -> {
+            User savedUser = userRepository.save(user);
+            availabilityIndex.addUsername(username);
+            availabilityIndex.addEmail(email);
+            return savedUser;
+        });
     }
 
+    /**
+     * 登录校验不在事务中进行：BCrypt 校验可能在校验线程池排队数秒，
+     * 期间不能占用事务和数据库连接，否则登录高峰会耗尽连接池。
+     * 用户在短只读事务中加载，重新加密后的密码在单独的短写事务中保存。
+     */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User authenticateUser(String username, String password) {
-        Optional<User> userOpt = userRepository.findByUsername(username);
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            // 验证加密后的密码
-            if (passwordEncoder.matches(password, user.getPassword()) && user.getStatus() == User.UserStatus.ACTIVE) {
-                return user;
-            }
+        User user = readOnlyTransaction().execute(status -> userRepository.findByUsername(username).orElse(null));
+        if (user == null) {
+            return null;
+        }
+        // 验证加密后的密码（在独立的校验线程池中执行）
+        if (!passwordVerifier.matches(password, user.getPassword()) || user.getStatus() != User.UserStatus.ACTIVE) {
+            return null;
+        }
+        // BCrypt 强度调整后，登录成功时透明地重新加密
+        if (passwordVerifier.needsRehash(user.getPassword())) {
+            user.setPassword(passwordVerifier.encode(password));
+            writeTransaction().executeWithoutResult(status -> userRepository.save(user));
+            passwordVerifier.recordRehash();
         }
-        return null;
+        return user;
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void updateLastLoginTime(Long userId) {
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            user.setLastLoginAt(LocalDateTime.now());
-            userRepository.save(user);
-        }
+        // 写入内存缓冲，由后台线程批量落库，不占用登录请求的事务
+        lastLoginWriteBehind.record(userId, LocalDateTime.now());
     }
 
     @Override
@@ -130,26 +164,38 @@ public class UserServiceImpl implements UserService {
         user.setPhone(phone);
         user.setRealName(realName);
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        availabilityIndex.addEmail(email);
+        return savedUser;
     }
 
+    /**
+     * 与登录相同，旧密码校验和新密码加密都在事务外进行；
+     * 写事务中重新加载用户，密码在校验后已被修改时放弃本次修改。
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public boolean changePassword(Long userId, String oldPassword, String newPassword) {
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (!userOpt.isPresent()) {
+        User user = readOnlyTransaction().execute(status -> userRepository.findById(userId).orElse(null));
+        if (user == null) {
             return false;
         }
         
-        User user = userOpt.get();
         // 验证旧密码
-        if (!passwordEncoder.matches(oldPassword, user.getPassword())) {
+        String verifiedHash = user.getPassword();
+        if (!passwordVerifier.matches(oldPassword, verifiedHash)) {
             return false;
         }
         
         // 设置新密码（加密）
-        user.setPassword(passwordEncoder.encode(newPassword));
-        userRepository.save(user);
-        return true;
+        String newHash = passwordVerifier.encode(newPassword);
+        return Boolean.TRUE.equals(writeTransaction().execute(status -> userRepository.findById(userId)
+            .filter(current -> verifiedHash.equals(current.getPassword()))
+            .map(current -> {
+                current.setPassword(newHash);
+                return true;
+            })
+            .orElse(false)));
     }
 
     @Override
@@ -160,9 +206,12 @@ public class UserServiceImpl implements UserService {
         }
         
         User user = userOpt.get();
+        User.UserStatus previousStatus = user.getStatus();
         user.setStatus(status);
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        auditTrail.record(AuditTrail.ACTION_UPDATE_STATUS, AuditTrail.ENTITY_USER, userId, previousStatus, status);
+        return savedUser;
     }
 
     @Override
@@ -183,15 +232,26 @@ public class UserServiceImpl implements UserService {
         return reservationRepository.findActiveReservationsByUserId(userId);
     }
 
+    /**
+     * 不开启事务：布隆过滤器判定一定不存在时直接返回，不占用数据库连接；
+     * 需要回源时只执行一次短查询，连接用完即释放
+     */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean isUsernameAvailable(String username) {
+        // 布隆过滤器判定一定不存在时无需查询数据库
+        if (!availabilityIndex.usernameMightExist(username)) {
+            return true;
+        }
         return !userRepository.existsByUsername(username);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean isEmailAvailable(String email) {
+        if (!availabilityIndex.emailMightExist(email)) {
+            return true;
+        }
         return !userRepository.existsByEmail(email);
     }
 
@@ -234,23 +294,19 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional(readOnly = true)
-    public Page<User> findUsersWithPagination(int page, int size, User.UserRole role, User.UserStatus status) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        
-        // 简化分页实现，使用手动过滤
-        List<User> allUsers = userRepository.findAll();
-        List<User> filteredUsers = allUsers.stream()
-            .filter(user -> role == null || user.getRole() == role)
-            .filter(user -> status == null || user.getStatus() == status)
-            .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
-            .collect(java.util.stream.Collectors.toList());
-        
-        // 手动分页
-        int start = page * size;
-        int end = Math.min(start + size, filteredUsers.size());
-        List<User> pageContent = start < filteredUsers.size() ? 
-            filteredUsers.subList(start, end) : new ArrayList<>();
-        
-        return new org.springframework.data.domain.PageImpl<>(pageContent, pageable, filteredUsers.size());
+    public Page<User> findUsersWithPagination(int page, int size, User.UserRole role, User.UserStatus status,
+                                              String keyword, Sort sort) {
+        Pageable pageable = PageRequest.of(page, size, sort);
+        return userRepository.searchUsers(role, status, LikePattern.containing(keyword), pageable);
+    }
+
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private TransactionTemplate writeTransaction() {
+        return new TransactionTemplate(transactionManager);
     }
-} 
\ No newline at end of file
+}
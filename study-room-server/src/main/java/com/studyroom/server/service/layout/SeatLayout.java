@@ -0,0 +1,260 @@
+package com.studyroom.server.service.layout;
+
+import com.studyroom.server.entity.Seat;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 自习室座位布局规格（不可变）
+ * 描述一个 rows × columns 的物理网格：过道行/列不放座位，按矩形区域指定座位类型，
+ * 按列指定靠窗和带电源插座的座位。{@link #generate()} 把规格展开为待持久化的座位列表，
+ * 座位的 rowNum/colNum 保存物理坐标（包含过道），客户端可据此还原真实排布。
+ *
+ * 座位号格式为 前缀 + 行标签 + 三位行内序号，例如 A001、B012、AA003。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+public final class SeatLayout {
+
+    // 与 Seat.seatNumber 的列长度一致
+    static final int MAX_SEAT_NUMBER_LENGTH = 20;
+
+    private final int rows;
+    private final int columns;
+    private final String seatNumberPrefix;
+    private final Seat.SeatType defaultType;
+    private final boolean hasLamp;
+    private final String equipment;
+    private final boolean[] aisleRows;
+    private final boolean[] aisleColumns;
+    private final boolean[] windowColumns;
+    private final boolean[] powerColumns;
+    // typeGrid[row][col]，null 表示使用默认类型
+    private final Seat.SeatType[][] typeGrid;
+    private final int seatCount;
+
+    private SeatLayout(Builder builder) {
+        this.rows = builder.rows;
+        this.columns = builder.columns;
+        this.seatNumberPrefix = builder.seatNumberPrefix;
+        this.defaultType = builder.defaultType;
+        this.hasLamp = builder.hasLamp;
+        this.equipment = builder.equipment;
+        this.aisleRows = builder.aisleRows;
+        this.aisleColumns = builder.aisleColumns;
+        this.windowColumns = builder.windowColumns;
+        this.powerColumns = builder.powerColumns;
+        this.typeGrid = builder.typeGrid;
+        this.seatCount = (rows - count(aisleRows)) * (columns - count(aisleColumns));
+    }
+
+    /**
+     * 创建布局构建器
+     * 网格大小来自请求，先校验再分配网格数组，避免超大的行列数耗尽内存
+     * @param rows 物理行数（含过道行）
+     * @param columns 物理列数（含过道列）
+     * @param maxCells 物理网格（含过道）最多允许的格子数
+     * @throws IllegalArgumentException 行数或列数不大于0，或网格超过 maxCells 时
+     */
+    public static Builder builder(int rows, int columns, int maxCells) {
+        if (rows < 1 || columns < 1) {
+            throw new IllegalArgumentException("行数和列数必须大于0");
+        }
+        if ((long) rows * columns > maxCells) {
+            throw new IllegalArgumentException("布局网格 " + rows + "×" + columns + " 超过上限: " + maxCells + " 个位置");
+        }
+        return new Builder(rows, columns);
+    }
+
+    /**
+     * 布局中的座位数（不含过道）
+     */
+    public int getSeatCount() {
+        return seatCount;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * 按行优先顺序生成所有座位（未设置自习室和ID）
+     * @return 座位列表
+     */
+    public List<Seat> generate() {
+        List<Seat> seats = new ArrayList<>(seatCount);
+        int seatRowIndex = 0;
+        for (int r = 1; r <= rows; r++) {
+            if (aisleRows[r]) {
+                continue;
+            }
+            String rowLabel = seatNumberPrefix + rowLabel(seatRowIndex++);
+            int seatInRow = 0;
+            for (int c = 1; c <= columns; c++) {
+                if (aisleColumns[c]) {
+                    continue;
+                }
+                Seat.SeatType type = typeGrid[r][c] != null ? typeGrid[r][c] : defaultType;
+
+                Seat seat = new Seat();
+                seat.setSeatNumber(rowLabel + String.format("%03d", ++seatInRow));
+                seat.setType(type);
+                seat.setStatus(Seat.SeatStatus.AVAILABLE);
+                seat.setHasWindow(windowColumns[c]);
+                seat.setHasPowerOutlet(powerColumns[c]);
+                seat.setHasLamp(hasLamp);
+                seat.setEquipment(equipment);
+                seat.setDescription(type.getDescription() + (windowColumns[c] ? "，靠窗" : ""));
+                seat.setRowNum(r);
+                seat.setColNum(c);
+                seats.add(seat);
+            }
+        }
+        return seats;
+    }
+
+    // 行标签：0 -> A, 25 -> Z, 26 -> AA, 27 -> AB ...
+    static String rowLabel(int index) {
+        StringBuilder label = new StringBuilder();
+        int n = index + 1;
+        while (n > 0) {
+            n--;
+            label.insert(0, (char) ('A' + n % 26));
+            n /= 26;
+        }
+        return label.toString();
+    }
+
+    private static int count(boolean[] flags) {
+        int count = 0;
+        for (boolean flag : flags) {
+            if (flag) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 座位布局构建器
+     */
+    public static final class Builder {
+
+        private final int rows;
+        private final int columns;
+        private String seatNumberPrefix = "";
+        private Seat.SeatType defaultType = Seat.SeatType.REGULAR;
+        private boolean hasLamp = true;
+        private String equipment;
+        private final boolean[] aisleRows;
+        private final boolean[] aisleColumns;
+        private final boolean[] windowColumns;
+        private final boolean[] powerColumns;
+        private final Seat.SeatType[][] typeGrid;
+
+        private Builder(int rows, int columns) {
+            this.rows = rows;
+            this.columns = columns;
+            // 下标从 1 开始，与 rowNum/colNum 一致
+            this.aisleRows = new boolean[rows + 1];
+            this.aisleColumns = new boolean[columns + 1];
+            this.windowColumns = new boolean[columns + 1];
+            this.powerColumns = new boolean[columns + 1];
+            this.typeGrid = new Seat.SeatType[rows + 1][columns + 1];
+        }
+
+        public Builder seatNumberPrefix(String prefix) {
+            this.seatNumberPrefix = prefix != null ? prefix.trim() : "";
+            return this;
+        }
+
+        public Builder defaultType(Seat.SeatType type) {
+            if (type != null) {
+                this.defaultType = type;
+            }
+            return this;
+        }
+
+        public Builder hasLamp(boolean hasLamp) {
+            this.hasLamp = hasLamp;
+            return this;
+        }
+
+        public Builder equipment(String equipment) {
+            this.equipment = equipment;
+            return this;
+        }
+
+        public Builder aisleRows(Collection<Integer> rowNums) {
+            mark(aisleRows, rowNums, rows, "过道行");
+            return this;
+        }
+
+        public Builder aisleColumns(Collection<Integer> colNums) {
+            mark(aisleColumns, colNums, columns, "过道列");
+            return this;
+        }
+
+        public Builder windowColumns(Collection<Integer> colNums) {
+            mark(windowColumns, colNums, columns, "靠窗列");
+            return this;
+        }
+
+        public Builder powerColumns(Collection<Integer> colNums) {
+            mark(powerColumns, colNums, columns, "电源列");
+            return this;
+        }
+
+        /**
+         * 指定矩形区域内的座位类型（闭区间，后指定的区域覆盖先指定的区域）
+         */
+        public Builder zone(Seat.SeatType type, int fromRow, int toRow, int fromCol, int toCol) {
+            if (type == null || fromRow < 1 || fromCol < 1 || toRow > rows || toCol > columns
+                    || fromRow > toRow || fromCol > toCol) {
+                throw new IllegalArgumentException("座位类型区域超出布局范围");
+            }
+            for (int r = fromRow; r <= toRow; r++) {
+                for (int c = fromCol; c <= toCol; c++) {
+                    typeGrid[r][c] = type;
+                }
+            }
+            return this;
+        }
+
+        public SeatLayout build() {
+            SeatLayout layout = new SeatLayout(this);
+            if (layout.seatCount == 0) {
+                throw new IllegalArgumentException("布局中没有座位");
+            }
+            // 在入库前拦截过长的座位号，否则整批插入会在数据库中失败
+            int seatRows = rows - count(aisleRows);
+            int seatsPerRow = columns - count(aisleColumns);
+            int longestSeatNumber = seatNumberPrefix.length() + rowLabel(seatRows - 1).length()
+                    + Math.max(3, String.valueOf(seatsPerRow).length());
+            if (longestSeatNumber > MAX_SEAT_NUMBER_LENGTH) {
+                throw new IllegalArgumentException("座位号最长 " + MAX_SEAT_NUMBER_LENGTH + " 个字符，当前布局生成的座位号长度为 "
+                        + longestSeatNumber + "，请缩短座位号前缀");
+            }
+            return layout;
+        }
+
+        private static void mark(boolean[] flags, Collection<Integer> indexes, int max, String name) {
+            if (indexes == null) {
+                return;
+            }
+            for (Integer index : indexes) {
+                if (index == null || index < 1 || index > max) {
+                    throw new IllegalArgumentException(name + "超出布局范围: " + index);
+                }
+                flags[index] = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.studyroom.server.service.pricing;
+
+import java.time.LocalTime;
+
+/**
+ * 高峰时段表（不可变）
+ * 以一天 1440 分钟的前缀和保存高峰分钟数，任意时间区间内的高峰分钟数可以 O(1) 求出。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+public final class PeakSchedule {
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+
+    // peakPrefix[m] = 当天 [0, m) 分钟内的高峰分钟数
+    private final int[] peakPrefix = new int[MINUTES_PER_DAY + 1];
+
+    private PeakSchedule(boolean[] peak) {
+        for (int m = 0; m < MINUTES_PER_DAY; m++) {
+            peakPrefix[m + 1] = peakPrefix[m] + (peak[m] ? 1 : 0);
+        }
+    }
+
+    /**
+     * 解析高峰时段配置，例如 "08:00-12:00,14:00-22:00"；跨零点的时段如 "22:00-02:00" 也支持
+     * @param bands 时段配置，为空表示没有高峰时段
+     * @return 高峰时段表
+     */
+    public static PeakSchedule parse(String bands) {
+        boolean[] peak = new boolean[MINUTES_PER_DAY];
+        if (bands != null && !bands.isBlank()) {
+            for (String band : bands.split(",")) {
+                String[] range = band.trim().split("-");
+                if (range.length != 2) {
+                    throw new IllegalArgumentException("高峰时段格式错误: " + band);
+                }
+                int from = toMinuteOfDay(LocalTime.parse(range[0].trim()));
+                int to = toMinuteOfDay(LocalTime.parse(range[1].trim()));
+                for (int m = from; m != to; m = (m + 1) % MINUTES_PER_DAY) {
+                    peak[m] = true;
+                }
+            }
+        }
+        return new PeakSchedule(peak);
+    }
+
+    /**
+     * 计算 [fromEpochMinute, toEpochMinute) 内的高峰分钟数
+     */
+    long peakMinutesBetween(long fromEpochMinute, long toEpochMinute) {
+        return peakMinutesBefore(toEpochMinute) - peakMinutesBefore(fromEpochMinute);
+    }
+
+    private long peakMinutesBefore(long epochMinute) {
+        long days = Math.floorDiv(epochMinute, MINUTES_PER_DAY);
+        int minuteOfDay = Math.floorMod(epochMinute, MINUTES_PER_DAY);
+        return days * peakPrefix[MINUTES_PER_DAY] + peakPrefix[minuteOfDay];
+    }
+
+    private static int toMinuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
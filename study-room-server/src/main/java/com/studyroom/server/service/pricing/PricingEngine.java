@@ -0,0 +1,44 @@
+package com.studyroom.server.service.pricing;
+
+import com.studyroom.server.entity.Seat;
+
+import java.time.LocalDateTime;
+
+/**
+ * 预订计价引擎接口
+ * 所有金额以 "分" 为单位的 long 表示，调用方在边界处再转换为 BigDecimal。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+public interface PricingEngine {
+
+    /**
+     * 表示座位不在当前费率表中
+     */
+    long UNKNOWN_SEAT = -1L;
+
+    /**
+     * 根据内存中的费率表计算座位的预订费用
+     * @param seatId 座位ID
+     * @param startTime 开始时间
+     * @param endTime 结束时间
+     * @return 费用（分），座位未知时返回 {@link #UNKNOWN_SEAT}
+     */
+    long quoteCents(long seatId, LocalDateTime startTime, LocalDateTime endTime);
+
+    /**
+     * 根据给定的自习室小时单价计算费用（用于费率表尚未包含的座位）
+     * @param hourlyRateCents 自习室每小时价格（分）
+     * @param seatType 座位类型
+     * @param startTime 开始时间
+     * @param endTime 结束时间
+     * @return 费用（分）
+     */
+    long quoteCents(long hourlyRateCents, Seat.SeatType seatType, LocalDateTime startTime, LocalDateTime endTime);
+
+    /**
+     * 从数据库重新加载费率表（自习室价格或座位变化后调用）
+     */
+    void refresh();
+}
@@ -0,0 +1,149 @@
+package com.studyroom.server.service.pricing;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 费率表（不可变快照）
+ * 按 (自习室, 座位类型) 预先算好平峰/高峰每小时费率，单位为 1/10000 分，保证常见倍率下没有舍入误差；
+ * 座位ID 到费率行的映射使用开放寻址的原始类型数组，查询时不产生装箱和对象分配。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+final class RateTable {
+
+    // 费率单位：每小时 1/10000 分
+    static final long RATE_SCALE = 10_000L;
+
+    // 自增主键从 1 开始，0 作为空槽标记
+    private static final long EMPTY = 0L;
+
+    private final long[] seatKeys;
+    private final int[] seatRows;
+    private final int mask;
+    private final long[] offPeakRates;
+    private final long[] peakRates;
+    private final int size;
+
+    private RateTable(long[] seatKeys, int[] seatRows, long[] offPeakRates, long[] peakRates, int size) {
+        this.seatKeys = seatKeys;
+        this.seatRows = seatRows;
+        this.mask = seatKeys.length - 1;
+        this.offPeakRates = offPeakRates;
+        this.peakRates = peakRates;
+        this.size = size;
+    }
+
+    /**
+     * 查找座位对应的费率行
+     * @return 费率行下标，未找到返回 -1
+     */
+    int rowOf(long seatId) {
+        int slot = (int) mix(seatId) & mask;
+        while (true) {
+            long key = seatKeys[slot];
+            // 先判断空槽：ID 为 0 的座位从不入表，不能与空槽匹配
+            if (key == EMPTY) {
+                return -1;
+            }
+            if (key == seatId) {
+                return seatRows[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    long offPeakRate(int row) {
+        return offPeakRates[row];
+    }
+
+    long peakRate(int row) {
+        return peakRates[row];
+    }
+
+    int size() {
+        return size;
+    }
+
+    static long mix(long key) {
+        key *= 0x9E3779B97F4A7C15L;
+        return key ^ (key >>> 32);
+    }
+
+    /**
+     * 费率表构建器（单线程使用）
+     */
+    static final class Builder {
+
+        private final long[] typeMultipliers;
+        private final long peakMultiplier;
+        private final int typeCount;
+
+        private long[] offPeak = new long[64];
+        private long[] peak = new long[64];
+        private final Map<Long, Integer> roomIndexes = new HashMap<>();
+
+        private long[] seatIds = new long[256];
+        private int[] seatRowsBuffer = new int[256];
+        private int seatCount;
+
+        /**
+         * @param typeMultipliers 各座位类型的价格倍率（万分比），按 SeatType 序号排列
+         * @param peakMultiplier 高峰时段倍率（万分比）
+         */
+        Builder(long[] typeMultipliers, long peakMultiplier) {
+            this.typeMultipliers = typeMultipliers;
+            this.peakMultiplier = peakMultiplier;
+            this.typeCount = typeMultipliers.length;
+        }
+
+        void addRoom(long roomId, long hourlyRateCents) {
+            int roomIndex = roomIndexes.size();
+            roomIndexes.put(roomId, roomIndex);
+            int needed = (roomIndex + 1) * typeCount;
+            if (needed > offPeak.length) {
+                offPeak = Arrays.copyOf(offPeak, Math.max(needed, offPeak.length * 2));
+                peak = Arrays.copyOf(peak, offPeak.length);
+            }
+            for (int type = 0; type < typeCount; type++) {
+                long rate = hourlyRateCents * typeMultipliers[type];
+                offPeak[roomIndex * typeCount + type] = rate;
+                peak[roomIndex * typeCount + type] = (rate * peakMultiplier + RATE_SCALE / 2) / RATE_SCALE;
+            }
+        }
+
+        void addSeat(long seatId, long roomId, int typeOrdinal) {
+            Integer roomIndex = roomIndexes.get(roomId);
+            if (roomIndex == null || seatId == EMPTY) {
+                return;
+            }
+            if (seatCount == seatIds.length) {
+                seatIds = Arrays.copyOf(seatIds, seatCount * 2);
+                seatRowsBuffer = Arrays.copyOf(seatRowsBuffer, seatCount * 2);
+            }
+            seatIds[seatCount] = seatId;
+            seatRowsBuffer[seatCount] = roomIndex * typeCount + typeOrdinal;
+            seatCount++;
+        }
+
+        RateTable build() {
+            // 负载因子不超过 0.5
+            int capacity = Integer.highestOneBit(Math.max(4, seatCount * 2 - 1)) << 1;
+            long[] keys = new long[capacity];
+            int[] rows = new int[capacity];
+            int tableMask = capacity - 1;
+            for (int i = 0; i < seatCount; i++) {
+                int slot = (int) mix(seatIds[i]) & tableMask;
+                while (keys[slot] != EMPTY && keys[slot] != seatIds[i]) {
+                    slot = (slot + 1) & tableMask;
+                }
+                keys[slot] = seatIds[i];
+                rows[slot] = seatRowsBuffer[i];
+            }
+            int rateRows = roomIndexes.size() * typeCount;
+            return new RateTable(keys, rows, Arrays.copyOf(offPeak, rateRows), Arrays.copyOf(peak, rateRows), seatCount);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.studyroom.server.service.pricing;
+
+import com.studyroom.server.entity.Seat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 基于预计算费率表的计价引擎
+ * 启动后及自习室价格/座位变化后从数据库加载不可变的费率表快照，
+ * 计价时只做 long 运算：按分钟计费，区分平峰/高峰时段，最低计费时长可配置。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+@Component
+public class RateTablePricingEngine implements PricingEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateTablePricingEngine.class);
+
+    private static final long MINUTES_PER_HOUR = 60L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${pricing.seat-type.regular-multiplier:1.0}")
+    private BigDecimal regularMultiplier;
+
+    @Value("${pricing.seat-type.vip-multiplier:1.5}")
+    private BigDecimal vipMultiplier;
+
+    @Value("${pricing.seat-type.quiet-multiplier:1.2}")
+    private BigDecimal quietMultiplier;
+
+    @Value("${pricing.seat-type.group-multiplier:1.3}")
+    private BigDecimal groupMultiplier;
+
+    // 高峰时段，例如 08:00-12:00,14:00-22:00；为空表示不区分高峰
+    @Value("${pricing.peak.bands:}")
+    private String peakBands;
+
+    @Value("${pricing.peak.multiplier:1.0}")
+    private BigDecimal peakMultiplier;
+
+    @Value("${pricing.minimum-minutes:60}")
+    private long minimumMinutes;
+
+    private long[] typeMultipliers;
+    private long peakMultiplierScaled;
+    private PeakSchedule peakSchedule;
+
+    private volatile RateTable rateTable;
+
+    @PostConstruct
+    public void init() {
+        typeMultipliers = new long[Seat.SeatType.values().length];
+        typeMultipliers[Seat.SeatType.REGULAR.ordinal()] = toScaled(regularMultiplier);
+        typeMultipliers[Seat.SeatType.VIP.ordinal()] = toScaled(vipMultiplier);
+        typeMultipliers[Seat.SeatType.QUIET.ordinal()] = toScaled(quietMultiplier);
+        typeMultipliers[Seat.SeatType.GROUP.ordinal()] = toScaled(groupMultiplier);
+        peakMultiplierScaled = toScaled(peakMultiplier);
+        peakSchedule = PeakSchedule.parse(peakBands);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    @Override
+    public long quoteCents(long seatId, LocalDateTime startTime, LocalDateTime endTime) {
+        RateTable table = rateTable;
+        if (table == null) {
+            return UNKNOWN_SEAT;
+        }
+        int row = table.rowOf(seatId);
+        if (row < 0) {
+            return UNKNOWN_SEAT;
+        }
+        return quote(table.offPeakRate(row), table.peakRate(row), startTime, endTime);
+    }
+
+    @Override
+    public long quoteCents(long hourlyRateCents, Seat.SeatType seatType, LocalDateTime startTime, LocalDateTime endTime) {
+        long offPeakRate = hourlyRateCents * typeMultipliers[seatType.ordinal()];
+        long peakRate = (offPeakRate * peakMultiplierScaled + RateTable.RATE_SCALE / 2) / RateTable.RATE_SCALE;
+        return quote(offPeakRate, peakRate, startTime, endTime);
+    }
+
+    @Override
+    public void refresh() {
+        // 在事务中调用时等提交后再加载，避免读到未提交或随后回滚的数据
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // 同一事务内多次调用只刷新一次
+            if (TransactionSynchronizationManager.hasResource(this)) {
+                return;
+            }
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(RateTablePricingEngine.this);
+                }
+            });
+        } else {
+            reload();
+        }
+    }
+
+    private synchronized void reload() {
+        RateTable.Builder builder = new RateTable.Builder(typeMultipliers, peakMultiplierScaled);
+        jdbcTemplate.query("SELECT id, hourly_rate FROM study_rooms",
+            rs -> {
+                builder.addRoom(rs.getLong(1), rs.getBigDecimal(2).movePointRight(2).longValue());
+            });
+        jdbcTemplate.query("SELECT id, study_room_id, type FROM seats",
+            rs -> {
+                builder.addSeat(rs.getLong(1), rs.getLong(2), Seat.SeatType.valueOf(rs.getString(3)).ordinal());
+            });
+        rateTable = builder.build();
+        logger.debug("费率表已加载: seats={}", rateTable.size());
+    }
+
+    private long quote(long offPeakRate, long peakRate, LocalDateTime startTime, LocalDateTime endTime) {
+        long from = startTime.toEpochSecond(ZoneOffset.UTC) / 60;
+        long to = endTime.toEpochSecond(ZoneOffset.UTC) / 60;
+        if (to - from < minimumMinutes) {
+            to = from + minimumMinutes;
+        }
+        long peakMinutes = peakSchedule.peakMinutesBetween(from, to);
+        long offPeakMinutes = (to - from) - peakMinutes;
+        long scaledTotal = offPeakMinutes * offPeakRate + peakMinutes * peakRate;
+        long divisor = MINUTES_PER_HOUR * RateTable.RATE_SCALE;
+        return (scaledTotal + divisor / 2) / divisor;
+    }
+
+    private static long toScaled(BigDecimal multiplier) {
+        return multiplier.movePointRight(4).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+}
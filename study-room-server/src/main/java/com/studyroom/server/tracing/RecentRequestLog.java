@@ -0,0 +1,146 @@
+package com.studyroom.server.tracing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 最近请求记录
+ * 已完成的请求追踪写入固定容量的环形数组（覆盖最旧的记录，不加锁），
+ * 用于查询最近最慢的请求；超过阈值的请求以单行 JSON 写入慢请求日志，包含各阶段耗时和 SQL 明细。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+@Component
+public class RecentRequestLog {
+
+    // 独立的日志名称，便于在日志配置中单独输出到文件
+    private static final Logger slowRequestLogger = LoggerFactory.getLogger("com.studyroom.server.tracing.SlowRequests");
+    private static final Logger logger = LoggerFactory.getLogger(RecentRequestLog.class);
+
+    private static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${tracing.slow-request-ms:500}")
+    private long slowRequestMillis;
+
+    @Value("${tracing.recent-capacity:1024}")
+    private int capacity;
+
+    private AtomicReferenceArray<RequestTrace> recent;
+    private final AtomicLong cursor = new AtomicLong();
+    private final LongAdder totalRequests = new LongAdder();
+    private final LongAdder slowRequests = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        recent = new AtomicReferenceArray<>(Math.max(16, capacity));
+    }
+
+    /**
+     * 发布一个已完成的请求
+     */
+    void publish(RequestTrace trace) {
+        recent.set((int) (cursor.getAndIncrement() % recent.length()), trace);
+        totalRequests.increment();
+        if (trace.getTotalNanos() >= TimeUnit.MILLISECONDS.toNanos(slowRequestMillis)) {
+            slowRequests.increment();
+            try {
+                slowRequestLogger.warn(objectMapper.writeValueAsString(describe(trace, true)));
+            } catch (JsonProcessingException e) {
+                logger.warn("慢请求日志序列化失败: requestId={}, error={}", trace.getRequestId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 最近请求中最慢的若干个（按总耗时倒序）
+     * @param limit 返回数量
+     * @param includeStatements 是否包含 SQL 明细
+     */
+    public List<Map<String, Object>> findSlowest(int limit, boolean includeStatements) {
+        List<RequestTrace> traces = new ArrayList<>(recent.length());
+        for (int i = 0; i < recent.length(); i++) {
+            RequestTrace trace = recent.get(i);
+            if (trace != null) {
+                traces.add(trace);
+            }
+        }
+        traces.sort(Comparator.comparingLong(RequestTrace::getTotalNanos).reversed());
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (RequestTrace trace : traces.subList(0, Math.min(traces.size(), Math.min(Math.max(limit, 1), MAX_LIMIT)))) {
+            result.add(describe(trace, includeStatements));
+        }
+        return result;
+    }
+
+    /**
+     * 获取追踪统计信息
+     * @return 统计信息Map
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("totalRequests", totalRequests.sum());
+        stats.put("slowRequests", slowRequests.sum());
+        stats.put("slowQueries", TracingDataSource.getSlowQueryCount());
+        stats.put("slowRequestThresholdMillis", slowRequestMillis);
+        stats.put("recentCapacity", recent.length());
+        return stats;
+    }
+
+    private static Map<String, Object> describe(RequestTrace trace, boolean includeStatements) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("requestId", trace.getRequestId());
+        entry.put("method", trace.getMethod());
+        entry.put("uri", trace.getUri());
+        entry.put("status", trace.getStatus());
+        entry.put("userId", trace.getUserId());
+        entry.put("startedAt", LocalDateTime.ofInstant(Instant.ofEpochMilli(trace.getStartedAtMillis()), ZoneId.systemDefault()));
+        entry.put("totalMillis", toMillis(trace.getTotalNanos()));
+
+        Map<String, Object> phases = new LinkedHashMap<>();
+        for (RequestTrace.Phase phase : RequestTrace.Phase.values()) {
+            phases.put(phase.name().toLowerCase(), toMillis(trace.getPhaseNanos(phase)));
+        }
+        entry.put("phasesMillis", phases);
+        entry.put("sqlCount", trace.getStatementCount());
+
+        if (includeStatements) {
+            List<Map<String, Object>> statements = new ArrayList<>();
+            for (RequestTrace.SqlTiming timing : trace.getStatements()) {
+                Map<String, Object> statement = new LinkedHashMap<>();
+                statement.put("sql", timing.getSql());
+                statement.put("millis", toMillis(timing.getNanos()));
+                statements.add(statement);
+            }
+            entry.put("statements", statements);
+        }
+        return entry;
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
@@ -0,0 +1,158 @@
+package com.studyroom.server.tracing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 单个请求的追踪记录
+ * 请求处理期间只由处理线程写入（无需同步）；请求结束后通过 {@link RecentRequestLog} 发布，
+ * 之后只读。各阶段耗时是包含关系：控制器包含服务，服务包含其中执行的 SQL。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+public final class RequestTrace {
+
+    /**
+     * 请求处理阶段
+     */
+    public enum Phase {
+        AUTH, CONTROLLER, SERVICE, SQL, SERIALIZATION
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final String requestId;
+    private final String method;
+    private final String uri;
+    private final long startedAtMillis = System.currentTimeMillis();
+    private final long startNanos = System.nanoTime();
+    private final int maxStatements;
+
+    private final long[] phaseNanos = new long[PHASES.length];
+    private final List<SqlTiming> statements = new ArrayList<>();
+    private int statementCount;
+    private int serviceDepth;
+    private long controllerEndNanos;
+
+    private Long userId;
+    private int status;
+    private long totalNanos;
+
+    RequestTrace(String requestId, String method, String uri, int maxStatements) {
+        this.requestId = requestId;
+        this.method = method;
+        this.uri = uri;
+        this.maxStatements = maxStatements;
+    }
+
+    /**
+     * 累加阶段耗时
+     */
+    public void addPhase(Phase phase, long nanos) {
+        phaseNanos[phase.ordinal()] += nanos;
+    }
+
+    /**
+     * 记录一条 SQL；超过上限后只计数不保留语句
+     */
+    void addStatement(String sql, long nanos) {
+        addPhase(Phase.SQL, nanos);
+        statementCount++;
+        if (statements.size() < maxStatements) {
+            statements.add(new SqlTiming(sql, nanos));
+        }
+    }
+
+    /**
+     * 进入服务方法，返回 true 表示最外层调用（只有最外层计入服务阶段，避免嵌套重复累计）
+     */
+    boolean enterService() {
+        return serviceDepth++ == 0;
+    }
+
+    void exitService() {
+        serviceDepth--;
+    }
+
+    void controllerFinished(long nanos) {
+        addPhase(Phase.CONTROLLER, nanos);
+        controllerEndNanos = System.nanoTime();
+    }
+
+    /**
+     * 请求结束：控制器返回之后到过滤器链返回之间的时间视为响应序列化
+     */
+    void finish(int status, Long userId) {
+        long end = System.nanoTime();
+        this.status = status;
+        this.userId = userId;
+        this.totalNanos = end - startNanos;
+        if (controllerEndNanos != 0) {
+            addPhase(Phase.SERIALIZATION, end - controllerEndNanos);
+        }
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public long getStartedAtMillis() {
+        return startedAtMillis;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getPhaseNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public List<SqlTiming> getStatements() {
+        return Collections.unmodifiableList(statements);
+    }
+
+    /**
+     * 单条 SQL 的耗时
+     */
+    public static final class SqlTiming {
+
+        private final String sql;
+        private final long nanos;
+
+        SqlTiming(String sql, long nanos) {
+            this.sql = sql;
+            this.nanos = nanos;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.studyroom.server.tracing;
+
+/**
+ * 当前线程正在处理的请求追踪记录
+ * 只在 {@link RequestTracingFilter} 内绑定，后台线程和定时任务中为 null。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+public final class RequestTraceContext {
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private RequestTraceContext() {
+    }
+
+    /**
+     * 当前请求的追踪记录，不在请求中时返回 null
+     */
+    public static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 累加当前请求的阶段耗时（不在请求中时忽略）
+     */
+    public static void addPhase(RequestTrace.Phase phase, long nanos) {
+        RequestTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.addPhase(phase, nanos);
+        }
+    }
+
+    static void bind(RequestTrace trace) {
+        CURRENT.set(trace);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,68 @@
+package com.studyroom.server.tracing;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * 请求追踪过滤器（最外层）
+ * 为每个请求分配请求ID（沿用客户端传入的 X-Request-Id），写入响应头和日志 MDC，
+ * 并在当前线程绑定 {@link RequestTrace}，请求结束后交给 {@link RecentRequestLog}。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestTracingFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String MDC_REQUEST_ID = "requestId";
+
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    // 进程启动时间前缀 + 递增序号，进程内唯一且生成成本很低
+    private static final String ID_PREFIX = Long.toString(System.currentTimeMillis(), 36) + "-";
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Autowired
+    private RecentRequestLog recentRequestLog;
+
+    @Value("${tracing.max-statements:100}")
+    private int maxStatements;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || !VALID_REQUEST_ID.matcher(requestId).matches()) {
+            requestId = ID_PREFIX + Long.toString(sequence.incrementAndGet(), 36);
+        }
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+
+        RequestTrace trace = new RequestTrace(requestId, request.getMethod(), request.getRequestURI(), maxStatements);
+        RequestTraceContext.bind(trace);
+        MDC.put(MDC_REQUEST_ID, requestId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object userId = request.getAttribute("x-user-id");
+            trace.finish(response.getStatus(), userId instanceof Long ? (Long) userId : null);
+            RequestTraceContext.clear();
+            MDC.remove(MDC_REQUEST_ID);
+            recentRequestLog.publish(trace);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.studyroom.server.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * 追踪切面：把控制器和服务层耗时计入当前请求
+ * 不在请求中（定时任务、启动初始化）时直接放行。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+@Aspect
+@Component
+public class TracingAspect {
+
+    @Around("@within(org.springframework.web.bind.annotation.RestController)")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTrace trace = RequestTraceContext.current();
+        if (trace == null) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            trace.controllerFinished(System.nanoTime() - start);
+        }
+    }
+
+    @Around("@within(org.springframework.stereotype.Service)")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTrace trace = RequestTraceContext.current();
+        if (trace == null) {
+            return joinPoint.proceed();
+        }
+        // 嵌套的服务调用已包含在外层服务的耗时中，只统计最外层
+        boolean outermost = trace.enterService();
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            trace.exitService();
+            if (outermost) {
+                trace.addPhase(RequestTrace.Phase.SERVICE, System.nanoTime() - start);
+            }
+        }
+    }
+}
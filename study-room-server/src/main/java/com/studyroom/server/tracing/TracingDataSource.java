@@ -0,0 +1,193 @@
+package com.studyroom.server.tracing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SQL 计时数据源
+ * 用 JDK 动态代理包装连接和语句，为每次 execute* 计时：
+ * 计入当前请求的追踪记录，超过阈值时写慢查询日志（包括定时任务等请求之外的 SQL）。
+ * Hibernate 的 StatementInspector 只能看到 SQL 文本，拿不到执行耗时，因此在 JDBC 层代理。
+ * {@link #close()} 转发给被包装的连接池，持有包装对象的代码关闭它时连接池也会释放连接。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+public class TracingDataSource extends DelegatingDataSource implements Closeable {
+
+    private static final Logger slowQueryLogger = LoggerFactory.getLogger("com.studyroom.server.tracing.SlowQueries");
+
+    private static final LongAdder slowQueries = new LongAdder();
+
+    private final long slowQueryNanos;
+
+    public TracingDataSource(DataSource targetDataSource, long slowQueryMillis) {
+        super(targetDataSource);
+        this.slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryMillis);
+    }
+
+    /**
+     * 所有实例累计的慢查询数
+     */
+    public static long getSlowQueryCount() {
+        return slowQueries.sum();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    /**
+     * 关闭被包装的数据源（如 Hikari 连接池），目标不可关闭时不做任何事
+     */
+    @Override
+    public void close() throws IOException {
+        DataSource target = getTargetDataSource();
+        if (!(target instanceof AutoCloseable)) {
+            return;
+        }
+        try {
+            ((AutoCloseable) target).close();
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("关闭数据源失败", e);
+        }
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[] {Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private void record(String sql, long nanos) {
+        RequestTrace trace = RequestTraceContext.current();
+        if (trace != null) {
+            trace.addStatement(sql, nanos);
+        }
+        if (nanos >= slowQueryNanos) {
+            slowQueries.increment();
+            slowQueryLogger.warn("慢查询 {} ms, requestId={}, sql={}", TimeUnit.NANOSECONDS.toMillis(nanos),
+                trace != null ? trace.getRequestId() : "-", sql);
+        }
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            Object result = invokeTarget(target, method, args);
+            if (result instanceof CallableStatement) {
+                return wrapStatement(proxy, (Statement) result, CallableStatement.class, (String) args[0]);
+            }
+            if (result instanceof PreparedStatement) {
+                return wrapStatement(proxy, (Statement) result, PreparedStatement.class, (String) args[0]);
+            }
+            if (result instanceof Statement) {
+                return wrapStatement(proxy, (Statement) result, Statement.class, null);
+            }
+            return result;
+        }
+
+        private Object wrapStatement(Object connectionProxy, Statement statement, Class<?> type, String sql) {
+            return Proxy.newProxyInstance(TracingDataSource.class.getClassLoader(),
+                new Class<?>[] {type}, new StatementHandler(connectionProxy, statement, sql));
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Object connectionProxy;
+        private final Statement target;
+        private final String preparedSql;
+        private String batchSql;
+
+        StatementHandler(Object connectionProxy, Statement target, String preparedSql) {
+            this.connectionProxy = connectionProxy;
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getConnection":
+                    return connectionProxy;
+                case "addBatch":
+                    if (batchSql == null && args != null && args.length == 1) {
+                        batchSql = (String) args[0];
+                    }
+                    return invokeTarget(target, method, args);
+                default:
+                    break;
+            }
+            if (!name.startsWith("execute")) {
+                return invokeTarget(target, method, args);
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+            if (sql == null) {
+                sql = batchSql;
+            }
+            if ("executeBatch".equals(name) || "executeLargeBatch".equals(name)) {
+                sql = "[batch] " + sql;
+                batchSql = null;
+            }
+            long start = System.nanoTime();
+            try {
+                return invokeTarget(target, method, args);
+            } finally {
+                record(sql, System.nanoTime() - start);
+            }
+        }
+    }
+}
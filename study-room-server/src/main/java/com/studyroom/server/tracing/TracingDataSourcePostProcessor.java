@@ -0,0 +1,32 @@
+package com.studyroom.server.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * 把容器中的数据源包装为 {@link TracingDataSource}
+ * 在初始化之后包装，数据源自身的属性绑定不受影响。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+@Component
+public class TracingDataSourcePostProcessor implements BeanPostProcessor {
+
+    @Value("${tracing.jdbc.enabled:true}")
+    private boolean enabled;
+
+    @Value("${tracing.slow-query-ms:200}")
+    private long slowQueryMillis;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof DataSource && !(bean instanceof TracingDataSource)) {
+            return new TracingDataSource((DataSource) bean, slowQueryMillis);
+        }
+        return bean;
+    }
+}
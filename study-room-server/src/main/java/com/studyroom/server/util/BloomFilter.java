@@ -0,0 +1,87 @@
+package com.studyroom.server.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 线程安全的字符串布隆过滤器
+ * 用于在查询数据库之前快速判断某个值 "一定不存在"；
+ * 返回 true 只表示 "可能存在"，需要再回源确认。
+ * 位数组使用 {@link AtomicLongArray}，写入无锁，只增不删。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions 预计插入的元素数量
+     * @param falsePositiveRate 期望的误判率（0~1）
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int words = (int) Math.max(1, (m + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * ln2));
+    }
+
+    /**
+     * 添加元素
+     * @param value 元素值
+     */
+    public void put(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (index >>> 6);
+            long mask = 1L << (index & 63);
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+    }
+
+    /**
+     * 判断元素是否可能存在
+     * @param value 元素值
+     * @return false 表示一定不存在，true 表示可能存在
+     */
+    public boolean mightContain(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << (index & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // FNV-1a 64 位哈希，再做一次雪崩混合
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53e3c4dL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,35 @@
+package com.studyroom.server.util;
+
+import java.util.Locale;
+
+/**
+ * 关键字搜索的 LIKE 模式
+ * 查询中以 {@code LOWER(column) LIKE :pattern ESCAPE '\'} 使用，关键字中的 % _ \ 按字面匹配。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+public final class LikePattern {
+
+    private LikePattern() {
+    }
+
+    /**
+     * 生成“包含关键字”的小写 LIKE 模式
+     * @param keyword 关键字
+     * @return LIKE 模式，关键字为空时返回 null（查询中表示不过滤）
+     */
+    public static String containing(String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            return null;
+        }
+        return "%" + escape(keyword.trim().toLowerCase(Locale.ROOT)) + "%";
+    }
+
+    /**
+     * 转义 LIKE 通配符
+     */
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,104 @@
+package com.studyroom.server.util;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 有界无锁环形缓冲区（多生产者、单消费者）
+ * 每个槽位带一个序号：生产者通过 CAS 抢占写位置后写入元素并发布序号，
+ * 消费者只读取序号已发布的槽位，全程不加锁。缓冲区满时 {@link #offer} 直接返回 false，
+ * 由调用方决定丢弃或降级，生产者永远不会被阻塞。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+public class MpscRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+
+    // 只由消费者线程写入，volatile 便于其他线程读取 size()
+    private volatile long head;
+
+    /**
+     * @param requestedCapacity 期望容量，向上取整为 2 的幂
+     */
+    public MpscRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2 || requestedCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("容量无效: " + requestedCapacity);
+        }
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 写入元素（可被多个线程并发调用）
+     * @param element 元素
+     * @return false 表示缓冲区已满
+     */
+    public boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    // 发布：序号变为 position + 1 后消费者才会读取该槽位
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * 取出最多 maxElements 个元素（只能由单个消费者线程调用）
+     * @param sink 接收元素的集合
+     * @param maxElements 最多取出的数量
+     * @return 实际取出的数量
+     */
+    public int drainTo(Collection<? super E> sink, int maxElements) {
+        int drained = 0;
+        while (drained < maxElements) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            sink.add(elements.get(index));
+            elements.lazySet(index, null);
+            // 释放槽位给下一轮生产者
+            sequences.set(index, head + capacity);
+            head++;
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * 当前元素数量的近似值
+     */
+    public int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,52 @@
+package com.studyroom.server.util;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 分页接口排序参数解析
+ * 格式与 Spring Data 一致：{@code sort=createdAt,desc}，多个字段用分号分隔：{@code sort=status,asc;createdAt,desc}。
+ * 只允许白名单中的字段，避免客户端传入任意属性路径导致查询异常。
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+public final class SortParser {
+
+    private SortParser() {
+    }
+
+    /**
+     * 解析排序参数
+     * @param sort 排序参数，为空时使用默认排序
+     * @param allowedProperties 允许排序的字段
+     * @param defaultSort 默认排序
+     * @return 排序（未包含 id 时末尾附加 id 降序，保证分页顺序稳定）
+     * @throws IllegalArgumentException 字段不在白名单或方向无效时
+     */
+    public static Sort parse(String sort, Set<String> allowedProperties, Sort defaultSort) {
+        if (sort == null || sort.isBlank()) {
+            return withIdTieBreaker(defaultSort);
+        }
+        List<Sort.Order> orders = new ArrayList<>();
+        for (String part : sort.split(";")) {
+            String[] tokens = part.trim().split(",");
+            String property = tokens[0].trim();
+            if (!allowedProperties.contains(property)) {
+                throw new IllegalArgumentException("不支持按 " + property + " 排序");
+            }
+            Sort.Direction direction = tokens.length > 1
+                ? Sort.Direction.fromString(tokens[1].trim())
+                : Sort.Direction.ASC;
+            orders.add(new Sort.Order(direction, property));
+        }
+        return withIdTieBreaker(Sort.by(orders));
+    }
+
+    private static Sort withIdTieBreaker(Sort sort) {
+        return sort.getOrderFor("id") != null ? sort : sort.and(Sort.by(Sort.Direction.DESC, "id"));
+    }
+}
@@ -6,28 +6,28 @@
 -- =====================================================
 
 -- 管理员用户
-INSERT INTO users (username, password, email, phone, real_name, role, status, created_at, updated_at, last_login_at) VALUES 
-('admin', 'admin123', 'admin@studyroom.com', '13800000001', '系统管理员', 'ADMIN', 'ACTIVE', NOW(), NOW(), NOW());
+INSERT INTO users (id, username, password, email, phone, real_name, role, status, created_at, updated_at, last_login_at) VALUES 
+(1, 'admin', 'admin123', 'admin@studyroom.com', '13800000001', '系统管理员', 'ADMIN', 'ACTIVE', NOW(), NOW(), NOW());
 
 -- 普通用户
-INSERT INTO users (username, password, email, phone, real_name, role, status, created_at, updated_at, last_login_at) VALUES 
-('user001', 'password123', 'user001@example.com', '13800000002', '张三', 'USER', 'ACTIVE', NOW(), NOW(), NOW()),
-('user002', 'password123', 'user002@example.com', '13800000003', '李四', 'USER', 'ACTIVE', NOW(), NOW(), NULL),
-('user003', 'password123', 'user003@example.com', '13800000004', '王五', 'USER', 'ACTIVE', NOW(), NOW(), NULL),
-('user004', 'password123', 'user004@example.com', '13800000005', '赵六', 'USER', 'INACTIVE', NOW(), NOW(), NULL),
-('student01', 'student123', 'student01@university.edu', '13800000006', '陈小明', 'USER', 'ACTIVE', NOW(), NOW(), NOW()),
-('student02', 'student123', 'student02@university.edu', '13800000007', '林小红', 'USER', 'ACTIVE', NOW(), NOW(), NULL);
+INSERT INTO users (id, username, password, email, phone, real_name, role, status, created_at, updated_at, last_login_at) VALUES 
+(2, 'user001', 'password123', 'user001@example.com', '13800000002', '张三', 'USER', 'ACTIVE', NOW(), NOW(), NOW()),
+(3, 'user002', 'password123', 'user002@example.com', '13800000003', '李四', 'USER', 'ACTIVE', NOW(), NOW(), NULL),
+(4, 'user003', 'password123', 'user003@example.com', '13800000004', '王五', 'USER', 'ACTIVE', NOW(), NOW(), NULL),
+(5, 'user004', 'password123', 'user004@example.com', '13800000005', '赵六', 'USER', 'INACTIVE', NOW(), NOW(), NULL),
+(6, 'student01', 'student123', 'student01@university.edu', '13800000006', '陈小明', 'USER', 'ACTIVE', NOW(), NOW(), NOW()),
+(7, 'student02', 'student123', 'student02@university.edu', '13800000007', '林小红', 'USER', 'ACTIVE', NOW(), NOW(), NULL);
 
 -- =====================================================
 -- 插入自习室测试数据
 -- =====================================================
 
-INSERT INTO study_rooms (name, description, capacity, hourly_rate, location, facilities, status, open_time, close_time, created_at, updated_at) VALUES 
-('静音自习室A', '专为需要绝对安静环境的学习者设计，配备隔音设施', 30, 15.00, '图书馆2楼东区', 'WiFi,空调,饮水机,隔音墙,个人储物柜', 'AVAILABLE', '08:00:00', '22:00:00', NOW(), NOW()),
-('讨论自习室B', '适合小组讨论和协作学习，配备白板和投影设备', 20, 20.00, '图书馆2楼西区', 'WiFi,空调,白板,投影仪,讨论桌椅', 'AVAILABLE', '08:00:00', '22:00:00', NOW(), NOW()),
-('24小时自习室C', '全天候开放的自习空间，配备完善的安保设施', 40, 12.00, '图书馆3楼', 'WiFi,空调,饮水机,安保监控,应急照明', 'AVAILABLE', '00:00:00', '23:59:59', NOW(), NOW()),
-('研究生专用室D', '专为研究生提供的高端学习环境，配备独立书架', 15, 25.00, '研究生院1楼', 'WiFi,空调,个人书架,台灯,打印机', 'AVAILABLE', '09:00:00', '21:00:00', NOW(), NOW()),
-('考试复习室E', '考试期间专用，提供安静舒适的复习环境', 25, 18.00, '教学楼5楼', 'WiFi,空调,护眼台灯,静音键盘', 'MAINTENANCE', '08:00:00', '22:00:00', NOW(), NOW());
+INSERT INTO study_rooms (id, name, description, capacity, hourly_rate, location, facilities, status, open_time, close_time, created_at, updated_at) VALUES 
+(1, '静音自习室A', '专为需要绝对安静环境的学习者设计，配备隔音设施', 30, 15.00, '图书馆2楼东区', 'WiFi,空调,饮水机,隔音墙,个人储物柜', 'AVAILABLE', '08:00:00', '22:00:00', NOW(), NOW()),
+(2, '讨论自习室B', '适合小组讨论和协作学习，配备白板和投影设备', 20, 20.00, '图书馆2楼西区', 'WiFi,空调,白板,投影仪,讨论桌椅', 'AVAILABLE', '08:00:00', '22:00:00', NOW(), NOW()),
+(3, '24小时自习室C', '全天候开放的自习空间，配备完善的安保设施', 40, 12.00, '图书馆3楼', 'WiFi,空调,饮水机,安保监控,应急照明', 'AVAILABLE', '00:00:00', '23:59:59', NOW(), NOW()),
+(4, '研究生专用室D', '专为研究生提供的高端学习环境，配备独立书架', 15, 25.00, '研究生院1楼', 'WiFi,空调,个人书架,台灯,打印机', 'AVAILABLE', '09:00:00', '21:00:00', NOW(), NOW()),
+(5, '考试复习室E', '考试期间专用，提供安静舒适的复习环境', 25, 18.00, '教学楼5楼', 'WiFi,空调,护眼台灯,静音键盘', 'MAINTENANCE', '08:00:00', '22:00:00', NOW(), NOW());
 
 -- =====================================================
 -- 插入座位测试数据
@@ -35,97 +35,97 @@ INSERT INTO study_rooms (name, description, capacity, hourly_rate, location, fac
 
 -- 静音自习室A的座位 (30个座位，编号A001-A030)
 -- 窗边座位 (前5个，有窗户)
-INSERT INTO seats (seat_number, type, status, description, has_window, has_power_outlet, has_lamp, equipment, study_room_id, created_at, updated_at) VALUES 
-('A001', 'REGULAR', 'AVAILABLE', '靠窗座位，采光良好', true, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
-('A002', 'REGULAR', 'AVAILABLE', '靠窗座位，采光良好', true, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
-('A003', 'REGULAR', 'OCCUPIED', '靠窗座位，采光良好', true, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
-('A004', 'REGULAR', 'AVAILABLE', '靠窗座位，采光良好', true, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
-('A005', 'REGULAR', 'AVAILABLE', '靠窗座位，采光良好', true, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW());
+INSERT INTO seats (id, seat_number, type, status, description, has_window, has_power_outlet, has_lamp, equipment, study_room_id, created_at, updated_at) VALUES 
+(1, 'A001', 'REGULAR', 'AVAILABLE', '靠窗座位，采光良好', true, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
+(2, 'A002', 'REGULAR', 'AVAILABLE', '靠窗座位，采光良好', true, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
+(3, 'A003', 'REGULAR', 'OCCUPIED', '靠窗座位，采光良好', true, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
+(4, 'A004', 'REGULAR', 'AVAILABLE', '靠窗座位，采光良好', true, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
+(5, 'A005', 'REGULAR', 'AVAILABLE', '靠窗座位，采光良好', true, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW());
 
 -- 普通座位 (A006-A025)
-INSERT INTO seats (seat_number, type, status, description, has_window, has_power_outlet, has_lamp, equipment, study_room_id, created_at, updated_at) VALUES 
-('A006', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
-('A007', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
-('A008', 'REGULAR', 'OCCUPIED', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
-('A009', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
-('A010', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
-('A011', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
-('A012', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
-('A013', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
-('A014', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
-('A015', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
-('A016', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
-('A017', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
-('A018', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
-('A019', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
-('A020', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
-('A021', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
-('A022', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
-('A023', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
-('A024', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
-('A025', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW());
+INSERT INTO seats (id, seat_number, type, status, description, has_window, has_power_outlet, has_lamp, equipment, study_room_id, created_at, updated_at) VALUES 
+(6, 'A006', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
+(7, 'A007', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
+(8, 'A008', 'REGULAR', 'OCCUPIED', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
+(9, 'A009', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
+(10, 'A010', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
+(11, 'A011', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
+(12, 'A012', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
+(13, 'A013', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
+(14, 'A014', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
+(15, 'A015', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
+(16, 'A016', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
+(17, 'A017', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
+(18, 'A018', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
+(19, 'A019', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
+(20, 'A020', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
+(21, 'A021', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
+(22, 'A022', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
+(23, 'A023', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
+(24, 'A024', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW()),
+(25, 'A025', 'REGULAR', 'AVAILABLE', '标准学习座位', false, true, true, '护眼台灯,USB充电口', 1, NOW(), NOW());
 
 -- VIP座位 (A026-A030)
-INSERT INTO seats (seat_number, type, status, description, has_window, has_power_outlet, has_lamp, equipment, study_room_id, created_at, updated_at) VALUES 
-('A026', 'VIP', 'AVAILABLE', 'VIP座位，空间宽敞', false, true, true, '护眼台灯,USB充电口,个人储物柜', 1, NOW(), NOW()),
-('A027', 'VIP', 'AVAILABLE', 'VIP座位，空间宽敞', false, true, true, '护眼台灯,USB充电口,个人储物柜', 1, NOW(), NOW()),
-('A028', 'VIP', 'AVAILABLE', 'VIP座位，空间宽敞', false, true, true, '护眼台灯,USB充电口,个人储物柜', 1, NOW(), NOW()),
-('A029', 'VIP', 'AVAILABLE', 'VIP座位，空间宽敞', false, true, true, '护眼台灯,USB充电口,个人储物柜', 1, NOW(), NOW()),
-('A030', 'VIP', 'AVAILABLE', 'VIP座位，空间宽敞', false, true, true, '护眼台灯,USB充电口,个人储物柜', 1, NOW(), NOW());
+INSERT INTO seats (id, seat_number, type, status, description, has_window, has_power_outlet, has_lamp, equipment, study_room_id, created_at, updated_at) VALUES 
+(26, 'A026', 'VIP', 'AVAILABLE', 'VIP座位，空间宽敞', false, true, true, '护眼台灯,USB充电口,个人储物柜', 1, NOW(), NOW()),
+(27, 'A027', 'VIP', 'AVAILABLE', 'VIP座位，空间宽敞', false, true, true, '护眼台灯,USB充电口,个人储物柜', 1, NOW(), NOW()),
+(28, 'A028', 'VIP', 'AVAILABLE', 'VIP座位，空间宽敞', false, true, true, '护眼台灯,USB充电口,个人储物柜', 1, NOW(), NOW()),
+(29, 'A029', 'VIP', 'AVAILABLE', 'VIP座位，空间宽敞', false, true, true, '护眼台灯,USB充电口,个人储物柜', 1, NOW(), NOW()),
+(30, 'A030', 'VIP', 'AVAILABLE', 'VIP座位，空间宽敞', false, true, true, '护眼台灯,USB充电口,个人储物柜', 1, NOW(), NOW());
 
 -- 讨论自习室B的座位 (20个座位，编号B001-B020)
-INSERT INTO seats (seat_number, type, status, description, has_window, has_power_outlet, has_lamp, equipment, study_room_id, created_at, updated_at) VALUES 
-('B001', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
-('B002', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
-('B003', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
-('B004', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
-('B005', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
-('B006', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
-('B007', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
-('B008', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
-('B009', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
-('B010', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
-('B011', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
-('B012', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
-('B013', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
-('B014', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
-('B015', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
-('B016', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
-('B017', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
-('B018', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
-('B019', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
-('B020', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW());
+INSERT INTO seats (id, seat_number, type, status, description, has_window, has_power_outlet, has_lamp, equipment, study_room_id, created_at, updated_at) VALUES 
+(31, 'B001', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
+(32, 'B002', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
+(33, 'B003', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
+(34, 'B004', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
+(35, 'B005', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
+(36, 'B006', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
+(37, 'B007', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
+(38, 'B008', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
+(39, 'B009', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
+(40, 'B010', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
+(41, 'B011', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
+(42, 'B012', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
+(43, 'B013', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
+(44, 'B014', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
+(45, 'B015', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
+(46, 'B016', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
+(47, 'B017', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
+(48, 'B018', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
+(49, 'B019', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW()),
+(50, 'B020', 'REGULAR', 'AVAILABLE', '讨论室座位', false, true, true, '护眼台灯,USB充电口', 2, NOW(), NOW());
 
 -- 24小时自习室C的部分座位 (前10个座位，C001-C010)
-INSERT INTO seats (seat_number, type, status, description, has_window, has_power_outlet, has_lamp, equipment, study_room_id, created_at, updated_at) VALUES 
-('C001', 'REGULAR', 'AVAILABLE', '24小时自习室窗边座位', true, true, true, '护眼台灯,USB充电口', 3, NOW(), NOW()),
-('C002', 'REGULAR', 'AVAILABLE', '24小时自习室窗边座位', true, true, true, '护眼台灯,USB充电口', 3, NOW(), NOW()),
-('C003', 'REGULAR', 'AVAILABLE', '24小时自习室普通座位', false, true, true, '护眼台灯,USB充电口', 3, NOW(), NOW()),
-('C004', 'REGULAR', 'AVAILABLE', '24小时自习室普通座位', false, true, true, '护眼台灯,USB充电口', 3, NOW(), NOW()),
-('C005', 'REGULAR', 'AVAILABLE', '24小时自习室普通座位', false, true, true, '护眼台灯,USB充电口', 3, NOW(), NOW()),
-('C006', 'REGULAR', 'AVAILABLE', '24小时自习室普通座位', false, true, true, '护眼台灯,USB充电口', 3, NOW(), NOW()),
-('C007', 'REGULAR', 'AVAILABLE', '24小时自习室普通座位', false, true, true, '护眼台灯,USB充电口', 3, NOW(), NOW()),
-('C008', 'REGULAR', 'AVAILABLE', '24小时自习室普通座位', false, true, true, '护眼台灯,USB充电口', 3, NOW(), NOW()),
-('C009', 'VIP', 'AVAILABLE', '24小时自习室VIP座位', false, true, true, '护眼台灯,USB充电口,个人储物柜', 3, NOW(), NOW()),
-('C010', 'VIP', 'AVAILABLE', '24小时自习室VIP座位', false, true, true, '护眼台灯,USB充电口,个人储物柜', 3, NOW(), NOW());
+INSERT INTO seats (id, seat_number, type, status, description, has_window, has_power_outlet, has_lamp, equipment, study_room_id, created_at, updated_at) VALUES 
+(51, 'C001', 'REGULAR', 'AVAILABLE', '24小时自习室窗边座位', true, true, true, '护眼台灯,USB充电口', 3, NOW(), NOW()),
+(52, 'C002', 'REGULAR', 'AVAILABLE', '24小时自习室窗边座位', true, true, true, '护眼台灯,USB充电口', 3, NOW(), NOW()),
+(53, 'C003', 'REGULAR', 'AVAILABLE', '24小时自习室普通座位', false, true, true, '护眼台灯,USB充电口', 3, NOW(), NOW()),
+(54, 'C004', 'REGULAR', 'AVAILABLE', '24小时自习室普通座位', false, true, true, '护眼台灯,USB充电口', 3, NOW(), NOW()),
+(55, 'C005', 'REGULAR', 'AVAILABLE', '24小时自习室普通座位', false, true, true, '护眼台灯,USB充电口', 3, NOW(), NOW()),
+(56, 'C006', 'REGULAR', 'AVAILABLE', '24小时自习室普通座位', false, true, true, '护眼台灯,USB充电口', 3, NOW(), NOW()),
+(57, 'C007', 'REGULAR', 'AVAILABLE', '24小时自习室普通座位', false, true, true, '护眼台灯,USB充电口', 3, NOW(), NOW()),
+(58, 'C008', 'REGULAR', 'AVAILABLE', '24小时自习室普通座位', false, true, true, '护眼台灯,USB充电口', 3, NOW(), NOW()),
+(59, 'C009', 'VIP', 'AVAILABLE', '24小时自习室VIP座位', false, true, true, '护眼台灯,USB充电口,个人储物柜', 3, NOW(), NOW()),
+(60, 'C010', 'VIP', 'AVAILABLE', '24小时自习室VIP座位', false, true, true, '护眼台灯,USB充电口,个人储物柜', 3, NOW(), NOW());
 
 -- 研究生专用室D的座位 (15个座位，D001-D015)
-INSERT INTO seats (seat_number, type, status, description, has_window, has_power_outlet, has_lamp, equipment, study_room_id, created_at, updated_at) VALUES 
-('D001', 'VIP', 'AVAILABLE', '研究生专用VIP座位', true, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW()),
-('D002', 'VIP', 'AVAILABLE', '研究生专用VIP座位', true, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW()),
-('D003', 'VIP', 'AVAILABLE', '研究生专用VIP座位', false, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW()),
-('D004', 'VIP', 'AVAILABLE', '研究生专用VIP座位', false, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW()),
-('D005', 'VIP', 'AVAILABLE', '研究生专用VIP座位', false, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW()),
-('D006', 'VIP', 'AVAILABLE', '研究生专用VIP座位', false, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW()),
-('D007', 'VIP', 'AVAILABLE', '研究生专用VIP座位', false, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW()),
-('D008', 'VIP', 'AVAILABLE', '研究生专用VIP座位', false, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW()),
-('D009', 'VIP', 'AVAILABLE', '研究生专用VIP座位', false, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW()),
-('D010', 'VIP', 'AVAILABLE', '研究生专用VIP座位', false, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW()),
-('D011', 'VIP', 'AVAILABLE', '研究生专用VIP座位', false, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW()),
-('D012', 'VIP', 'AVAILABLE', '研究生专用VIP座位', false, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW()),
-('D013', 'VIP', 'AVAILABLE', '研究生专用VIP座位', false, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW()),
-('D014', 'VIP', 'AVAILABLE', '研究生专用VIP座位', false, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW()),
-('D015', 'VIP', 'AVAILABLE', '研究生专用VIP座位', false, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW());
+INSERT INTO seats (id, seat_number, type, status, description, has_window, has_power_outlet, has_lamp, equipment, study_room_id, created_at, updated_at) VALUES 
+(61, 'D001', 'VIP', 'AVAILABLE', '研究生专用VIP座位', true, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW()),
+(62, 'D002', 'VIP', 'AVAILABLE', '研究生专用VIP座位', true, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW()),
+(63, 'D003', 'VIP', 'AVAILABLE', '研究生专用VIP座位', false, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW()),
+(64, 'D004', 'VIP', 'AVAILABLE', '研究生专用VIP座位', false, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW()),
+(65, 'D005', 'VIP', 'AVAILABLE', '研究生专用VIP座位', false, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW()),
+(66, 'D006', 'VIP', 'AVAILABLE', '研究生专用VIP座位', false, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW()),
+(67, 'D007', 'VIP', 'AVAILABLE', '研究生专用VIP座位', false, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW()),
+(68, 'D008', 'VIP', 'AVAILABLE', '研究生专用VIP座位', false, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW()),
+(69, 'D009', 'VIP', 'AVAILABLE', '研究生专用VIP座位', false, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW()),
+(70, 'D010', 'VIP', 'AVAILABLE', '研究生专用VIP座位', false, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW()),
+(71, 'D011', 'VIP', 'AVAILABLE', '研究生专用VIP座位', false, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW()),
+(72, 'D012', 'VIP', 'AVAILABLE', '研究生专用VIP座位', false, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW()),
+(73, 'D013', 'VIP', 'AVAILABLE', '研究生专用VIP座位', false, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW()),
+(74, 'D014', 'VIP', 'AVAILABLE', '研究生专用VIP座位', false, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW()),
+(75, 'D015', 'VIP', 'AVAILABLE', '研究生专用VIP座位', false, true, true, '护眼台灯,USB充电口,个人书架,储物柜', 4, NOW(), NOW());
 
 -- =====================================================
 -- 插入预订测试数据
@@ -133,27 +133,37 @@ INSERT INTO seats (seat_number, type, status, description, has_window, has_power
 
 -- 生成一些预订记录（包含当前时间的预订和历史预订）
 -- 当前有效预订 (使用DATEADD替代INTERVAL，兼容H2数据库)
-INSERT INTO reservations (reservation_code, start_time, end_time, status, payment_status, total_amount, notes, user_id, seat_id, created_at, updated_at) VALUES 
-('RSV2024052401001', DATEADD('HOUR', 1, NOW()), DATEADD('HOUR', 4, NOW()), 'ACTIVE', 'PAID', 45.00, '今日学习计划', 2, 3, NOW(), NOW()),
-('RSV2024052401002', DATEADD('HOUR', 2, NOW()), DATEADD('HOUR', 5, NOW()), 'ACTIVE', 'PAID', 45.00, '准备考试', 6, 8, NOW(), NOW());
+INSERT INTO reservations (id, reservation_code, start_time, end_time, status, payment_status, total_amount, notes, user_id, seat_id, created_at, updated_at) VALUES 
+(1, 'RSV2024052401001', DATEADD('HOUR', 1, NOW()), DATEADD('HOUR', 4, NOW()), 'ACTIVE', 'PAID', 45.00, '今日学习计划', 2, 3, NOW(), NOW()),
+(2, 'RSV2024052401002', DATEADD('HOUR', 2, NOW()), DATEADD('HOUR', 5, NOW()), 'ACTIVE', 'PAID', 45.00, '准备考试', 6, 8, NOW(), NOW());
 
 -- 今日预订
-INSERT INTO reservations (reservation_code, start_time, end_time, status, payment_status, total_amount, notes, user_id, seat_id, created_at, updated_at) VALUES 
-('RSV2024052401003', DATEADD('HOUR', 3, NOW()), DATEADD('HOUR', 6, NOW()), 'ACTIVE', 'PENDING', 45.00, '下午学习', 3, 26, NOW(), NOW()),
-('RSV2024052401004', DATEADD('HOUR', 4, NOW()), DATEADD('HOUR', 7, NOW()), 'ACTIVE', 'PENDING', 60.00, 'VIP座位学习', 7, 61, NOW(), NOW());
+INSERT INTO reservations (id, reservation_code, start_time, end_time, status, payment_status, total_amount, notes, user_id, seat_id, created_at, updated_at) VALUES 
+(3, 'RSV2024052401003', DATEADD('HOUR', 3, NOW()), DATEADD('HOUR', 6, NOW()), 'ACTIVE', 'PENDING', 45.00, '下午学习', 3, 26, NOW(), NOW()),
+(4, 'RSV2024052401004', DATEADD('HOUR', 4, NOW()), DATEADD('HOUR', 7, NOW()), 'ACTIVE', 'PENDING', 60.00, 'VIP座位学习', 7, 61, NOW(), NOW());
 
 -- 历史预订（已完成）
-INSERT INTO reservations (reservation_code, start_time, end_time, status, payment_status, total_amount, notes, user_id, seat_id, created_at, updated_at) VALUES 
-('RSV2024052301001', DATEADD('DAY', -1, NOW()), DATEADD('HOUR', 3, DATEADD('DAY', -1, NOW())), 'COMPLETED', 'PAID', 45.00, '昨日学习记录', 2, 1, DATEADD('DAY', -1, NOW()), DATEADD('DAY', -1, NOW())),
-('RSV2024052301002', DATEADD('HOUR', 4, DATEADD('DAY', -1, NOW())), DATEADD('HOUR', 7, DATEADD('DAY', -1, NOW())), 'COMPLETED', 'PAID', 45.00, '昨日下午学习', 6, 31, DATEADD('DAY', -1, NOW()), DATEADD('DAY', -1, NOW()));
+INSERT INTO reservations (id, reservation_code, start_time, end_time, status, payment_status, total_amount, notes, user_id, seat_id, created_at, updated_at) VALUES 
+(5, 'RSV2024052301001', DATEADD('DAY', -1, NOW()), DATEADD('HOUR', 3, DATEADD('DAY', -1, NOW())), 'COMPLETED', 'PAID', 45.00, '昨日学习记录', 2, 1, DATEADD('DAY', -1, NOW()), DATEADD('DAY', -1, NOW())),
+(6, 'RSV2024052301002', DATEADD('HOUR', 4, DATEADD('DAY', -1, NOW())), DATEADD('HOUR', 7, DATEADD('DAY', -1, NOW())), 'COMPLETED', 'PAID', 45.00, '昨日下午学习', 6, 31, DATEADD('DAY', -1, NOW()), DATEADD('DAY', -1, NOW()));
 
 -- 已取消的预订
-INSERT INTO reservations (reservation_code, start_time, end_time, status, payment_status, total_amount, notes, user_id, seat_id, created_at, updated_at) VALUES 
-('RSV2024052201001', DATEADD('DAY', -2, NOW()), DATEADD('HOUR', 2, DATEADD('DAY', -2, NOW())), 'CANCELLED', 'REFUNDED', 30.00, '临时有事取消', 3, 51, DATEADD('DAY', -2, NOW()), DATEADD('DAY', -2, NOW()));
+INSERT INTO reservations (id, reservation_code, start_time, end_time, status, payment_status, total_amount, notes, user_id, seat_id, created_at, updated_at) VALUES 
+(7, 'RSV2024052201001', DATEADD('DAY', -2, NOW()), DATEADD('HOUR', 2, DATEADD('DAY', -2, NOW())), 'CANCELLED', 'REFUNDED', 30.00, '临时有事取消', 3, 51, DATEADD('DAY', -2, NOW()), DATEADD('DAY', -2, NOW()));
 
 -- 过期未支付的预订
-INSERT INTO reservations (reservation_code, start_time, end_time, status, payment_status, total_amount, notes, user_id, seat_id, created_at, updated_at) VALUES 
-('RSV2024052101001', DATEADD('DAY', -3, NOW()), DATEADD('HOUR', 3, DATEADD('DAY', -3, NOW())), 'EXPIRED', 'PENDING', 45.00, '未及时支付', 4, 2, DATEADD('DAY', -3, NOW()), DATEADD('DAY', -3, NOW()));
+INSERT INTO reservations (id, reservation_code, start_time, end_time, status, payment_status, total_amount, notes, user_id, seat_id, created_at, updated_at) VALUES 
+(8, 'RSV2024052101001', DATEADD('DAY', -3, NOW()), DATEADD('HOUR', 3, DATEADD('DAY', -3, NOW())), 'EXPIRED', 'PENDING', 45.00, '未及时支付', 4, 2, DATEADD('DAY', -3, NOW()), DATEADD('DAY', -3, NOW()));
+
+-- =====================================================
+-- 重置主键序列表（种子数据使用显式ID，主键从种子数据之后开始分配）
+-- 序列由单行表 next_val 列模拟，普通 UPDATE 在 H2 和 SQLite 上都可用
+-- =====================================================
+
+UPDATE users_seq SET next_val = 1001;
+UPDATE study_rooms_seq SET next_val = 1001;
+UPDATE seats_seq SET next_val = 1001;
+UPDATE reservations_seq SET next_val = 1001;
 
 -- =====================================================
 -- 数据统计信息
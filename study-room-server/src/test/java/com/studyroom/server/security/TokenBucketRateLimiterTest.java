@@ -0,0 +1,99 @@
+package com.studyroom.server.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 令牌桶限流器测试：突发容量边界、补充间隔、键隔离和内存上限
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+class TokenBucketRateLimiterTest {
+
+    @Test
+    void allowsExactlyCapacityThenRejects() {
+        // 每分钟补充 1 个令牌，测试期间不会补充
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, 1, 4, 100);
+
+        assertThat(limiter.tryAcquire("client")).isZero();
+        assertThat(limiter.tryAcquire("client")).isZero();
+        assertThat(limiter.tryAcquire("client")).isZero();
+
+        long retryAfter = limiter.tryAcquire("client");
+        assertThat(retryAfter).isBetween(59_000L, 60_000L);
+        assertThat(limiter.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectedRequestsDoNotConsumeTokens() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 1, 10);
+
+        assertThat(limiter.tryAcquire("client")).isZero();
+        long first = limiter.tryAcquire("client");
+        long second = limiter.tryAcquire("client");
+
+        // 拒绝不推迟理论到达时间，重试等待只会随时间缩短
+        assertThat(second).isPositive().isLessThanOrEqualTo(first);
+        assertThat(limiter.getRejectedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void refillsOneTokenPerEmissionInterval() throws InterruptedException {
+        // 每 100 毫秒补充 1 个令牌
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 600, 1, 10);
+
+        assertThat(limiter.tryAcquire("client")).isZero();
+        assertThat(limiter.tryAcquire("client")).isBetween(1L, 100L);
+
+        Thread.sleep(150);
+        assertThat(limiter.tryAcquire("client")).isZero();
+        assertThat(limiter.tryAcquire("client")).isPositive();
+    }
+
+    @Test
+    void keysHaveIndependentBuckets() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 4, 100);
+
+        assertThat(limiter.tryAcquire("10.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire("10.0.0.1")).isPositive();
+        assertThat(limiter.tryAcquire("10.0.0.2")).isZero();
+        assertThat(limiter.size()).isEqualTo(2);
+    }
+
+    @Test
+    void boundsTrackedKeysWithOverflowBuckets() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(5, 1, 2, 8);
+
+        for (int i = 0; i < 1000; i++) {
+            limiter.tryAcquire("client-" + i);
+        }
+
+        assertThat(limiter.size()).isLessThanOrEqualTo(8);
+    }
+
+    @Test
+    void sweepsRefilledBucketsBeforeUsingOverflow() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 600, 1, 2);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+        assertThat(limiter.size()).isEqualTo(2);
+
+        // a、b 的桶已补满，新键到来时被清理，c 得到自己的桶
+        Thread.sleep(150);
+        assertThat(limiter.tryAcquire("c")).isZero();
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsInvalidParameters() {
+        assertThatThrownBy(() -> new TokenBucketRateLimiter(0, 10, 1, 10))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucketRateLimiter(1, 0, 1, 10))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucketRateLimiter(1, 10, 4, 3))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
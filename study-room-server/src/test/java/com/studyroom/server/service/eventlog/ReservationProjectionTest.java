@@ -0,0 +1,134 @@
+package com.studyroom.server.service.eventlog;
+
+import com.studyroom.server.entity.Reservation;
+import com.studyroom.server.entity.Seat;
+import com.studyroom.server.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 预订状态投影测试：增量计数、快照读写和复制
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+class ReservationProjectionTest {
+
+    @Test
+    void keepsCountsConsistentAcrossLifecycle() {
+        ReservationProjection projection = new ReservationProjection();
+        projection.apply(event(1, ReservationEvent.Type.CREATED,
+            Reservation.ReservationStatus.ACTIVE, Reservation.PaymentStatus.PENDING, null));
+        projection.apply(event(1, ReservationEvent.Type.PAID,
+            Reservation.ReservationStatus.ACTIVE, Reservation.PaymentStatus.PAID, "余额"));
+        projection.apply(event(2, ReservationEvent.Type.CREATED,
+            Reservation.ReservationStatus.ACTIVE, Reservation.PaymentStatus.PENDING, null));
+        projection.apply(event(2, ReservationEvent.Type.CANCELLED,
+            Reservation.ReservationStatus.CANCELLED, Reservation.PaymentStatus.PENDING, "临时有事"));
+
+        assertThat(projection.size()).isEqualTo(2);
+        assertThat(projection.getMaxReservationId()).isEqualTo(2);
+        assertThat(projection.countByStatus(Reservation.ReservationStatus.ACTIVE)).isEqualTo(1);
+        assertThat(projection.countByStatus(Reservation.ReservationStatus.CANCELLED)).isEqualTo(1);
+        assertThat(projection.countByPaymentStatus(Reservation.PaymentStatus.PENDING)).isEqualTo(1);
+        assertThat(projection.countByPaymentStatus(Reservation.PaymentStatus.PAID)).isEqualTo(1);
+        assertThat(projection.getPaidRevenueCents()).isEqualTo(1250);
+        assertThat(projection.get(2).getCancelReason()).isEqualTo("临时有事");
+
+        Map<String, Object> stats = projection.getStatistics();
+        assertThat(stats.get("eventStats")).isEqualTo(Map.of("CREATED", 2L, "PAID", 1L, "CANCELLED", 1L));
+        assertThat(stats.get("topCancelReasons")).isEqualTo(Map.of("临时有事", 1L));
+        assertThat(stats.get("paidRevenue")).isEqualTo(new BigDecimal("12.50"));
+        // 已取消的预订不计入预订时长
+        assertThat(stats.get("bookedHours")).isEqualTo(new BigDecimal("2.0"));
+    }
+
+    @Test
+    void refundRemovesPaidRevenue() {
+        ReservationProjection projection = new ReservationProjection();
+        projection.apply(event(1, ReservationEvent.Type.PAID,
+            Reservation.ReservationStatus.ACTIVE, Reservation.PaymentStatus.PAID, null));
+        projection.apply(event(1, ReservationEvent.Type.CANCELLED,
+            Reservation.ReservationStatus.CANCELLED, Reservation.PaymentStatus.REFUNDED, null));
+
+        assertThat(projection.getPaidRevenueCents()).isZero();
+        assertThat(projection.countByPaymentStatus(Reservation.PaymentStatus.PAID)).isZero();
+        assertThat(projection.countByPaymentStatus(Reservation.PaymentStatus.REFUNDED)).isEqualTo(1);
+        assertThat(projection.getStatistics().get("topCancelReasons")).isEqualTo(Map.of("未填写", 1L));
+    }
+
+    @Test
+    void restoresSameStateFromSnapshot() throws IOException {
+        ReservationProjection projection = new ReservationProjection();
+        projection.apply(event(1, ReservationEvent.Type.PAID,
+            Reservation.ReservationStatus.ACTIVE, Reservation.PaymentStatus.PAID, null));
+        projection.apply(event(2, ReservationEvent.Type.CANCELLED,
+            Reservation.ReservationStatus.CANCELLED, Reservation.PaymentStatus.PENDING, "课程冲突"));
+        projection.apply(event(3, ReservationEvent.Type.CHECKED_IN,
+            Reservation.ReservationStatus.ACTIVE, Reservation.PaymentStatus.PAID, null));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            projection.writeSnapshot(out, 7);
+        }
+        ReservationProjection restored = new ReservationProjection();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertThat(restored.readSnapshot(in)).isEqualTo(7);
+        }
+
+        assertThat(restored.getStatistics()).isEqualTo(projection.getStatistics());
+        assertThat(restored.getMaxReservationId()).isEqualTo(3);
+        assertThat(restored.get(2).getCancelReason()).isEqualTo("课程冲突");
+        assertThat(restored.get(3).getStatus()).isEqualTo(Reservation.ReservationStatus.ACTIVE);
+    }
+
+    @Test
+    void rejectsIncompatibleSnapshot() {
+        byte[] bytes = {0, 0, 0, 1, 0, 0, 0, 1};
+        ReservationProjection projection = new ReservationProjection();
+
+        assertThatThrownBy(() -> projection.readSnapshot(new DataInputStream(new ByteArrayInputStream(bytes))))
+            .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void copyIsNotAffectedByLaterEvents() {
+        ReservationProjection projection = new ReservationProjection();
+        projection.apply(event(1, ReservationEvent.Type.CREATED,
+            Reservation.ReservationStatus.ACTIVE, Reservation.PaymentStatus.PENDING, null));
+        ReservationProjection copy = projection.copy();
+
+        projection.apply(event(1, ReservationEvent.Type.PAID,
+            Reservation.ReservationStatus.ACTIVE, Reservation.PaymentStatus.PAID, null));
+
+        assertThat(copy.getPaidRevenueCents()).isZero();
+        assertThat(copy.get(1).getPaymentStatus()).isEqualTo(Reservation.PaymentStatus.PENDING);
+        assertThat(projection.getPaidRevenueCents()).isEqualTo(1250);
+    }
+
+    private static ReservationEvent event(long reservationId, ReservationEvent.Type type,
+                                          Reservation.ReservationStatus status,
+                                          Reservation.PaymentStatus paymentStatus, String reason) {
+        User user = new User("user", "password", "user@example.com");
+        user.setId(100L);
+        Seat seat = new Seat("A01", null);
+        seat.setId(200L);
+        LocalDateTime start = LocalDateTime.of(2024, 3, 1, 9, 0);
+        Reservation reservation = new Reservation(user, seat, start, start.plusHours(2), new BigDecimal("12.50"));
+        reservation.setId(reservationId);
+        reservation.setStatus(status);
+        reservation.setPaymentStatus(paymentStatus);
+        return ReservationEvent.of(type, reservation, reason);
+    }
+}
@@ -0,0 +1,211 @@
+package com.studyroom.server.service.eventlog;
+
+import com.studyroom.server.entity.Reservation;
+import com.studyroom.server.entity.Seat;
+import com.studyroom.server.entity.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 分段事件日志测试：回放、崩溃后截断恢复、段滚动和旧段删除
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+class SegmentedEventLogTest {
+
+    // 没有原因的事件：8 字节记录头 + 固定长度内容
+    private static final int RECORD_BYTES = 8 + ReservationEvent.FIXED_BYTES;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysAppendedEventsAfterReopen() throws IOException {
+        try (SegmentedEventLog log = new SegmentedEventLog(directory, 4096)) {
+            assertThat(log.open(0, event -> { })).isZero();
+            appendRange(log, 1, 3);
+        }
+
+        List<ReservationEvent> replayed = new ArrayList<>();
+        try (SegmentedEventLog log = new SegmentedEventLog(directory, 4096)) {
+            assertThat(log.open(0, replayed::add)).isEqualTo(3);
+        }
+        assertThat(sequences(replayed)).containsExactly(1L, 2L, 3L);
+        assertThat(replayed.get(1).getReservationId()).isEqualTo(2L);
+        assertThat(replayed.get(1).getAmountCents()).isEqualTo(1250L);
+        assertThat(replayed.get(1).getStatus()).isEqualTo(Reservation.ReservationStatus.ACTIVE);
+    }
+
+    @Test
+    void dropsTornTailRecordAndAppendsOverIt() throws IOException {
+        try (SegmentedEventLog log = new SegmentedEventLog(directory, 4096)) {
+            log.open(0, event -> { });
+            appendRange(log, 1, 3);
+        }
+        // 模拟崩溃：第 4 条记录只写了长度和部分内容，CRC 还没写入
+        try (RandomAccessFile file = new RandomAccessFile(onlySegment().toFile(), "rw")) {
+            file.seek(3L * RECORD_BYTES);
+            file.writeInt(ReservationEvent.FIXED_BYTES);
+            file.writeInt(0);
+            file.writeLong(4);
+        }
+
+        List<ReservationEvent> replayed = new ArrayList<>();
+        try (SegmentedEventLog log = new SegmentedEventLog(directory, 4096)) {
+            assertThat(log.open(0, replayed::add)).isEqualTo(3);
+            log.append(event(4));
+        }
+        assertThat(sequences(replayed)).containsExactly(1L, 2L, 3L);
+        assertThat(sequences(replayAll())).containsExactly(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void stopsAtRecordWithCorruptChecksum() throws IOException {
+        try (SegmentedEventLog log = new SegmentedEventLog(directory, 4096)) {
+            log.open(0, event -> { });
+            appendRange(log, 1, 3);
+        }
+        flipByte(onlySegment(), RECORD_BYTES + 20);
+
+        List<ReservationEvent> replayed = new ArrayList<>();
+        try (SegmentedEventLog log = new SegmentedEventLog(directory, 4096)) {
+            assertThat(log.open(0, replayed::add)).isEqualTo(1);
+            // 损坏位置之后的记录被清零，新事件从损坏位置开始写入
+            log.append(event(2));
+        }
+        assertThat(sequences(replayed)).containsExactly(1L);
+        assertThat(sequences(replayAll())).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void rejectsRecordWithImpossibleLength() throws IOException {
+        try (SegmentedEventLog log = new SegmentedEventLog(directory, 4096)) {
+            log.open(0, event -> { });
+            appendRange(log, 1, 2);
+        }
+        try (RandomAccessFile file = new RandomAccessFile(onlySegment().toFile(), "rw")) {
+            file.seek(RECORD_BYTES);
+            file.writeInt(ReservationEvent.MAX_ENCODED_BYTES + 1);
+        }
+
+        assertThat(sequences(replayAll())).containsExactly(1L);
+    }
+
+    @Test
+    void rollsToNewSegmentWhenFull() throws IOException {
+        int segmentBytes = 3 * RECORD_BYTES;
+        try (SegmentedEventLog log = new SegmentedEventLog(directory, segmentBytes)) {
+            log.open(0, event -> { });
+            appendRange(log, 1, 10);
+            assertThat(log.getSegmentCount()).isEqualTo(4);
+        }
+        assertThat(segmentNames()).containsExactly(
+            "segment-00000000000000000001.log",
+            "segment-00000000000000000004.log",
+            "segment-00000000000000000007.log",
+            "segment-00000000000000000010.log");
+
+        List<ReservationEvent> replayed = new ArrayList<>();
+        try (SegmentedEventLog log = new SegmentedEventLog(directory, segmentBytes)) {
+            assertThat(log.open(0, replayed::add)).isEqualTo(10);
+        }
+        assertThat(sequences(replayed)).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+    }
+
+    @Test
+    void replaysOnlyEventsAfterSnapshotAndDeletesCoveredSegments() throws IOException {
+        int segmentBytes = 3 * RECORD_BYTES;
+        try (SegmentedEventLog log = new SegmentedEventLog(directory, segmentBytes)) {
+            log.open(0, event -> { });
+            appendRange(log, 1, 10);
+
+            // 快照包含到 5：第 1 段 (1-3) 可删除，第 2 段 (4-6) 还有 6 未包含
+            assertThat(log.deleteSegmentsBefore(5)).isEqualTo(1);
+            assertThat(log.deleteSegmentsBefore(6)).isEqualTo(1);
+            assertThat(log.getSegmentCount()).isEqualTo(2);
+        }
+
+        List<ReservationEvent> replayed = new ArrayList<>();
+        try (SegmentedEventLog log = new SegmentedEventLog(directory, segmentBytes)) {
+            assertThat(log.open(6, replayed::add)).isEqualTo(10);
+            // 当前写入的段始终保留
+            assertThat(log.deleteSegmentsBefore(10)).isEqualTo(1);
+            assertThat(log.getSegmentCount()).isEqualTo(1);
+        }
+        assertThat(sequences(replayed)).containsExactly(7L, 8L, 9L, 10L);
+    }
+
+    @Test
+    void keepsSnapshotSequenceWhenLogIsEmpty() throws IOException {
+        try (SegmentedEventLog log = new SegmentedEventLog(directory, 4096)) {
+            assertThat(log.open(42, event -> { })).isEqualTo(42);
+            log.append(event(43));
+        }
+        assertThat(segmentNames()).containsExactly("segment-00000000000000000043.log");
+        assertThat(sequences(replayAll())).containsExactly(43L);
+    }
+
+    private List<ReservationEvent> replayAll() throws IOException {
+        List<ReservationEvent> replayed = new ArrayList<>();
+        try (SegmentedEventLog log = new SegmentedEventLog(directory, 4096)) {
+            log.open(0, replayed::add);
+        }
+        return replayed;
+    }
+
+    private static void appendRange(SegmentedEventLog log, long from, long to) throws IOException {
+        for (long sequence = from; sequence <= to; sequence++) {
+            log.append(event(sequence));
+        }
+    }
+
+    private static ReservationEvent event(long sequence) {
+        User user = new User("user" + sequence, "password", "user" + sequence + "@example.com");
+        user.setId(100L);
+        Seat seat = new Seat("A01", null);
+        seat.setId(200L);
+        LocalDateTime start = LocalDateTime.of(2024, 3, 1, 9, 0);
+        Reservation reservation = new Reservation(user, seat, start, start.plusHours(2), new BigDecimal("12.50"));
+        reservation.setId(sequence);
+        return ReservationEvent.of(ReservationEvent.Type.CREATED, reservation, null).withSequence(sequence);
+    }
+
+    private static List<Long> sequences(List<ReservationEvent> events) {
+        return events.stream().map(ReservationEvent::getSequence).collect(Collectors.toList());
+    }
+
+    private Path onlySegment() throws IOException {
+        List<String> names = segmentNames();
+        assertThat(names).hasSize(1);
+        return directory.resolve(names.get(0));
+    }
+
+    private List<String> segmentNames() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static void flipByte(Path file, long position) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(position);
+            int value = raf.read();
+            raf.seek(position);
+            raf.write(value ^ 0xFF);
+        }
+    }
+}
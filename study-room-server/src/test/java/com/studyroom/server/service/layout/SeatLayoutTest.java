@@ -0,0 +1,116 @@
+package com.studyroom.server.service.layout;
+
+import com.studyroom.server.entity.Seat;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 座位布局测试：座位号生成、过道、类型区域和参数校验
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+class SeatLayoutTest {
+
+    @Test
+    void numbersSeatsRowByRowSkippingAisles() {
+        SeatLayout layout = SeatLayout.builder(3, 4, 100)
+            .seatNumberPrefix(" F2-")
+            .aisleRows(List.of(2))
+            .aisleColumns(List.of(3))
+            .build();
+
+        List<Seat> seats = layout.generate();
+
+        assertThat(layout.getSeatCount()).isEqualTo(6);
+        assertThat(seats).extracting(Seat::getSeatNumber)
+            .containsExactly("F2-A001", "F2-A002", "F2-A003", "F2-B001", "F2-B002", "F2-B003");
+        // 物理坐标包含过道
+        assertThat(seats.get(3).getRowNum()).isEqualTo(3);
+        assertThat(seats.get(2).getColNum()).isEqualTo(4);
+        assertThat(seats).allMatch(seat -> seat.getStatus() == Seat.SeatStatus.AVAILABLE);
+    }
+
+    @Test
+    void appliesZonesAndColumnFeatures() {
+        List<Seat> seats = SeatLayout.builder(2, 3, 100)
+            .defaultType(Seat.SeatType.QUIET)
+            .zone(Seat.SeatType.VIP, 1, 2, 1, 2)
+            .zone(Seat.SeatType.GROUP, 2, 2, 2, 3)
+            .windowColumns(List.of(1))
+            .powerColumns(List.of(3))
+            .hasLamp(false)
+            .build()
+            .generate();
+
+        assertThat(seats).extracting(Seat::getType).containsExactly(
+            Seat.SeatType.VIP, Seat.SeatType.VIP, Seat.SeatType.QUIET,
+            Seat.SeatType.VIP, Seat.SeatType.GROUP, Seat.SeatType.GROUP);
+        assertThat(seats.get(0).getHasWindow()).isTrue();
+        assertThat(seats.get(1).getHasWindow()).isFalse();
+        assertThat(seats.get(2).getHasPowerOutlet()).isTrue();
+        assertThat(seats.get(0).getHasLamp()).isFalse();
+        assertThat(seats.get(0).getDescription()).endsWith("，靠窗");
+    }
+
+    @Test
+    void labelsRowsLikeSpreadsheetColumns() {
+        assertThat(SeatLayout.rowLabel(0)).isEqualTo("A");
+        assertThat(SeatLayout.rowLabel(25)).isEqualTo("Z");
+        assertThat(SeatLayout.rowLabel(26)).isEqualTo("AA");
+        assertThat(SeatLayout.rowLabel(27)).isEqualTo("AB");
+        assertThat(SeatLayout.rowLabel(701)).isEqualTo("ZZ");
+        assertThat(SeatLayout.rowLabel(702)).isEqualTo("AAA");
+    }
+
+    @Test
+    void acceptsSeatNumbersAtColumnLength() {
+        String prefix = "P".repeat(SeatLayout.MAX_SEAT_NUMBER_LENGTH - 4);
+        List<Seat> seats = SeatLayout.builder(1, 2, 100).seatNumberPrefix(prefix).build().generate();
+
+        assertThat(seats.get(1).getSeatNumber()).hasSize(SeatLayout.MAX_SEAT_NUMBER_LENGTH);
+    }
+
+    @Test
+    void rejectsSeatNumbersLongerThanColumn() {
+        String prefix = "P".repeat(SeatLayout.MAX_SEAT_NUMBER_LENGTH - 3);
+        assertThatThrownBy(() -> SeatLayout.builder(1, 2, 100).seatNumberPrefix(prefix).build())
+            .isInstanceOf(IllegalArgumentException.class);
+
+        // 第 27 行的标签为两个字符
+        String shorter = "P".repeat(SeatLayout.MAX_SEAT_NUMBER_LENGTH - 4);
+        assertThatThrownBy(() -> SeatLayout.builder(27, 1, 100).seatNumberPrefix(shorter).build())
+            .isInstanceOf(IllegalArgumentException.class);
+        // 每行超过 999 个座位时序号为四位
+        assertThatThrownBy(() -> SeatLayout.builder(1, 1000, 1000).seatNumberPrefix(shorter).build())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void generatedSeatNumbersAreUnique() {
+        List<Seat> seats = SeatLayout.builder(30, 40, 10_000).build().generate();
+
+        assertThat(seats).hasSize(1200);
+        assertThat(seats.stream().map(Seat::getSeatNumber).collect(Collectors.toSet())).hasSize(1200);
+        assertThat(seats.get(seats.size() - 1).getSeatNumber()).isEqualTo("AD040");
+    }
+
+    @Test
+    void rejectsInvalidGrids() {
+        assertThatThrownBy(() -> SeatLayout.builder(0, 5, 100))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SeatLayout.builder(100_000, 100_000, 10_000))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SeatLayout.builder(2, 2, 100).aisleColumns(List.of(3)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SeatLayout.builder(2, 2, 100).zone(Seat.SeatType.VIP, 1, 3, 1, 1))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SeatLayout.builder(2, 1, 100).aisleColumns(List.of(1)).build())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,86 @@
+package com.studyroom.server.service.pricing;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.format.DateTimeParseException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 高峰时段表测试：时段边界、跨零点、跨天和配置错误
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+class PeakScheduleTest {
+
+    private static final long DAY = PeakSchedule.MINUTES_PER_DAY;
+
+    @Test
+    void emptyConfigurationHasNoPeakMinutes() {
+        assertThat(PeakSchedule.parse(null).peakMinutesBetween(0, DAY)).isZero();
+        assertThat(PeakSchedule.parse(" ").peakMinutesBetween(0, DAY)).isZero();
+    }
+
+    @Test
+    void bandStartIsInclusiveAndEndIsExclusive() {
+        PeakSchedule schedule = PeakSchedule.parse("08:00-12:00");
+
+        assertThat(schedule.peakMinutesBetween(0, DAY)).isEqualTo(240);
+        assertThat(schedule.peakMinutesBetween(minute(7, 59), minute(8, 0))).isZero();
+        assertThat(schedule.peakMinutesBetween(minute(8, 0), minute(8, 1))).isEqualTo(1);
+        assertThat(schedule.peakMinutesBetween(minute(11, 59), minute(12, 0))).isEqualTo(1);
+        assertThat(schedule.peakMinutesBetween(minute(12, 0), minute(12, 1))).isZero();
+        assertThat(schedule.peakMinutesBetween(minute(7, 30), minute(8, 30))).isEqualTo(30);
+    }
+
+    @Test
+    void emptyIntervalHasNoPeakMinutes() {
+        PeakSchedule schedule = PeakSchedule.parse("08:00-12:00");
+
+        assertThat(schedule.peakMinutesBetween(minute(9, 0), minute(9, 0))).isZero();
+    }
+
+    @Test
+    void combinesMultipleBands() {
+        PeakSchedule schedule = PeakSchedule.parse("08:00-12:00, 14:00-22:00");
+
+        assertThat(schedule.peakMinutesBetween(0, DAY)).isEqualTo(720);
+        assertThat(schedule.peakMinutesBetween(minute(11, 0), minute(15, 0))).isEqualTo(120);
+    }
+
+    @Test
+    void supportsBandsAcrossMidnight() {
+        PeakSchedule schedule = PeakSchedule.parse("22:00-02:00");
+
+        assertThat(schedule.peakMinutesBetween(0, DAY)).isEqualTo(240);
+        assertThat(schedule.peakMinutesBetween(minute(23, 0), DAY + minute(1, 0))).isEqualTo(120);
+        assertThat(schedule.peakMinutesBetween(minute(2, 0), minute(22, 0))).isZero();
+    }
+
+    @Test
+    void countsWholeDaysAndNegativeEpochMinutes() {
+        PeakSchedule schedule = PeakSchedule.parse("08:00-12:00");
+
+        assertThat(schedule.peakMinutesBetween(0, 3 * DAY)).isEqualTo(720);
+        assertThat(schedule.peakMinutesBetween(5 * DAY + minute(10, 0), 7 * DAY + minute(9, 0))).isEqualTo(2 * 240 - 60);
+        // 1970 年之前的时间：前一天的 08:00-12:00
+        assertThat(schedule.peakMinutesBetween(-DAY, 0)).isEqualTo(240);
+        assertThat(schedule.peakMinutesBetween(-DAY + minute(9, 0), minute(9, 0))).isEqualTo(240);
+    }
+
+    @Test
+    void rejectsMalformedBands() {
+        assertThatThrownBy(() -> PeakSchedule.parse("08:00"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PeakSchedule.parse("08:00-12:00-14:00"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PeakSchedule.parse("08:00-25:00"))
+            .isInstanceOf(DateTimeParseException.class);
+    }
+
+    private static long minute(int hour, int minute) {
+        return hour * 60L + minute;
+    }
+}
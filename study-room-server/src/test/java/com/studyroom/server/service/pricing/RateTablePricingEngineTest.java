@@ -0,0 +1,94 @@
+package com.studyroom.server.service.pricing;
+
+import com.studyroom.server.entity.Seat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 计价引擎测试：最低计费时长、高峰时段边界和按分钟计费的舍入
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+class RateTablePricingEngineTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    private RateTablePricingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new RateTablePricingEngine();
+        ReflectionTestUtils.setField(engine, "regularMultiplier", new BigDecimal("1.0"));
+        ReflectionTestUtils.setField(engine, "vipMultiplier", new BigDecimal("1.5"));
+        ReflectionTestUtils.setField(engine, "quietMultiplier", new BigDecimal("1.2"));
+        ReflectionTestUtils.setField(engine, "groupMultiplier", new BigDecimal("1.3"));
+        ReflectionTestUtils.setField(engine, "peakBands", "08:00-12:00");
+        ReflectionTestUtils.setField(engine, "peakMultiplier", new BigDecimal("1.5"));
+        ReflectionTestUtils.setField(engine, "minimumMinutes", 60L);
+        engine.init();
+    }
+
+    @Test
+    void chargesMinimumMinutesForShortBookings() {
+        assertThat(quote(1000, Seat.SeatType.REGULAR, at(14, 0), at(14, 10))).isEqualTo(1000);
+        assertThat(quote(1000, Seat.SeatType.REGULAR, at(14, 0), at(14, 59))).isEqualTo(1000);
+        assertThat(quote(1000, Seat.SeatType.REGULAR, at(14, 0), at(15, 0))).isEqualTo(1000);
+    }
+
+    @Test
+    void chargesPerMinuteAboveMinimum() {
+        // 61 分钟 = 1016.67 分，四舍五入
+        assertThat(quote(1000, Seat.SeatType.REGULAR, at(14, 0), at(15, 1))).isEqualTo(1017);
+        assertThat(quote(1000, Seat.SeatType.VIP, at(14, 0), at(16, 0))).isEqualTo(3000);
+    }
+
+    @Test
+    void splitsBookingAtPeakBoundaries() {
+        assertThat(quote(1000, Seat.SeatType.REGULAR, at(7, 0), at(8, 0))).isEqualTo(1000);
+        assertThat(quote(1000, Seat.SeatType.REGULAR, at(8, 0), at(9, 0))).isEqualTo(1500);
+        assertThat(quote(1000, Seat.SeatType.REGULAR, at(7, 30), at(8, 30))).isEqualTo(1250);
+        assertThat(quote(1000, Seat.SeatType.REGULAR, at(11, 30), at(12, 30))).isEqualTo(1250);
+        assertThat(quote(1000, Seat.SeatType.REGULAR, at(12, 0), at(13, 0))).isEqualTo(1000);
+    }
+
+    @Test
+    void extendedMinimumWindowIsPricedAtItsOwnPeakMinutes() {
+        // 07:50 开始的 10 分钟预订按 07:50-08:50 计费，其中 50 分钟为高峰
+        assertThat(quote(600, Seat.SeatType.REGULAR, at(7, 50), at(8, 0))).isEqualTo(100 + 750);
+    }
+
+    @Test
+    void quotesSeatsFromRateTable() {
+        RateTable.Builder builder = new RateTable.Builder(
+            (long[]) ReflectionTestUtils.getField(engine, "typeMultipliers"),
+            (long) ReflectionTestUtils.getField(engine, "peakMultiplierScaled"));
+        builder.addRoom(1, 1000);
+        builder.addSeat(7, 1, Seat.SeatType.QUIET.ordinal());
+        ReflectionTestUtils.setField(engine, "rateTable", builder.build());
+
+        assertThat(engine.quoteCents(7, at(14, 0), at(16, 0))).isEqualTo(2400);
+        assertThat(engine.quoteCents(7, at(14, 0), at(16, 0)))
+            .isEqualTo(quote(1000, Seat.SeatType.QUIET, at(14, 0), at(16, 0)));
+        assertThat(engine.quoteCents(8, at(14, 0), at(16, 0))).isEqualTo(PricingEngine.UNKNOWN_SEAT);
+    }
+
+    @Test
+    void unknownSeatBeforeFirstLoad() {
+        assertThat(engine.quoteCents(1, at(14, 0), at(16, 0))).isEqualTo(PricingEngine.UNKNOWN_SEAT);
+    }
+
+    private long quote(long hourlyRateCents, Seat.SeatType type, LocalDateTime start, LocalDateTime end) {
+        return engine.quoteCents(hourlyRateCents, type, start, end);
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.withHour(hour).withMinute(minute);
+    }
+}
@@ -0,0 +1,104 @@
+package com.studyroom.server.service.pricing;
+
+import com.studyroom.server.entity.Seat;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 费率表测试：座位查找、费率预计算和舍入
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+class RateTableTest {
+
+    private static final int REGULAR = Seat.SeatType.REGULAR.ordinal();
+    private static final int VIP = Seat.SeatType.VIP.ordinal();
+
+    @Test
+    void precomputesRatesPerRoomAndSeatType() {
+        RateTable.Builder builder = new RateTable.Builder(multipliers(), 12_500);
+        builder.addRoom(1, 1000);
+        builder.addRoom(2, 800);
+        builder.addSeat(10, 1, REGULAR);
+        builder.addSeat(11, 1, VIP);
+        builder.addSeat(20, 2, VIP);
+        RateTable table = builder.build();
+
+        assertThat(table.size()).isEqualTo(3);
+        assertThat(table.offPeakRate(table.rowOf(10))).isEqualTo(1000 * RateTable.RATE_SCALE);
+        assertThat(table.peakRate(table.rowOf(10))).isEqualTo(1250 * RateTable.RATE_SCALE);
+        assertThat(table.offPeakRate(table.rowOf(11))).isEqualTo(1500 * RateTable.RATE_SCALE);
+        assertThat(table.offPeakRate(table.rowOf(20))).isEqualTo(1200 * RateTable.RATE_SCALE);
+        assertThat(table.peakRate(table.rowOf(20))).isEqualTo(1500 * RateTable.RATE_SCALE);
+    }
+
+    @Test
+    void roundsPeakRateHalfUp() {
+        long[] multipliers = multipliers();
+        multipliers[REGULAR] = 10_001;
+        RateTable.Builder builder = new RateTable.Builder(multipliers, 15_000);
+        builder.addRoom(1, 1);
+        builder.addSeat(1, 1, REGULAR);
+        RateTable table = builder.build();
+
+        // 10001 * 1.5 = 15001.5，四舍五入为 15002
+        assertThat(table.peakRate(table.rowOf(1))).isEqualTo(15_002);
+    }
+
+    @Test
+    void returnsMinusOneForUnknownSeats() {
+        RateTable.Builder builder = new RateTable.Builder(multipliers(), RateTable.RATE_SCALE);
+        builder.addRoom(1, 1000);
+        builder.addSeat(1, 1, REGULAR);
+        // 所属自习室不在表中的座位和 ID 为 0 的座位被忽略
+        builder.addSeat(2, 99, REGULAR);
+        builder.addSeat(0, 1, REGULAR);
+        RateTable table = builder.build();
+
+        assertThat(table.size()).isEqualTo(1);
+        assertThat(table.rowOf(1)).isNotNegative();
+        assertThat(table.rowOf(2)).isEqualTo(-1);
+        assertThat(table.rowOf(0)).isEqualTo(-1);
+        assertThat(table.rowOf(Long.MAX_VALUE)).isEqualTo(-1);
+    }
+
+    @Test
+    void emptyTableFindsNothing() {
+        RateTable table = new RateTable.Builder(multipliers(), RateTable.RATE_SCALE).build();
+
+        assertThat(table.size()).isZero();
+        assertThat(table.rowOf(1)).isEqualTo(-1);
+    }
+
+    @Test
+    void findsEverySeatAfterGrowingBuffers() {
+        RateTable.Builder builder = new RateTable.Builder(multipliers(), RateTable.RATE_SCALE);
+        // 超过构建器初始的 64 行费率和 256 个座位
+        for (long room = 1; room <= 40; room++) {
+            builder.addRoom(room, room * 100);
+        }
+        for (long seat = 1; seat <= 5000; seat++) {
+            builder.addSeat(seat, seat % 40 + 1, (int) (seat % 4));
+        }
+        RateTable table = builder.build();
+
+        assertThat(table.size()).isEqualTo(5000);
+        for (long seat = 1; seat <= 5000; seat++) {
+            long room = seat % 40 + 1;
+            long multiplier = multipliers()[(int) (seat % 4)];
+            assertThat(table.offPeakRate(table.rowOf(seat))).isEqualTo(room * 100 * multiplier);
+        }
+        assertThat(table.rowOf(5001)).isEqualTo(-1);
+    }
+
+    private static long[] multipliers() {
+        long[] multipliers = new long[Seat.SeatType.values().length];
+        multipliers[Seat.SeatType.REGULAR.ordinal()] = 10_000;
+        multipliers[Seat.SeatType.VIP.ordinal()] = 15_000;
+        multipliers[Seat.SeatType.QUIET.ordinal()] = 12_000;
+        multipliers[Seat.SeatType.GROUP.ordinal()] = 13_000;
+        return multipliers;
+    }
+}
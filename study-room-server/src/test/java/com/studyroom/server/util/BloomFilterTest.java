@@ -0,0 +1,93 @@
+package com.studyroom.server.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 布隆过滤器测试：无漏判、误判率和并发写入
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+class BloomFilterTest {
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+
+        assertThat(filter.mightContain("admin")).isFalse();
+        assertThat(filter.mightContain("")).isFalse();
+    }
+
+    @Test
+    void neverReportsInsertedValueAsAbsent() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("user" + i)).isTrue();
+        }
+    }
+
+    @Test
+    void keepsFalsePositiveRateNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("other" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+    }
+
+    @Test
+    void toleratesZeroExpectedInsertions() {
+        BloomFilter filter = new BloomFilter(0, 0.01);
+        filter.put("admin");
+
+        assertThat(filter.mightContain("admin")).isTrue();
+    }
+
+    @Test
+    void concurrentPutsAreNotLost() throws Exception {
+        BloomFilter filter = new BloomFilter(40_000, 0.01);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        filter.put("t" + thread + "-" + i);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (int t = 0; t < 4; t++) {
+            for (int i = 0; i < 10_000; i++) {
+                assertThat(filter.mightContain("t" + t + "-" + i)).isTrue();
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.studyroom.server.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 环形缓冲区测试：容量取整、写满拒绝、回绕和多生产者并发写入
+ *
+ * @author StudyRoom Management System
+ * @version 1.0
+ */
+class MpscRingBufferTest {
+
+    @Test
+    void roundsCapacityUpToPowerOfTwo() {
+        assertThat(new MpscRingBuffer<String>(2).capacity()).isEqualTo(2);
+        assertThat(new MpscRingBuffer<String>(3).capacity()).isEqualTo(4);
+        assertThat(new MpscRingBuffer<String>(1000).capacity()).isEqualTo(1024);
+        assertThat(new MpscRingBuffer<String>(1024).capacity()).isEqualTo(1024);
+
+        assertThatThrownBy(() -> new MpscRingBuffer<String>(1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new MpscRingBuffer<String>((1 << 30) + 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsOfferWhenFullUntilDrained() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(buffer.drainTo(drained, 1)).isEqualTo(1);
+        assertThat(buffer.offer(4)).isTrue();
+        assertThat(buffer.drainTo(drained, 10)).isEqualTo(4);
+        assertThat(drained).containsExactly(0, 1, 2, 3, 4);
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void drainsEmptyBufferWithoutBlocking() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+
+        assertThat(buffer.drainTo(drained, 10)).isZero();
+        assertThat(drained).isEmpty();
+    }
+
+    @Test
+    void keepsOrderAcrossManyWraps() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(8);
+        List<Integer> drained = new ArrayList<>();
+        int next = 0;
+        for (int round = 0; round < 1000; round++) {
+            for (int i = 0; i < 5; i++) {
+                assertThat(buffer.offer(next++)).isTrue();
+            }
+            buffer.drainTo(drained, 5);
+        }
+
+        assertThat(drained).hasSize(5000);
+        for (int i = 0; i < drained.size(); i++) {
+            assertThat(drained.get(i)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void concurrentProducersLoseNothingAndKeepPerProducerOrder() throws Exception {
+        int producers = 4;
+        int perProducer = 100_000;
+        MpscRingBuffer<long[]> buffer = new MpscRingBuffer<>(256);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                long producer = p;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (long i = 0; i < perProducer; i++) {
+                        // 缓冲区满时自旋重试，只为测试不丢数据
+                        while (!buffer.offer(new long[]{producer, i})) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+
+            long[] nextExpected = new long[producers];
+            List<long[]> batch = new ArrayList<>();
+            int received = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (received < producers * perProducer && System.nanoTime() < deadline) {
+                batch.clear();
+                buffer.drainTo(batch, 64);
+                for (long[] element : batch) {
+                    int producer = (int) element[0];
+                    assertThat(element[1]).isEqualTo(nextExpected[producer]);
+                    nextExpected[producer]++;
+                }
+                received += batch.size();
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            assertThat(received).isEqualTo(producers * perProducer);
+            assertThat(nextExpected).containsOnly(perProducer);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}